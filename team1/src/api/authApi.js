@@ -31,9 +31,13 @@ export const login = async (employeeNo, password) => {
 
 /**
  * 로그아웃 API
+ * 서버가 Access Token 의 토큰 family 를 폐기하므로 Bearer 헤더로 보내야 함
+ * @param {string} accessToken - 현재 Access Token
+ * @returns {Promise} axios response
  */
-export const logoutApi = async () => {
-    const response = await apiClient.post("/api/auth/logout");
+export const logoutApi = async (accessToken) => {
+    const headers = accessToken ? { Authorization: `Bearer ${accessToken}` } : {};
+    const response = await apiClient.post("/api/auth/logout", null, { headers });
     return response;
 };
 
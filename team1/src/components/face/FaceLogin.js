@@ -2,6 +2,14 @@ import React, { useEffect, useRef, useState } from "react";
 import * as faceapi from "face-api.js";
 import axios from "axios";
 import { API_SERVER_HOST } from "../../util/jwtUtil";
+import { logoutApi } from "../../api/authApi";
+
+// 사용하지 않을 토큰은 로그아웃으로 폐기 (실패해도 토큰 수명이 지나면 사라짐)
+const revokeIssued = (matchedData) => {
+  if (matchedData?.accessToken) {
+    logoutApi(matchedData.accessToken).catch(() => {});
+  }
+};
 
 const FaceLogin = ({ onLoginSuccess, onCancel }) => {
   const videoRef = useRef();
@@ -16,8 +24,6 @@ const FaceLogin = ({ onLoginSuccess, onCancel }) => {
 
   const [isModelLoaded, setIsModelLoaded] = useState(false);
   const [status, setStatus] = useState("Face ID 초기화 중...");
-  const [faceMatcher, setFaceMatcher] = useState(null);
-  const [userList, setUserList] = useState([]);
 
   // 초기화
   useEffect(() => {
@@ -34,21 +40,7 @@ const FaceLogin = ({ onLoginSuccess, onCancel }) => {
           faceapi.loadFaceRecognitionModel(MODEL_URL),
         ]);
 
-        const res = await axios.get(`${API_SERVER_HOST}/api/face/list`);
-        setUserList(res.data);
-
-        if (res.data.length > 0) {
-          const labeledDescriptors = res.data.map((user) => {
-            const descriptor = new Float32Array(
-              JSON.parse(user.faceDescriptor)
-            );
-            return new faceapi.LabeledFaceDescriptors(user.userId, [
-              descriptor,
-            ]);
-          });
-          setFaceMatcher(new faceapi.FaceMatcher(labeledDescriptors, 0.3));
-        }
-
+        // 등록된 얼굴 목록은 받지 않음 (매칭은 서버에서)
         setIsModelLoaded(true);
         setStatus("카메라를 바라봐 주세요. (10초 제한)");
 
@@ -72,25 +64,40 @@ const FaceLogin = ({ onLoginSuccess, onCancel }) => {
     };
   }, []);
 
+  // 부모가 다시 렌더링돼도 루프를 새로 만들지 않도록 콜백은 ref 로 참조
+  const onLoginSuccessRef = useRef(onLoginSuccess);
+  const onCancelRef = useRef(onCancel);
+  useEffect(() => {
+    onLoginSuccessRef.current = onLoginSuccess;
+    onCancelRef.current = onCancel;
+  }, [onLoginSuccess, onCancel]);
+
   // 감지 루프
+  // 한 번의 감지 + 서버 요청이 끝난 뒤에 다음 시도를 예약 (요청이 겹치지 않음)
   useEffect(() => {
-    if (!isModelLoaded || !faceMatcher) return;
-
-    const interval = setInterval(async () => {
-      if (
-        !videoRef.current ||
-        videoRef.current.readyState !== 4 ||
-        isProcessing.current
-      )
+    if (!isModelLoaded) return;
+
+    let stopped = false;
+    let timer = null;
+
+    const scheduleNext = () => {
+      if (!stopped) timer = setTimeout(tick, 500); // 0.5초 간격
+    };
+
+    const tick = async () => {
+      if (stopped) return;
+      if (!videoRef.current || videoRef.current.readyState !== 4) {
+        scheduleNext();
         return;
+      }
 
       // 타임아웃 체크 로직
       if (attemptCount.current >= MAX_ATTEMPTS) {
-        clearInterval(interval); // 루프 정지
+        stopped = true;
         alert(
           "⏳ 인증 시간이 초과되었습니다.\n일치하는 얼굴을 찾을 수 없습니다.\n아이디 로그인을 이용해주세요."
         );
-        if (onCancel) onCancel(); // 강제로 닫기
+        if (onCancelRef.current) onCancelRef.current(); // 강제로 닫기
         return;
       }
 
@@ -105,19 +112,26 @@ const FaceLogin = ({ onLoginSuccess, onCancel }) => {
           .withFaceLandmarks()
           .withFaceDescriptor();
 
-        if (detection) {
-          const match = faceMatcher.findBestMatch(detection.descriptor);
-          const distance = match.distance;
+        if (detection && !stopped) {
+          // 서버에서 매칭 (오차 0.30 미만일 때만 토큰과 함께 200, 아니면 401)
+          const res = await axios.post(
+            `${API_SERVER_HOST}/api/face/login`,
+            { descriptor: Array.from(detection.descriptor) },
+            { validateStatus: (s) => s === 200 || s === 401 }
+          );
 
-          // 70% 이상 (오차 0.30 미만) 통과
-          if (match.label !== "unknown" && distance < 0.3) {
-            clearInterval(interval);
+          if (res.status === 200) {
+            const matchedData = res.data;
 
-            const userId = match.label;
-            const accuracy = ((1 - distance) * 100).toFixed(0);
-            const matchedData = userList.find((u) => u.userId === userId);
-            const userName =
-              matchedData?.name || matchedData?.user?.name || userId;
+            // 그 사이 취소/닫힘 → 발급된 토큰 family 바로 폐기
+            if (stopped) {
+              revokeIssued(matchedData);
+              return;
+            }
+            stopped = true;
+
+            const accuracy = ((1 - matchedData.distance) * 100).toFixed(0);
+            const userName = matchedData.name || matchedData.employeeNo;
 
             setTimeout(() => {
               if (
@@ -125,9 +139,11 @@ const FaceLogin = ({ onLoginSuccess, onCancel }) => {
                   `[Face ID] ${userName}님 로그인 하시겠습니까?\n(일치율: ${accuracy}%)`
                 )
               ) {
-                if (onLoginSuccess) onLoginSuccess(matchedData || { userId });
+                if (onLoginSuccessRef.current) onLoginSuccessRef.current(matchedData);
               } else {
-                if (onCancel) onCancel();
+                // 확인하지 않은 로그인 → 서버에서 토큰 family 폐기
+                revokeIssued(matchedData);
+                if (onCancelRef.current) onCancelRef.current();
               }
             }, 100);
             return;
@@ -138,10 +154,17 @@ const FaceLogin = ({ onLoginSuccess, onCancel }) => {
       } finally {
         isProcessing.current = false;
       }
-    }, 500); // 0.5초 간격
 
-    return () => clearInterval(interval);
-  }, [isModelLoaded, faceMatcher, userList, onLoginSuccess, onCancel]);
+      scheduleNext();
+    };
+
+    scheduleNext();
+
+    return () => {
+      stopped = true;
+      if (timer) clearTimeout(timer);
+    };
+  }, [isModelLoaded]);
 
   return (
     <div
@@ -23,9 +23,9 @@ export default function Topbar({ onMenuClick }) {
     const [scrollToMessageId, setScrollToMessageId] = useState(null); // ✅ 추가
     const [autoOpenNewChat, setAutoOpenNewChat] = useState(false);
 
-    const handleLogout = () => {
+    const handleLogout = async () => {
+        await doLogout();
         alert("로그아웃 성공.");
-        doLogout();
         navigate("/");
     };
 
@@ -2,8 +2,7 @@ import { useDispatch, useSelector } from "react-redux";
 import { useNavigate, Navigate, createSearchParams } from "react-router-dom";
 import { loginPostAsync, logout, loginAction } from "../slices/loginSlice";
 import { getCookie, setCookie } from "../util/cookieUtil";
-import axios from "axios";
-import { API_SERVER_HOST } from "../util/jwtUtil";
+import { logoutApi } from "../api/authApi";
 
 const useCustomLogin = () => {
   const navigate = useNavigate();
@@ -20,13 +19,9 @@ const useCustomLogin = () => {
   // 👇 [최종] 변수명 대통합 버전
   const doFaceLogin = async (userInfo) => {
     console.log("🚀 [Face ID] 서버로 요청 보냄...");
-    const userId = userInfo.userId || userInfo.employeeNo || userInfo;
-
     try {
-      const res = await axios.get(`${API_SERVER_HOST}/api/face/login`, {
-        params: { userId: userId },
-      });
-      const serverData = res.data;
+      // FaceLogin 에서 POST /api/face/login 으로 이미 매칭 + 토큰 발급까지 받은 응답
+      const serverData = userInfo;
 
       // 1. 이름 / 부서 데이터 정제
       const realName = serverData.name || serverData.user?.name || "이름없음";
@@ -88,7 +83,16 @@ const useCustomLogin = () => {
     }
   };
 
-  const doLogout = () => {
+  // 서버에서 토큰 family 폐기 후 쿠키 삭제 (서버 호출이 실패해도 로컬 로그아웃은 진행)
+  const doLogout = async () => {
+    const accessToken = getCookie("member")?.accessToken;
+    if (accessToken) {
+      try {
+        await logoutApi(accessToken);
+      } catch (err) {
+        console.warn("로그아웃 API 실패 (로컬 로그아웃 진행)", err);
+      }
+    }
     dispatch(logout());
   };
   const moveToPath = (path) => {
@@ -0,0 +1,26 @@
+-- 1회성 마이그레이션: users.department_name 앞뒤 공백 정리 + 인덱스
+--
+-- 부서 리포트 상세 조회(ExpenseRepository.streamApprovedForReportByDept)가
+-- TRIM 없이 컬럼을 그대로 비교해 인덱스를 타도록 바뀌었으므로, 배포 전에 한 번 실행.
+-- 이후 저장분은 AdminUserServiceImpl.createUser 에서 trim.
+-- 여러 번 실행해도 결과는 같음 (바뀐 행만 UPDATE, 인덱스는 없을 때만 생성).
+
+-- PAD SPACE collation 은 뒤 공백을 무시하고 비교하므로 길이로 찾음
+UPDATE users
+SET department_name = TRIM(department_name)
+WHERE department_name IS NOT NULL
+  AND CHAR_LENGTH(department_name) <> CHAR_LENGTH(TRIM(department_name));
+
+SET @idx_exists := (
+    SELECT COUNT(*)
+    FROM information_schema.statistics
+    WHERE table_schema = DATABASE()
+      AND table_name = 'users'
+      AND index_name = 'idx_users_department_name'
+);
+SET @ddl := IF(@idx_exists = 0,
+    'CREATE INDEX idx_users_department_name ON users (department_name)',
+    'SELECT 1');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
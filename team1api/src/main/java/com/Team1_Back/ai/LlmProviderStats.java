@@ -0,0 +1,187 @@
+package com.Team1_Back.ai;
+
+import java.util.Arrays;
+import java.util.function.LongSupplier;
+
+/**
+ * provider 별 지연 / 오류율 / circuit 상태 (노드 단위)
+ *
+ * - 지연: 최근 성공 호출(+ hedge 로 버린 호출의 경과 시간) N 개 ring buffer 에서 percentile 계산
+ * - 오류율: 최근 호출 M 개 성공/실패 ring buffer
+ * - circuit: 연속 실패 또는 오류율이 임계치를 넘으면 OPEN → openMs 동안 호출 안 함
+ *   → 시간이 지나면 HALF_OPEN 으로 한 건만 시험 호출, 성공하면 CLOSED / 실패하면 다시 OPEN
+ */
+public class LlmProviderStats {
+
+    public enum CircuitState { CLOSED, OPEN, HALF_OPEN }
+
+    private static final int LATENCY_WINDOW = 256;
+    private static final int OUTCOME_WINDOW = 50;
+    private static final int MIN_OUTCOMES_FOR_RATE = 10;
+
+    private final String name;
+    private final int failureThreshold;
+    private final double errorRateThreshold;
+    private final long openMs;
+    private final LongSupplier clock;
+
+    private final long[] latencies = new long[LATENCY_WINDOW];
+    private int latencyCount;
+    private int latencyNext;
+
+    private final boolean[] failed = new boolean[OUTCOME_WINDOW];
+    private int outcomeCount;
+    private int outcomeNext;
+    private int failedInWindow;
+
+    private long totalCalls;
+    private long totalFailures;
+    private int consecutiveFailures;
+
+    private CircuitState state = CircuitState.CLOSED;
+    private long openUntil;
+    private boolean trialInFlight;
+
+    public LlmProviderStats(String name, int failureThreshold, double errorRateThreshold, long openMs, LongSupplier clock) {
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.errorRateThreshold = errorRateThreshold;
+        this.openMs = openMs;
+        this.clock = clock;
+    }
+
+    /**
+     * 지금 이 provider 를 호출해도 되는지. HALF_OPEN 에서는 한 건만 허용
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == CircuitState.OPEN) {
+            if (clock.getAsLong() < openUntil) return false;
+            state = CircuitState.HALF_OPEN;
+            trialInFlight = false;
+        }
+        if (state == CircuitState.HALF_OPEN) {
+            if (trialInFlight) return false;
+            trialInFlight = true;
+        }
+        return true;
+    }
+
+    public synchronized void onSuccess(long latencyMs) {
+        addLatency(latencyMs);
+
+        recordOutcome(false);
+        consecutiveFailures = 0;
+        if (state == CircuitState.HALF_OPEN) {
+            state = CircuitState.CLOSED;
+            trialInFlight = false;
+        }
+    }
+
+    public synchronized void onFailure() {
+        recordOutcome(true);
+        totalFailures++;
+        consecutiveFailures++;
+
+        if (state == CircuitState.HALF_OPEN
+                || consecutiveFailures >= failureThreshold
+                || (outcomeCount >= MIN_OUTCOMES_FOR_RATE && errorRate() >= errorRateThreshold)) {
+            open();
+        }
+    }
+
+    /**
+     * 시작하지 못한 호출 (풀 포화 등) → 지표에는 넣지 않고 시험 호출 자리만 반납
+     */
+    public synchronized void onAbandoned() {
+        if (state == CircuitState.HALF_OPEN) trialInFlight = false;
+    }
+
+    /**
+     * 다른 provider 가 먼저 답해 버린 호출 (hedge 패자)
+     * → 성공/실패는 모르므로 오류율에는 넣지 않고, 버릴 때까지 걸린 시간을 지연 하한 표본으로 기록
+     *   (매번 hedge 에 지는 느린/멈춘 provider 도 표본이 쌓여 순위가 내려감)
+     */
+    public synchronized void onAbandoned(long elapsedMs) {
+        addLatency(elapsedMs);
+        if (state == CircuitState.HALF_OPEN) trialInFlight = false;
+    }
+
+    /**
+     * 최근 성공 호출 지연 percentile (샘플이 없으면 -1)
+     */
+    public synchronized long percentile(double q) {
+        if (latencyCount == 0) return -1;
+        long[] sorted = Arrays.copyOf(latencies, latencyCount);
+        Arrays.sort(sorted);
+        int idx = (int) Math.ceil(q * latencyCount) - 1;
+        return sorted[Math.max(0, Math.min(idx, latencyCount - 1))];
+    }
+
+    public synchronized int samples() {
+        return latencyCount;
+    }
+
+    public synchronized double errorRate() {
+        return outcomeCount == 0 ? 0 : (double) failedInWindow / outcomeCount;
+    }
+
+    public synchronized CircuitState state() {
+        if (state == CircuitState.OPEN && clock.getAsLong() >= openUntil) return CircuitState.HALF_OPEN;
+        return state;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(name, state(), samples(), percentile(0.5), percentile(0.99), errorRate(),
+                totalCalls(), totalFailures());
+    }
+
+    private synchronized long totalCalls() {
+        return totalCalls;
+    }
+
+    private synchronized long totalFailures() {
+        return totalFailures;
+    }
+
+    private void addLatency(long latencyMs) {
+        latencies[latencyNext] = latencyMs;
+        latencyNext = (latencyNext + 1) % LATENCY_WINDOW;
+        latencyCount = Math.min(latencyCount + 1, LATENCY_WINDOW);
+    }
+
+    private void recordOutcome(boolean fail) {
+        totalCalls++;
+        if (outcomeCount == OUTCOME_WINDOW && failed[outcomeNext]) failedInWindow--;
+        failed[outcomeNext] = fail;
+        if (fail) failedInWindow++;
+        outcomeNext = (outcomeNext + 1) % OUTCOME_WINDOW;
+        outcomeCount = Math.min(outcomeCount + 1, OUTCOME_WINDOW);
+    }
+
+    private void open() {
+        state = CircuitState.OPEN;
+        openUntil = clock.getAsLong() + openMs;
+        trialInFlight = false;
+        consecutiveFailures = 0;
+        // 다시 열렸을 때 예전 실패 기록으로 바로 또 열리지 않도록 창 초기화
+        Arrays.fill(failed, false);
+        outcomeCount = 0;
+        outcomeNext = 0;
+        failedInWindow = 0;
+    }
+
+    public record Snapshot(
+            String provider,
+            CircuitState circuit,
+            int samples,
+            long p50Ms,
+            long p99Ms,
+            double errorRate,
+            long totalCalls,
+            long totalFailures
+    ) {}
+}
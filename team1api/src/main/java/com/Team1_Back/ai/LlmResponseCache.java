@@ -0,0 +1,251 @@
+package com.Team1_Back.ai;
+
+import com.Team1_Back.dto.LlmResult;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * LLM 응답 캐시 + 같은 요청 합치기(single-flight)
+ *
+ * - key: 정규화한 질문 + 후보 id 집합 fingerprint (keyOf) 또는 정규화한 프롬프트 해시
+ * - TTL 이 지나면 miss, 최대 개수를 넘으면 가장 오래 안 쓴 항목부터 제거 (LRU)
+ * - 같은 key 로 동시에 들어온 요청은 첫 요청의 LLM 호출 하나를 같이 기다림
+ * - 실패한 응답은 캐시하지 않음 (기다리던 요청에는 같은 예외 전달)
+ */
+@Slf4j
+@Component
+public class LlmResponseCache {
+
+    private final boolean enabled;
+    private final long ttlMs;
+    private final int maxEntries;
+    private final LongSupplier clock;
+
+    private final Map<String, Entry> entries;
+    private final ConcurrentHashMap<String, CompletableFuture<LlmResult>> inFlight = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong loads = new AtomicLong();
+    private final AtomicLong totalLoadMs = new AtomicLong();
+    private final AtomicLong maxLoadMs = new AtomicLong();
+
+    @Autowired
+    public LlmResponseCache(@Value("${com.mallapi.ai.cache.enabled:true}") boolean enabled,
+                            @Value("${com.mallapi.ai.cache.ttl-seconds:600}") long ttlSeconds,
+                            @Value("${com.mallapi.ai.cache.max-entries:1000}") int maxEntries) {
+        this(enabled, ttlSeconds * 1000, maxEntries, System::currentTimeMillis);
+    }
+
+    public LlmResponseCache(boolean enabled, long ttlMs, int maxEntries, LongSupplier clock) {
+        this.enabled = enabled;
+        this.ttlMs = ttlMs;
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                boolean over = size() > LlmResponseCache.this.maxEntries;
+                if (over) evictions.incrementAndGet();
+                return over;
+            }
+        };
+    }
+
+    /**
+     * 캐시에 있으면 바로, 같은 key 를 다른 요청이 호출 중이면 그 결과를, 아니면 loader 호출
+     */
+    public LlmResult get(String key, Supplier<LlmResult> loader) {
+        if (!enabled || key == null) return load(loader);
+
+        LlmResult cached = lookup(key);
+        if (cached != null) {
+            hits.incrementAndGet();
+            return cached;
+        }
+
+        CompletableFuture<LlmResult> mine = new CompletableFuture<>();
+        CompletableFuture<LlmResult> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            coalesced.incrementAndGet();
+            return await(running);
+        }
+
+        try {
+            // 앞선 요청이 방금 끝나 캐시에 넣었을 수 있음
+            cached = lookup(key);
+            if (cached != null) {
+                hits.incrementAndGet();
+                mine.complete(cached);
+                return cached;
+            }
+
+            misses.incrementAndGet();
+            LlmResult result = load(loader);
+            synchronized (entries) {
+                entries.put(key, new Entry(result, clock.getAsLong() + ttlMs));
+            }
+            mine.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            failures.incrementAndGet();
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /**
+     * 스트리밍 응답용: 캐시에 있으면 반환 (없으면 null, 호출은 하지 않음)
+     */
+    public LlmResult getIfPresent(String key) {
+        if (!enabled || key == null) return null;
+        LlmResult cached = lookup(key);
+        if (cached != null) hits.incrementAndGet();
+        else misses.incrementAndGet();
+        return cached;
+    }
+
+    /**
+     * 스트리밍으로 받은 최종 결과 저장
+     */
+    public void put(String key, LlmResult result) {
+        if (!enabled || key == null || result == null) return;
+        synchronized (entries) {
+            entries.put(key, new Entry(result, clock.getAsLong() + ttlMs));
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public Snapshot snapshot() {
+        long n = loads.get();
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return new Snapshot(
+                enabled,
+                size,
+                hits.get(),
+                misses.get(),
+                coalesced.get(),
+                failures.get(),
+                evictions.get(),
+                n == 0 ? 0 : totalLoadMs.get() / n,
+                maxLoadMs.get()
+        );
+    }
+
+    /**
+     * 캐시 key: 용도 + 정규화한 질문 + 후보 id 집합 (순서 무관)
+     * → 표현만 조금 다른 같은 질문 / 같은 후보면 같은 key
+     */
+    public static String keyOf(String kind, String query, Collection<Long> candidateIds) {
+        String ids = (candidateIds == null) ? "" : candidateIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .sorted()
+                .map(String::valueOf)
+                .collect(Collectors.joining(","));
+        return kind + ":" + sha256Hex(normalizeQuery(query) + "|" + sha256Hex(ids));
+    }
+
+    /**
+     * 프롬프트 전체 기준 key (공백 차이만 무시)
+     */
+    public static String keyOfPrompt(String prompt) {
+        return "prompt:" + sha256Hex(prompt == null ? "" : prompt.strip().replaceAll("\\s+", " "));
+    }
+
+    static String normalizeQuery(String query) {
+        if (query == null) return "";
+        return query.strip()
+                .toLowerCase()
+                .replaceAll("\\s+", " ")
+                .replaceAll("[\\s?!.~。？！]+$", "");
+    }
+
+    private LlmResult lookup(String key) {
+        synchronized (entries) {
+            Entry e = entries.get(key);
+            if (e == null) return null;
+            if (e.expiresAt() <= clock.getAsLong()) {
+                entries.remove(key);
+                return null;
+            }
+            return e.result();
+        }
+    }
+
+    private LlmResult load(Supplier<LlmResult> loader) {
+        long started = clock.getAsLong();
+        try {
+            return loader.get();
+        } finally {
+            long took = clock.getAsLong() - started;
+            loads.incrementAndGet();
+            totalLoadMs.addAndGet(took);
+            maxLoadMs.accumulateAndGet(took, Math::max);
+        }
+    }
+
+    private LlmResult await(CompletableFuture<LlmResult> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw e;
+        }
+    }
+
+    private static String sha256Hex(String s) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            byte[] dig = md.digest(s.getBytes(StandardCharsets.UTF_8));
+            StringBuilder sb = new StringBuilder();
+            for (byte b : dig) sb.append(String.format("%02x", b));
+            return sb.toString();
+        } catch (Exception e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record Entry(LlmResult result, long expiresAt) {}
+
+    public record Snapshot(
+            boolean enabled,
+            int size,
+            long hits,
+            long misses,
+            long coalesced,
+            long failures,
+            long evictions,
+            long avgLoadMs,
+            long maxLoadMs
+    ) {}
+}
@@ -1,16 +1,410 @@
 package com.Team1_Back.ai;
-import com.Team1_Back.client.OpenAiLlmClient;
+import com.Team1_Back.ai.stream.LlmJsonStreamParser;
+import com.Team1_Back.client.LlmClient;
 import com.Team1_Back.dto.LlmResult;
-import lombok.RequiredArgsConstructor;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * LLM provider 라우터
+ *
+ * - 순서: provider 별 최근 p50 지연 + 비용 가중치 + 오류율로 점수를 매겨 낮은 순
+ *   (표본이 하나도 없는 provider 만 지연 0 으로 보고 먼저 시도해 측정, 느려도 hedge 로 보완)
+ * - hedge: 1순위가 기준 시간(해당 provider p95, 최대 hedgeAfterMs) 안에 답하지 않으면 다음 provider 를 동시에 호출
+ *   → 먼저 성공한 응답 사용, 나머지는 취소 (버린 호출은 경과 시간을 지연 표본으로)
+ * - 실패하면 기다리지 않고 바로 다음 provider 로
+ * - circuit OPEN 인 provider 는 건너뜀 (LlmProviderStats)
+ * - 전체 제한 시간(timeoutMs)이 지나면 실패 → provider 하나의 30초 timeout 에 묶이지 않음
+ *   (그때까지 답이 없던 provider 는 실패로 셈 → 멈춘 provider 도 circuit 이 열림)
+ * - 호출 스레드는 maxConcurrency 개까지 (OkHttp 는 interrupt 로 끊기지 않아 취소된 호출도 read timeout 까지 스레드를 잡음)
+ *   → 다 차면 대기열에 쌓지 않고 바로 거절
+ * - askStreaming: 순위대로 한 provider 의 토큰 스트림을 그대로 전달 (hedge 없음, 첫 토큰 전 실패만 다음 provider 로)
+ */
+@Slf4j
 @Component
-@RequiredArgsConstructor
 public class LlmRouter {
 
-    private final OpenAiLlmClient openai;
+    private static final int MIN_SAMPLES = 20;
+
+    public record Settings(
+            long hedgeAfterMs,
+            long minHedgeMs,
+            long timeoutMs,
+            long costWeightMs,
+            int failureThreshold,
+            double errorRateThreshold,
+            long circuitOpenMs,
+            int maxConcurrency
+    ) {}
+
+    public record Metrics(LlmResponseCache.Snapshot cache, List<LlmProviderStats.Snapshot> providers) {}
+
+    private record Attempt(LlmClient client, LlmResult result, RuntimeException error) {}
+
+    private final List<LlmClient> clients;
+    private final LlmResponseCache cache;
+    private final Settings settings;
+    private final LongSupplier clock;
+    private final Map<String, LlmProviderStats> stats = new LinkedHashMap<>();
+    private final ThreadPoolExecutor executor;
+
+    @Autowired
+    public LlmRouter(List<LlmClient> clients,
+                     LlmResponseCache cache,
+                     @Value("${com.mallapi.ai.router.hedge-after-ms:2500}") long hedgeAfterMs,
+                     @Value("${com.mallapi.ai.router.min-hedge-ms:300}") long minHedgeMs,
+                     @Value("${com.mallapi.ai.router.timeout-ms:15000}") long timeoutMs,
+                     @Value("${com.mallapi.ai.router.cost-weight-ms:1000}") long costWeightMs,
+                     @Value("${com.mallapi.ai.router.circuit.failure-threshold:5}") int failureThreshold,
+                     @Value("${com.mallapi.ai.router.circuit.error-rate:0.5}") double errorRateThreshold,
+                     @Value("${com.mallapi.ai.router.circuit.open-ms:30000}") long circuitOpenMs,
+                     @Value("${com.mallapi.ai.router.max-concurrency:32}") int maxConcurrency) {
+        this(clients, cache, new Settings(hedgeAfterMs, minHedgeMs, timeoutMs, costWeightMs,
+                failureThreshold, errorRateThreshold, circuitOpenMs, maxConcurrency), System::currentTimeMillis);
+    }
+
+    public LlmRouter(List<LlmClient> clients, LlmResponseCache cache, Settings settings, LongSupplier clock) {
+        this.clients = List.copyOf(clients);
+        this.cache = cache;
+        this.settings = settings;
+        this.clock = clock;
+        for (LlmClient c : this.clients) {
+            stats.put(c.name(), new LlmProviderStats(c.name(), settings.failureThreshold(),
+                    settings.errorRateThreshold(), settings.circuitOpenMs(), clock));
+        }
+
+        AtomicInteger seq = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(settings.maxConcurrency(), settings.maxConcurrency(),
+                60L, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                r -> {
+                    Thread t = new Thread(r, "llm-router-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
 
     public LlmResult ask(String prompt) {
-        return openai.ask(prompt);
+        return ask(prompt, LlmResponseCache.keyOfPrompt(prompt));
+    }
+
+    /**
+     * @param cacheKey LlmResponseCache.keyOf(...) 로 만든 key (null 이면 캐시 없이 호출)
+     */
+    public LlmResult ask(String prompt, String cacheKey) {
+        return cache.get(cacheKey, () -> route(prompt));
+    }
+
+    /**
+     * 응답 JSON 을 토큰 단위로 받으면서 summary 조각 / id 를 listener 로 바로 전달, 끝나면 최종 결과 반환
+     * (캐시에 있으면 최종 결과를 한 번에 전달)
+     */
+    public LlmResult askStreaming(String prompt, String cacheKey, LlmJsonStreamParser.Listener listener) {
+        StreamTracker tracker = new StreamTracker(listener);
+
+        LlmResult cached = cache.getIfPresent(cacheKey);
+        if (cached != null) {
+            tracker.finish(cached);
+            return cached;
+        }
+
+        RuntimeException lastError = null;
+        for (LlmClient client : rank()) {
+            LlmProviderStats s = stats.get(client.name());
+            if (!s.tryAcquire()) continue;
+
+            LlmJsonStreamParser parser = new LlmJsonStreamParser(tracker);
+            AtomicBoolean started = new AtomicBoolean();
+            long t0 = clock.getAsLong();
+            try {
+                LlmResult result = client.askStreaming(prompt, delta -> {
+                    started.set(true);
+                    parser.feed(delta);
+                });
+                s.onSuccess(clock.getAsLong() - t0);
+                cache.put(cacheKey, result);
+                tracker.finish(result);
+                return result;
+            } catch (RuntimeException e) {
+                s.onFailure();
+                lastError = e;
+                log.warn("[LLM-ROUTER] {} stream failed: {}", client.name(), e.getMessage());
+                // 이미 일부를 보냈으면 다른 provider 응답을 이어 붙일 수 없음
+                if (started.get()) break;
+            }
+        }
+
+        if (lastError == null) throw new IllegalStateException("사용 가능한 LLM provider 가 없습니다.");
+        throw new RuntimeException("LLM 스트리밍 실패: " + lastError.getMessage(), lastError);
+    }
+
+    public Metrics metrics() {
+        return new Metrics(cache.snapshot(), stats.values().stream().map(LlmProviderStats::snapshot).toList());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private LlmResult route(String prompt) {
+        List<LlmClient> ranked = rank();
+        if (ranked.isEmpty()) throw new IllegalStateException("사용 가능한 LLM provider 가 없습니다.");
+
+        Race race = new Race(ranked, prompt);
+        long deadline = clock.getAsLong() + settings.timeoutMs();
+        RuntimeException lastError = null;
+
+        race.launchNext();
+
+        try {
+            while (race.pending > 0) {
+                long now = clock.getAsLong();
+                if (now >= deadline) {
+                    // 제한 시간 안에 답하지 못한 provider 는 실패 (취소보다 먼저 기록)
+                    race.timeOut();
+                    break;
+                }
+
+                long until = race.hasNext() ? Math.min(race.hedgeAt, deadline) : deadline;
+                Future<Attempt> done = race.ecs.poll(Math.max(0, until - now), TimeUnit.MILLISECONDS);
+
+                if (done == null) {
+                    // 기준 시간 안에 응답 없음 → 다음 provider 동시 호출 (hedge)
+                    if (race.hasNext() && clock.getAsLong() >= race.hedgeAt) race.launchNext();
+                    continue;
+                }
+
+                race.pending--;
+                Attempt a = done.get();
+                if (a.error() == null) {
+                    if (race.running.size() > 1) {
+                        log.info("[LLM-ROUTER] answered by {} (attempts={})", a.client().name(), race.running.size());
+                    }
+                    return a.result();
+                }
+
+                lastError = a.error();
+                log.warn("[LLM-ROUTER] {} failed: {}", a.client().name(), a.error().getMessage());
+
+                // 실패 → 기다리지 않고 다음 provider
+                race.launchNext();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("LLM 호출 중단", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("LLM 호출 실패: " + e.getMessage(), e);
+        } finally {
+            race.cancelAll();
+        }
+
+        if (race.pending == 0) {
+            if (lastError == null && race.rejected) {
+                throw new IllegalStateException("LLM 호출이 너무 많습니다. 잠시 후 다시 시도해 주세요.");
+            }
+            if (lastError == null) throw new IllegalStateException("사용 가능한 LLM provider 가 없습니다. (circuit open)");
+            throw new RuntimeException("LLM 호출 실패 (모든 provider): " + lastError.getMessage(), lastError);
+        }
+        throw new RuntimeException("LLM 응답 시간 초과 (" + settings.timeoutMs() + "ms)", lastError);
+    }
+
+    /**
+     * 요청 하나의 provider 호출 상태
+     */
+    private final class Race {
+
+        private final List<LlmClient> ranked;
+        private final String prompt;
+        private final ExecutorCompletionService<Attempt> ecs = new ExecutorCompletionService<>(executor);
+        private final List<Call> running = new ArrayList<>();
+        private int next;
+        private int pending;
+        private long hedgeAt = Long.MAX_VALUE;
+        private boolean rejected;
+
+        private Race(List<LlmClient> ranked, String prompt) {
+            this.ranked = ranked;
+            this.prompt = prompt;
+        }
+
+        private boolean hasNext() {
+            return next < ranked.size();
+        }
+
+        /**
+         * 남은 provider 중 circuit 이 허용하는 첫 provider 호출 시작
+         */
+        private void launchNext() {
+            while (next < ranked.size()) {
+                LlmClient client = ranked.get(next++);
+                LlmProviderStats s = stats.get(client.name());
+                if (!s.tryAcquire()) continue;
+
+                Call c = new Call(client, s, clock.getAsLong());
+                try {
+                    c.future = ecs.submit(() -> call(c, prompt));
+                } catch (RejectedExecutionException e) {
+                    // 호출 스레드가 다 찼음 → 다음 provider 도 같으므로 그만 (대기열에 쌓지 않음)
+                    s.onAbandoned();
+                    rejected = true;
+                    next = ranked.size();
+                    log.warn("[LLM-ROUTER] executor saturated (max={}), {} not called",
+                            settings.maxConcurrency(), client.name());
+                    return;
+                }
+                running.add(c);
+                pending++;
+                hedgeAt = clock.getAsLong() + hedgeDelay(s);
+                return;
+            }
+        }
+
+        /**
+         * 제한 시간 초과: 아직 결과가 없는 호출은 provider 실패로 기록
+         */
+        private void timeOut() {
+            for (Call c : running) {
+                if (c.settle()) c.stats.onFailure();
+            }
+        }
+
+        /**
+         * 응답을 받았거나 포기함: 아직 결과가 없는 호출은 버림 (경과 시간만 지연 표본으로)
+         */
+        private void cancelAll() {
+            long now = clock.getAsLong();
+            for (Call c : running) {
+                if (c.settle()) c.stats.onAbandoned(now - c.startedAt);
+                if (c.future != null) c.future.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * provider 호출 한 건. 결과 기록(성공/실패/timeout/버림)은 settle() 을 먼저 차지한 쪽이 한 번만
+     */
+    private static final class Call {
+
+        private final LlmClient client;
+        private final LlmProviderStats stats;
+        private final long startedAt;
+        private final AtomicBoolean settled = new AtomicBoolean();
+        private volatile Future<Attempt> future;
+
+        private Call(LlmClient client, LlmProviderStats stats, long startedAt) {
+            this.client = client;
+            this.stats = stats;
+            this.startedAt = startedAt;
+        }
+
+        private boolean settle() {
+            return settled.compareAndSet(false, true);
+        }
+    }
+
+    private Attempt call(Call c, String prompt) {
+        try {
+            LlmResult result = c.client.ask(prompt);
+            if (c.settle()) c.stats.onSuccess(clock.getAsLong() - c.startedAt);
+            return new Attempt(c.client, result, null);
+        } catch (RuntimeException e) {
+            // 이미 timeout/버림으로 기록된 호출이면 (취소 interrupt 등) 다시 세지 않음
+            if (c.settle()) c.stats.onFailure();
+            return new Attempt(c.client, null, e);
+        }
+    }
+
+    /**
+     * 방금 호출한 provider 의 p95 (샘플 부족하면 hedgeAfterMs), [minHedgeMs, hedgeAfterMs] 범위로 제한
+     */
+    private long hedgeDelay(LlmProviderStats s) {
+        if (s.samples() < MIN_SAMPLES) return settings.hedgeAfterMs();
+        return Math.max(settings.minHedgeMs(), Math.min(s.percentile(0.95), settings.hedgeAfterMs()));
+    }
+
+    /**
+     * 스트림 중 보낸 것을 기억했다가 최종 결과에서 빠진 부분만 추가 전달
+     * (스트리밍 미지원 provider / 캐시 hit / 부분 해석이 놓친 값)
+     */
+    private static final class StreamTracker implements LlmJsonStreamParser.Listener {
+
+        private final LlmJsonStreamParser.Listener target;
+        private final StringBuilder summary = new StringBuilder();
+        private final Set<Long> messageIds = new HashSet<>();
+        private final Set<Long> attachmentIds = new HashSet<>();
+
+        private StreamTracker(LlmJsonStreamParser.Listener target) {
+            this.target = target;
+        }
+
+        @Override
+        public void onSummary(String delta) {
+            summary.append(delta);
+            target.onSummary(delta);
+        }
+
+        @Override
+        public void onMessageId(long id) {
+            if (messageIds.add(id)) target.onMessageId(id);
+        }
+
+        @Override
+        public void onAttachmentId(long id) {
+            if (attachmentIds.add(id)) target.onAttachmentId(id);
+        }
+
+        private void finish(LlmResult result) {
+            String full = result.getSummary() == null ? "" : result.getSummary();
+            if (full.startsWith(summary.toString()) && full.length() > summary.length()) {
+                onSummary(full.substring(summary.length()));
+            }
+            if (result.getMessageIds() != null) {
+                for (Long id : result.getMessageIds()) if (id != null) onMessageId(id);
+            }
+            if (result.getAttachmentIds() != null) {
+                for (Long id : result.getAttachmentIds()) if (id != null) onAttachmentId(id);
+            }
+        }
+    }
+
+    private List<LlmClient> rank() {
+        return clients.stream()
+                .filter(LlmClient::isEnabled)
+                .filter(c -> stats.get(c.name()).state() != LlmProviderStats.CircuitState.OPEN)
+                .sorted(Comparator.comparingDouble(this::score))
+                .toList();
+    }
+
+    /**
+     * 낮을수록 먼저: 예상 지연(p50) + 비용 가중치 + 오류율 × 제한 시간
+     * (표본이 하나라도 있으면 그 p50 을 씀 → 처음 한 번만 0 으로 보고 시도)
+     */
+    private double score(LlmClient client) {
+        LlmProviderStats s = stats.get(client.name());
+        double p50 = (s.samples() == 0) ? 0 : s.percentile(0.5);
+        return p50 + client.cost() * settings.costWeightMs() + s.errorRate() * settings.timeoutMs();
     }
-}
\ No newline at end of file
+}
@@ -3,8 +3,10 @@ package com.Team1_Back.ai;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestClient;
 
+import java.net.http.HttpClient;
 import java.time.Duration;
 
 /**
@@ -19,12 +21,16 @@ public class ReceiptAiConfig {
 
     @Bean
     public RestClient receiptAiRestClient(ReceiptAiProperties props) {
+        // JDK HttpClient: multipart 본문(파일)을 버퍼링하지 않고 스트리밍 전송
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(httpClient);
+        factory.setReadTimeout(Duration.ofMillis(props.getTimeoutMs() == null ? 60000 : props.getTimeoutMs()));
+
         return RestClient.builder()
                 .baseUrl(props.getBaseUrl())
-                .requestInterceptor((request, body, execution) -> {
-                    // 타임아웃 설정이 필요하면 여기서 추가
-                    return execution.execute(request, body);
-                })
+                .requestFactory(factory)
                 .build();
     }
 }
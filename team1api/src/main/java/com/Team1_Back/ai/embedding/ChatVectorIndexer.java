@@ -0,0 +1,155 @@
+package com.Team1_Back.ai.embedding;
+
+import com.Team1_Back.domain.ChatMessage;
+import com.Team1_Back.domain.event.ChatMessageSavedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 채팅 메시지 벡터 색인 (AI 맥락 찾기 후보 좁히기용)
+ *
+ * - 임베딩은 원격 모델일 수 있으므로 전송 요청 스레드가 아닌 전용 스레드 하나에서 계산
+ *   (큐가 가득 차면 버리고 catch-up 이 다시 채움)
+ * - 기동 시: 전용 스레드에서 chat_message 를 id 순으로 전체 색인 → 끝나면 ready
+ * - 전송: 커밋 후 큐에 넣음 / 주기 catch-up: 다른 노드에서 쓴 메시지 (ChatSearchIndexer 와 같은 watermark 방식)
+ */
+@Slf4j
+@Component
+public class ChatVectorIndexer {
+
+    private static final int PAGE_SIZE = 2_000;
+    private static final long LOOKBACK = 1_000;
+    private static final int QUEUE_CAPACITY = 10_000;
+
+    private static final String MESSAGE_SQL = """
+            SELECT id, room_id, content
+            FROM chat_message
+            WHERE id > ? AND deleted_at IS NULL AND content <> ''
+            ORDER BY id
+            LIMIT ?
+            """;
+
+    private final EmbeddingClient embeddingClient;
+    private final JdbcTemplate jdbcTemplate;
+    private final VectorIndex index;
+    private final ThreadPoolExecutor worker;
+
+    private final AtomicLong watermark = new AtomicLong();
+    private volatile boolean ready = false;
+
+    @Value("${com.mallapi.ai.context.vector.enabled:true}")
+    private boolean enabled;
+
+    public ChatVectorIndexer(EmbeddingClient embeddingClient, JdbcTemplate jdbcTemplate) {
+        this.embeddingClient = embeddingClient;
+        this.jdbcTemplate = jdbcTemplate;
+        this.index = new VectorIndex(embeddingClient.dimension());
+        this.worker = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(QUEUE_CAPACITY),
+                r -> {
+                    Thread t = new Thread(r, "chat-vector-indexer");
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    /**
+     * 질문과 가까운 메시지 id (유사도 순)
+     */
+    public List<Long> search(Set<Long> roomIds, String query, int k) {
+        float[] q = embeddingClient.embed(query);
+        return index.search(q, roomIds, k).stream().map(VectorIndex.Match::id).toList();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSaved(ChatMessageSavedEvent event) {
+        if (!enabled) return;
+
+        ChatMessage m = event.message();
+        if (m.getContent() == null || m.getContent().isBlank()) return;
+
+        long id = m.getId();
+        long roomId = m.getRoomId();
+        String content = m.getContent();
+        worker.execute(() -> add(id, roomId, content));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (!enabled) return;
+
+        worker.execute(() -> {
+            long started = System.currentTimeMillis();
+            try {
+                catchUp(0);
+                ready = true;
+                log.info("[CHAT-VECTOR] index built vectors={} took={}ms",
+                        index.size(), System.currentTimeMillis() - started);
+            } catch (Exception e) {
+                log.error("[CHAT-VECTOR] initial build failed (fallback to recent messages)", e);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${com.mallapi.chat.search.catch-up-ms:10000}")
+    public void catchUp() {
+        if (!enabled || !ready) return;
+        worker.execute(() -> {
+            try {
+                catchUp(Math.max(0, watermark.get() - LOOKBACK));
+            } catch (Exception e) {
+                log.warn("[CHAT-VECTOR] catch-up failed: {}", e.getMessage());
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+
+    private void catchUp(long from) {
+        long cursor = from;
+        while (true) {
+            List<Object[]> page = jdbcTemplate.query(MESSAGE_SQL,
+                    (rs, i) -> new Object[]{rs.getLong("id"), rs.getLong("room_id"), rs.getString("content")},
+                    cursor, PAGE_SIZE);
+            for (Object[] row : page) {
+                long id = (Long) row[0];
+                add(id, (Long) row[1], (String) row[2]);
+                cursor = id;
+            }
+            if (page.size() < PAGE_SIZE) break;
+        }
+        watermark.accumulateAndGet(cursor, Math::max);
+    }
+
+    private void add(long id, long roomId, String content) {
+        if (index.contains(id)) return;
+        try {
+            index.add(id, roomId, embeddingClient.embed(content));
+        } catch (Exception e) {
+            log.warn("[CHAT-VECTOR] embed failed id={}: {}", id, e.getMessage());
+        }
+    }
+}
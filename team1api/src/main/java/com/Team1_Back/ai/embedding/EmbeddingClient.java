@@ -0,0 +1,11 @@
+package com.Team1_Back.ai.embedding;
+
+/**
+ * 문장 → 벡터 (L2 정규화된 값을 돌려줘야 함: VectorIndex 는 내적을 코사인 유사도로 사용)
+ */
+public interface EmbeddingClient {
+
+    float[] embed(String text);
+
+    int dimension();
+}
@@ -0,0 +1,76 @@
+package com.Team1_Back.ai.embedding;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.Locale;
+
+/**
+ * 로컬 결정적 임베딩 (feature hashing)
+ *
+ * - 단어 + 단어 안 글자 2-gram 을 해시해서 고정 차원에 누적 → L2 정규화
+ *   (한국어는 조사가 붙어도 2-gram 이 겹쳐서 "회의록을" ≈ "회의록")
+ * - 외부 모델 없이 동작하고 같은 입력이면 항상 같은 벡터 → 기본값 / 테스트용
+ * - 의미 유사도가 필요하면 com.mallapi.ai.embedding.provider=ollama
+ */
+@Component
+@ConditionalOnProperty(name = "com.mallapi.ai.embedding.provider", havingValue = "hashing", matchIfMissing = true)
+public class HashingEmbeddingClient implements EmbeddingClient {
+
+    private final int dimension;
+
+    public HashingEmbeddingClient(@Value("${com.mallapi.ai.embedding.dimension:256}") int dimension) {
+        this.dimension = Math.max(16, dimension);
+    }
+
+    @Override
+    public int dimension() {
+        return dimension;
+    }
+
+    @Override
+    public float[] embed(String text) {
+        float[] v = new float[dimension];
+        if (text == null) return v;
+
+        String norm = Normalizer.normalize(text, Normalizer.Form.NFC).toLowerCase(Locale.ROOT);
+        for (String word : norm.split("[^\\p{L}\\p{N}]+")) {
+            if (word.isEmpty()) continue;
+
+            add(v, "w:" + word, 1.0f);
+            for (int i = 0; i + 1 < word.length(); i++) {
+                add(v, "b:" + word.substring(i, i + 2), 0.5f);
+            }
+            if (word.length() == 1) add(v, "b:" + word, 0.5f);
+        }
+        return normalize(v);
+    }
+
+    private void add(float[] v, String feature, float weight) {
+        int h = mix(feature.hashCode());
+        int idx = Math.floorMod(h, dimension);
+        // 부호 해시로 충돌 편향 상쇄
+        v[idx] += ((h >>> 31) == 0) ? weight : -weight;
+    }
+
+    static float[] normalize(float[] v) {
+        double sum = 0;
+        for (float x : v) sum += x * x;
+        if (sum == 0) return v;
+        float inv = (float) (1.0 / Math.sqrt(sum));
+        for (int i = 0; i < v.length; i++) v[i] *= inv;
+        return v;
+    }
+
+    // murmur3 finalizer
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
@@ -0,0 +1,55 @@
+package com.Team1_Back.ai.embedding;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.util.Map;
+
+/**
+ * Ollama 임베딩 모델 (/api/embeddings)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "com.mallapi.ai.embedding.provider", havingValue = "ollama")
+public class OllamaEmbeddingClient implements EmbeddingClient {
+
+    private final RestClient ollamaRestClient;
+    private final String model;
+    private final int dimension;
+
+    public OllamaEmbeddingClient(RestClient ollamaRestClient,
+                                 @Value("${com.mallapi.ai.embedding.model:nomic-embed-text}") String model,
+                                 @Value("${com.mallapi.ai.embedding.dimension:768}") int dimension) {
+        this.ollamaRestClient = ollamaRestClient;
+        this.model = model;
+        this.dimension = dimension;
+    }
+
+    @Override
+    public int dimension() {
+        return dimension;
+    }
+
+    @Override
+    public float[] embed(String text) {
+        JsonNode res = ollamaRestClient.post()
+                .uri("/api/embeddings")
+                .body(Map.of("model", model, "prompt", text == null ? "" : text))
+                .retrieve()
+                .body(JsonNode.class);
+
+        JsonNode arr = (res == null) ? null : res.path("embedding");
+        if (arr == null || !arr.isArray() || arr.size() != dimension) {
+            throw new IllegalStateException("unexpected embedding size: "
+                    + (arr == null ? "null" : arr.size()) + " (expected " + dimension + ")");
+        }
+
+        float[] v = new float[dimension];
+        for (int i = 0; i < dimension; i++) v[i] = (float) arr.get(i).asDouble();
+        return HashingEmbeddingClient.normalize(v);
+    }
+}
@@ -0,0 +1,188 @@
+package com.Team1_Back.ai.embedding;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 근사 최근접 이웃(ANN) 벡터 색인 - random hyperplane LSH
+ *
+ * - 테이블 L 개 × 초평면 B 개: 벡터마다 B 비트 서명을 테이블별로 계산해 버킷에 넣음
+ *   (코사인이 가까울수록 같은 버킷에 들어갈 확률이 높음)
+ * - 검색: 각 테이블의 같은 버킷 + 1비트 다른 이웃 버킷(multi-probe) 후보만 정확한 내적으로 재정렬
+ * - 후보가 k 개보다 적으면 대상 방 벡터 전체를 직접 비교 (방 필터가 좁을 때 재현율 보장)
+ * - 초평면은 고정 seed → 같은 데이터면 항상 같은 결과
+ *
+ * 벡터는 L2 정규화된 값이라고 가정 (내적 = 코사인)
+ */
+public class VectorIndex {
+
+    public record Match(long id, long roomId, float score) {}
+
+    private final int dimension;
+    private final int tables;
+    private final int bits;
+    private final float[][][] planes; // [table][bit][dim]
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final List<float[]> vectors = new ArrayList<>();
+    private final List<long[]> keys = new ArrayList<>(); // {id, roomId}
+    private final Map<Long, Integer> ordById = new HashMap<>();
+    private final List<Map<Integer, Ints>> buckets = new ArrayList<>();
+    private final Map<Long, Ints> byRoom = new HashMap<>();
+
+    public VectorIndex(int dimension) {
+        this(dimension, 8, 12, 42L);
+    }
+
+    public VectorIndex(int dimension, int tables, int bits, long seed) {
+        this.dimension = dimension;
+        this.tables = tables;
+        this.bits = Math.min(bits, 30);
+
+        Random rnd = new Random(seed);
+        this.planes = new float[tables][this.bits][dimension];
+        for (int t = 0; t < tables; t++) {
+            buckets.add(new HashMap<>());
+            for (int b = 0; b < this.bits; b++) {
+                for (int d = 0; d < dimension; d++) planes[t][b][d] = (float) rnd.nextGaussian();
+            }
+        }
+    }
+
+    public boolean add(long id, long roomId, float[] vector) {
+        if (vector == null || vector.length != dimension) {
+            throw new IllegalArgumentException("dimension mismatch");
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (ordById.containsKey(id)) return false;
+
+            int ord = vectors.size();
+            vectors.add(vector);
+            keys.add(new long[]{id, roomId});
+            ordById.put(id, ord);
+
+            for (int t = 0; t < tables; t++) {
+                buckets.get(t).computeIfAbsent(signature(t, vector), k -> new Ints()).add(ord);
+            }
+            byRoom.computeIfAbsent(roomId, k -> new Ints()).add(ord);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean contains(long id) {
+        lock.readLock().lock();
+        try {
+            return ordById.containsKey(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return vectors.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param roomIds 이 방들의 벡터만 (null 이면 전체)
+     */
+    public List<Match> search(float[] query, Set<Long> roomIds, int k) {
+        if (query == null || query.length != dimension || k <= 0) return List.of();
+
+        lock.readLock().lock();
+        try {
+            Set<Integer> candidates = new HashSet<>();
+            for (int t = 0; t < tables; t++) {
+                int sig = signature(t, query);
+                collect(t, sig, roomIds, candidates);
+                for (int b = 0; b < bits; b++) {
+                    collect(t, sig ^ (1 << b), roomIds, candidates);
+                }
+            }
+
+            if (candidates.size() < k) {
+                // 후보 부족 → 대상 방 전체 비교
+                if (roomIds == null) {
+                    for (int i = 0; i < vectors.size(); i++) candidates.add(i);
+                } else {
+                    for (Long r : roomIds) {
+                        Ints ords = byRoom.get(r);
+                        if (ords == null) continue;
+                        for (int i = 0; i < ords.size; i++) candidates.add(ords.data[i]);
+                    }
+                }
+            }
+
+            PriorityQueue<Match> top = new PriorityQueue<>(Comparator.comparingDouble(Match::score));
+            for (int ord : candidates) {
+                float s = dot(query, vectors.get(ord));
+                long[] key = keys.get(ord);
+                if (top.size() < k) {
+                    top.add(new Match(key[0], key[1], s));
+                } else if (s > top.peek().score()) {
+                    top.poll();
+                    top.add(new Match(key[0], key[1], s));
+                }
+            }
+
+            List<Match> out = new ArrayList<>(top);
+            out.sort(Comparator.comparingDouble(Match::score).reversed()
+                    .thenComparing(Match::id, Comparator.reverseOrder()));
+            return out;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void collect(int table, int sig, Set<Long> roomIds, Set<Integer> out) {
+        Ints ords = buckets.get(table).get(sig);
+        if (ords == null) return;
+        for (int i = 0; i < ords.size; i++) {
+            int o = ords.data[i];
+            if (roomIds == null || roomIds.contains(keys.get(o)[1])) out.add(o);
+        }
+    }
+
+    private int signature(int table, float[] v) {
+        int sig = 0;
+        for (int b = 0; b < bits; b++) {
+            if (dot(planes[table][b], v) >= 0) sig |= (1 << b);
+        }
+        return sig;
+    }
+
+    private static float dot(float[] a, float[] b) {
+        float s = 0;
+        for (int i = 0; i < a.length; i++) s += a[i] * b[i];
+        return s;
+    }
+
+    private static final class Ints {
+
+        private int[] data = new int[4];
+        private int size;
+
+        void add(int v) {
+            if (size == data.length) data = Arrays.copyOf(data, size * 2);
+            data[size++] = v;
+        }
+    }
+}
@@ -3,10 +3,17 @@ package com.Team1_Back.ai.service;
 import com.Team1_Back.dto.TodoDTO;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface AiService {
     String generate(String prompt);
 
+    // stream=true 로 호출, 토큰이 올 때마다 onToken 으로 전달하고 전체 응답 반환
+    String generateStream(String prompt, Consumer<String> onToken);
+
     // 회의록 파일을 분석하여 Todo 목록을 추출
     List<TodoDTO> analyzeMeetingNote(String fileContent);
+
+    // 분석 중 생성되는 토큰을 onToken 으로 전달 (null 이면 스트리밍 없이)
+    List<TodoDTO> analyzeMeetingNote(String fileContent, Consumer<String> onToken);
 }
@@ -13,10 +13,14 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClient;
 
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
@@ -64,8 +68,61 @@ public class AiServiceImpl implements AiService {
         }
     }
 
+    @Override
+    public String generateStream(String prompt, Consumer<String> onToken) {
+
+        if (prompt == null || prompt.isBlank()) {
+            throw new IllegalArgumentException("prompt is blank");
+        }
+
+        OllamaGenerateRequestDTO req = new OllamaGenerateRequestDTO();
+        req.setModel(props.getModel());
+        req.setPrompt(prompt);
+        req.setStream(true); // 한 줄에 JSON 하나씩 (NDJSON)
+
+        try {
+            return ollamaRestClient.post()
+                    .uri("/api/generate")
+                    .body(req)
+                    .exchange((request, response) -> {
+                        if (response.getStatusCode().isError()) {
+                            throw new RuntimeException("ollama http " + response.getStatusCode().value());
+                        }
+
+                        StringBuilder full = new StringBuilder();
+                        try (BufferedReader reader = new BufferedReader(
+                                new InputStreamReader(response.getBody(), StandardCharsets.UTF_8))) {
+                            String line;
+                            while ((line = reader.readLine()) != null) {
+                                if (line.isBlank()) continue;
+
+                                OllamaGenerateResponseDTO chunk = gson.fromJson(line, OllamaGenerateResponseDTO.class);
+                                if (chunk.getError() != null && !chunk.getError().isBlank()) {
+                                    throw new RuntimeException("ollama error: " + chunk.getError());
+                                }
+                                if (chunk.getResponse() != null && !chunk.getResponse().isEmpty()) {
+                                    full.append(chunk.getResponse());
+                                    onToken.accept(chunk.getResponse());
+                                }
+                                if (Boolean.TRUE.equals(chunk.getDone())) break;
+                            }
+                        }
+                        return full.toString();
+                    });
+
+        } catch (Exception e) {
+            log.error("[AI] Ollama stream call failed", e);
+            throw new RuntimeException("AI generate failed", e);
+        }
+    }
+
     @Override
     public List<TodoDTO> analyzeMeetingNote(String fileContent) {
+        return analyzeMeetingNote(fileContent, null);
+    }
+
+    @Override
+    public List<TodoDTO> analyzeMeetingNote(String fileContent, Consumer<String> onToken) {
         if (fileContent == null || fileContent.isBlank()) {
             throw new IllegalArgumentException("회의록 내용이 비어있습니다.");
         }
@@ -77,7 +134,7 @@ public class AiServiceImpl implements AiService {
 
         try {
             // AI 호출
-            String aiResponse = generate(prompt);
+            String aiResponse = (onToken == null) ? generate(prompt) : generateStream(prompt, onToken);
             log.info("[AI] AI 응답 받음: {}", aiResponse.substring(0, Math.min(200, aiResponse.length())));
 
             // JSON 파싱
@@ -1,7 +1,8 @@
 package com.Team1_Back.ai.service;
 
 import com.Team1_Back.dto.ReceiptExtractionDTO;
-import org.springframework.web.multipart.MultipartFile;
+
+import java.nio.file.Path;
 
 /**
  * ✅ 새로 생성: 영수증 OCR 통합 - 영수증 AI 추출 서비스 인터페이스
@@ -12,12 +13,14 @@ import org.springframework.web.multipart.MultipartFile;
 public interface ReceiptAiService {
 
     /**
-     * 영수증 이미지를 분석하여 구조화된 데이터를 추출합니다.
-     * 
-     * @param imageFile 분석할 영수증 이미지 파일
-     * @return 추출된 영수증 정보 (extractedMerchant, extractedAmount, extractedDate, extractedCategory, extractedJson 등)
+     * 저장된 영수증 파일을 디스크에서 바로 스트리밍하여 분석합니다. (OCR 워커용)
+     *
+     * @param file     저장된 이미지 경로
+     * @param filename 전송할 파일명
+     * @param mimeType 이미지 MIME 타입 (null 이면 application/octet-stream)
+     * @return 추출된 영수증 정보
      * @throws RuntimeException AI 서비스 호출 실패 시
      */
-    ReceiptExtractionDTO extractReceipt(MultipartFile imageFile);
+    ReceiptExtractionDTO extractReceipt(Path file, String filename, String mimeType);
 }
 
@@ -5,14 +5,17 @@ import com.Team1_Back.ai.dto.ReceiptExtractionResponseDTO;
 import com.Team1_Back.dto.ReceiptExtractionDTO;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.client.RestClient;
-import org.springframework.web.multipart.MultipartFile;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
@@ -30,70 +33,76 @@ public class ReceiptAiServiceImpl implements ReceiptAiService {
     private final ReceiptAiProperties props;
 
     @Override
-    public ReceiptExtractionDTO extractReceipt(MultipartFile imageFile) {
+    public ReceiptExtractionDTO extractReceipt(Path file, String filename, String mimeType) {
         try {
-            log.info("[ReceiptAI] extractReceipt 메서드 호출됨: filename={}, size={} bytes", 
-                     imageFile.getOriginalFilename(), imageFile.getSize());
-            
-            // MultipartFile을 MultiValueMap으로 변환
-            MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
-            ByteArrayResource resource = new ByteArrayResource(imageFile.getBytes()) {
+            String name = (filename == null || filename.isBlank()) ? file.getFileName().toString() : filename;
+            log.info("[ReceiptAI] extractReceipt(file) 호출됨: path={}, size={} bytes", file, Files.size(file));
+
+            // 파일 내용을 메모리에 올리지 않고 요청 본문으로 바로 흘려보냄
+            FileSystemResource resource = new FileSystemResource(file) {
                 @Override
                 public String getFilename() {
-                    return imageFile.getOriginalFilename() != null 
-                        ? imageFile.getOriginalFilename() 
-                        : "receipt.jpg";
+                    return name;
                 }
             };
-            body.add("file", resource);
-            
-            log.info("[ReceiptAI] 요청 바디 준비 완료: filename={}, bodySize={} bytes", 
-                     resource.getFilename(), imageFile.getSize());
-
-            // Python AI 서비스 호출
-            String fullUrl = props.getBaseUrl() + "/api/ai/receipt/extract";
-            log.info("[ReceiptAI] Python AI 서비스 호출 시작: baseUrl={}, fullUrl={}", props.getBaseUrl(), fullUrl);
-            
-            ReceiptExtractionResponseDTO response = receiptAiRestClient.post()
-                    .uri("/api/ai/receipt/extract")
-                    .contentType(MediaType.MULTIPART_FORM_DATA)
-                    .body(body)
-                    .retrieve()
-                    .body(ReceiptExtractionResponseDTO.class);
-
-            log.info("[ReceiptAI] Python AI 서비스 응답 받음: response={}", response);
-
-            if (response == null) {
-                log.error("[ReceiptAI] AI 서비스 응답이 null입니다!");
-                throw new RuntimeException("AI 서비스 응답이 null입니다.");
-            }
 
-            // 에러 체크
-            if (response.getError() != null && !response.getError().isBlank()) {
-                log.error("[ReceiptAI] AI 서비스 에러: {}", response.getError());
-                throw new RuntimeException("AI 서비스 에러: " + response.getError());
-            }
+            HttpHeaders partHeaders = new HttpHeaders();
+            partHeaders.setContentType(mimeType == null
+                    ? MediaType.APPLICATION_OCTET_STREAM
+                    : MediaType.parseMediaType(mimeType));
 
-            log.info("[ReceiptAI] Python AI 서비스 호출 성공: merchant={}, amount={}, date={}, category={}", 
-                     response.getExtractedMerchant(),
-                     response.getExtractedAmount(),
-                     response.getExtractedDate(),
-                     response.getExtractedCategory());
+            MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
+            body.add("file", new HttpEntity<>(resource, partHeaders));
 
-            // ReceiptExtractionResponseDTO를 ReceiptExtractionDTO로 변환
-            ReceiptExtractionDTO result = convertToDTO(response);
-            log.info("[ReceiptAI] DTO 변환 완료: merchant={}, amount={}, date={}", 
-                     result.getExtractedMerchant(), result.getExtractedAmount(), result.getExtractedDate());
-            
-            return result;
+            return call(body);
 
         } catch (Exception e) {
-            log.error("[ReceiptAI] Python AI 서비스 호출 실패: error={}, message={}", 
-                     e.getClass().getSimpleName(), e.getMessage(), e);
+            log.error("[ReceiptAI] Python AI 서비스 호출 실패: path={}, error={}, message={}",
+                     file, e.getClass().getSimpleName(), e.getMessage());
             throw new RuntimeException("영수증 AI 추출 실패: " + e.getMessage(), e);
         }
     }
 
+    // multipart 본문을 Python AI 서비스로 전송하고 응답을 내부 DTO 로 변환
+    private ReceiptExtractionDTO call(MultiValueMap<String, Object> body) {
+        // Python AI 서비스 호출
+        String fullUrl = props.getBaseUrl() + "/api/ai/receipt/extract";
+        log.info("[ReceiptAI] Python AI 서비스 호출 시작: baseUrl={}, fullUrl={}", props.getBaseUrl(), fullUrl);
+        
+        ReceiptExtractionResponseDTO response = receiptAiRestClient.post()
+                .uri("/api/ai/receipt/extract")
+                .contentType(MediaType.MULTIPART_FORM_DATA)
+                .body(body)
+                .retrieve()
+                .body(ReceiptExtractionResponseDTO.class);
+
+        log.info("[ReceiptAI] Python AI 서비스 응답 받음: response={}", response);
+
+        if (response == null) {
+            log.error("[ReceiptAI] AI 서비스 응답이 null입니다!");
+            throw new RuntimeException("AI 서비스 응답이 null입니다.");
+        }
+
+        // 에러 체크
+        if (response.getError() != null && !response.getError().isBlank()) {
+            log.error("[ReceiptAI] AI 서비스 에러: {}", response.getError());
+            throw new RuntimeException("AI 서비스 에러: " + response.getError());
+        }
+
+        log.info("[ReceiptAI] Python AI 서비스 호출 성공: merchant={}, amount={}, date={}, category={}", 
+                 response.getExtractedMerchant(),
+                 response.getExtractedAmount(),
+                 response.getExtractedDate(),
+                 response.getExtractedCategory());
+
+        // ReceiptExtractionResponseDTO를 ReceiptExtractionDTO로 변환
+        ReceiptExtractionDTO result = convertToDTO(response);
+        log.info("[ReceiptAI] DTO 변환 완료: merchant={}, amount={}, date={}", 
+                 result.getExtractedMerchant(), result.getExtractedAmount(), result.getExtractedDate());
+        
+        return result;
+    }
+
     // Python API 응답을 내부 DTO로 변환
     private ReceiptExtractionDTO convertToDTO(ReceiptExtractionResponseDTO response) {
         log.info("[ReceiptAI] convertToDTO 시작: response={}", response);
@@ -0,0 +1,95 @@
+package com.Team1_Back.ai.stream;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * AI 응답 SSE 스트리밍 공통 처리
+ *
+ * - 요청 스레드는 SseEmitter 만 돌려주고 LLM 호출은 전용 pool 에서 실행
+ *   (인증/권한 확인과 후보 조회는 호출 전에 요청 스레드에서 끝내야 함 - SecurityContext 는 전달되지 않음)
+ * - 이벤트: 기능별 부분 결과(summary, message, file, token ...) → 마지막에 done 또는 error
+ * - 브라우저가 끊으면 이후 send 는 버림 (LLM 호출은 끝까지 진행해 캐시에 남김)
+ */
+@Slf4j
+@Component
+public class AiStreamService {
+
+    public interface Stream {
+        void send(String event, Object data);
+    }
+
+    public interface Work {
+        void run(Stream stream) throws Exception;
+    }
+
+    private final long timeoutMs;
+    private final ThreadPoolExecutor executor;
+
+    public AiStreamService(@Value("${com.mallapi.ai.stream.timeout-ms:60000}") long timeoutMs,
+                           @Value("${com.mallapi.ai.stream.threads:8}") int threads,
+                           @Value("${com.mallapi.ai.stream.queue:100}") int queue) {
+        this.timeoutMs = timeoutMs;
+        AtomicInteger seq = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queue),
+                r -> {
+                    Thread t = new Thread(r, "ai-stream-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public SseEmitter start(String tag, Work work) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        AtomicBoolean closed = new AtomicBoolean();
+        emitter.onCompletion(() -> closed.set(true));
+        emitter.onTimeout(() -> closed.set(true));
+        emitter.onError(e -> closed.set(true));
+
+        Stream stream = (event, data) -> {
+            if (closed.get()) return;
+            try {
+                emitter.send(SseEmitter.event().name(event).data(data));
+            } catch (IOException | IllegalStateException e) {
+                closed.set(true);
+            }
+        };
+
+        try {
+            executor.execute(() -> {
+                try {
+                    work.run(stream);
+                } catch (Exception e) {
+                    log.warn("[{}] stream failed: {}", tag, e.toString());
+                    stream.send("error", Map.of("message", "AI 응답 생성에 실패했습니다."));
+                } finally {
+                    if (!closed.get()) emitter.complete();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "AI stream busy");
+        }
+        return emitter;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,240 @@
+package com.Team1_Back.ai.stream;
+
+/**
+ * LLM 응답 JSON 을 토큰이 도착하는 대로 해석 (전체가 오기 전에 부분 결과 전달)
+ *
+ * {"summary": "...", "messageIds": [..], "attachmentIds": [..]} 형태만 대상
+ * - summary: 문자열 안의 글자를 feed 단위로 모아 onSummary(delta) 로 전달 (escape 해석)
+ * - messageIds / attachmentIds: 숫자(또는 "123" 문자열) 하나가 끝날 때마다 전달
+ * - 나머지 키 / 첫 '{' 앞의 텍스트(```json 등)는 무시
+ *
+ * 최종 결과는 전체 텍스트를 다시 파싱해서 확정 (이 parser 는 미리보기용)
+ */
+public class LlmJsonStreamParser {
+
+    public interface Listener {
+        default void onSummary(String delta) {
+        }
+
+        default void onMessageId(long id) {
+        }
+
+        default void onAttachmentId(long id) {
+        }
+    }
+
+    private enum State {
+        BEFORE_OBJECT, EXPECT_KEY, IN_KEY, EXPECT_COLON, EXPECT_VALUE,
+        IN_SUMMARY, IN_ID_ARRAY, SKIP_VALUE, AFTER_VALUE, DONE
+    }
+
+    private final Listener listener;
+
+    private State state = State.BEFORE_OBJECT;
+    private final StringBuilder key = new StringBuilder();
+    private boolean escape;
+
+    // summary 문자열
+    private final StringBuilder summaryDelta = new StringBuilder();
+    private int unicodeLeft = -1;
+    private int unicodeValue;
+
+    // id 배열
+    private final StringBuilder idToken = new StringBuilder();
+    private boolean idInvalid;
+    private boolean idQuoted;
+
+    // 건너뛰는 값
+    private int skipDepth;
+    private boolean skipInString;
+
+    public LlmJsonStreamParser(Listener listener) {
+        this.listener = listener;
+    }
+
+    public void feed(CharSequence chunk) {
+        for (int i = 0; i < chunk.length(); i++) {
+            char c = chunk.charAt(i);
+            // 값이 끝나면서 같은 글자를 다음 상태에서 다시 처리해야 하면 false
+            while (!accept(c)) {
+            }
+        }
+        flushSummary();
+    }
+
+    public boolean isDone() {
+        return state == State.DONE;
+    }
+
+    /**
+     * @return false 면 같은 글자를 한 번 더 처리해야 함
+     */
+    private boolean accept(char c) {
+        switch (state) {
+            case BEFORE_OBJECT -> {
+                if (c == '{') state = State.EXPECT_KEY;
+            }
+            case EXPECT_KEY -> {
+                if (c == '"') {
+                    key.setLength(0);
+                    state = State.IN_KEY;
+                } else if (c == '}') {
+                    state = State.DONE;
+                }
+            }
+            case IN_KEY -> {
+                if (escape) {
+                    key.append(c);
+                    escape = false;
+                } else if (c == '\\') {
+                    escape = true;
+                } else if (c == '"') {
+                    state = State.EXPECT_COLON;
+                } else {
+                    key.append(c);
+                }
+            }
+            case EXPECT_COLON -> {
+                if (c == ':') state = State.EXPECT_VALUE;
+            }
+            case EXPECT_VALUE -> {
+                if (Character.isWhitespace(c)) return true;
+                String k = key.toString();
+                if (k.equals("summary") && c == '"') {
+                    state = State.IN_SUMMARY;
+                } else if ((k.equals("messageIds") || k.equals("attachmentIds")) && c == '[') {
+                    resetId();
+                    state = State.IN_ID_ARRAY;
+                } else {
+                    skipDepth = 0;
+                    skipInString = false;
+                    state = State.SKIP_VALUE;
+                    return false;
+                }
+            }
+            case IN_SUMMARY -> acceptSummary(c);
+            case IN_ID_ARRAY -> acceptId(c);
+            case SKIP_VALUE -> {
+                return acceptSkip(c);
+            }
+            case AFTER_VALUE -> {
+                if (c == ',') state = State.EXPECT_KEY;
+                else if (c == '}') state = State.DONE;
+            }
+            case DONE -> {
+            }
+        }
+        return true;
+    }
+
+    private void acceptSummary(char c) {
+        if (unicodeLeft > 0) {
+            unicodeValue = unicodeValue * 16 + Character.digit(c, 16);
+            if (--unicodeLeft == 0) {
+                summaryDelta.append((char) unicodeValue);
+                unicodeLeft = -1;
+            }
+            return;
+        }
+        if (escape) {
+            escape = false;
+            switch (c) {
+                case 'n' -> summaryDelta.append('\n');
+                case 't' -> summaryDelta.append('\t');
+                case 'r' -> summaryDelta.append('\r');
+                case 'b' -> summaryDelta.append('\b');
+                case 'f' -> summaryDelta.append('\f');
+                case 'u' -> {
+                    unicodeLeft = 4;
+                    unicodeValue = 0;
+                }
+                default -> summaryDelta.append(c); // \" \\ \/
+            }
+            return;
+        }
+        if (c == '\\') {
+            escape = true;
+        } else if (c == '"') {
+            flushSummary();
+            state = State.AFTER_VALUE;
+        } else {
+            summaryDelta.append(c);
+        }
+    }
+
+    private void acceptId(char c) {
+        if (c == '"') {
+            idQuoted = !idQuoted;
+            if (!idQuoted) emitId();
+            return;
+        }
+        if (!idQuoted && (c == ',' || c == ']' || Character.isWhitespace(c))) {
+            emitId();
+            if (c == ']') state = State.AFTER_VALUE;
+            return;
+        }
+        if (Character.isDigit(c) || (c == '-' && idToken.isEmpty())) {
+            idToken.append(c);
+        } else if (!Character.isWhitespace(c)) {
+            idInvalid = true; // null, 1.5, "abc" 등
+        }
+    }
+
+    private boolean acceptSkip(char c) {
+        if (skipInString) {
+            if (escape) escape = false;
+            else if (c == '\\') escape = true;
+            else if (c == '"') {
+                skipInString = false;
+                if (skipDepth == 0) state = State.AFTER_VALUE;
+            }
+            return true;
+        }
+        switch (c) {
+            case '"' -> skipInString = true;
+            case '{', '[' -> skipDepth++;
+            case '}', ']' -> {
+                if (skipDepth == 0) {
+                    // 숫자 / literal 값 바로 뒤에서 객체가 닫힘
+                    state = State.AFTER_VALUE;
+                    return false;
+                }
+                if (--skipDepth == 0) state = State.AFTER_VALUE;
+            }
+            case ',' -> {
+                if (skipDepth == 0) {
+                    state = State.AFTER_VALUE;
+                    return false;
+                }
+            }
+            default -> {
+            }
+        }
+        return true;
+    }
+
+    private void emitId() {
+        if (!idInvalid && !idToken.isEmpty() && !(idToken.length() == 1 && idToken.charAt(0) == '-')) {
+            try {
+                long id = Long.parseLong(idToken.toString());
+                if (key.toString().equals("messageIds")) listener.onMessageId(id);
+                else listener.onAttachmentId(id);
+            } catch (NumberFormatException ignore) {
+                // 범위 초과
+            }
+        }
+        resetId();
+    }
+
+    private void resetId() {
+        idToken.setLength(0);
+        idInvalid = false;
+        idQuoted = false;
+    }
+
+    private void flushSummary() {
+        if (summaryDelta.isEmpty()) return;
+        listener.onSummary(summaryDelta.toString());
+        summaryDelta.setLength(0);
+    }
+}
@@ -0,0 +1,80 @@
+package com.Team1_Back.chat;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 채팅 실시간 전파 진입점
+ *
+ * - 방 메시지 / 개인 큐 메시지는 ChatRelay 로 바로 전달
+ * - ROOMS_CHANGED 는 내용 없는 "목록 새로고침" 신호라 짧은 구간 동안 모아서
+ *   사용자당 한 번만 보냄 (메시지가 몰리는 방에서 멤버 수 × 메시지 수 만큼 나가던 것을 줄임)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatBroadcaster {
+
+    public static final String ROOMS_QUEUE = "/queue/rooms";
+
+    private static final Map<String, Object> ROOMS_CHANGED = Map.of("type", "ROOMS_CHANGED");
+
+    private final ChatRelay chatRelay;
+
+    private final Set<Long> pendingRoomsChanged = ConcurrentHashMap.newKeySet();
+
+    public static String roomTopic(Long roomId) {
+        return "/topic/room/" + roomId;
+    }
+
+    public void toRoom(Long roomId, Object payload) {
+        chatRelay.sendToRoom(roomId, roomTopic(roomId), payload);
+    }
+
+    public void toRoom(Long roomId, String destination, Object payload) {
+        chatRelay.sendToRoom(roomId, destination, payload);
+    }
+
+    public void toUser(Long userId, String destination, Object payload) {
+        chatRelay.sendToUsers(List.of(userId), destination, payload);
+    }
+
+    /**
+     * 방 목록 갱신 신호 예약 (다음 flush 때 한 번에 전송)
+     */
+    public void roomsChanged(Collection<Long> userIds) {
+        if (userIds == null) return;
+        for (Long uid : userIds) {
+            if (uid != null) pendingRoomsChanged.add(uid);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${com.mallapi.chat.rooms-changed.batch-ms:200}")
+    public void flushRoomsChanged() {
+        if (pendingRoomsChanged.isEmpty()) return;
+
+        List<Long> batch = new ArrayList<>(pendingRoomsChanged.size());
+        Iterator<Long> it = pendingRoomsChanged.iterator();
+        while (it.hasNext()) {
+            batch.add(it.next());
+            it.remove();
+        }
+
+        try {
+            chatRelay.sendToUsers(batch, ROOMS_QUEUE, ROOMS_CHANGED);
+        } catch (Exception e) {
+            // 새로고침 신호라 유실돼도 다음 변경 때 다시 감
+            log.warn("[CHAT] rooms-changed flush failed size={}: {}", batch.size(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.Team1_Back.chat;
+
+import java.util.Collection;
+
+/**
+ * 채팅 STOMP 메시지 전달 경로
+ *
+ * - simple: 이 노드의 simple broker 로만 전달 (단일 노드)
+ * - redis : 로컬 전달 + Redis pub/sub 으로 다른 노드에 중계 (다중 노드)
+ */
+public interface ChatRelay {
+
+    /**
+     * 방 구독자에게 전달 (destination 예: /topic/room/{roomId})
+     */
+    void sendToRoom(Long roomId, String destination, Object payload);
+
+    /**
+     * 사용자 개인 큐로 전달 (destination 예: /queue/rooms → /user/{id}/queue/rooms)
+     */
+    void sendToUsers(Collection<Long> userIds, String destination, Object payload);
+}
@@ -0,0 +1,20 @@
+package com.Team1_Back.chat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.List;
+
+/**
+ * Redis 채널로 오가는 중계 메시지
+ *
+ * @param origin  보낸 노드 (자기 자신이 보낸 건 이미 로컬 전달했으므로 무시)
+ * @param roomId  방 메시지면 roomId, 사용자 메시지면 null
+ * @param userIds 사용자 메시지 대상 (같은 shard 에 속한 사용자끼리 한 번에)
+ */
+public record ChatRelayEnvelope(
+        String origin,
+        Long roomId,
+        List<Long> userIds,
+        String destination,
+        JsonNode payload
+) {}
@@ -0,0 +1,488 @@
+package com.Team1_Back.chat;
+
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 채팅 메시지 / 첨부 파일명 in-process 역색인 (1-gram + 2-gram)
+ *
+ * - 한국어는 띄어쓰기/조사 때문에 형태소 없이도 2-gram 이 잘 맞음 ("회의록" → "회의", "의록")
+ * - 색인에는 id / 방 / 시각과 gram posting 만 보관 (본문·파일명 문자열은 들고 있지 않음)
+ * - 검색: 검색어의 gram posting 교집합 → 후보(candidates) → 호출 측이 DB 에서 읽은 실제 문자열로 확인(resolve)
+ *   (LIKE 와 같은 결과, 삭제된 첨부도 이때 걸러짐)
+ * - 검색어는 LIKE 패턴 그대로 받음 ('%' 임의 길이, '_' 한 글자)
+ * - 맥락 검색: 검색어가 들어간 메시지 ±ctx 초 안의 메시지에 달린 첨부 (방별 시간 인덱스)
+ * - 문서 수 상한(maxDocs)을 넘으면 더 받지 않고 isFull() → 호출 측은 DB 검색으로 대체
+ *
+ * 문서 번호(ordinal)는 추가 순서대로 증가 → posting 은 항상 정렬 상태, 교집합은 병합으로
+ * 읽기/쓰기는 ReadWriteLock 하나로 보호 (쓰기는 문서 1건 추가라 짧음)
+ */
+public class ChatSearchIndex {
+
+    public enum MatchReason { FILENAME, ATT_MSG, CONTEXT }
+
+    /**
+     * 색인 입력 (content 는 gram 추출에만 쓰고 보관하지 않음)
+     */
+    public record MessageDoc(long messageId, long roomId, long createdAtMs, String content) {}
+
+    /**
+     * 첨부 행 (색인 입력 / 검색 결과). 색인에는 id·방·시각만 남음
+     */
+    public record AttachmentDoc(long attachmentId,
+                                long roomId,
+                                long messageId,
+                                long uploaderId,
+                                String originalName,
+                                String mimeType,
+                                long fileSize,
+                                LocalDateTime createdAt,
+                                long messageCreatedAtMs,
+                                String messageContent) {}
+
+    public record Hit(AttachmentDoc attachment, MatchReason reason) {}
+
+    /**
+     * 확인 전 후보
+     *
+     * @param byName     파일명에 검색어 gram 이 모두 있음
+     * @param messageIds 검색어 gram 이 모두 있는 메시지 중 ±ctx 안에 이 첨부가 있는 것
+     */
+    public record Candidate(long attachmentId, boolean byName, long[] messageIds) {}
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final int maxDocs;
+    private volatile boolean full = false;
+
+    // 메시지: ordinal → id / 방 / 시각
+    private final LongList messageIds = new LongList();
+    private final LongList messageRooms = new LongList();
+    private final LongList messageTimes = new LongList();
+    private final Map<Long, Integer> messageOrdById = new HashMap<>();
+    private final GramIndex messageGrams = new GramIndex();
+
+    // 첨부: ordinal → id / 방 / 작성 시각(정렬용)
+    private final LongList attachmentIds = new LongList();
+    private final LongList attachmentRooms = new LongList();
+    private final LongList attachmentTimes = new LongList();
+    private final Map<Long, Integer> attachmentOrdById = new HashMap<>();
+    private final BitSet deletedAttachments = new BitSet();
+    private final GramIndex nameGrams = new GramIndex();
+
+    // roomId → (첨부가 달린 메시지 시각 → 첨부 ordinal) : 맥락 확장용
+    private final Map<Long, TreeMap<Long, IntList>> roomTimeline = new HashMap<>();
+
+    public ChatSearchIndex(int maxDocs) {
+        this.maxDocs = maxDocs;
+    }
+
+    public boolean addMessage(MessageDoc doc) {
+        lock.writeLock().lock();
+        try {
+            if (messageOrdById.containsKey(doc.messageId()) || !reserve()) return false;
+
+            int ord = messageIds.size();
+            messageIds.add(doc.messageId());
+            messageRooms.add(doc.roomId());
+            messageTimes.add(doc.createdAtMs());
+            messageOrdById.put(doc.messageId(), ord);
+            messageGrams.add(ord, normalize(doc.content()));
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean addAttachment(AttachmentDoc doc) {
+        lock.writeLock().lock();
+        try {
+            if (attachmentOrdById.containsKey(doc.attachmentId()) || !reserve()) return false;
+
+            int ord = attachmentIds.size();
+            attachmentIds.add(doc.attachmentId());
+            attachmentRooms.add(doc.roomId());
+            attachmentTimes.add(doc.createdAt() == null ? Long.MIN_VALUE
+                    : doc.createdAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+            attachmentOrdById.put(doc.attachmentId(), ord);
+            nameGrams.add(ord, normalize(doc.originalName()));
+
+            roomTimeline.computeIfAbsent(doc.roomId(), k -> new TreeMap<>())
+                    .computeIfAbsent(doc.messageCreatedAtMs(), k -> new IntList())
+                    .add(ord);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 쓰기 잠금 안에서 호출
+    private boolean reserve() {
+        if (messageIds.size() + attachmentIds.size() < maxDocs) return true;
+        full = true;
+        return false;
+    }
+
+    /**
+     * 상한에 걸려 문서를 버린 적이 있으면 true (이후 검색 결과는 불완전)
+     */
+    public boolean isFull() {
+        return full;
+    }
+
+    public void markAttachmentDeleted(long attachmentId) {
+        lock.writeLock().lock();
+        try {
+            Integer ord = attachmentOrdById.get(attachmentId);
+            if (ord != null) deletedAttachments.set(ord);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean containsMessage(long messageId) {
+        lock.readLock().lock();
+        try {
+            return messageOrdById.containsKey(messageId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean containsAttachment(long attachmentId) {
+        lock.readLock().lock();
+        try {
+            return attachmentOrdById.containsKey(attachmentId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int messageCount() {
+        lock.readLock().lock();
+        try {
+            return messageIds.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int attachmentCount() {
+        lock.readLock().lock();
+        try {
+            return attachmentIds.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * LIKE 검색어 → 패턴 (대소문자/NFC 정규화 포함)
+     */
+    public static Pattern compile(String likeQuery) {
+        return Pattern.of(normalize(likeQuery));
+    }
+
+    /**
+     * 내가 속한 방의 첨부 후보 (created_at desc, id desc). 실제 문자열 확인 전이라 오탐이 섞여 있음
+     *
+     * @param roomIds    검색 대상 방 (멤버십)
+     * @param ctxSeconds 맥락 윈도우 (0 이면 같은 메시지 첨부만)
+     */
+    public List<Candidate> candidates(Set<Long> roomIds, Pattern pattern, int ctxSeconds) {
+        if (roomIds == null || roomIds.isEmpty() || pattern.isEmpty()) return List.of();
+
+        lock.readLock().lock();
+        try {
+            Map<Integer, CandidateBuilder> found = new HashMap<>();
+
+            // 1) 파일명
+            IntList byName = nameGrams.candidates(pattern);
+            for (int i = 0; i < byName.size; i++) {
+                int ord = byName.get(i);
+                if (deletedAttachments.get(ord) || !roomIds.contains(attachmentRooms.get(ord))) continue;
+                found.computeIfAbsent(ord, k -> new CandidateBuilder()).byName = true;
+            }
+
+            // 2) 메시지 → 같은 메시지 첨부 / ±ctx 초 안 첨부
+            long ctxMs = Math.max(0, ctxSeconds) * 1000L;
+            IntList byText = messageGrams.candidates(pattern);
+            for (int i = 0; i < byText.size; i++) {
+                int ord = byText.get(i);
+                long roomId = messageRooms.get(ord);
+                if (!roomIds.contains(roomId)) continue;
+
+                TreeMap<Long, IntList> timeline = roomTimeline.get(roomId);
+                if (timeline == null) continue;
+
+                long at = messageTimes.get(ord);
+                NavigableMap<Long, IntList> window = timeline.subMap(at - ctxMs, true, at + ctxMs, true);
+                for (IntList atts : window.values()) {
+                    for (int j = 0; j < atts.size; j++) {
+                        int a = atts.get(j);
+                        if (deletedAttachments.get(a)) continue;
+                        found.computeIfAbsent(a, k -> new CandidateBuilder()).messageIds.add(messageIds.get(ord));
+                    }
+                }
+            }
+
+            List<Integer> ords = new ArrayList<>(found.keySet());
+            ords.sort(Comparator.comparingLong((Integer o) -> attachmentTimes.get(o)).reversed()
+                    .thenComparing(Comparator.comparingLong((Integer o) -> attachmentIds.get(o)).reversed()));
+
+            List<Candidate> out = new ArrayList<>(ords.size());
+            for (Integer o : ords) {
+                CandidateBuilder b = found.get(o);
+                out.add(new Candidate(attachmentIds.get(o), b.byName, b.messageIds.toArray()));
+            }
+            return out;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 후보를 DB 에서 읽은 실제 값으로 확인 (후보 순서 유지)
+     *
+     * @param liveAttachments 후보 중 삭제되지 않은 첨부 (id → 행)
+     * @param messageContent  후보 메시지 본문 (id → content, 삭제된 메시지는 없음)
+     */
+    public static List<Hit> resolve(List<Candidate> candidates,
+                                    Pattern pattern,
+                                    Map<Long, AttachmentDoc> liveAttachments,
+                                    Map<Long, String> messageContent) {
+        List<Hit> out = new ArrayList<>();
+        for (Candidate c : candidates) {
+            AttachmentDoc a = liveAttachments.get(c.attachmentId());
+            if (a == null) continue;
+
+            MatchReason reason = (c.byName() && pattern.matches(a.originalName())) ? MatchReason.FILENAME : null;
+            for (int i = 0; i < c.messageIds().length && reason != MatchReason.FILENAME; i++) {
+                long mid = c.messageIds()[i];
+                String content = messageContent.get(mid);
+                if (content == null || !pattern.matches(content)) continue;
+
+                if (mid == a.messageId()) {
+                    reason = MatchReason.ATT_MSG;
+                    break;
+                }
+                if (reason == null) reason = MatchReason.CONTEXT;
+            }
+            if (reason != null) out.add(new Hit(a, reason));
+        }
+        return out;
+    }
+
+    private static final class CandidateBuilder {
+        boolean byName;
+        final LongList messageIds = new LongList();
+    }
+
+    static String normalize(String s) {
+        if (s == null) return "";
+        return Normalizer.normalize(s, Normalizer.Form.NFC).toLowerCase(Locale.ROOT);
+    }
+
+    // =========================
+    // LIKE 패턴
+    // =========================
+
+    /**
+     * '%' 로 나눈 조각들이 순서대로 나와야 매칭. 조각 안 '_' 는 아무 글자 한 개
+     */
+    public static final class Pattern {
+
+        private final String[] segments;
+
+        private Pattern(String[] segments) {
+            this.segments = segments;
+        }
+
+        static Pattern of(String like) {
+            String[] segs = Arrays.stream(like.split("%"))
+                    .filter(s -> !s.isEmpty())
+                    .toArray(String[]::new);
+            return new Pattern(segs);
+        }
+
+        public boolean isEmpty() {
+            // '_' 만 있는 패턴은 색인으로 좁힐 수 없으므로 검색하지 않음
+            return Arrays.stream(segments).allMatch(s -> s.replace("_", "").isEmpty());
+        }
+
+        /**
+         * 색인 조회용 리터럴 조각 ('_' 기준으로 한 번 더 나눔)
+         */
+        List<String> literals() {
+            List<String> out = new ArrayList<>();
+            for (String seg : segments) {
+                for (String lit : seg.split("_")) {
+                    if (!lit.isEmpty()) out.add(lit);
+                }
+            }
+            return out;
+        }
+
+        /**
+         * 원문(정규화 전) 이 패턴에 맞는지
+         */
+        public boolean matches(String raw) {
+            String text = normalize(raw);
+            int from = 0;
+            for (String seg : segments) {
+                int at = find(text, seg, from);
+                if (at < 0) return false;
+                from = at + seg.length();
+            }
+            return true;
+        }
+
+        private static int find(String text, String seg, int from) {
+            int last = text.length() - seg.length();
+            outer:
+            for (int i = from; i <= last; i++) {
+                for (int k = 0; k < seg.length(); k++) {
+                    char c = seg.charAt(k);
+                    if (c != '_' && c != text.charAt(i + k)) continue outer;
+                }
+                return i;
+            }
+            return -1;
+        }
+    }
+
+    // =========================
+    // n-gram posting
+    // =========================
+
+    static final class GramIndex {
+
+        private final Map<Long, IntList> postings = new HashMap<>();
+
+        void add(int ord, String text) {
+            Set<Long> grams = new HashSet<>();
+            for (int i = 0; i < text.length(); i++) {
+                grams.add(unigram(text.charAt(i)));
+                if (i + 1 < text.length()) grams.add(bigram(text.charAt(i), text.charAt(i + 1)));
+            }
+            for (Long g : grams) {
+                postings.computeIfAbsent(g, k -> new IntList()).add(ord);
+            }
+        }
+
+        /**
+         * 패턴의 모든 gram 을 가진 문서 (확인 전 후보)
+         */
+        IntList candidates(Pattern pattern) {
+            Set<Long> grams = new HashSet<>();
+            for (String lit : pattern.literals()) {
+                if (lit.length() == 1) {
+                    grams.add(unigram(lit.charAt(0)));
+                } else {
+                    for (int i = 0; i + 1 < lit.length(); i++) {
+                        grams.add(bigram(lit.charAt(i), lit.charAt(i + 1)));
+                    }
+                }
+            }
+
+            List<IntList> lists = new ArrayList<>(grams.size());
+            for (Long g : grams) {
+                IntList p = postings.get(g);
+                if (p == null) return new IntList();
+                lists.add(p);
+            }
+            if (lists.isEmpty()) return new IntList();
+
+            // 짧은 posting 부터 교집합
+            lists.sort(Comparator.comparingInt(l -> l.size));
+            IntList acc = lists.get(0);
+            for (int i = 1; i < lists.size() && acc.size > 0; i++) {
+                acc = IntList.intersect(acc, lists.get(i));
+            }
+            return acc;
+        }
+
+        private static long unigram(char c) {
+            return c;
+        }
+
+        private static long bigram(char a, char b) {
+            return (1L << 32) | ((long) a << 16) | b;
+        }
+    }
+
+    static final class IntList {
+
+        private int[] data = new int[4];
+        private int size;
+
+        void add(int v) {
+            if (size == data.length) data = Arrays.copyOf(data, size * 2);
+            data[size++] = v;
+        }
+
+        int get(int i) {
+            return data[i];
+        }
+
+        int size() {
+            return size;
+        }
+
+        static IntList intersect(IntList a, IntList b) {
+            IntList out = new IntList();
+            int i = 0;
+            int j = 0;
+            while (i < a.size && j < b.size) {
+                int x = a.data[i];
+                int y = b.data[j];
+                if (x == y) {
+                    out.add(x);
+                    i++;
+                    j++;
+                } else if (x < y) {
+                    i++;
+                } else {
+                    j++;
+                }
+            }
+            return out;
+        }
+    }
+
+    static final class LongList {
+
+        private long[] data = new long[4];
+        private int size;
+
+        void add(long v) {
+            if (size == data.length) data = Arrays.copyOf(data, size * 2);
+            data[size++] = v;
+        }
+
+        long get(int i) {
+            return data[i];
+        }
+
+        int size() {
+            return size;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(data, size);
+        }
+    }
+}
@@ -0,0 +1,344 @@
+package com.Team1_Back.chat;
+
+import com.Team1_Back.domain.ChatAttachment;
+import com.Team1_Back.domain.ChatMessage;
+import com.Team1_Back.domain.event.ChatMessageSavedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ChatSearchIndex 채우기 / 최신 유지 / 검색 결과 확인
+ *
+ * - 색인 범위: 최근 max-age-days 일치 첨부 (+ 맥락용으로 그보다 조금 앞 메시지), 문서 수는 max-docs 까지
+ *   → 힙 사용량 상한. 범위 밖까지 봐야 하는 검색이나 상한에 걸린 색인은 DB 검색으로 대체
+ * - 기동 시: 전용 스레드에서 색인을 만들고 끝나면 교체 (그 전에는 DB 검색)
+ * - 주기 재구성: 범위가 밀려나도록 새 색인을 만들어 통째로 교체
+ * - 전송/업로드: 커밋 후 바로 색인 (롤백된 메시지는 들어가지 않음)
+ * - 주기 catch-up: 다른 노드에서 쓴 행을 id watermark 이후로 가져옴
+ *   (IDENTITY 는 커밋 순서와 다를 수 있어 watermark 보다 LOOKBACK 만큼 앞에서부터 다시 읽고 이미 있는 건 건너뜀)
+ * - 검색: 색인 후보를 VERIFY_CHUNK 개씩 DB 에서 읽어 삭제/오탐을 거른 뒤 페이지를 자름
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatSearchIndexer {
+
+    private static final int PAGE_SIZE = 5_000;
+    private static final long LOOKBACK = 1_000;
+    private static final int VERIFY_CHUNK = 200;
+
+    // 범위 경계의 첨부도 맥락 매칭이 되도록 메시지는 이만큼 더 앞에서부터 색인
+    private static final long CONTEXT_SLACK_MS = 60 * 60 * 1000L;
+
+    private static final String MESSAGE_SQL = """
+            SELECT id, room_id, content, created_at
+            FROM chat_message
+            WHERE id > ? AND created_at >= ? AND deleted_at IS NULL
+            ORDER BY id
+            LIMIT ?
+            """;
+
+    private static final String ATTACHMENT_COLUMNS = """
+            SELECT a.id, a.room_id, a.message_id, a.uploader_id, a.original_name, a.mime_type, a.file_size,
+                   a.created_at, a.deleted_at, m.created_at AS message_created_at, m.content AS message_content
+            FROM chat_attachment a
+            JOIN chat_message m ON m.id = a.message_id
+            """;
+
+    private static final String ATTACHMENT_SQL = ATTACHMENT_COLUMNS + """
+            WHERE a.id > ? AND a.created_at >= ?
+            ORDER BY a.id
+            LIMIT ?
+            """;
+
+    private static final String OLDER_ATTACHMENT_SQL =
+            "SELECT COUNT(*) FROM (SELECT 1 FROM chat_attachment WHERE created_at < ? LIMIT 1) t";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // 현재 색인 (null 이면 아직 없음 → DB 검색)
+    private volatile Generation generation;
+
+    // catch-up / 재구성은 스케줄러 스레드가 아닌 전용 스레드에서 (앞 작업이 아직 돌고 있으면 건너뜀)
+    private final ThreadPoolExecutor worker = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(1),
+            r -> {
+                Thread t = new Thread(r, "chat-search-indexer");
+                t.setDaemon(true);
+                return t;
+            },
+            new ThreadPoolExecutor.DiscardPolicy());
+
+    @Value("${com.mallapi.chat.search.index.enabled:true}")
+    private boolean enabled;
+
+    @Value("${com.mallapi.chat.search.index.max-age-days:180}")
+    private int maxAgeDays;
+
+    @Value("${com.mallapi.chat.search.index.max-docs:3000000}")
+    private int maxDocs;
+
+    /**
+     * 색인 한 벌과 그 범위
+     *
+     * @param from      이 시각 이후 첨부만 색인
+     * @param truncated from 이전 첨부가 DB 에 있음 (색인만으로는 마지막 페이지를 확정할 수 없음)
+     */
+    private record Generation(ChatSearchIndex index,
+                              Timestamp from,
+                              boolean truncated,
+                              AtomicLong messageWatermark,
+                              AtomicLong attachmentWatermark) {}
+
+    public boolean isReady() {
+        Generation g = generation;
+        return enabled && g != null && !g.index().isFull();
+    }
+
+    /**
+     * 색인 후보를 DB 에서 확인해 한 페이지 반환 (삭제/오탐을 거른 뒤 offset/limit 적용)
+     *
+     * @return 색인 범위 밖까지 봐야 하는 페이지면 null → 호출 측이 DB 검색
+     */
+    public List<ChatSearchIndex.Hit> search(Set<Long> roomIds, String likeQuery, int ctxSeconds, int limit, int offset) {
+        Generation g = generation;
+        if (g == null) return null;
+
+        ChatSearchIndex.Pattern pattern = ChatSearchIndex.compile(likeQuery);
+        if (pattern.isEmpty()) return List.of();
+
+        List<ChatSearchIndex.Candidate> candidates = g.index().candidates(roomIds, pattern, ctxSeconds);
+
+        int need = offset + limit;
+        List<ChatSearchIndex.Hit> hits = new ArrayList<>(need);
+        for (int from = 0; from < candidates.size() && hits.size() < need; from += VERIFY_CHUNK) {
+            List<ChatSearchIndex.Candidate> chunk =
+                    candidates.subList(from, Math.min(from + VERIFY_CHUNK, candidates.size()));
+            hits.addAll(ChatSearchIndex.resolve(chunk, pattern, loadLiveAttachments(chunk), loadMessageContent(chunk)));
+        }
+
+        if (hits.size() < need && g.truncated()) return null;
+        if (hits.size() <= offset) return List.of();
+        return hits.subList(offset, Math.min(need, hits.size()));
+    }
+
+    /**
+     * 메시지(+첨부) 커밋 후 색인 (롤백된 메시지는 들어가지 않음)
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSaved(ChatMessageSavedEvent event) {
+        Generation g = generation;
+        if (!enabled || g == null) return;
+
+        ChatMessage message = event.message();
+        g.index().addMessage(toDoc(message));
+        if (event.attachments() != null) {
+            event.attachments().forEach(a -> g.index().addAttachment(toDoc(a, message)));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (!enabled) return;
+        worker.execute(this::rebuild);
+    }
+
+    @Scheduled(fixedDelayString = "${com.mallapi.chat.search.rebuild-ms:86400000}",
+            initialDelayString = "${com.mallapi.chat.search.rebuild-ms:86400000}")
+    public void scheduleRebuild() {
+        if (!enabled || worker.getActiveCount() > 0) return;
+        worker.execute(this::rebuild);
+    }
+
+    @Scheduled(fixedDelayString = "${com.mallapi.chat.search.catch-up-ms:10000}")
+    public void catchUp() {
+        Generation g = generation;
+        if (!enabled || g == null || worker.getActiveCount() > 0) return;
+        worker.execute(() -> {
+            try {
+                catchUp(g, Math.max(0, g.messageWatermark().get() - LOOKBACK),
+                        Math.max(0, g.attachmentWatermark().get() - LOOKBACK));
+            } catch (Exception e) {
+                log.warn("[CHAT-SEARCH] catch-up failed: {}", e.getMessage());
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+
+    private void rebuild() {
+        long started = System.currentTimeMillis();
+        try {
+            Timestamp from = Timestamp.valueOf(LocalDateTime.now().minusDays(maxAgeDays));
+            Integer older = jdbcTemplate.queryForObject(OLDER_ATTACHMENT_SQL, Integer.class, from);
+
+            Generation g = new Generation(new ChatSearchIndex(maxDocs), from, older != null && older > 0,
+                    new AtomicLong(), new AtomicLong());
+            catchUp(g, 0, 0);
+            generation = g;
+
+            if (g.index().isFull()) {
+                log.warn("[CHAT-SEARCH] index hit max-docs={} (max-age-days={}), falling back to DB search",
+                        maxDocs, maxAgeDays);
+            } else {
+                log.info("[CHAT-SEARCH] index built messages={} attachments={} from={} took={}ms",
+                        g.index().messageCount(), g.index().attachmentCount(), from,
+                        System.currentTimeMillis() - started);
+            }
+        } catch (Exception e) {
+            log.warn("[CHAT-SEARCH] index build failed: {}", e.getMessage());
+        }
+    }
+
+    private void catchUp(Generation g, long messageFrom, long attachmentFrom) {
+        Timestamp messageSince = new Timestamp(g.from().getTime() - CONTEXT_SLACK_MS);
+
+        long cursor = messageFrom;
+        while (!g.index().isFull()) {
+            List<ChatSearchIndex.MessageDoc> page =
+                    jdbcTemplate.query(MESSAGE_SQL, MESSAGE_ROW, cursor, messageSince, PAGE_SIZE);
+            for (ChatSearchIndex.MessageDoc d : page) {
+                g.index().addMessage(d);
+                cursor = d.messageId();
+            }
+            if (page.size() < PAGE_SIZE) break;
+        }
+        g.messageWatermark().accumulateAndGet(cursor, Math::max);
+
+        cursor = attachmentFrom;
+        while (!g.index().isFull()) {
+            List<AttachmentRow> page = jdbcTemplate.query(ATTACHMENT_SQL, ATTACHMENT_ROW, cursor, g.from(), PAGE_SIZE);
+            for (AttachmentRow r : page) {
+                if (r.deleted()) {
+                    g.index().markAttachmentDeleted(r.doc().attachmentId());
+                } else {
+                    g.index().addAttachment(r.doc());
+                }
+                cursor = r.doc().attachmentId();
+            }
+            if (page.size() < PAGE_SIZE) break;
+        }
+        g.attachmentWatermark().accumulateAndGet(cursor, Math::max);
+    }
+
+    // =========================
+    // 후보 확인용 DB 조회 (후보 묶음 단위)
+    // =========================
+
+    private Map<Long, ChatSearchIndex.AttachmentDoc> loadLiveAttachments(List<ChatSearchIndex.Candidate> chunk) {
+        List<Long> ids = chunk.stream().map(ChatSearchIndex.Candidate::attachmentId).toList();
+        String sql = ATTACHMENT_COLUMNS + "WHERE a.id IN (" + placeholders(ids.size()) + ") AND a.deleted_at IS NULL";
+
+        Map<Long, ChatSearchIndex.AttachmentDoc> out = new HashMap<>();
+        for (AttachmentRow r : jdbcTemplate.query(sql, ATTACHMENT_ROW, ids.toArray())) {
+            out.put(r.doc().attachmentId(), r.doc());
+        }
+        return out;
+    }
+
+    private Map<Long, String> loadMessageContent(List<ChatSearchIndex.Candidate> chunk) {
+        Set<Long> ids = new LinkedHashSet<>();
+        for (ChatSearchIndex.Candidate c : chunk) {
+            for (long mid : c.messageIds()) ids.add(mid);
+        }
+        if (ids.isEmpty()) return Map.of();
+
+        String sql = "SELECT id, content FROM chat_message WHERE id IN (" + placeholders(ids.size())
+                + ") AND deleted_at IS NULL";
+        Map<Long, String> out = new HashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            out.put(rs.getLong("id"), rs.getString("content"));
+        }, ids.toArray());
+        return out;
+    }
+
+    private static String placeholders(int n) {
+        return String.join(",", Collections.nCopies(n, "?"));
+    }
+
+    // =========================
+    // 변환
+    // =========================
+
+    private record AttachmentRow(ChatSearchIndex.AttachmentDoc doc, boolean deleted) {}
+
+    private static final RowMapper<ChatSearchIndex.MessageDoc> MESSAGE_ROW = (rs, i) -> new ChatSearchIndex.MessageDoc(
+            rs.getLong("id"),
+            rs.getLong("room_id"),
+            millis(rs.getTimestamp("created_at")),
+            rs.getString("content")
+    );
+
+    private static final RowMapper<AttachmentRow> ATTACHMENT_ROW = (rs, i) -> new AttachmentRow(
+            new ChatSearchIndex.AttachmentDoc(
+                    rs.getLong("id"),
+                    rs.getLong("room_id"),
+                    rs.getLong("message_id"),
+                    rs.getLong("uploader_id"),
+                    rs.getString("original_name"),
+                    rs.getString("mime_type"),
+                    rs.getLong("file_size"),
+                    toLocal(rs.getTimestamp("created_at")),
+                    millis(rs.getTimestamp("message_created_at")),
+                    rs.getString("message_content")
+            ),
+            rs.getTimestamp("deleted_at") != null
+    );
+
+    private static ChatSearchIndex.MessageDoc toDoc(ChatMessage m) {
+        Instant at = (m.getCreatedAt() == null) ? Instant.now() : m.getCreatedAt();
+        return new ChatSearchIndex.MessageDoc(m.getId(), m.getRoomId(), at.toEpochMilli(), m.getContent());
+    }
+
+    private static ChatSearchIndex.AttachmentDoc toDoc(ChatAttachment a, ChatMessage m) {
+        Instant at = (m.getCreatedAt() == null) ? Instant.now() : m.getCreatedAt();
+        return new ChatSearchIndex.AttachmentDoc(
+                a.getId(),
+                a.getRoomId(),
+                m.getId(),
+                a.getUploaderId(),
+                a.getOriginalName(),
+                a.getMimeType(),
+                a.getFileSize() == null ? 0L : a.getFileSize(),
+                a.getCreatedAt() == null ? LocalDateTime.now() : a.getCreatedAt(),
+                at.toEpochMilli(),
+                m.getContent()
+        );
+    }
+
+    private static long millis(Timestamp ts) {
+        return ts == null ? 0L : ts.getTime();
+    }
+
+    private static LocalDateTime toLocal(Timestamp ts) {
+        return ts == null ? null : ts.toLocalDateTime();
+    }
+}
@@ -0,0 +1,31 @@
+package com.Team1_Back.chat;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+/**
+ * 단일 노드용: 이 JVM 의 simple broker 로만 전달
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "com.mallapi.chat.broker", havingValue = "simple", matchIfMissing = true)
+public class LocalChatRelay implements ChatRelay {
+
+    private final SimpMessagingTemplate messagingTemplate;
+
+    @Override
+    public void sendToRoom(Long roomId, String destination, Object payload) {
+        messagingTemplate.convertAndSend(destination, payload);
+    }
+
+    @Override
+    public void sendToUsers(Collection<Long> userIds, String destination, Object payload) {
+        for (Long uid : userIds) {
+            messagingTemplate.convertAndSendToUser(String.valueOf(uid), destination, payload);
+        }
+    }
+}
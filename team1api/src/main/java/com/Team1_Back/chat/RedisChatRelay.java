@@ -0,0 +1,265 @@
+package com.Team1_Back.chat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 다중 노드용 채팅 중계 (Redis pub/sub)
+ *
+ * - 보낼 때: 이 노드 구독자에게 바로 전달 + Redis 채널에 publish
+ *   · 방 메시지   → chat:relay:room:{roomId % roomShards}
+ *   · 개인 큐     → chat:relay:user:{userId % userShards} (같은 shard 사용자는 한 메시지로 묶음)
+ * - 받을 때: 이 노드에 해당 shard 구독자가 있을 때만 Redis 채널을 구독
+ *   (STOMP SUBSCRIBE/UNSUBSCRIBE/DISCONNECT 로 shard 별 참조 수 관리)
+ *   → 노드가 늘어도 모든 방 메시지를 모든 노드가 받지 않음
+ * - 자기 노드가 보낸 메시지는 origin 으로 걸러 중복 전달 방지
+ * - 수신 처리는 단일 스레드 → 같은 방 메시지 순서 유지
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "com.mallapi.chat.broker", havingValue = "redis")
+public class RedisChatRelay implements ChatRelay, MessageListener {
+
+    static final String ROOM_CHANNEL = "chat:relay:room:";
+    static final String USER_CHANNEL = "chat:relay:user:";
+
+    private static final String USER_PREFIX = "/user/";
+    private static final List<String> ROOM_PREFIXES = List.of("/topic/room/", "/topic/chat/rooms/");
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final StringRedisTemplate redis;
+    private final RedisMessageListenerContainer container;
+    private final ExecutorService dispatcher;
+
+    // STOMP 기본 메시지 컨버터와 같은 설정 → 로컬/원격 전달 결과 JSON 이 동일
+    private final ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final int roomShards;
+    private final int userShards;
+
+    // sessionId → (subscriptionId → 구독)
+    private final Map<String, Map<String, LocalSub>> sessions = new ConcurrentHashMap<>();
+    // Redis 채널별 / 사용자별 로컬 구독 수 (this 로 동기화)
+    private final Map<String, Integer> channelRefs = new HashMap<>();
+    private final Map<Long, Integer> userRefs = new ConcurrentHashMap<>();
+
+    public RedisChatRelay(SimpMessagingTemplate messagingTemplate,
+                          StringRedisTemplate redis,
+                          RedisConnectionFactory connectionFactory,
+                          @Value("${com.mallapi.chat.relay.room-shards:64}") int roomShards,
+                          @Value("${com.mallapi.chat.relay.user-shards:64}") int userShards) {
+        this.messagingTemplate = messagingTemplate;
+        this.redis = redis;
+        this.roomShards = Math.max(1, roomShards);
+        this.userShards = Math.max(1, userShards);
+
+        this.dispatcher = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "chat-relay");
+            t.setDaemon(true);
+            return t;
+        });
+
+        this.container = new RedisMessageListenerContainer();
+        this.container.setConnectionFactory(connectionFactory);
+        this.container.setTaskExecutor(dispatcher);
+        this.container.afterPropertiesSet();
+        this.container.start();
+    }
+
+    @PreDestroy
+    public void shutdown() throws Exception {
+        container.stop();
+        container.destroy();
+        dispatcher.shutdownNow();
+    }
+
+    // =========================
+    // 송신
+    // =========================
+
+    @Override
+    public void sendToRoom(Long roomId, String destination, Object payload) {
+        messagingTemplate.convertAndSend(destination, payload);
+        publish(roomChannel(roomId), new ChatRelayEnvelope(nodeId, roomId, null, destination, mapper.valueToTree(payload)));
+    }
+
+    @Override
+    public void sendToUsers(Collection<Long> userIds, String destination, Object payload) {
+        if (userIds == null || userIds.isEmpty()) return;
+
+        Map<String, List<Long>> byChannel = new HashMap<>();
+        for (Long uid : userIds) {
+            if (userRefs.containsKey(uid)) {
+                messagingTemplate.convertAndSendToUser(String.valueOf(uid), destination, payload);
+            }
+            byChannel.computeIfAbsent(userChannel(uid), k -> new ArrayList<>()).add(uid);
+        }
+
+        JsonNode tree = mapper.valueToTree(payload);
+        byChannel.forEach((channel, ids) ->
+                publish(channel, new ChatRelayEnvelope(nodeId, null, ids, destination, tree)));
+    }
+
+    private void publish(String channel, ChatRelayEnvelope envelope) {
+        try {
+            redis.convertAndSend(channel, mapper.writeValueAsString(envelope));
+        } catch (Exception e) {
+            // 로컬 전달은 끝났으므로 다른 노드 사용자만 유실 (다음 조회/새로고침 때 복구)
+            log.warn("[CHAT-RELAY] publish failed channel={}: {}", channel, e.getMessage());
+        }
+    }
+
+    // =========================
+    // 수신
+    // =========================
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        ChatRelayEnvelope env;
+        try {
+            env = mapper.readValue(message.getBody(), ChatRelayEnvelope.class);
+        } catch (Exception e) {
+            log.warn("[CHAT-RELAY] bad message: {}", e.getMessage());
+            return;
+        }
+        if (nodeId.equals(env.origin())) return;
+
+        if (env.roomId() != null) {
+            messagingTemplate.convertAndSend(env.destination(), env.payload());
+            return;
+        }
+        if (env.userIds() == null) return;
+
+        for (Long uid : env.userIds()) {
+            if (userRefs.containsKey(uid)) {
+                messagingTemplate.convertAndSendToUser(String.valueOf(uid), env.destination(), env.payload());
+            }
+        }
+    }
+
+    // =========================
+    // 로컬 구독 추적 → Redis 채널 구독/해제
+    // =========================
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor acc = StompHeaderAccessor.wrap(event.getMessage());
+        String sessionId = acc.getSessionId();
+        String subId = acc.getSubscriptionId();
+        if (sessionId == null || subId == null) return;
+
+        LocalSub sub = resolve(acc.getDestination(), event.getUser());
+        if (sub == null) return;
+
+        sessions.computeIfAbsent(sessionId, k -> new ConcurrentHashMap<>()).put(subId, sub);
+        retain(sub);
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor acc = StompHeaderAccessor.wrap(event.getMessage());
+        if (acc.getSessionId() == null || acc.getSubscriptionId() == null) return;
+
+        Map<String, LocalSub> subs = sessions.get(acc.getSessionId());
+        if (subs == null) return;
+
+        LocalSub sub = subs.remove(acc.getSubscriptionId());
+        if (sub != null) release(sub);
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        Map<String, LocalSub> subs = sessions.remove(event.getSessionId());
+        if (subs == null) return;
+        subs.values().forEach(this::release);
+    }
+
+    private synchronized void retain(LocalSub sub) {
+        if (sub.userId() != null) userRefs.merge(sub.userId(), 1, Integer::sum);
+
+        int refs = channelRefs.merge(sub.channel(), 1, Integer::sum);
+        if (refs == 1) {
+            container.addMessageListener(this, new ChannelTopic(sub.channel()));
+            log.debug("[CHAT-RELAY] subscribe {}", sub.channel());
+        }
+    }
+
+    private synchronized void release(LocalSub sub) {
+        if (sub.userId() != null) {
+            userRefs.computeIfPresent(sub.userId(), (k, v) -> v <= 1 ? null : v - 1);
+        }
+
+        Integer refs = channelRefs.computeIfPresent(sub.channel(), (k, v) -> v <= 1 ? null : v - 1);
+        if (refs == null) {
+            container.removeMessageListener(this, new ChannelTopic(sub.channel()));
+            log.debug("[CHAT-RELAY] unsubscribe {}", sub.channel());
+        }
+    }
+
+    private LocalSub resolve(String destination, Principal user) {
+        if (destination == null) return null;
+
+        if (destination.startsWith(USER_PREFIX)) {
+            Long uid = (user == null) ? null : parseLong(user.getName());
+            return (uid == null) ? null : new LocalSub(userChannel(uid), uid);
+        }
+
+        for (String prefix : ROOM_PREFIXES) {
+            if (destination.startsWith(prefix)) {
+                String rest = destination.substring(prefix.length());
+                int slash = rest.indexOf('/');
+                Long roomId = parseLong(slash < 0 ? rest : rest.substring(0, slash));
+                return (roomId == null) ? null : new LocalSub(roomChannel(roomId), null);
+            }
+        }
+        return null;
+    }
+
+    String roomChannel(Long roomId) {
+        return ROOM_CHANNEL + Math.floorMod(roomId, roomShards);
+    }
+
+    String userChannel(Long userId) {
+        return USER_CHANNEL + Math.floorMod(userId, userShards);
+    }
+
+    private Long parseLong(String s) {
+        try {
+            return Long.valueOf(s);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private record LocalSub(String channel, Long userId) {}
+}
@@ -3,9 +3,28 @@ package com.Team1_Back.client;
 
 import com.Team1_Back.dto.LlmResult;
 
+import java.util.function.Consumer;
+
 
 public interface LlmClient {
     LlmResult ask(String prompt);
-}
 
+    // 응답 텍스트 조각을 도착하는 대로 onDelta 로 전달하고, 끝나면 전체 결과 반환
+    // 스트리밍을 지원하지 않는 provider 는 조각 없이 전체 결과만 반환
+    default LlmResult askStreaming(String prompt, Consumer<String> onDelta) {
+        return ask(prompt);
+    }
+
+    // 라우터 지표 / 로그에 쓰는 이름
+    String name();
 
+    // API 키 등 설정이 없으면 라우팅 대상에서 제외
+    default boolean isEnabled() {
+        return true;
+    }
+
+    // 상대 비용 (OpenAI = 1.0 기준). 지연이 비슷하면 싼 쪽을 먼저 사용
+    default double cost() {
+        return 1.0;
+    }
+}
@@ -0,0 +1,62 @@
+package com.Team1_Back.client;
+
+import com.Team1_Back.dto.LlmResult;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * LLM 이 돌려준 텍스트에서 {"summary", "messageIds", "attachmentIds"} JSON 추출 (provider 공통)
+ */
+final class LlmJsonParser {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private LlmJsonParser() {
+    }
+
+    static LlmResult parse(String text) throws Exception {
+        // ```json 제거
+        String cleaned = text
+                .replaceAll("(?s)```json\\s*", "")
+                .replaceAll("(?s)```\\s*", "")
+                .trim();
+
+        // JSON 앞뒤로 텍스트가 섞이면 첫 { ~ 마지막 } 만 사용
+        int s = cleaned.indexOf('{');
+        int e = cleaned.lastIndexOf('}');
+        if (s >= 0 && e > s) cleaned = cleaned.substring(s, e + 1);
+
+        JsonNode node = MAPPER.readTree(cleaned);
+
+        String summary = node.path("summary").asText("");
+        return new LlmResult(summary, ids(node.path("messageIds")), ids(node.path("attachmentIds")));
+    }
+
+    // ✅ 배열 / 숫자 / 문자열 단일로 와도 처리
+    private static List<Long> ids(JsonNode idArr) {
+        List<Long> ids = new ArrayList<>();
+        if (idArr.isArray()) {
+            for (JsonNode idNode : idArr) {
+                if (idNode == null || idNode.isNull()) continue;
+                addId(ids, idNode);
+            }
+        } else if (idArr.isNumber() || idArr.isTextual()) {
+            addId(ids, idArr);
+        }
+        return ids;
+    }
+
+    private static void addId(List<Long> ids, JsonNode idNode) {
+        if (idNode.isNumber()) {
+            ids.add(idNode.asLong());
+            return;
+        }
+        String sId = idNode.asText("").trim();
+        if (!sId.isEmpty()) {
+            try { ids.add(Long.parseLong(sId)); } catch (NumberFormatException ignore) {}
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.Team1_Back.client;
+
+import com.Team1_Back.ai.service.AiService;
+import com.Team1_Back.dto.LlmResult;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Consumer;
+
+/**
+ * 사내 Ollama 서버 (AiService.generate) 를 LlmRouter 대체 provider 로 사용
+ *
+ * 로컬 모델은 느릴 수 있어 기본은 꺼둠 (com.mallapi.ai.router.ollama.enabled=true 로 사용)
+ */
+@Component
+@Order(3)
+@RequiredArgsConstructor
+public class OllamaLlmClient implements LlmClient {
+
+    private final AiService aiService;
+
+    @Value("${com.mallapi.ai.router.ollama.enabled:false}")
+    private boolean enabled;
+
+    @Value("${ollama.cost:0.1}")
+    private double cost;
+
+    @Override
+    public String name() {
+        return "ollama";
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public double cost() {
+        return cost;
+    }
+
+    @Override
+    public LlmResult ask(String prompt) {
+        return parse(aiService.generate(prompt));
+    }
+
+    @Override
+    public LlmResult askStreaming(String prompt, Consumer<String> onDelta) {
+        return parse(aiService.generateStream(prompt, onDelta));
+    }
+
+    private LlmResult parse(String text) {
+        try {
+            return LlmJsonParser.parse(text);
+        } catch (Exception e) {
+            throw new RuntimeException("Ollama 응답 파싱 실패: " + e.getMessage(), e);
+        }
+    }
+}
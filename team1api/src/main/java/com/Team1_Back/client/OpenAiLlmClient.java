@@ -4,15 +4,18 @@ import com.Team1_Back.dto.LlmResult;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import okhttp3.*;
+import okio.BufferedSource;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
 import java.time.Duration;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 @Component
-public class OpenAiLlmClient {
+@Order(1)
+public class OpenAiLlmClient implements LlmClient {
 
     @Value("${openai.api.key}")
     private String apiKey;
@@ -21,113 +24,130 @@ public class OpenAiLlmClient {
     @Value("${openai.model:gpt-4o-mini}")
     private String model;
 
-    private static final String API_URL = "https://api.openai.com/v1/chat/completions";
+    // 테스트에서는 로컬 mock 서버 주소로 바꿔서 사용
+    @Value("${openai.api.url:https://api.openai.com/v1/chat/completions}")
+    private String apiUrl;
 
+    @Value("${openai.cost:1.0}")
+    private double cost;
+
+    // keep-alive 연결 재사용 (요청마다 TLS handshake 반복 방지)
     private final OkHttpClient client = new OkHttpClient.Builder()
+            .connectionPool(new ConnectionPool(16, 5, TimeUnit.MINUTES))
+            .connectTimeout(Duration.ofSeconds(3))
             .callTimeout(Duration.ofSeconds(30))
             .build();
 
     private final ObjectMapper mapper = new ObjectMapper();
 
+    @Override
+    public String name() {
+        return "openai";
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return apiKey != null && !apiKey.isBlank();
+    }
+
+    @Override
+    public double cost() {
+        return cost;
+    }
+
     public LlmResult chat(String prompt) {
         return ask(prompt);
     }
 
+    @Override
     public LlmResult ask(String prompt) {
-        try {
-            String bodyJson = """
-            {
-              "model": "%s",
-              "temperature": 0.2,
-              "messages": [
-                {
-                  "role": "system",
-                  "content": "You are a helpful assistant that returns ONLY valid JSON. Do not wrap in markdown."
-                },
-                {
-                  "role": "user",
-                  "content": %s
-                }
-              ]
-            }
-            """.formatted(
-                    model,
-                    mapper.writeValueAsString(prompt)
-            );
-
-            Request request = new Request.Builder()
-                    .url(API_URL)
-                    .addHeader("Authorization", "Bearer " + apiKey)
-                    .addHeader("Content-Type", "application/json")
-                    .post(RequestBody.create(bodyJson, MediaType.parse("application/json")))
-                    .build();
-
-            try (Response response = client.newCall(request).execute()) {
-                String raw = response.body() != null ? response.body().string() : "";
+        try (Response response = client.newCall(request(prompt, false)).execute()) {
+            String raw = response.body() != null ? response.body().string() : "";
 
-                if (!response.isSuccessful()) {
-                    // ✅ 여기서 raw가 제일 중요함 (400/401/429 원인)
-                    throw new RuntimeException("OpenAI API error: " + response.code() + " body=" + raw);
-                }
-
-                JsonNode root = mapper.readTree(raw);
+            if (!response.isSuccessful()) {
+                // ✅ 여기서 raw가 제일 중요함 (400/401/429 원인)
+                throw new RuntimeException("OpenAI API error: " + response.code() + " body=" + raw);
+            }
 
-                // ✅ NPE 방지: path(0) 사용
-                JsonNode choice0 = root.path("choices").path(0);
-                String text = choice0.path("message").path("content").asText(null);
+            JsonNode root = mapper.readTree(raw);
 
-                if (text == null) {
-                    throw new RuntimeException("OpenAI response missing choices[0].message.content: " + raw);
-                }
+            // ✅ NPE 방지: path(0) 사용
+            JsonNode choice0 = root.path("choices").path(0);
+            String text = choice0.path("message").path("content").asText(null);
 
-                return parseJson(text);
+            if (text == null) {
+                throw new RuntimeException("OpenAI response missing choices[0].message.content: " + raw);
             }
 
+            return LlmJsonParser.parse(text);
         } catch (Exception e) {
             // ✅ 원인 메시지 유지
             throw new RuntimeException("OpenAI 호출 실패: " + e.getMessage(), e);
         }
     }
 
-    private LlmResult parseJson(String text) throws Exception {
-        // ```json 제거
-        String cleaned = text
-                .replaceAll("(?s)```json\\s*", "")
-                .replaceAll("(?s)```\\s*", "")
-                .trim();
-
-        int s = cleaned.indexOf('{');
-        int e = cleaned.lastIndexOf('}');
-        if (s >= 0 && e > s) cleaned = cleaned.substring(s, e + 1);
-
-        JsonNode node = mapper.readTree(cleaned);
-
-        String summary = node.path("summary").asText("");
-
-        List<Long> ids = new ArrayList<>();
-        JsonNode idArr = node.path("attachmentIds");
-
-        // ✅ attachmentIds가 문자열/숫자 단일로 와도 처리
-        if (idArr.isArray()) {
-            for (JsonNode idNode : idArr) {
-                if (idNode == null || idNode.isNull()) continue;
-                if (idNode.isNumber()) ids.add(idNode.asLong());
-                else {
-                    String sId = idNode.asText("").trim();
-                    if (!sId.isEmpty()) {
-                        try { ids.add(Long.parseLong(sId)); } catch (NumberFormatException ignore) {}
-                    }
-                }
+    /**
+     * stream=true: SSE(data: {...}) 로 오는 choices[0].delta.content 조각을 도착 즉시 onDelta 로 전달
+     */
+    @Override
+    public LlmResult askStreaming(String prompt, Consumer<String> onDelta) {
+        try (Response response = client.newCall(request(prompt, true)).execute()) {
+            if (!response.isSuccessful()) {
+                String raw = response.body() != null ? response.body().string() : "";
+                throw new RuntimeException("OpenAI API error: " + response.code() + " body=" + raw);
             }
-        } else if (idArr.isNumber()) {
-            ids.add(idArr.asLong());
-        } else if (idArr.isTextual()) {
-            String sId = idArr.asText("").trim();
-            if (!sId.isEmpty()) {
-                try { ids.add(Long.parseLong(sId)); } catch (NumberFormatException ignore) {}
+            if (response.body() == null) throw new RuntimeException("OpenAI stream body is empty");
+
+            StringBuilder text = new StringBuilder();
+            BufferedSource source = response.body().source();
+            String line;
+            while ((line = source.readUtf8Line()) != null) {
+                if (!line.startsWith("data:")) continue;
+                String data = line.substring("data:".length()).trim();
+                if (data.equals("[DONE]")) break;
+
+                String delta = mapper.readTree(data)
+                        .path("choices").path(0).path("delta").path("content").asText("");
+                if (delta.isEmpty()) continue;
+
+                text.append(delta);
+                onDelta.accept(delta);
             }
+
+            return LlmJsonParser.parse(text.toString());
+        } catch (Exception e) {
+            throw new RuntimeException("OpenAI 스트리밍 호출 실패: " + e.getMessage(), e);
         }
+    }
 
-        return new LlmResult(summary, List.of(), ids);
+    private Request request(String prompt, boolean stream) throws Exception {
+        String bodyJson = """
+            {
+              "model": "%s",
+              "temperature": 0.2,
+              "stream": %s,
+              "messages": [
+                {
+                  "role": "system",
+                  "content": "You are a helpful assistant that returns ONLY valid JSON. Do not wrap in markdown."
+                },
+                {
+                  "role": "user",
+                  "content": %s
+                }
+              ]
+            }
+            """.formatted(
+                model,
+                stream,
+                mapper.writeValueAsString(prompt)
+        );
+
+        return new Request.Builder()
+                .url(apiUrl)
+                .addHeader("Authorization", "Bearer " + apiKey)
+                .addHeader("Content-Type", "application/json")
+                .post(RequestBody.create(bodyJson, MediaType.parse("application/json")))
+                .build();
     }
 }
@@ -0,0 +1,33 @@
+package com.Team1_Back.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * @Scheduled 실행 스레드 풀
+ *
+ * 기본 스케줄러는 스레드 1개라 느린 작업 하나(검색 색인 catch-up, blob GC 등)가
+ * 1초 단위 flush(읽음 커서, 로그인/다운로드 로그), 폐기 목록 sync, 리포트 선점까지 모두 밀어냄.
+ * 이름이 taskScheduler 여야 WebSocket 브로커 스케줄러가 있어도 @Scheduled 가 이 풀을 씀.
+ * 오래 걸리는 작업은 각자 전용 워커로 넘기고 스케줄러 스레드에서는 시작만 함
+ */
+@Slf4j
+@Configuration
+public class SchedulingConfig {
+
+    @Bean(name = "taskScheduler")
+    public ThreadPoolTaskScheduler taskScheduler(
+            @Value("${com.mallapi.scheduling.pool-size:8}") int poolSize
+    ) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(Math.max(2, poolSize));
+        scheduler.setThreadNamePrefix("sched-");
+        scheduler.setErrorHandler(t -> log.error("[SCHED] scheduled task failed", t));
+        scheduler.setWaitForTasksToCompleteOnShutdown(true);
+        scheduler.setAwaitTerminationSeconds(10);
+        return scheduler;
+    }
+}
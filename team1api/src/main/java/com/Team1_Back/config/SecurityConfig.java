@@ -2,7 +2,13 @@ package com.Team1_Back.config;
 
 import java.util.List;
 
+import com.Team1_Back.security.JWTVerifier;
+import com.Team1_Back.security.filter.ClientIpResolver;
 import com.Team1_Back.security.filter.JWTCheckFilter;
+import com.Team1_Back.security.filter.LoginThrottleFilter;
+import com.Team1_Back.security.lockout.LoginThrottleService;
+import com.Team1_Back.security.token.RefreshTokenService;
+import com.Team1_Back.security.token.RevocationList;
 import com.Team1_Back.security.handler.APILoginFailHandler;
 import com.Team1_Back.security.handler.APILoginSuccessHandler;
 import jakarta.servlet.http.HttpServletResponse;
@@ -41,6 +47,11 @@ import static org.springframework.core.Ordered.HIGHEST_PRECEDENCE;
 public class SecurityConfig {
 
     private final ApplicationEventPublisher eventPublisher;
+    private final JWTVerifier jwtVerifier;
+    private final RevocationList revocationList;
+    private final RefreshTokenService refreshTokenService;
+    private final LoginThrottleService loginThrottleService;
+    private final ClientIpResolver clientIpResolver;
 
     @Bean
     public PasswordEncoder passwordEncoder() {
@@ -49,7 +60,7 @@ public class SecurityConfig {
 
     @Bean
     public JWTCheckFilter jwtCheckFilter() {
-        return new JWTCheckFilter();
+        return new JWTCheckFilter(jwtVerifier, revocationList);
     }
 
     @Bean
@@ -131,12 +142,15 @@ public class SecurityConfig {
                         .loginProcessingUrl("/api/auth/login")
                         .usernameParameter("employeeNo")
                         .passwordParameter("password")
-                        .successHandler(new APILoginSuccessHandler(eventPublisher))
+                        .successHandler(new APILoginSuccessHandler(eventPublisher, refreshTokenService))
                         .failureHandler(new APILoginFailHandler(eventPublisher))
                 )
 
                 .logout(logout -> logout
                         .logoutUrl("/api/auth/logout")
+                        // 토큰 family 폐기 (Refresh Token + 남은 Access Token 모두 무효)
+                        .addLogoutHandler((request, response, authentication) ->
+                                refreshTokenService.logout(request.getHeader("Authorization")))
                         .logoutSuccessHandler((request, response, authentication) -> {
                             response.setStatus(200);
                             response.setContentType("application/json; charset=UTF-8");
@@ -147,6 +161,9 @@ public class SecurityConfig {
 
         http.addFilterBefore(jwtCheckFilter(), UsernamePasswordAuthenticationFilter.class);
 
+        // 로그인 / Face ID 로그인 시도 제한 (인증 전에 거절 → BCrypt / 얼굴 매칭을 돌리지 않음)
+        http.addFilterBefore(new LoginThrottleFilter(loginThrottleService, clientIpResolver), UsernamePasswordAuthenticationFilter.class);
+
         return http.build();
     }
 
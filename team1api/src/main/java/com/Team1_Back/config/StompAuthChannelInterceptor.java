@@ -1,8 +1,9 @@
 package com.Team1_Back.config;
 
+import com.Team1_Back.security.JWTVerifier;
+import com.Team1_Back.security.token.RevocationList;
 import com.Team1_Back.service.ChatRoomSecurityService;
 import com.Team1_Back.util.CustomJWTException;
-import com.Team1_Back.util.JWTUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.Message;
@@ -15,7 +16,6 @@ import org.springframework.messaging.support.MessageHeaderAccessor;
 import org.springframework.stereotype.Component;
 
 import java.security.Principal;
-import java.util.Map;
 
 @Slf4j
 @Component
@@ -23,6 +23,8 @@ import java.util.Map;
 public class StompAuthChannelInterceptor implements ChannelInterceptor {
 
     private final ChatRoomSecurityService chatRoomSecurityService;
+    private final JWTVerifier jwtVerifier;
+    private final RevocationList revocationList;
 
     @Override
     public Message<?> preSend(Message<?> message, MessageChannel channel) {
@@ -48,14 +50,12 @@ public class StompAuthChannelInterceptor implements ChannelInterceptor {
             String token = auth.substring("Bearer ".length()).trim();
 
             try {
-                // ✅ 1) JWT 검증
-                Map<String, Object> claims = JWTUtil.validateToken(token);
-
-                // ✅ 2) userId 추출 (id 우선, 없으면 sub도 숫자일 경우 커버)
-                Long uid = toLong(claims.get("id"));
-                if (uid == null) {
-                    uid = toLong(claims.get("sub"));
+                // ✅ 1) JWT 검증 + 2) userId 추출 (id 우선, 없으면 sub도 숫자일 경우 커버)
+                JWTVerifier.Verified verified = jwtVerifier.verify(token);
+                if (revocationList.isRevoked(verified.familyId())) {
+                    throw new CustomJWTException("Revoked");
                 }
+                Long uid = verified.userId();
 
                 if (uid == null) {
                     throw new MessagingException("JWT claims missing numeric user id (id/sub)");
@@ -123,20 +123,4 @@ public class StompAuthChannelInterceptor implements ChannelInterceptor {
             return null;
         }
     }
-
-    private Long toLong(Object v) {
-        if (v == null) return null;
-        if (v instanceof Long l) return l;
-        if (v instanceof Integer i) return i.longValue();
-        if (v instanceof String s) {
-            s = s.trim();
-            if (s.isEmpty() || "null".equalsIgnoreCase(s)) return null;
-            try {
-                return Long.valueOf(s);
-            } catch (Exception ignored) {
-                return null;
-            }
-        }
-        return null;
-    }
 }
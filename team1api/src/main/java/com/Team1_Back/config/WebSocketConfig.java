@@ -17,6 +17,8 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     public void configureMessageBroker(MessageBrokerRegistry registry) {
         // /topic : room broadcast
         // /queue : user 개인 큐
+        // 노드마다 simple broker 를 두고, 다중 노드(com.mallapi.chat.broker=redis)에서는
+        // ChatRelay(RedisChatRelay)가 방/사용자 shard 채널로 노드 간 메시지를 중계
         registry.enableSimpleBroker("/topic", "/queue");
         registry.setApplicationDestinationPrefixes("/app");
         registry.setUserDestinationPrefix("/user");
@@ -11,6 +11,7 @@ public class ReportTypes {
 
     public static final String EXPENSE_APPROVED_SUMMARY_PDF = "EXPENSE_APPROVED_SUMMARY_PDF";
     public static final String EXPENSE_APPROVED_SUMMARY_EXCEL = "EXPENSE_APPROVED_SUMMARY_EXCEL";
+    public static final String EXPENSE_APPROVED_DETAIL_EXCEL = "EXPENSE_APPROVED_DETAIL_EXCEL";
 
 
     // EMPLOYEE(USER)
@@ -43,9 +44,29 @@ public class ReportTypes {
                     "Approved Expense Summary (Excel)",
                     FMT_EXCEL,
                     false
+            ),
+            new TypeDef(
+                    EXPENSE_APPROVED_DETAIL_EXCEL,
+                    "Approved Expense Line Items (Excel)",
+                    FMT_EXCEL,
+                    false
             )
     );
 
+    // 승인 지출을 한 건씩 나열하는 상세 엑셀 (스트리밍 생성)
+    public static boolean isExpenseDetail(String id) {
+        return EXPENSE_APPROVED_DETAIL_EXCEL.equals(id)
+                || PERSONAL_DETAIL_EXCEL.equals(id)
+                || DEPT_DETAIL_EXCEL.equals(id);
+    }
+
+    // 승인 지출만으로 결과가 정해지는 리포트 (report_data_version 으로 무효화 가능 → 결과 캐시 대상)
+    public static boolean isExpenseDerived(String id) {
+        return EXPENSE_APPROVED_SUMMARY_PDF.equals(id)
+                || EXPENSE_APPROVED_SUMMARY_EXCEL.equals(id)
+                || isExpenseDetail(id);
+    }
+
     public static TypeDef find(String id) {
         log.warn("[TYPES] find called with='{}'", id);
 
@@ -3,11 +3,13 @@ package com.Team1_Back.controller;
 import com.Team1_Back.dto.DepartmentStatisticsDTO;
 import com.Team1_Back.dto.UserDTO;
 import com.Team1_Back.service.AccountingService;
+import com.Team1_Back.service.ExpenseRollupService;
 import com.Team1_Back.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -33,6 +35,7 @@ public class AccountingController {
 
     private final AccountingService accountingService;
     private final UserService userService;
+    private final ExpenseRollupService expenseRollupService;
 
     /**
      * 부서별 지출 통계를 조회합니다 (관리자 전용).
@@ -235,4 +238,34 @@ public class AccountingController {
         log.info("월별 지출 추이 조회 요청 - userId: " + userId + ", status: " + status);
         return accountingService.getMonthlyExpenseTrend(status);
     }
-}
\ No newline at end of file
+
+    /**
+     * 월별 지출 집계 테이블을 재구축합니다 (관리자 전용).
+     *
+     * <p>
+     * 최초 배포 후 backfill 또는 부서 이동 등으로 집계가 어긋났을 때 사용합니다.
+     *
+     * @param principal 인증된 사용자 정보
+     * @return 재구축된 집계 행 수
+     * @throws RuntimeException 관리자 권한이 없는 경우
+     */
+    @PostMapping("/rollup/rebuild")
+    public Map<String, Object> rebuildRollup(@AuthenticationPrincipal UserDTO principal) {
+
+        if (principal == null) {
+            throw new RuntimeException("인증이 필요합니다.");
+        }
+
+        Long userId = principal.getId();
+
+        // 관리자 권한 체크
+        if (!userService.isAdmin(userId)) {
+            log.warn("관리자 권한이 없습니다. userId: " + userId);
+            throw new RuntimeException("관리자 권한이 필요합니다.");
+        }
+
+        log.info("월별 지출 집계 재구축 요청 - userId: " + userId);
+        int rows = expenseRollupService.rebuild();
+        return Map.of("rows", rows);
+    }
+}
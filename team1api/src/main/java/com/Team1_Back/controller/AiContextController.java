@@ -1,5 +1,6 @@
 package com.Team1_Back.controller;
 
+import com.Team1_Back.ai.LlmRouter;
 import com.Team1_Back.dto.AiChatFileResponse;
 import com.Team1_Back.dto.AiContextRequest;
 import com.Team1_Back.dto.AiContextResponse;
@@ -8,9 +9,12 @@ import com.Team1_Back.service.AiContextService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @Slf4j
 @RestController
@@ -20,6 +24,7 @@ public class AiContextController {
 
     private final AiContextService aiContextService;
     private final AiChatFileService aiChatFileService;
+    private final LlmRouter llmRouter;
 
     @PostMapping("/find-context")
     public AiContextResponse findContext(@RequestBody(required = false) AiContextRequest request) {
@@ -84,6 +89,56 @@ public class AiContextController {
         }
     }
 
+    // 스트리밍 버전 (SSE): summary 조각 → message → done
+    @PostMapping(value = "/find-context/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter findContextStream(@RequestBody(required = false) AiContextRequest request) {
+
+        if (request == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "request body is required");
+        }
+
+        Long roomId = request.getRoomId();
+        String query = request.getQuery();
+
+        if (roomId == null || roomId <= 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "roomId is required");
+        }
+
+        if (query == null || query.trim().isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "query is required");
+        }
+
+        try {
+            return aiContextService.findContextStream(roomId, query.trim());
+
+        } catch (AccessDeniedException e) {
+            log.warn("[AI-CONTEXT] ACCESS DENIED roomId={} msg={}", roomId, e.getMessage());
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, e.getMessage(), e);
+        }
+    }
+
+    @PostMapping(value = "/find-context-global/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter findContextGlobalStream(@RequestBody(required = false) AiContextRequest request) {
+
+        if (request == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "request body is required");
+        }
+
+        String query = request.getQuery();
+
+        if (query == null || query.trim().isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "query is required");
+        }
+
+        try {
+            return aiContextService.findContextGlobalStream(query.trim());
+
+        } catch (AccessDeniedException e) {
+            log.warn("[AI-CONTEXT-G] ACCESS DENIED msg={}", e.getMessage());
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, e.getMessage(), e);
+        }
+    }
+
     @PostMapping("/find-chat-files-global")
     public AiChatFileResponse findChatFilesGlobal(@RequestBody(required = false) AiContextRequest req) {
 
@@ -119,4 +174,11 @@ public class AiContextController {
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "AI chat file failed", e);
         }
     }
+
+    // LLM 지표 (이 노드 기준: 캐시 hit/miss/합쳐진 요청 수, provider 별 p50/p99 지연·오류율·circuit 상태)
+    @GetMapping("/llm-metrics")
+    @PreAuthorize("hasRole('ADMIN')")
+    public LlmRouter.Metrics llmMetrics() {
+        return llmRouter.metrics();
+    }
 }
@@ -2,11 +2,16 @@ package com.Team1_Back.controller;
 
 import com.Team1_Back.ai.dto.AiGenerateRequestDTO;
 import com.Team1_Back.ai.service.AiService;
+import com.Team1_Back.ai.stream.AiStreamService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.Map;
 
@@ -16,6 +21,7 @@ import java.util.Map;
 public class AiController {
 
     private final AiService aiService;
+    private final AiStreamService aiStreamService;
 
     @PostMapping("/generate")
     public Map<String, Object> generate(@RequestBody AiGenerateRequestDTO req) {
@@ -25,4 +31,21 @@ public class AiController {
                 "result", result
         );
     }
-}
\ No newline at end of file
+
+    // 스트리밍 버전 (SSE): 토큰마다 token 이벤트 → 마지막에 done (전체 결과)
+    @PostMapping(value = "/generate/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter generateStream(@RequestBody AiGenerateRequestDTO req) {
+        String prompt = req.getPrompt();
+        if (prompt == null || prompt.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "prompt is blank");
+        }
+
+        return aiStreamService.start("AI-GENERATE", stream -> {
+            String result = aiService.generateStream(prompt, token -> stream.send("token", Map.of("text", token)));
+            stream.send("done", Map.of(
+                    "ok", true,
+                    "result", result
+            ));
+        });
+    }
+}
@@ -4,17 +4,18 @@ import com.Team1_Back.domain.ChatAttachment;
 import com.Team1_Back.dto.UserDTO;
 import com.Team1_Back.repository.ChatAttachmentRepository;
 import com.Team1_Back.service.ChatRoomSecurityService;
+import com.Team1_Back.util.RangeFileResponder;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.FileSystemResource;
-import org.springframework.core.io.Resource;
 import org.springframework.http.*;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.nio.charset.StandardCharsets;
+import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -27,6 +28,7 @@ public class ChatFileController {
 
     private final ChatAttachmentRepository attachmentRepo;
     private final ChatRoomSecurityService chatRoomSecurityService;
+    private final RangeFileResponder rangeFileResponder;
 
     /**
      * ✅ 채팅 파일 저장 베이스 디렉토리
@@ -47,14 +49,16 @@ public class ChatFileController {
      *      - "/uploads/chat/xxx" 같은 URL 경로면 prefix 제거 후 chatBaseDir에 붙임
      *      - 절대경로면 그대로(단, baseDir 밖 탈출은 차단)
      *      - 상대경로면 chatBaseDir에 붙임
-     * 4) 파일 스트리밍 다운로드
+     * 4) 파일 스트리밍 다운로드 (Range / ETag 지원, zero-copy)
      */
     @GetMapping("/{attachmentId}/download")
-    public ResponseEntity<Resource> download(
+    public void download(
             @PathVariable Long attachmentId,
             @RequestParam(name = "inline", required = false, defaultValue = "false") boolean inline,
-            @AuthenticationPrincipal UserDTO user
-    ) {
+            @AuthenticationPrincipal UserDTO user,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
         // =========================
         // 0) 인증
         // =========================
@@ -84,8 +88,8 @@ public class ChatFileController {
         Path base = Paths.get(chatBaseDir).toAbsolutePath().normalize();
         Path resolved = resolveDiskPath(base, att);
 
-        // ✅ 원인 추적용 로그 (지금 케이스에서 매우 중요)
-        log.info("[CHAT-DL] attId={} roomId={} baseDir='{}' storedName='{}' filePath='{}' resolved='{}'",
+        // ✅ 원인 추적용 로그
+        log.debug("[CHAT-DL] attId={} roomId={} baseDir='{}' storedName='{}' filePath='{}' resolved='{}'",
                 attachmentId,
                 roomId,
                 base,
@@ -113,19 +117,16 @@ public class ChatFileController {
         // =========================
         String originalName = safeDownloadName(att.getOriginalName(), resolved.getFileName().toString());
 
-        ContentDisposition disposition = (inline
-                ? ContentDisposition.inline()
-                : ContentDisposition.attachment())
-                .filename(originalName, StandardCharsets.UTF_8)
-                .build();
+        ContentDisposition disposition = rangeFileResponder.disposition(originalName, inline);
 
-        Resource resource = new FileSystemResource(resolved);
+        // =========================
+        // 7) 전송 (첨부는 업로드 후 바뀌지 않음 → id/크기/수정시각으로 ETag)
+        // =========================
+        String etag = "att-" + att.getId() + "-" + Files.size(resolved) + "-"
+                + Files.getLastModifiedTime(resolved).toMillis();
 
-        return ResponseEntity.ok()
-                .contentType(mediaType)
-                .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
-                .header(HttpHeaders.CACHE_CONTROL, "no-store")
-                .body(resource);
+        rangeFileResponder.write(request, response, resolved, mediaType.toString(),
+                disposition, etag, "private, no-cache");
     }
 
     // =========================================================
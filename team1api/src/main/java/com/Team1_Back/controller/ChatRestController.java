@@ -1,5 +1,6 @@
 package com.Team1_Back.controller;
 
+import com.Team1_Back.chat.ChatBroadcaster;
 import com.Team1_Back.dto.ChatMessageResponse;
 import com.Team1_Back.dto.DirectRoomCreateRequest;
 import com.Team1_Back.dto.DirectRoomCreateResponse;
@@ -7,7 +8,6 @@ import com.Team1_Back.dto.ReadUpdateRequest;
 import com.Team1_Back.security.CurrentUser;
 import com.Team1_Back.service.ChatService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -19,7 +19,7 @@ import java.util.Map;
 public class ChatRestController {
 
     private final ChatService chatService;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final ChatBroadcaster chatBroadcaster;
 
     @PostMapping("/rooms/direct")
     public DirectRoomCreateResponse createOrGetDirect(@RequestBody DirectRoomCreateRequest req) {
@@ -51,8 +51,9 @@ public class ChatRestController {
         chatService.updateRead(roomId, meId, lastReadMessageId);
 
         // ✅ READ 이벤트 브로드캐스트 (내 메시지 '1/2' 실시간 갱신용)
-        messagingTemplate.convertAndSend(
-                "/topic/room/" + roomId + "/read",
+        chatBroadcaster.toRoom(
+                roomId,
+                ChatBroadcaster.roomTopic(roomId) + "/read",
                 Map.of(
                         "type", "READ",
                         "roomId", roomId,
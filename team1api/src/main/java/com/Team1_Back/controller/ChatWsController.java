@@ -1,5 +1,6 @@
 package com.Team1_Back.controller;
 
+import com.Team1_Back.chat.ChatBroadcaster;
 import com.Team1_Back.dto.ChatMessageResponse;
 import com.Team1_Back.dto.ChatWsLeaveRequest;
 import com.Team1_Back.dto.ChatWsSendRequest;
@@ -8,16 +9,15 @@ import com.Team1_Back.service.ChatRoomQueryService;
 import com.Team1_Back.service.ChatService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.messaging.handler.annotation.MessageMapping;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Controller;
 
-import java.util.Map;
+import java.util.List;
 
 @Controller
 @RequiredArgsConstructor
 public class ChatWsController {
 
-    private final SimpMessagingTemplate messagingTemplate;
+    private final ChatBroadcaster chatBroadcaster;
     private final ChatService chatService;
     private final ChatRoomCommandService chatRoomCommandService;
     private final ChatRoomQueryService chatRoomQueryService;
@@ -30,7 +30,7 @@ public class ChatWsController {
         ChatMessageResponse saved = chatService.sendMessage(req.getRoomId(), meId, req.getContent());
 
         // 방 구독자에게 메시지 전파
-        messagingTemplate.convertAndSend("/topic/room/" + req.getRoomId(), saved);
+        chatBroadcaster.toRoom(req.getRoomId(), saved);
 
         // 방 목록 업데이트 이벤트 (멤버 전원에게)
         chatService.broadcastRoomsChanged(req.getRoomId());
@@ -44,11 +44,7 @@ public class ChatWsController {
         chatRoomCommandService.leaveRoom(meId, req.getRoomId());
 
         // 나간 당사자에게 rooms refresh 신호
-        messagingTemplate.convertAndSendToUser(
-                String.valueOf(meId),
-                "/queue/rooms",
-                Map.of("type", "ROOMS_CHANGED")
-        );
+        chatBroadcaster.roomsChanged(List.of(meId));
 
         // 남은 멤버들에게도 rooms refresh 신호
         chatService.broadcastRoomsChanged(req.getRoomId());
@@ -2,19 +2,20 @@ package com.Team1_Back.controller;
 
 import com.Team1_Back.domain.FaceAuth;
 import com.Team1_Back.domain.User;
+import com.Team1_Back.domain.event.FaceDescriptorChangedEvent;
+import com.Team1_Back.face.FaceMatchService;
 import com.Team1_Back.repository.FaceAuthRepository;
 import com.Team1_Back.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.transaction.annotation.Transactional;
 import java.security.Principal;
-import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/face")
@@ -24,16 +25,25 @@ public class FaceAuthController {
 
     private final FaceAuthRepository faceAuthRepository;
     private final UserRepository userRepository;
+    private final FaceMatchService faceMatchService;
+    private final ApplicationEventPublisher eventPublisher;
 
     // 얼굴 등록
     @PutMapping("/register")
     @Transactional
-    public Map<String, String> register(@RequestBody Map<String, String> body, Principal principal) {
+    public ResponseEntity<Map<String, String>> register(@RequestBody Map<String, String> body, Principal principal) {
         String empNo = principal.getName(); 
         String descriptor = body.get("descriptor");
 
         log.info("📸 얼굴 등록 요청 사번: " + empNo);
 
+        // 매칭 색인에 들어갈 수 있는 값인지 먼저 확인 (길이/숫자)
+        try {
+            faceMatchService.parse(descriptor);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("result", "fail", "message", e.getMessage()));
+        }
+
         User user = userRepository.findByEmployeeNo(empNo)
                 .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다. 사번: " + empNo));
 
@@ -51,19 +61,13 @@ public class FaceAuthController {
             faceAuthRepository.save(faceAuth);
         }
 
-        return Map.of("result", "SUCCESS");
-    }
+        // 커밋 후 매칭 색인 반영
+        eventPublisher.publishEvent(new FaceDescriptorChangedEvent(empNo, descriptor));
 
-    // 얼굴 로그인용 전체 목록
-    @GetMapping("/list")
-    public List<Map<String, String>> getAllFaces() {
-        return faceAuthRepository.findAllWithUser().stream()
-                .map(face -> Map.of(
-                        "userId", face.getUser().getEmployeeNo(), 
-                        "faceDescriptor", face.getFaceDescriptor()
-                ))
-                .collect(Collectors.toList());
+        return ResponseEntity.ok(Map.of("result", "SUCCESS"));
     }
+
+    // (얼굴 로그인용 전체 목록 /list 는 제거: 매칭은 서버에서 - POST /api/face/login)
     // [상태 확인] 내 얼굴이 등록되어 있는지 확인
     @GetMapping("/check")
     public ResponseEntity<Boolean> checkFaceStatus(@RequestParam("userId") String employeeNo) {        
@@ -80,6 +84,7 @@ public class FaceAuthController {
 
             if (faceAuth.isPresent()) {
                 faceAuthRepository.delete(faceAuth.get());
+                eventPublisher.publishEvent(new FaceDescriptorChangedEvent(employeeNo, null));
                 return ResponseEntity.ok(Map.of("result", "success", "message", "삭제되었습니다."));
             } else {
                 return ResponseEntity.status(404).body(Map.of("result", "fail", "message", "등록된 데이터가 없습니다."));
@@ -1,16 +1,20 @@
 package com.Team1_Back.controller;
 
 import com.Team1_Back.dto.UserDTO;
-import com.Team1_Back.util.JWTUtil;
+import com.Team1_Back.face.FaceDescriptorIndex;
+import com.Team1_Back.face.FaceMatchService;
+import com.Team1_Back.security.token.RefreshTokenService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/face") // 👈 Face ID 전용 경로
@@ -20,30 +24,50 @@ public class FaceLoginController {
 
     // 팀원분이 구현해둔 UserDetailsService (CustomUserDetailsService)를 가져옵니다.
     private final UserDetailsService userDetailsService;
+    private final RefreshTokenService refreshTokenService;
+    private final FaceMatchService faceMatchService;
 
-    @GetMapping("/login")
-    public Map<String, Object> loginByFace(@RequestParam("userId") String employeeNo) {
-        
-        log.info("Face ID 로그인 요청 - 사원번호: {}", employeeNo);
+    /**
+     * @param descriptor face-api.js 얼굴 descriptor (128 차원)
+     */
+    public record FaceLoginRequest(float[] descriptor) {}
 
-        // 1. 유저 정보 가져오기 (비밀번호 검사 없이 ID로만 로드)
+    @PostMapping("/login")
+    public ResponseEntity<Map<String, Object>> loginByFace(@RequestBody FaceLoginRequest request) {
+
+        // 1. 서버에서 등록된 얼굴과 매칭 (가장 가까운 1명, 기준 거리 이내)
+        Optional<FaceDescriptorIndex.Match> match;
+        try {
+            match = faceMatchService.match(request.descriptor());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("success", false, "message", e.getMessage()));
+        }
+
+        if (match.isEmpty()) {
+            return ResponseEntity.status(401).body(Map.of("success", false, "message", "FACE_NOT_MATCHED"));
+        }
+
+        String employeeNo = match.get().key();
+        log.info("Face ID 로그인 매칭 - 사원번호: {}, 거리: {}", employeeNo, match.get().distance());
+
+        // 2. 유저 정보 가져오기
         // loadUserByUsername은 DB에서 유저 정보를 찾아 UserDTO로 변환해줍니다.
         UserDTO userDTO = (UserDTO) userDetailsService.loadUserByUsername(employeeNo);
 
         log.info("유저 정보 로드 성공: {}", userDTO.getName());
 
-        // 2. 토큰에 넣을 정보(Claims) 추출
+        // 3. 토큰에 넣을 정보(Claims) 추출
         // (UserDTO에 만들어두신 getClaims() 메서드 활용)
         Map<String, Object> claims = userDTO.getClaims();
 
-        // 3. JWT 토큰 생성 (팀원분의 JWTUtil 사용)
-        String accessToken = JWTUtil.generateToken(claims, 10); // 10분
-        String refreshToken = JWTUtil.generateToken(claims, 60 * 24); // 24시간
+        // 4. JWT 토큰 생성 (Access 10분 / Refresh 24시간, 새 family)
+        RefreshTokenService.Tokens tokens = refreshTokenService.issue(claims, 10);
 
-        claims.put("accessToken", accessToken);
-        claims.put("refreshToken", refreshToken);
+        claims.put("accessToken", tokens.accessToken());
+        claims.put("refreshToken", tokens.refreshToken());
+        claims.put("distance", match.get().distance());
 
-        // 4. 리턴 (진짜 토큰 반환!)
-        return claims;
+        // 5. 리턴 (진짜 토큰 반환!)
+        return ResponseEntity.ok(claims);
     }
-}
\ No newline at end of file
+}
@@ -1,5 +1,6 @@
 package com.Team1_Back.controller;
 
+import com.Team1_Back.ai.stream.AiStreamService;
 import com.Team1_Back.dto.MeetingNoteDTO;
 import com.Team1_Back.dto.UserDTO;
 import com.Team1_Back.service.MeetingNoteService;
@@ -12,6 +13,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.Map;
@@ -24,6 +26,7 @@ import java.util.Map;
 public class MeetingNoteController {
 
     private final MeetingNoteService meetingNoteService;
+    private final AiStreamService aiStreamService;
 
     // 회의록 파일
     @PostMapping("/upload")
@@ -109,6 +112,26 @@ public class MeetingNoteController {
                 "todoCount", todoCount);
     }
 
+    // 스트리밍 버전 (SSE): 분석 중 AI 토큰(token) → Todo 생성 후 done
+    @PostMapping(value = "/{id}/analyze/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter analyzeStream(
+            @PathVariable(name = "id") Long id,
+            @AuthenticationPrincipal UserDTO principal) {
+        if (principal == null) {
+            throw new RuntimeException("인증이 필요합니다.");
+        }
+        Long userId = principal.getId();
+        log.info("회의록 분석 요청(stream): ID={}, 사용자 ID={}", id, userId);
+
+        return aiStreamService.start("MEETING-NOTE", stream -> {
+            int todoCount = meetingNoteService.analyzeAndCreateTodos(id, userId,
+                    token -> stream.send("token", Map.of("text", token)));
+            stream.send("done", Map.of(
+                    "success", true,
+                    "todoCount", todoCount));
+        });
+    }
+
     // 회의록을 삭제
     @DeleteMapping("/{id}")
     public Map<String, Boolean> remove(
@@ -3,20 +3,18 @@ package com.Team1_Back.controller;
 import com.Team1_Back.dto.PageRequestDTO;
 import com.Team1_Back.dto.PageResponseDTO;
 import com.Team1_Back.dto.ProductDTO;
+import com.Team1_Back.image.ImageVariantService;
 import com.Team1_Back.service.ProductService;
 import com.Team1_Back.util.CustomFileUtil;
+import com.Team1_Back.util.RangeFileResponder;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.FileSystemResource;
-import org.springframework.core.io.Resource;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.File;
-import java.nio.file.Files;
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -29,24 +27,21 @@ public class ProductController {
 
     private final ProductService productService;
     private final CustomFileUtil fileUtil;
+    private final ImageVariantService imageVariantService;
+    private final RangeFileResponder rangeFileResponder;
 
-    @Value("${com.team1.upload.path}")
-    private String uploadPath;
-
-    // 1. 이미지 조회
+    // 1. 이미지 조회 (s_/m_ 변형은 없으면 첫 조회 때 생성, UUID 파일명이라 immutable 캐시)
     @GetMapping("/view/{fileName}")
-    public ResponseEntity<Resource> viewFileGET(@PathVariable("fileName") String fileName) {
-        Resource resource = new FileSystemResource(uploadPath + File.separator + fileName);
-        String resourceName = resource.getFilename();
-        HttpHeaders headers = new HttpHeaders();
-
-        try {
-            if(!resource.exists()) return ResponseEntity.notFound().build();
-            headers.add("Content-Type", Files.probeContentType(resource.getFile().toPath()));
-        } catch (Exception e) {
-            return ResponseEntity.internalServerError().build();
+    public void viewFileGET(@PathVariable("fileName") String fileName,
+                            HttpServletRequest request,
+                            HttpServletResponse response) throws IOException {
+        ImageVariantService.ImageMeta meta = imageVariantService.lookup(ImageVariantService.Bucket.PRODUCT, fileName);
+        if (meta == null) {
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return;
         }
-        return ResponseEntity.ok().headers(headers).body(resource);
+        rangeFileResponder.write(request, response, meta.path(), meta.contentType(),
+                null, meta.etag(), meta.cacheControl());
     }
 
     // 2. 목록 조회
@@ -4,10 +4,11 @@ import com.Team1_Back.dto.*;
 import com.Team1_Back.security.ReportPrincipal;
 import com.Team1_Back.domain.enums.OutputFormat;
 import com.Team1_Back.service.ReportService;
+import com.Team1_Back.util.RangeFileResponder;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.core.io.Resource;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -15,7 +16,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
-import java.nio.charset.StandardCharsets;
+import java.io.IOException;
 
 @RestController
 @RequiredArgsConstructor
@@ -23,6 +24,7 @@ import java.nio.charset.StandardCharsets;
 public class ReportController {
 
     private final ReportService reportService;
+    private final RangeFileResponder rangeFileResponder;
 
     private ReportPrincipal toReportPrincipal(UserDTO user) {
         if (user == null) return null;
@@ -59,16 +61,51 @@ public class ReportController {
         );
     }
 
-    // 2. 리포트 기준 최신 파일 다운로드
-    @GetMapping("/{reportId}/download")
-    public ResponseEntity<Resource> download(
-            @AuthenticationPrincipal UserDTO principal,   //  변경
+    // 1-1. 리포트 비동기 생성 (QUEUED 로 즉시 반환, 상태는 /user/queue/reports 로 push)
+    @PostMapping("/enqueue")
+    public ResponseEntity<ReportGenerateResponseDTO> enqueue(
+            @AuthenticationPrincipal UserDTO principal,
+            @RequestBody @Valid ReportGenerateRequestDTO req
+    ) {
+        if (principal == null) {
+            return ResponseEntity.status(401).build();
+        }
+
+        ReportPrincipal rp = toReportPrincipal(principal);
+        var r = reportService.enqueue(rp, req);
+
+        return ResponseEntity.accepted().body(
+                new ReportGenerateResponseDTO(r.reportId(), r.status(), r.fileName())
+        );
+    }
+
+    // 1-2. 리포트 상태 조회 (STOMP 알림을 놓친 경우 polling 용)
+    @GetMapping("/{reportId}/status")
+    public ResponseEntity<ReportGenerateResponseDTO> status(
+            @AuthenticationPrincipal UserDTO principal,
             @PathVariable Long reportId
     ) {
         if (principal == null) {
             return ResponseEntity.status(401).build();
         }
 
+        var r = reportService.getStatus(toReportPrincipal(principal), reportId);
+        return ResponseEntity.ok(new ReportGenerateResponseDTO(r.reportId(), r.status(), r.fileName()));
+    }
+
+    // 2. 리포트 기준 최신 파일 다운로드 (Range / ETag 지원)
+    @GetMapping("/{reportId}/download")
+    public void download(
+            @AuthenticationPrincipal UserDTO principal,   //  변경
+            @PathVariable Long reportId,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        if (principal == null) {
+            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+            return;
+        }
+
         ReportPrincipal rp = toReportPrincipal(principal);
         var d = reportService.download(rp, reportId);
 
@@ -76,15 +113,15 @@ public class ReportController {
                 ? MediaType.APPLICATION_PDF_VALUE
                 : "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
 
-        String encoded = java.net.URLEncoder
-                .encode(d.fileName(), StandardCharsets.UTF_8)
-                .replace("+", "%20");
+        // 리포트 파일은 생성 후 바뀌지 않으므로 checksum 을 ETag 로 사용
+        var outcome = rangeFileResponder.write(request, response, d.file(), contentType,
+                rangeFileResponder.disposition(d.fileName(), false),
+                d.checksum(), "private, no-cache");
 
-        return ResponseEntity.ok()
-                .contentType(MediaType.parseMediaType(contentType))
-                .header(HttpHeaders.CONTENT_DISPOSITION,
-                        "attachment; filename*=UTF-8''" + encoded)
-                .body(d.resource());
+        // 새 다운로드만 로그 (304 / 이어받기 / 416 제외)
+        if (outcome == RangeFileResponder.Outcome.FULL || outcome == RangeFileResponder.Outcome.PARTIAL_HEAD) {
+            reportService.recordDownload(d, rp.userId());
+        }
     }
 
     // 3. 리포트에 딸린 파일 목록
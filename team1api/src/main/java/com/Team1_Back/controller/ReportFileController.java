@@ -4,45 +4,47 @@ import com.Team1_Back.dto.ReportFileDownloadLogsResponseDTO;
 import com.Team1_Back.domain.enums.OutputFormat;
 import com.Team1_Back.service.ReportService;
 import com.Team1_Back.security.ReportPrincipal;
+import com.Team1_Back.util.RangeFileResponder;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.nio.charset.StandardCharsets;
+import java.io.IOException;
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/api/report-files")
 public class ReportFileController {
 
     private final ReportService reportService;
+    private final RangeFileResponder rangeFileResponder;
 
-    // 1. 파일 단건 다운로드 (fileId 기준)
+    // 1. 파일 단건 다운로드 (fileId 기준, Range / ETag 지원)
     @GetMapping("/{fileId}/download")
-    public ResponseEntity<org.springframework.core.io.Resource> downloadByFileId(
+    public void downloadByFileId(
             @PathVariable Long fileId,
-            @AuthenticationPrincipal ReportPrincipal principal
-    ) {
+            @AuthenticationPrincipal ReportPrincipal principal,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
         var r = reportService.downloadFileById(principal, fileId);
 
         String contentType = (r.format() == OutputFormat.PDF)
-                ? "application/pdf"
+                ? MediaType.APPLICATION_PDF_VALUE
                 : "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
 
-        String encoded = java.net.URLEncoder
-                .encode(r.fileName(), StandardCharsets.UTF_8)
-                .replace("+", "%20");
+        var outcome = rangeFileResponder.write(request, response, r.file(), contentType,
+                rangeFileResponder.disposition(r.fileName(), false),
+                r.checksum(), "private, no-cache");
 
-        return ResponseEntity.ok()
-                .contentType(MediaType.parseMediaType(contentType))
-                .header(HttpHeaders.CONTENT_DISPOSITION,
-                        "attachment; filename*=UTF-8''" + encoded)
-                .body(r.resource());
+        if (outcome == RangeFileResponder.Outcome.FULL || outcome == RangeFileResponder.Outcome.PARTIAL_HEAD) {
+            reportService.recordDownload(r, principal.userId());
+        }
     }
 
     // 2. 파일 다운로드 로그
@@ -5,6 +5,8 @@ import com.Team1_Back.dto.ReportScheduleCreateRequestDTO;
 import com.Team1_Back.dto.ReportScheduleResponseDTO;
 import com.Team1_Back.dto.ReportScheduleUpsertRequestDTO;
 import com.Team1_Back.dto.ReportSchedulesResponseDTO;
+import com.Team1_Back.scheduler.ReportScheduler;
+import com.Team1_Back.scheduler.ReportSchedulerMetrics;
 import com.Team1_Back.service.ReportScheduleAdminService;
 import com.Team1_Back.service.ReportService;
 import com.Team1_Back.security.ReportPrincipal;
@@ -22,6 +24,7 @@ public class ReportScheduleAdminController {
 
     private final ReportService reportService;
     private final ReportScheduleAdminService scheduleService;
+    private final ReportScheduler reportScheduler;
 
     private ReportPrincipal toReportPrincipal(UserDTO user) {
         if (user == null) return null;
@@ -68,4 +71,12 @@ public class ReportScheduleAdminController {
         if (user == null) throw new ResponseStatusException(HttpStatus.UNAUTHORIZED);
         return ResponseEntity.ok(scheduleService.runNow(id));
     }
+
+    // 스케줄러 지표 (이 노드 기준: tick 별 선점 건수, nextRunAt 대비 실행 지연)
+    @GetMapping("/metrics")
+    public ReportSchedulerMetrics.Snapshot metrics(@AuthenticationPrincipal UserDTO user) {
+        ReportPrincipal rp = toReportPrincipal(user);
+        if (rp == null || !"ADMIN".equals(rp.role())) throw new ResponseStatusException(HttpStatus.UNAUTHORIZED);
+        return reportScheduler.metrics();
+    }
 }
@@ -1,68 +1,47 @@
 package com.Team1_Back.controller;
 
+import com.Team1_Back.image.ImageVariantService;
+import com.Team1_Back.image.ImageVariantService.Bucket;
+import com.Team1_Back.image.ImageVariantService.ImageMeta;
+import com.Team1_Back.util.RangeFileResponder;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.FileSystemResource;
-import org.springframework.core.io.Resource;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.io.IOException;
 
 /**
  * 프로필 이미지 조회 컨트롤러
  * - 인증 없이 이미지 파일 조회 가능 (공개 API)
+ * - 파일명이 UUID 라 내용이 바뀌지 않으므로 immutable 캐시 헤더 + ETag(304)
+ * - s_(썸네일) / m_(중간 크기) 변형이 아직 없으면 첫 조회 때 생성
  */
 @RestController
 @RequestMapping("/api/view")
 @Slf4j
+@RequiredArgsConstructor
 public class UserProfileImageController {
 
-    @Value("${com.team1.upload.path}")
-    private String uploadPath;
+    private final ImageVariantService imageVariantService;
+    private final RangeFileResponder rangeFileResponder;
 
     /**
      * 프로필 이미지 조회
      * GET /api/view/user_image/{fileName}
      * GET /api/view/user_image/s_{fileName}  (썸네일)
+     * GET /api/view/user_image/m_{fileName}  (중간 크기)
      */
     @GetMapping("/user_image/{fileName}")
-    public ResponseEntity<Resource> getProfileImage(@PathVariable String fileName) {
-        log.info("프로필 이미지 조회 요청: {}", fileName);
-
-        try {
-            // 먼저 user_image 경로에서 찾기
-            Path filePath = Paths.get(uploadPath, "user_image", fileName);
-            Resource resource = new FileSystemResource(filePath);
-
-            // user_image에 없으면 profile 경로에서 찾기 (하위 호환성)
-            if (!resource.exists() || !resource.isReadable()) {
-                filePath = Paths.get(uploadPath, "profile", fileName);
-                resource = new FileSystemResource(filePath);
-            }
-
-            if (!resource.exists() || !resource.isReadable()) {
-                log.warn("파일을 찾을 수 없음: {}", fileName);
-                return ResponseEntity.notFound().build();
-            }
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.add(HttpHeaders.CONTENT_TYPE, Files.probeContentType(filePath));
-
-            return ResponseEntity.ok()
-                    .headers(headers)
-                    .body(resource);
-
-        } catch (Exception e) {
-            log.error("프로필 이미지 조회 실패: {}", e.getMessage());
-            return ResponseEntity.internalServerError().build();
-        }
+    public void getProfileImage(@PathVariable String fileName,
+                                HttpServletRequest request,
+                                HttpServletResponse response) throws IOException {
+        // user_image에 없으면 profile 경로에서 찾기 (하위 호환성)
+        serve(fileName, Bucket.USER_IMAGE, Bucket.PROFILE, request, response);
     }
 
     /**
@@ -71,35 +50,25 @@ public class UserProfileImageController {
      * GET /api/view/profile/s_{fileName}  (썸네일)
      */
     @GetMapping("/profile/{fileName}")
-    public ResponseEntity<Resource> getProfileImageLegacy(@PathVariable String fileName) {
-        log.info("프로필 이미지 조회 요청 (legacy): {}", fileName);
-
-        try {
-            // 먼저 profile 경로에서 찾기
-            Path filePath = Paths.get(uploadPath, "profile", fileName);
-            Resource resource = new FileSystemResource(filePath);
-
-            // profile에 없으면 user_image 경로에서 찾기
-            if (!resource.exists() || !resource.isReadable()) {
-                filePath = Paths.get(uploadPath, "user_image", fileName);
-                resource = new FileSystemResource(filePath);
-            }
-
-            if (!resource.exists() || !resource.isReadable()) {
-                log.warn("파일을 찾을 수 없음: {}", fileName);
-                return ResponseEntity.notFound().build();
-            }
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.add(HttpHeaders.CONTENT_TYPE, Files.probeContentType(filePath));
+    public void getProfileImageLegacy(@PathVariable String fileName,
+                                      HttpServletRequest request,
+                                      HttpServletResponse response) throws IOException {
+        // profile에 없으면 user_image 경로에서 찾기
+        serve(fileName, Bucket.PROFILE, Bucket.USER_IMAGE, request, response);
+    }
 
-            return ResponseEntity.ok()
-                    .headers(headers)
-                    .body(resource);
+    private void serve(String fileName, Bucket primary, Bucket fallback,
+                       HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ImageMeta meta = imageVariantService.lookup(primary, fileName);
+        if (meta == null) meta = imageVariantService.lookup(fallback, fileName);
 
-        } catch (Exception e) {
-            log.error("프로필 이미지 조회 실패: {}", e.getMessage());
-            return ResponseEntity.internalServerError().build();
+        if (meta == null) {
+            log.warn("파일을 찾을 수 없음: {}", fileName);
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return;
         }
+
+        rangeFileResponder.write(request, response, meta.path(), meta.contentType(),
+                null, meta.etag(), meta.cacheControl());
     }
 }
@@ -1,25 +1,27 @@
 package com.Team1_Back.controller;
 
+import com.Team1_Back.chat.ChatRelay;
 import lombok.RequiredArgsConstructor;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
 import org.springframework.messaging.handler.annotation.MessageMapping;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Controller;
 
 import java.security.Principal;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
 
 @Controller
 @RequiredArgsConstructor
 public class WsTestController {
 
-    private final SimpMessagingTemplate messagingTemplate;
+    // 다중 노드에서도 다른 노드 구독자에게 닿도록 채팅 relay 로 보냄
+    private final ChatRelay chatRelay;
 
     @MessageMapping("/ping")
     public void ping(Principal principal) {
-        String me = principal.getName();
-        messagingTemplate.convertAndSendToUser(me, "/queue/ping", "pong");
+        Long me = Long.valueOf(principal.getName());
+        chatRelay.sendToUsers(List.of(me), "/queue/ping", "pong");
     }
 
     @MessageMapping("/rooms/{roomId}/send") // client -> /app/rooms/{roomId}/send
@@ -33,6 +35,6 @@ public class WsTestController {
         );
 
         // server -> all subscribers
-        messagingTemplate.convertAndSend("/topic/rooms/" + roomId, payload);
+        chatRelay.sendToRoom(Long.valueOf(roomId), "/topic/rooms/" + roomId, payload);
     }
-}
\ No newline at end of file
+}
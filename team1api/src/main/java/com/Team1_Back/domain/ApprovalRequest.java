@@ -15,7 +15,13 @@ import lombok.*;
 @Table(name = "approval_request", indexes = {
     @Index(name = "idx_request_type_ref", columnList = "request_type, ref_id"),
     @Index(name = "idx_approver_status", columnList = "approver_id, status_snapshot"),
-    @Index(name = "idx_status_updated", columnList = "status_snapshot, updated_at")
+    @Index(name = "idx_status_updated", columnList = "status_snapshot, updated_at"),
+    // 목록 조회 (created_at 반열린 구간 + keyset). InnoDB 보조 인덱스 끝에 PK(id)가 붙어 (…, created_at, id) 순서가 됨
+    @Index(name = "idx_ar_created", columnList = "created_at"),
+    @Index(name = "idx_ar_requester_created", columnList = "requester_id, created_at"),
+    @Index(name = "idx_ar_type_created", columnList = "request_type, created_at"),
+    @Index(name = "idx_ar_status_created", columnList = "status_snapshot, created_at"),
+    @Index(name = "idx_ar_type_status_created", columnList = "request_type, status_snapshot, created_at")
 })
 @Builder
 @Getter
@@ -0,0 +1,57 @@
+package com.Team1_Back.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+/**
+ * 채팅방 목록 요약 (chat_room_member 1행당 1행)
+ *
+ * <p>방 목록 화면에 필요한 값(방 이름, 마지막 메시지, 안 읽은 수)을 미리 계산해 둡니다.
+ * 메시지 전송/읽음/멤버 변경 시 {@code ChatRoomSummaryService} 가 같은 트랜잭션 안에서 갱신하며,
+ * 방 목록 조회는 (user_id, last_message_id) 인덱스 한 번으로 끝납니다.
+ *
+ * @author Team1
+ */
+@Entity
+@Table(name = "chat_room_summary",
+        indexes = @Index(name = "idx_crs_user_last", columnList = "user_id, last_message_id"))
+@Getter
+@NoArgsConstructor
+public class ChatRoomSummary {
+
+    @EmbeddedId
+    private ChatRoomMemberId id;
+
+    @Column(name = "room_type", length = 20, nullable = false)
+    private String roomType;
+
+    @Column(name = "direct_key", length = 50)
+    private String directKey;
+
+    /** DIRECT: 상대 이름 / GROUP: 나를 뺀 멤버 이름 (3명 초과 시 …) */
+    @Column(name = "display_name")
+    private String displayName;
+
+    @Column(name = "last_message_id")
+    private Long lastMessageId;
+
+    @Column(name = "last_sender_id")
+    private Long lastSenderId;
+
+    /** 마지막 메시지 미리보기 (앞 200자) */
+    @Column(name = "last_content", length = 200)
+    private String lastContent;
+
+    @Column(name = "last_created_at")
+    private Instant lastCreatedAt;
+
+    @Column(name = "unread_count", nullable = false)
+    private long unreadCount;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -16,7 +16,12 @@ import java.time.LocalDate;
 @Entity
 @Table(name = "expense", indexes = {
     @Index(name = "idx_user_receipt_date", columnList = "user_id, receipt_date"),
-    @Index(name = "idx_approval_status_updated", columnList = "approval_status, updated_at")
+    @Index(name = "idx_approval_status_updated", columnList = "approval_status, updated_at"),
+    // 목록 조회 (created_at 반열린 구간 + keyset). InnoDB 보조 인덱스 끝에 PK(id)가 붙어 (…, created_at, id) 순서가 됨
+    @Index(name = "idx_expense_user_created", columnList = "user_id, created_at"),
+    @Index(name = "idx_expense_user_status_created", columnList = "user_id, approval_status, created_at"),
+    @Index(name = "idx_expense_status_created", columnList = "approval_status, created_at"),
+    @Index(name = "idx_expense_created", columnList = "created_at")
 })
 @Builder
 @Getter
@@ -0,0 +1,56 @@
+package com.Team1_Back.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 월별 지출 집계 (materialized rollup)
+ *
+ * <p>(period_ym, department_name, category, approval_status) 단위로 건수/금액을 누적합니다.
+ * 지출 상태가 바뀔 때 {@code ExpenseRollupService} 가 같은 트랜잭션 안에서 증감하며,
+ * 회계 대시보드는 expense 전체를 GROUP BY 하지 않고 이 테이블만 읽습니다.
+ *
+ * <p>부서/카테고리가 없으면 빈 문자열로 저장합니다 (UNIQUE 키에 NULL 이 들어가지 않도록).
+ * DRAFT 는 대시보드 대상이 아니므로 집계하지 않습니다.
+ *
+ * @author Team1
+ */
+@Entity
+@Table(name = "expense_monthly_agg",
+        uniqueConstraints = @UniqueConstraint(name = "uk_expense_monthly_agg",
+                columnNames = {"period_ym", "department_name", "category", "approval_status"}),
+        indexes = @Index(name = "idx_expense_monthly_agg_status", columnList = "approval_status, period_ym"))
+@Getter
+@NoArgsConstructor
+public class ExpenseMonthlyAgg {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** receipt_date 기준 "YYYY-MM" */
+    @Column(name = "period_ym", length = 7, nullable = false)
+    private String periodYm;
+
+    @Column(name = "department_name", length = 100, nullable = false)
+    private String departmentName;
+
+    @Column(name = "category", length = 50, nullable = false)
+    private String category;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "approval_status", length = 30, nullable = false)
+    private ApprovalStatus status;
+
+    @Column(name = "expense_count", nullable = false)
+    private Long expenseCount;
+
+    @Column(name = "total_amount", nullable = false)
+    private Long totalAmount;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -3,6 +3,8 @@ package com.Team1_Back.domain;
 import lombok.*;
 import jakarta.persistence.*;
 
+import java.time.LocalDateTime;
+
 @Entity
 @Getter
 @Builder
@@ -25,7 +27,17 @@ public class FaceAuth {
     @Column(columnDefinition = "TEXT")
     private String faceDescriptor;
 
+    // 노드 간 매칭 색인 동기화용 (FaceAuthRepository.fingerprint)
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
     public void changeDescriptor(String descriptor) {
         this.faceDescriptor = descriptor;
     }
+
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        this.updatedAt = LocalDateTime.now();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,52 @@
+package com.Team1_Back.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * 영수증 이미지 원본 (content-addressed)
+ *
+ * <p>같은 내용(SHA-256)의 이미지는 디스크에 한 번만 저장하고, 이를 가리키는
+ * {@link ReceiptUpload} 수를 ref_count 로 관리합니다. ref_count 가 0 이 된 뒤
+ * 유예 시간이 지나면 파일과 함께 정리됩니다.
+ *
+ * <p>phash 는 다시 찍은 같은 영수증(바이트는 다르지만 거의 같은 이미지)을 찾는 데 씁니다.
+ *
+ * @author Team1
+ */
+@Entity
+@Table(name = "receipt_blob", indexes = {
+    @Index(name = "idx_blob_ref_updated", columnList = "ref_count,updated_at")
+})
+@Builder
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReceiptBlob extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** SHA-256 (64자리 hex) */
+    @Column(name = "file_hash", length = 64, nullable = false, unique = true)
+    private String fileHash;
+
+    /** 저장 경로 (receipts/blobs/ab/{hash}.ext) */
+    @Column(name = "file_url", length = 255, nullable = false)
+    private String fileUrl;
+
+    @Column(name = "mime_type", length = 50)
+    private String mimeType;
+
+    @Column(name = "size_bytes", nullable = false)
+    private long sizeBytes;
+
+    /** 이 이미지를 쓰는 영수증 수 */
+    @Column(name = "ref_count", nullable = false)
+    private int refCount;
+
+    /** dHash (64bit) - 이미지로 읽을 수 없으면 null */
+    @Column(name = "phash")
+    private Long phash;
+}
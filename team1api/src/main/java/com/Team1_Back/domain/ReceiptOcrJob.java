@@ -0,0 +1,65 @@
+package com.Team1_Back.domain;
+
+import com.Team1_Back.domain.enums.ReceiptOcrStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 영수증 OCR 작업 큐 엔티티
+ *
+ * <p>업로드 트랜잭션에서 QUEUED 로 넣고, 워커가 lease 로 선점해 OCR 을 돌립니다.
+ * 실패하면 next_attempt_at 을 뒤로 미뤄 다시 QUEUED 로 돌리고, 최대 횟수를 넘기면 FAILED.
+ * 시도 횟수는 선점할 때 올리고, 선점마다 새 lease_token 을 발급합니다.
+ *
+ * <p>receipt_id 는 FK 없이 값만 보관합니다 (영수증이 지워지면 워커가 작업을 정리).
+ *
+ * @author Team1
+ */
+@Entity
+@Table(name = "receipt_ocr_job", indexes = {
+    @Index(name = "idx_ocr_job_status_next", columnList = "status,next_attempt_at"),
+    @Index(name = "idx_ocr_job_lease", columnList = "lease_owner,lease_until"),
+    @Index(name = "idx_ocr_job_lease_token", columnList = "lease_token")
+})
+@Builder
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReceiptOcrJob extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** 대상 영수증 (receipt_upload.id) */
+    @Column(name = "receipt_id", nullable = false, unique = true)
+    private Long receiptId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private ReceiptOcrStatus status;
+
+    /** 지금까지 선점(시도)한 횟수 */
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    /** 이 시각 이후에 (재)시도 */
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "lease_owner", length = 100)
+    private String leaseOwner;
+
+    /** 선점 한 번마다 새로 발급. 결과 반영 시 이 값이 그대로일 때만 반영 */
+    @Column(name = "lease_token", length = 36)
+    private String leaseToken;
+
+    @Column(name = "lease_until")
+    private LocalDateTime leaseUntil;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+}
@@ -48,5 +48,13 @@ public class ReceiptUpload extends BaseEntity {
     /** 파일 MIME 타입 (예: image/jpeg) */
     @Column(name = "mime_type", length = 50)
     private String mimeType;
+
+    /** 중복 의심 영수증 ID (다른 지출 내역에 같은/비슷한 이미지가 이미 있음) */
+    @Column(name = "duplicate_of")
+    private Long duplicateOf;
+
+    /** 중복 종류: EXACT(같은 파일) / SIMILAR(다시 찍은 사진, phash) */
+    @Column(name = "duplicate_kind", length = 10)
+    private String duplicateKind;
 }
 
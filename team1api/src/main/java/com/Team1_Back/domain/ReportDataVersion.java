@@ -0,0 +1,29 @@
+package com.Team1_Back.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 월별 리포트 데이터 버전 (캐시 watermark)
+ * 해당 월(receipt_date 기준)의 지출이 승인/반려될 때마다 version 이 증가
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "report_data_version")
+public class ReportDataVersion {
+
+    // "YYYY-MM"
+    @Id
+    @Column(name = "period_ym", length = 7)
+    private String periodYm;
+
+    @Column(name = "version", nullable = false)
+    private Long version = 0L;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -15,7 +15,8 @@ import java.time.LocalDateTime;
 @Table(name = "report_schedule", indexes = {
         @Index(name = "idx_schedule_enabled_next", columnList = "is_enabled,next_run_at"),
         @Index(name = "idx_schedule_report_type", columnList = "report_type_id"),
-        @Index(name = "idx_schedule_last_job", columnList = "last_job_id")
+        @Index(name = "idx_schedule_last_job", columnList = "last_job_id"),
+        @Index(name = "idx_schedule_lease", columnList = "lease_owner,lease_until")
 })
 public class ReportSchedule {
 
@@ -70,6 +71,17 @@ public class ReportSchedule {
     private PeriodRule periodRule = PeriodRule.CURRENT_MONTH;
 
 
+    // 다중 노드 스케줄러: 이 스케줄을 선점한 노드와 선점 만료 시각
+    @Column(name="lease_owner", length=100)
+    private String leaseOwner;
+
+    @Column(name="lease_until")
+    private LocalDateTime leaseUntil;
+
+    // 분산 락(RedisLock) fencing token - 더 큰 token 을 가진 실행만 결과를 반영할 수 있음
+    @Column(name="fence_token")
+    private Long fenceToken;
+
     @Column(name="created_at", nullable=false, updatable=false, insertable=false)
     private LocalDateTime createdAt;
 
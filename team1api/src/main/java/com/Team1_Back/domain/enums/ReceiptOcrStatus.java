@@ -0,0 +1,9 @@
+package com.Team1_Back.domain.enums;
+
+
+public enum ReceiptOcrStatus {
+    QUEUED,
+    RUNNING,
+    DONE,
+    FAILED
+}
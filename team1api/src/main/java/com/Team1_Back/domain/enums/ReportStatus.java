@@ -1,7 +1,9 @@
+
 package com.Team1_Back.domain.enums;
 
 
 public enum ReportStatus {
+    QUEUED,
     GENERATING,
     READY,
     FAILED
@@ -0,0 +1,25 @@
+package com.Team1_Back.domain.event;
+
+import com.Team1_Back.domain.ChatAttachment;
+import com.Team1_Back.domain.ChatMessage;
+
+import java.util.List;
+
+/**
+ * 채팅 메시지(+첨부) 저장 이벤트
+ *
+ * <p>메시지 전송 / 첨부 업로드 시 서비스에서 발행합니다.
+ * 검색 색인처럼 커밋된 데이터만 반영해야 하는 리스너는
+ * {@code @TransactionalEventListener(AFTER_COMMIT)} 로 받습니다.
+ *
+ * @author Team1
+ */
+public record ChatMessageSavedEvent(
+        ChatMessage message,
+        List<ChatAttachment> attachments
+) {
+
+    public static ChatMessageSavedEvent of(ChatMessage message) {
+        return new ChatMessageSavedEvent(message, List.of());
+    }
+}
@@ -0,0 +1,60 @@
+package com.Team1_Back.domain.event;
+
+import com.Team1_Back.domain.ApprovalStatus;
+import com.Team1_Back.domain.Expense;
+import com.Team1_Back.domain.User;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * 지출 내역 결재 상태 변경 이벤트
+ *
+ * <p>승인/반려/보완요청 처리 시 서비스에서 발행합니다.
+ * 같은 트랜잭션 안에서 동기로 처리되므로 리스너가 실패하면 결재 처리도 롤백됩니다.
+ *
+ * <p>검증 과정에서 금액/카테고리가 바뀔 수 있어 변경 전 값도 함께 담습니다.
+ *
+ * @author Team1
+ */
+public record ExpenseStatusChangedEvent(
+        Long expenseId,
+        Long userId,
+        String departmentName,
+        LocalDate receiptDate,
+        ApprovalStatus fromStatus,
+        String fromCategory,
+        int fromAmount,
+        ApprovalStatus toStatus,
+        String toCategory,
+        int toAmount
+) {
+
+    /**
+     * 변경 후 엔티티 상태와 변경 전 값으로 이벤트를 만듭니다.
+     */
+    public static ExpenseStatusChangedEvent of(Expense expense,
+                                               ApprovalStatus fromStatus,
+                                               String fromCategory,
+                                               Integer fromAmount) {
+        User writer = expense.getWriter();
+        return new ExpenseStatusChangedEvent(
+                expense.getId(),
+                writer == null ? null : writer.getId(),
+                writer == null ? null : writer.getDepartmentName(),
+                expense.getReceiptDate(),
+                fromStatus,
+                fromCategory,
+                fromAmount == null ? 0 : fromAmount,
+                expense.getStatus(),
+                expense.getCategory(),
+                expense.getAmount() == null ? 0 : expense.getAmount()
+        );
+    }
+
+    public boolean changed() {
+        return fromStatus != toStatus
+                || fromAmount != toAmount
+                || !Objects.equals(fromCategory, toCategory);
+    }
+}
@@ -0,0 +1,15 @@
+package com.Team1_Back.domain.event;
+
+/**
+ * 얼굴 descriptor 등록/변경/삭제 이벤트
+ *
+ * <p>FaceMatchService 가 {@code @TransactionalEventListener(AFTER_COMMIT)} 로 받아
+ * 이 노드의 메모리 색인에 바로 반영합니다. (다른 노드는 주기 동기화)
+ *
+ * @param descriptor JSON 배열 문자열, 삭제면 null
+ * @author Team1
+ */
+public record FaceDescriptorChangedEvent(
+        String employeeNo,
+        String descriptor
+) {}
@@ -0,0 +1,16 @@
+package com.Team1_Back.domain.event;
+
+/**
+ * 영수증 업로드 이벤트
+ *
+ * <p>업로드 트랜잭션에서 OCR 작업을 QUEUED 로 넣은 뒤 발행합니다.
+ * OCR 워커는 {@code @TransactionalEventListener(AFTER_COMMIT)} 로 받아
+ * 다음 polling 을 기다리지 않고 바로 작업을 선점합니다.
+ *
+ * @author Team1
+ */
+public record ReceiptUploadedEvent(
+        Long receiptId,
+        Long expenseId,
+        Long uploadedBy
+) {}
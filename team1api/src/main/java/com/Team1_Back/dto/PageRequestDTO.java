@@ -26,6 +26,12 @@ public class PageRequestDTO {
     private Boolean isLocked;
     private Boolean isActive;
 
+    // keyset 커서 (이전 응답의 nextCursor). 있으면 page 대신 커서 기준으로 다음 페이지 조회
+    private String cursor;
+
+    // 커서 조회 시 첫 페이지 응답의 totalElements. 있으면 다음 페이지에서 COUNT(*) 를 다시 하지 않음
+    private Long total;
+
     public Pageable getPageable(String... props) {
         if (props == null || props.length == 0) {
             return PageRequest.of(page - 1, size);
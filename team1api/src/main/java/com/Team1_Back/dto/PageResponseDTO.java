@@ -29,6 +29,9 @@ public class PageResponseDTO<E> {
 
     private List<String> departments;
 
+    // 다음 페이지 keyset 커서 (마지막 페이지면 null)
+    private String nextCursor;
+
     public static <E> PageResponseDTO<E> of(
             List<E> content,
             PageRequestDTO request,
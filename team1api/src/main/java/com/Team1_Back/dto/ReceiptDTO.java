@@ -29,6 +29,11 @@ public class ReceiptDTO {
 
     private String mimeType;
 
+    // 중복 의심 (다른 지출 내역의 영수증 ID / EXACT, SIMILAR)
+    private Long duplicateOf;
+
+    private String duplicateKind;
+
     private LocalDateTime createdAt;
 
     private LocalDateTime updatedAt;
@@ -54,6 +59,8 @@ public class ReceiptDTO {
 
     private LocalDateTime extractionCreatedAt;
 
+    private String ocrStatus; // QUEUED, RUNNING, DONE, FAILED
+
     // 검증 결과
     private Long verificationId;
 
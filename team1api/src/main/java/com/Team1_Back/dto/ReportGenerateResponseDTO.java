@@ -7,6 +7,6 @@ import lombok.Getter;
 @AllArgsConstructor
 public class ReportGenerateResponseDTO {
     private Long reportId;
-    private String status;     // READY
+    private String status;     // QUEUED / GENERATING / READY / FAILED
     private String fileName;
 }
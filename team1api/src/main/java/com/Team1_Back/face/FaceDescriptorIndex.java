@@ -0,0 +1,201 @@
+package com.Team1_Back.face;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 얼굴 descriptor 최근접 검색 (정확한 brute force)
+ *
+ * - descriptor 를 행 단위로 이어 붙인 float[] 하나에 보관 (행 = dimension 개)
+ *   → 검색은 배열을 앞에서부터 한 번 훑는 순차 접근, 객체/포인터 따라가기 없음
+ * - 거리 = 유클리드 (face-api.js FaceMatcher 와 같은 기준)
+ * - 16 차원마다 지금까지의 합이 현재 최솟값(처음엔 기준 거리)을 넘으면 그 행은 중단 (early abandon)
+ *   → 기준 거리 밖의 대부분의 행은 첫 블록만 보고 버려짐
+ * - 삭제는 마지막 행을 빈 자리로 옮겨 배열을 빈틈없이 유지
+ *
+ * 인증용이라 근사(ANN) 대신 항상 정확한 최근접을 돌려줌
+ */
+public class FaceDescriptorIndex {
+
+    private static final int BLOCK = 16;
+
+    /**
+     * @param distance 유클리드 거리
+     */
+    public record Match(String key, float distance) {}
+
+    private final int dimension;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private float[] matrix;
+    private String[] keys;
+    private int size;
+    private final Map<String, Integer> rowByKey = new HashMap<>();
+
+    public FaceDescriptorIndex(int dimension) {
+        this.dimension = dimension;
+        this.matrix = new float[16 * dimension];
+        this.keys = new String[16];
+    }
+
+    public int dimension() {
+        return dimension;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 추가 또는 교체
+     */
+    public void put(String key, float[] descriptor) {
+        check(descriptor);
+
+        lock.writeLock().lock();
+        try {
+            Integer row = rowByKey.get(key);
+            if (row == null) {
+                ensureCapacity(size + 1);
+                row = size++;
+                keys[row] = key;
+                rowByKey.put(key, row);
+            }
+            System.arraycopy(descriptor, 0, matrix, row * dimension, dimension);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean remove(String key) {
+        lock.writeLock().lock();
+        try {
+            Integer row = rowByKey.remove(key);
+            if (row == null) return false;
+
+            int last = --size;
+            if (row != last) {
+                System.arraycopy(matrix, last * dimension, matrix, row * dimension, dimension);
+                keys[row] = keys[last];
+                rowByKey.put(keys[row], row);
+            }
+            keys[last] = null;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 전체 교체 (기동 / 다른 노드 변경 동기화). 새 배열을 다 만든 뒤 잠깐만 잠금
+     */
+    public void replaceAll(Map<String, float[]> descriptors) {
+        int n = descriptors.size();
+        float[] m = new float[Math.max(16, n) * dimension];
+        String[] k = new String[Math.max(16, n)];
+        Map<String, Integer> rows = new HashMap<>(n * 2);
+
+        int i = 0;
+        for (Map.Entry<String, float[]> e : descriptors.entrySet()) {
+            check(e.getValue());
+            System.arraycopy(e.getValue(), 0, m, i * dimension, dimension);
+            k[i] = e.getKey();
+            rows.put(e.getKey(), i);
+            i++;
+        }
+
+        lock.writeLock().lock();
+        try {
+            matrix = m;
+            keys = k;
+            size = n;
+            rowByKey.clear();
+            rowByKey.putAll(rows);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return 가장 가까운 descriptor (비어 있으면 null)
+     */
+    public Match nearest(float[] query) {
+        return nearest(query, Float.POSITIVE_INFINITY);
+    }
+
+    /**
+     * @param maxDistance 이 거리 미만인 것만 (매칭 기준)
+     * @return 기준 안에서 가장 가까운 descriptor (없으면 null)
+     */
+    public Match nearest(float[] query, float maxDistance) {
+        check(query);
+
+        lock.readLock().lock();
+        try {
+            final float[] m = matrix;
+            final int dim = dimension;
+            float best = maxDistance * maxDistance;
+            int bestRow = -1;
+
+            for (int row = 0, base = 0; row < size; row++, base += dim) {
+                float d = distanceSq(query, m, base, dim, best);
+                if (d < best) {
+                    best = d;
+                    bestRow = row;
+                }
+            }
+            return bestRow < 0 ? null : new Match(keys[bestRow], (float) Math.sqrt(best));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 제곱 거리. 블록마다 누적값이 limit 이상이면 그 값을 바로 반환 (더 볼 필요 없음)
+     */
+    static float distanceSq(float[] q, float[] m, int base, int dim, float limit) {
+        float sum = 0f;
+        int i = 0;
+        for (; i + BLOCK <= dim; i += BLOCK) {
+            // 누적기를 나눠 덧셈 의존 사슬을 끊음 (파이프라인/SIMD 활용)
+            float s0 = 0f, s1 = 0f, s2 = 0f, s3 = 0f;
+            for (int j = i; j < i + BLOCK; j += 4) {
+                float d0 = q[j] - m[base + j];
+                float d1 = q[j + 1] - m[base + j + 1];
+                float d2 = q[j + 2] - m[base + j + 2];
+                float d3 = q[j + 3] - m[base + j + 3];
+                s0 += d0 * d0;
+                s1 += d1 * d1;
+                s2 += d2 * d2;
+                s3 += d3 * d3;
+            }
+            sum += (s0 + s1) + (s2 + s3);
+            if (sum >= limit) return sum;
+        }
+        for (; i < dim; i++) {
+            float d = q[i] - m[base + i];
+            sum += d * d;
+        }
+        return sum;
+    }
+
+    private void ensureCapacity(int rows) {
+        if (rows <= keys.length) return;
+        int next = Math.max(rows, keys.length + (keys.length >> 1));
+        matrix = Arrays.copyOf(matrix, next * dimension);
+        keys = Arrays.copyOf(keys, next);
+    }
+
+    private void check(float[] v) {
+        if (v == null || v.length != dimension) {
+            throw new IllegalArgumentException("dimension mismatch");
+        }
+    }
+}
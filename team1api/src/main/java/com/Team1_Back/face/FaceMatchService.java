@@ -0,0 +1,146 @@
+package com.Team1_Back.face;
+
+import com.Team1_Back.domain.event.FaceDescriptorChangedEvent;
+import com.Team1_Back.repository.FaceAuthRepository;
+import com.Team1_Back.repository.projection.FaceDescriptorRow;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * 얼굴 로그인 매칭 (서버에서 수행)
+ *
+ * - 등록된 descriptor 를 기동 시 한 번 파싱해 FaceDescriptorIndex(메모리) 에 적재
+ *   → 요청마다 JSON 파싱이나 DB 조회 없음, 클라이언트로 descriptor 를 내려보내지 않음
+ * - 이 노드의 등록/삭제: 커밋 후 이벤트로 바로 반영
+ * - 다른 노드의 변경: 주기적으로 fingerprint 를 비교해 달라졌을 때만 전체 다시 적재
+ */
+@Slf4j
+@Service
+public class FaceMatchService {
+
+    private final FaceAuthRepository faceAuthRepository;
+    private final ObjectMapper objectMapper;
+    private final FaceDescriptorIndex index;
+    private final float maxDistance;
+
+    private volatile String fingerprint;
+
+    public FaceMatchService(
+            FaceAuthRepository faceAuthRepository,
+            ObjectMapper objectMapper,
+            @Value("${com.mallapi.face.dimension:128}") int dimension,
+            @Value("${com.mallapi.face.max-distance:0.3}") float maxDistance
+    ) {
+        this.faceAuthRepository = faceAuthRepository;
+        this.objectMapper = objectMapper;
+        this.index = new FaceDescriptorIndex(dimension);
+        this.maxDistance = maxDistance;
+    }
+
+    /**
+     * @return 기준 거리(max-distance) 안에서 가장 가까운 등록자
+     */
+    public Optional<FaceDescriptorIndex.Match> match(float[] descriptor) {
+        validate(descriptor);
+
+        long started = System.nanoTime();
+        FaceDescriptorIndex.Match best = index.nearest(descriptor, maxDistance);
+        log.debug("[FACE] match size={} took={}us", index.size(), (System.nanoTime() - started) / 1_000);
+
+        return Optional.ofNullable(best);
+    }
+
+    /**
+     * 등록 요청의 JSON 배열 문자열 → descriptor (형식이 틀리면 IllegalArgumentException)
+     */
+    public float[] parse(String json) {
+        if (json == null || json.isBlank()) {
+            throw new IllegalArgumentException("descriptor 가 비어 있습니다.");
+        }
+        float[] v;
+        try {
+            v = objectMapper.readValue(json, float[].class);
+        } catch (Exception e) {
+            throw new IllegalArgumentException("descriptor 형식이 올바르지 않습니다.");
+        }
+        validate(v);
+        return v;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onChanged(FaceDescriptorChangedEvent event) {
+        if (event.descriptor() == null) {
+            index.remove(event.employeeNo());
+            return;
+        }
+        try {
+            index.put(event.employeeNo(), parse(event.descriptor()));
+        } catch (IllegalArgumentException e) {
+            log.warn("[FACE] skip invalid descriptor employeeNo={}", event.employeeNo());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        try {
+            reload();
+        } catch (Exception e) {
+            log.error("[FACE] initial load failed", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${com.mallapi.face.sync-ms:60000}")
+    public void sync() {
+        try {
+            if (!Objects.equals(fingerprint, faceAuthRepository.fingerprint())) {
+                reload();
+            }
+        } catch (Exception e) {
+            log.warn("[FACE] sync failed: {}", e.getMessage());
+        }
+    }
+
+    private synchronized void reload() {
+        long started = System.currentTimeMillis();
+        // 읽기 전에 fingerprint 를 잡아둠 → 읽는 사이 바뀐 건 다음 sync 에서 다시 적재
+        String fp = faceAuthRepository.fingerprint();
+        List<FaceDescriptorRow> rows = faceAuthRepository.findAllDescriptors();
+
+        Map<String, float[]> descriptors = new HashMap<>(rows.size() * 2);
+        int skipped = 0;
+        for (FaceDescriptorRow row : rows) {
+            try {
+                descriptors.put(row.getEmployeeNo(), parse(row.getFaceDescriptor()));
+            } catch (IllegalArgumentException e) {
+                skipped++;
+            }
+        }
+        index.replaceAll(descriptors);
+        fingerprint = fp;
+
+        log.info("[FACE] index loaded size={} skipped={} took={}ms",
+                descriptors.size(), skipped, System.currentTimeMillis() - started);
+    }
+
+    private void validate(float[] v) {
+        if (v == null || v.length != index.dimension()) {
+            throw new IllegalArgumentException("descriptor 길이는 " + index.dimension() + " 이어야 합니다.");
+        }
+        for (float f : v) {
+            if (!Float.isFinite(f)) throw new IllegalArgumentException("descriptor 에 잘못된 값이 있습니다.");
+        }
+    }
+}
@@ -2,15 +2,31 @@ package com.Team1_Back.generator;
 
 import com.Team1_Back.domain.enums.DataScope;
 import com.Team1_Back.report.entity.ReportJob;
+import com.Team1_Back.repository.projection.ExpenseReportRow;
 import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.springframework.stereotype.Component;
 
 import java.io.FileOutputStream;
 import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.stream.Stream;
 @Component
 public class ExcelReportGenerator {
 
+    // SXSSF: 메모리에 유지하는 행 수 (나머지는 임시파일로 flush)
+    private static final int ROW_WINDOW = 200;
+
+    // 컬럼 너비 상한 (문자 수 기준)
+    private static final int MAX_COL_CHARS = 60;
+
+    private static final String[] DETAIL_HEADERS = {
+            "No", "Expense ID", "Receipt Date", "Employee No", "Name",
+            "Department", "Category", "Merchant", "Amount (KRW)", "Description"
+    };
+
     public void generate(Path outputFile, ReportJob job) throws Exception {
         try (Workbook wb = new XSSFWorkbook()) {
             Sheet sheet = wb.createSheet("Report");
@@ -61,6 +77,125 @@ public class ExcelReportGenerator {
         }
     }
 
+    /**
+     * 상세(line-item) 리포트: 승인 지출을 한 행씩 스트리밍으로 기록
+     *
+     * - SXSSFWorkbook 으로 ROW_WINDOW 행만 메모리에 유지 → 기간/건수와 무관하게 heap 일정
+     * - autoSizeColumn 대신 기록하면서 컬럼별 최대 길이를 누적해 너비 지정 (시트 재스캔 X)
+     *
+     * @return 기록한 건수/합계 (job 집계값으로 저장용)
+     */
+    public DetailTotals generateDetail(Path outputFile, ReportJob job, Stream<ExpenseReportRow> rows) throws Exception {
+        SXSSFWorkbook wb = new SXSSFWorkbook(ROW_WINDOW);
+        wb.setCompressTempFiles(true);
+
+        try {
+            SXSSFSheet sheet = wb.createSheet("Expenses");
+
+            CellStyle headerStyle = wb.createCellStyle();
+            Font headerFont = wb.createFont();
+            headerFont.setBold(true);
+            headerStyle.setFont(headerFont);
+
+            CellStyle amountStyle = wb.createCellStyle();
+            amountStyle.setDataFormat(wb.createDataFormat().getFormat("#,##0"));
+
+            int[] widths = new int[DETAIL_HEADERS.length];
+
+            // 요약 영역
+            int row = 0;
+            row = kv(sheet, row, "Report Type", job.getReportTypeId());
+            row = kv(sheet, row, "Report ID", String.valueOf(job.getId()));
+            row = kv(sheet, row, "Period", job.getPeriod());
+            row = kv(sheet, row, "Scope", displayScopeWithDept(job));
+            row++;
+
+            Row header = sheet.createRow(row++);
+            for (int c = 0; c < DETAIL_HEADERS.length; c++) {
+                Cell cell = header.createCell(c);
+                cell.setCellValue(DETAIL_HEADERS[c]);
+                cell.setCellStyle(headerStyle);
+                track(widths, c, DETAIL_HEADERS[c]);
+            }
+            sheet.createFreezePane(0, row);
+
+            long count = 0;
+            long total = 0;
+
+            Iterator<ExpenseReportRow> it = rows.iterator();
+            while (it.hasNext()) {
+                ExpenseReportRow e = it.next();
+                Row r = sheet.createRow(row++);
+                count++;
+
+                int amount = e.getAmount() == null ? 0 : e.getAmount();
+                total += amount;
+
+                int c = 0;
+                r.createCell(c++).setCellValue(count);
+                r.createCell(c++).setCellValue(e.getId() == null ? 0 : e.getId());
+                c = text(r, widths, c, e.getReceiptDate() == null ? null : e.getReceiptDate().toString());
+                c = text(r, widths, c, e.getEmployeeNo());
+                c = text(r, widths, c, e.getWriterName());
+                c = text(r, widths, c, e.getDepartmentName());
+                c = text(r, widths, c, e.getCategory());
+                c = text(r, widths, c, e.getMerchant());
+
+                Cell amountCell = r.createCell(c++);
+                amountCell.setCellValue(amount);
+                amountCell.setCellStyle(amountStyle);
+
+                text(r, widths, c, e.getDescription());
+            }
+
+            // 합계 행
+            row++;
+            Row footer = sheet.createRow(row);
+            Cell label = footer.createCell(7);
+            label.setCellValue("Total (" + formatNumber(count) + " records)");
+            label.setCellStyle(headerStyle);
+            Cell sum = footer.createCell(8);
+            sum.setCellValue(total);
+            sum.setCellStyle(amountStyle);
+
+            track(widths, 0, String.valueOf(count));
+            track(widths, 1, "0000000000");
+            track(widths, 8, formatNumber(total));
+            for (int c = 0; c < widths.length; c++) {
+                sheet.setColumnWidth(c, Math.min(widths[c] + 2, MAX_COL_CHARS) * 256);
+            }
+
+            try (FileOutputStream fos = new FileOutputStream(outputFile.toFile())) {
+                wb.write(fos);
+            }
+
+            return new DetailTotals(count, total);
+        } finally {
+            // 임시파일 삭제
+            wb.dispose();
+            wb.close();
+        }
+    }
+
+    private int text(Row r, int[] widths, int col, String v) {
+        String val = (v == null) ? "" : v;
+        r.createCell(col).setCellValue(val);
+        track(widths, col, val);
+        return col + 1;
+    }
+
+    private void track(int[] widths, int col, String v) {
+        if (v == null) return;
+        // 한글은 대략 2칸
+        int len = 0;
+        for (int i = 0; i < v.length() && len < MAX_COL_CHARS; i++) {
+            len += (v.charAt(i) > 0x2E80) ? 2 : 1;
+        }
+        if (len > widths[col]) widths[col] = len;
+    }
+
+    public record DetailTotals(long count, long total) {}
+
     private int kv(Sheet sheet, int rowIdx, String key, String value) {
         Row r = sheet.createRow(rowIdx);
         r.createCell(0).setCellValue(key);
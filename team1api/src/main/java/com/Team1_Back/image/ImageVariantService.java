@@ -0,0 +1,347 @@
+package com.Team1_Back.image;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import net.coobird.thumbnailator.Thumbnails;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+
+/**
+ * 업로드 이미지 크기별 변형(variant) 생성 / 조회
+ *
+ * - 업로드 요청은 원본만 저장하고 바로 반환, 변형은 bounded 풀에서 비동기로 생성
+ *   (풀이 가득 차면 버리고 첫 조회 때 생성)
+ * - 조회 시 변형이 없으면 같은 풀에 생성 요청 후 lazy-wait-ms 만큼만 대기 (같은 파일은 single-flight 로 한 번만)
+ *   → 그 안에 못 끝나거나 풀이 가득 차면 이번 응답은 원본 (no-cache), 변형은 큐에서 계속 생성
+ *   (인증 없는 조회 요청 스레드에서 디코딩하지 않으므로 동시 디코딩 수는 항상 workers 이하)
+ * - 파일명이 UUID 라 같은 이름의 내용은 바뀌지 않음 → 메타데이터(경로/크기/ETag/타입)를 캐시하고
+ *   /api/view/** 는 immutable 캐시 헤더로 응답
+ * - 출력 포맷은 원본과 동일 (JDK ImageIO 에 WebP/AVIF 인코더가 없으므로 JPEG/PNG 그대로)
+ */
+@Slf4j
+@Service
+public class ImageVariantService {
+
+    public static final String IMMUTABLE = "public, max-age=31536000, immutable";
+
+    // 변형 대신 원본을 내려줄 때 - 다음 요청에서 ETag 로 재검증 (변형이 생기면 ETag 가 바뀜)
+    public static final String REVALIDATE = "no-cache";
+
+    /**
+     * 저장 위치별 썸네일 규격 (기존 s_ 썸네일 크기 유지)
+     */
+    public enum Bucket {
+        PRODUCT("", 200, 200),
+        USER_IMAGE("user_image", 310, 280),
+        PROFILE("profile", 310, 280);
+
+        private final String dir;
+        private final int thumbWidth;
+        private final int thumbHeight;
+
+        Bucket(String dir, int thumbWidth, int thumbHeight) {
+            this.dir = dir;
+            this.thumbWidth = thumbWidth;
+            this.thumbHeight = thumbHeight;
+        }
+    }
+
+    /**
+     * 변형 종류 (파일명 앞에 prefix 를 붙여 원본 옆에 저장)
+     */
+    public enum Variant {
+        THUMB("s_"),   // 목록용 (기존 URL 규칙)
+        MEDIUM("m_");  // 상세/미리보기용
+
+        private final String prefix;
+
+        Variant(String prefix) {
+            this.prefix = prefix;
+        }
+
+        public String prefix() {
+            return prefix;
+        }
+    }
+
+    /**
+     * 조회용 메타데이터
+     *
+     * @param etag         따옴표 없는 값
+     * @param cacheControl 응답 Cache-Control (보통 IMMUTABLE, 변형 대신 원본이면 REVALIDATE)
+     */
+    public record ImageMeta(Path path, long size, String contentType, String etag, String cacheControl) {}
+
+    @Value("${com.team1.upload.path}")
+    private String uploadPath;
+
+    private final int mediumSize;
+    private final long lazyWaitMs;
+    private final ThreadPoolExecutor pool;
+    private final Map<String, ImageMeta> metaCache;
+    private final Map<Path, CompletableFuture<Path>> inFlight = new ConcurrentHashMap<>();
+
+    public ImageVariantService(
+            @Value("${com.mallapi.image.workers:2}") int workers,
+            @Value("${com.mallapi.image.queue:200}") int queue,
+            @Value("${com.mallapi.image.medium-size:800}") int mediumSize,
+            @Value("${com.mallapi.image.meta-cache-size:5000}") int metaCacheSize,
+            @Value("${com.mallapi.image.lazy-wait-ms:2000}") long lazyWaitMs
+    ) {
+        int w = Math.max(1, workers);
+        this.mediumSize = Math.max(100, mediumSize);
+        this.lazyWaitMs = Math.max(0, lazyWaitMs);
+
+        AtomicInteger seq = new AtomicInteger();
+        // 디코딩은 메모리를 많이 쓰므로 동시 처리 수를 workers 로 제한, 넘치면 거절 (다음 조회 때 다시 요청)
+        this.pool = new ThreadPoolExecutor(
+                w, w, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queue)),
+                r -> {
+                    Thread t = new Thread(r, "image-variant-" + seq.getAndIncrement());
+                    t.setDaemon(true);
+                    return t;
+                },
+                (r, ex) -> {
+                    throw new RejectedExecutionException("image variant queue full");
+                }
+        );
+
+        int max = Math.max(100, metaCacheSize);
+        this.metaCache = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ImageMeta> eldest) {
+                return size() > max;
+            }
+        });
+
+        log.info("[IMAGE] workers={}, queue={}, mediumSize={}, lazyWait={}ms", w, queue, this.mediumSize, this.lazyWaitMs);
+    }
+
+    @PostConstruct
+    public void init() {
+        uploadPath = Paths.get(uploadPath).toAbsolutePath().toString();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * 원본 저장 직후 호출 → 모든 변형을 백그라운드에서 생성
+     */
+    public void generateAsync(Bucket bucket, String fileName) {
+        if (!isImageName(fileName)) return;
+        for (Variant v : Variant.values()) {
+            ensureAsync(bucket, v, fileName).whenComplete((path, e) -> {
+                if (e == null) return;
+                if (e instanceof RejectedExecutionException) {
+                    log.warn("[IMAGE] queue full, variant {} of {} will be generated on first request", v, fileName);
+                } else {
+                    log.warn("[IMAGE] variant {} failed for {}: {}", v, fileName, e.getMessage());
+                }
+            });
+        }
+    }
+
+    /**
+     * 요청 파일명(원본 또는 s_/m_ 변형)의 메타데이터. 변형이 아직 없으면 풀에 생성을 맡기고 잠시 대기
+     *
+     * @return 원본도 없으면 null. 변형이 제때 안 만들어지면 원본의 메타데이터 (REVALIDATE, 캐시하지 않음)
+     */
+    public ImageMeta lookup(Bucket bucket, String requestedName) {
+        if (!isSafeName(requestedName)) return null;
+
+        String key = bucket.name() + "/" + requestedName;
+        ImageMeta cached = metaCache.get(key);
+        if (cached != null) {
+            if (Files.isRegularFile(cached.path())) return cached;
+            metaCache.remove(key);
+        }
+
+        Path path = dir(bucket).resolve(requestedName);
+        if (!Files.isRegularFile(path)) {
+            Variant v = variantOf(requestedName);
+            if (v == null) return null;
+
+            String original = requestedName.substring(v.prefix().length());
+            Path originalPath = dir(bucket).resolve(original);
+            if (!isImageName(original) || !Files.isRegularFile(originalPath)) return null;
+            try {
+                path = ensureAsync(bucket, v, original).get(lazyWaitMs, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                // 큐에서 대기/생성 중 → 이번 응답만 원본
+                return provisional(original, originalPath);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RejectedExecutionException) return provisional(original, originalPath);
+                log.warn("[IMAGE] lazy variant {} failed for {}: {}", v, original, e.getCause().getMessage());
+                return null;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+
+        try {
+            ImageMeta meta = new ImageMeta(path, Files.size(path), contentTypeOf(path), etagOf(requestedName, path), IMMUTABLE);
+            metaCache.put(key, meta);
+            return meta;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 원본 + 모든 변형 삭제
+     */
+    public void delete(Bucket bucket, String fileName) {
+        if (!isSafeName(fileName)) return;
+        Path dir = dir(bucket);
+        deleteQuietly(dir.resolve(fileName));
+        metaCache.remove(bucket.name() + "/" + fileName);
+        for (Variant v : Variant.values()) {
+            deleteQuietly(dir.resolve(v.prefix() + fileName));
+            metaCache.remove(bucket.name() + "/" + v.prefix() + fileName);
+        }
+    }
+
+    // 변형 대신 내려주는 원본 (메타데이터 캐시에 넣지 않음 → 변형이 생기면 다음 조회부터 변형)
+    private static ImageMeta provisional(String originalName, Path original) {
+        try {
+            return new ImageMeta(original, Files.size(original), contentTypeOf(original),
+                    etagOf(originalName, original), REVALIDATE);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 변형 파일이 있으면 그대로, 없으면 풀에서 생성 (같은 대상은 동시에 한 번만)
+     * 풀이 가득 차면 RejectedExecutionException 으로 실패한 future
+     */
+    private CompletableFuture<Path> ensureAsync(Bucket bucket, Variant v, String original) {
+        Path dir = dir(bucket);
+        Path target = dir.resolve(v.prefix() + original);
+        if (Files.isRegularFile(target)) return CompletableFuture.completedFuture(target);
+
+        CompletableFuture<Path> mine = new CompletableFuture<>();
+        CompletableFuture<Path> running = inFlight.putIfAbsent(target, mine);
+        if (running != null) return running;
+
+        try {
+            pool.execute(() -> {
+                try {
+                    if (!Files.isRegularFile(target)) {
+                        render(dir.resolve(original), target, v, bucket);
+                    }
+                    mine.complete(target);
+                } catch (Throwable e) {
+                    mine.completeExceptionally(e);
+                } finally {
+                    inFlight.remove(target, mine);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(target, mine);
+            mine.completeExceptionally(e);
+        }
+        return mine;
+    }
+
+    private void render(Path source, Path target, Variant v, Bucket bucket) throws IOException {
+        long started = System.nanoTime();
+        int w = (v == Variant.THUMB) ? bucket.thumbWidth : mediumSize;
+        int h = (v == Variant.THUMB) ? bucket.thumbHeight : mediumSize;
+
+        // 확장자를 끝에 유지해야 Thumbnailator 가 원본과 같은 포맷으로 씀
+        Path tmp = target.resolveSibling(".tmp-" + UUID.randomUUID().toString().substring(0, 8) + "-" + target.getFileName());
+        try {
+            Thumbnails.of(source.toFile())
+                    .size(w, h)
+                    .toFile(tmp.toFile());
+            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+
+        log.info("[IMAGE] {} {} {}x{} in {}ms", v, target.getFileName(), w, h,
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private Path dir(Bucket bucket) {
+        return bucket.dir.isEmpty() ? Paths.get(uploadPath) : Paths.get(uploadPath, bucket.dir);
+    }
+
+    private static Variant variantOf(String name) {
+        for (Variant v : Variant.values()) {
+            if (name.startsWith(v.prefix())) return v;
+        }
+        return null;
+    }
+
+    // 경로 조작 방지 (단일 파일명만 허용)
+    private static boolean isSafeName(String name) {
+        return name != null && !name.isBlank()
+                && !name.contains("/") && !name.contains("\\") && !name.contains("..")
+                && !name.startsWith(".");
+    }
+
+    private static boolean isImageName(String name) {
+        if (!isSafeName(name)) return false;
+        String n = name.toLowerCase();
+        return n.endsWith(".jpg") || n.endsWith(".jpeg") || n.endsWith(".png") || n.endsWith(".gif") || n.endsWith(".bmp");
+    }
+
+    private static String contentTypeOf(Path path) {
+        String n = path.getFileName().toString().toLowerCase();
+        if (n.endsWith(".jpg") || n.endsWith(".jpeg")) return "image/jpeg";
+        if (n.endsWith(".png")) return "image/png";
+        if (n.endsWith(".gif")) return "image/gif";
+        if (n.endsWith(".bmp")) return "image/bmp";
+        try {
+            String probed = Files.probeContentType(path);
+            return probed != null ? probed : "application/octet-stream";
+        } catch (IOException e) {
+            return "application/octet-stream";
+        }
+    }
+
+    // 이름 + 크기 + 수정 시각 (다시 생성된 변형은 다른 ETag)
+    private static String etagOf(String name, Path path) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update((name + ":" + Files.size(path) + ":" + Files.getLastModifiedTime(path).toMillis())
+                .getBytes(StandardCharsets.UTF_8));
+        return Long.toHexString(crc.getValue());
+    }
+
+    private static void deleteQuietly(Path p) {
+        try {
+            Files.deleteIfExists(p);
+        } catch (IOException e) {
+            log.warn("[IMAGE] delete failed {}: {}", p, e.getMessage());
+        }
+    }
+}
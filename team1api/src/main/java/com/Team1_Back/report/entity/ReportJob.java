@@ -18,7 +18,8 @@ import java.time.YearMonth;
         indexes = {
                 @Index(name = "idx_report_job_requested_by", columnList = "requested_by"),
                 @Index(name = "idx_report_job_status", columnList = "status"),
-                @Index(name = "idx_report_job_created_at", columnList = "created_at")
+                @Index(name = "idx_report_job_created_at", columnList = "created_at"),
+                @Index(name = "idx_report_job_cache_key", columnList = "cache_key,status")
         })
 public class ReportJob {
 
@@ -93,6 +94,18 @@ public class ReportJob {
     @Column(name="approved_count")
     private Integer approvedCount;
 
+    // 결과 캐시 키 (ReportCacheService) - 월 단위 기간이 아니면 null
+    @Column(name = "cache_key", length = 64)
+    private String cacheKey;
+
+    // 스케줄 실행으로 만들어진 job 이면 그때의 fencing token (수동 생성은 null)
+    @Column(name = "fence_token")
+    private Long fenceToken;
+
+    // GENERATING 으로 선점된 시각 - 오래 지나도 끝나지 않으면 워커가 죽은 것으로 보고 정리 (ReportJobWorker)
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
 
     @PreUpdate
     protected void onUpdate() {
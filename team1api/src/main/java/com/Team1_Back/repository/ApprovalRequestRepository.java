@@ -8,11 +8,10 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
-import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
-public interface ApprovalRequestRepository extends JpaRepository<ApprovalRequest, Long> {
+public interface ApprovalRequestRepository extends JpaRepository<ApprovalRequest, Long>, ApprovalRequestRepositoryCustom {
 
     // 요청자별 결재 요청 조회
     Page<ApprovalRequest> findByRequesterId(Long requesterId, Pageable pageable);
@@ -48,211 +47,17 @@ public interface ApprovalRequestRepository extends JpaRepository<ApprovalRequest
     @Query("SELECT ar FROM ApprovalRequest ar WHERE ar.id = :id")
     Optional<ApprovalRequest> findByIdWithRelations(@Param("id") Long id);
 
-    // 요청자별 결재 요청 조회 (상신일 기준 정렬용)
-    @Query(value = "SELECT ar.* FROM approval_request ar " +
-           "WHERE ar.requester_id = :requesterId " +
-           "ORDER BY ar.created_at DESC, ar.updated_at DESC",
-           nativeQuery = true,
-           countQuery = "SELECT COUNT(*) FROM approval_request ar WHERE ar.requester_id = :requesterId")
-    Page<ApprovalRequest> findByRequesterIdOrderByReceiptDate(@Param("requesterId") Long requesterId, Pageable pageable);
-
-    // 요청자 + 상태별 조회 (상신일 기준 정렬용)
-    @Query(value = "SELECT ar.* FROM approval_request ar " +
-           "WHERE ar.requester_id = :requesterId AND ar.status_snapshot = :statusSnapshot " +
-           "ORDER BY ar.created_at DESC, ar.updated_at DESC",
-           nativeQuery = true,
-           countQuery = "SELECT COUNT(*) FROM approval_request ar WHERE ar.requester_id = :requesterId AND ar.status_snapshot = :statusSnapshot")
-    Page<ApprovalRequest> findByRequesterIdAndStatusSnapshotOrderByReceiptDate(
-            @Param("requesterId") Long requesterId, 
-            @Param("statusSnapshot") String statusSnapshot, 
-            Pageable pageable);
-
-    // 요청 타입별 조회 (상신일 기준 정렬용)
-    @Query(value = "SELECT ar.* FROM approval_request ar " +
-           "WHERE ar.request_type = :requestType " +
-           "ORDER BY ar.created_at DESC, ar.updated_at DESC",
-           nativeQuery = true,
-           countQuery = "SELECT COUNT(*) FROM approval_request ar WHERE ar.request_type = :requestType")
-    Page<ApprovalRequest> findByRequestTypeOrderByReceiptDate(@Param("requestType") String requestType, Pageable pageable);
-
-    // 상태별 조회 (상신일 기준 정렬용)
-    @Query(value = "SELECT ar.* FROM approval_request ar " +
-           "WHERE ar.status_snapshot = :statusSnapshot " +
-           "ORDER BY ar.created_at DESC, ar.updated_at DESC",
-           nativeQuery = true,
-           countQuery = "SELECT COUNT(*) FROM approval_request ar WHERE ar.status_snapshot = :statusSnapshot")
-    Page<ApprovalRequest> findByStatusSnapshotOrderByReceiptDate(@Param("statusSnapshot") String statusSnapshot, Pageable pageable);
-
-    // 요청 타입 + 상태별 조회 (상신일 기준 정렬용)
-    @Query(value = "SELECT ar.* FROM approval_request ar " +
-           "WHERE ar.request_type = :requestType AND ar.status_snapshot = :statusSnapshot " +
-           "ORDER BY ar.created_at DESC, ar.updated_at DESC",
-           nativeQuery = true,
-           countQuery = "SELECT COUNT(*) FROM approval_request ar WHERE ar.request_type = :requestType AND ar.status_snapshot = :statusSnapshot")
-    Page<ApprovalRequest> findByRequestTypeAndStatusSnapshotOrderByReceiptDate(
-            @Param("requestType") String requestType, 
-            @Param("statusSnapshot") String statusSnapshot, 
-            Pageable pageable);
-
-    // 전체 조회 (상신일 기준 정렬용)
-    @Query(value = "SELECT ar.* FROM approval_request ar " +
-           "ORDER BY ar.created_at DESC, ar.updated_at DESC",
-           nativeQuery = true,
-           countQuery = "SELECT COUNT(*) FROM approval_request ar")
-    Page<ApprovalRequest> findAllOrderByReceiptDate(Pageable pageable);
-
-    // 요청 타입 + 상태 + 상신일 범위 조회
-    @Query(value = "SELECT ar.* FROM approval_request ar " +
-           "WHERE ar.request_type = :requestType AND ar.status_snapshot = :statusSnapshot " +
-           "AND DATE(ar.created_at) BETWEEN :startDate AND :endDate " +
-           "ORDER BY ar.created_at DESC, ar.updated_at DESC",
-           nativeQuery = true,
-           countQuery = "SELECT COUNT(*) FROM approval_request ar WHERE ar.request_type = :requestType AND ar.status_snapshot = :statusSnapshot AND DATE(ar.created_at) BETWEEN :startDate AND :endDate")
-    Page<ApprovalRequest> findByRequestTypeAndStatusSnapshotAndDateRange(
-            @Param("requestType") String requestType,
-            @Param("statusSnapshot") String statusSnapshot,
-            @Param("startDate") LocalDate startDate,
-            @Param("endDate") LocalDate endDate,
-            Pageable pageable);
-
-    // 요청 타입 + 상신일 범위 조회
-    @Query(value = "SELECT ar.* FROM approval_request ar " +
-           "WHERE ar.request_type = :requestType " +
-           "AND DATE(ar.created_at) BETWEEN :startDate AND :endDate " +
-           "ORDER BY ar.created_at DESC, ar.updated_at DESC",
-           nativeQuery = true,
-           countQuery = "SELECT COUNT(*) FROM approval_request ar WHERE ar.request_type = :requestType AND DATE(ar.created_at) BETWEEN :startDate AND :endDate")
-    Page<ApprovalRequest> findByRequestTypeAndDateRange(
-            @Param("requestType") String requestType,
-            @Param("startDate") LocalDate startDate,
-            @Param("endDate") LocalDate endDate,
-            Pageable pageable);
-
-    // 상태 + 상신일 범위 조회
-    @Query(value = "SELECT ar.* FROM approval_request ar " +
-           "WHERE ar.status_snapshot = :statusSnapshot " +
-           "AND DATE(ar.created_at) BETWEEN :startDate AND :endDate " +
-           "ORDER BY ar.created_at DESC, ar.updated_at DESC",
-           nativeQuery = true,
-           countQuery = "SELECT COUNT(*) FROM approval_request ar WHERE ar.status_snapshot = :statusSnapshot AND DATE(ar.created_at) BETWEEN :startDate AND :endDate")
-    Page<ApprovalRequest> findByStatusSnapshotAndDateRange(
-            @Param("statusSnapshot") String statusSnapshot,
-            @Param("startDate") LocalDate startDate,
-            @Param("endDate") LocalDate endDate,
-            Pageable pageable);
-
-    // 전체 + 상신일 범위 조회
-    @Query(value = "SELECT ar.* FROM approval_request ar " +
-           "WHERE DATE(ar.created_at) BETWEEN :startDate AND :endDate " +
-           "ORDER BY ar.created_at DESC, ar.updated_at DESC",
-           nativeQuery = true,
-           countQuery = "SELECT COUNT(*) FROM approval_request ar WHERE DATE(ar.created_at) BETWEEN :startDate AND :endDate")
-    Page<ApprovalRequest> findAllByDateRange(
-            @Param("startDate") LocalDate startDate,
-            @Param("endDate") LocalDate endDate,
-            Pageable pageable);
-
-    // 전체 + 시작일만 조회
-    @Query(value = "SELECT ar.* FROM approval_request ar " +
-           "WHERE DATE(ar.created_at) >= :startDate " +
-           "ORDER BY ar.created_at DESC, ar.updated_at DESC",
-           nativeQuery = true,
-           countQuery = "SELECT COUNT(*) FROM approval_request ar WHERE DATE(ar.created_at) >= :startDate")
-    Page<ApprovalRequest> findAllByStartDate(
-            @Param("startDate") LocalDate startDate,
-            Pageable pageable);
-
-    // 전체 + 종료일만 조회
-    @Query(value = "SELECT ar.* FROM approval_request ar " +
-           "WHERE DATE(ar.created_at) <= :endDate " +
-           "ORDER BY ar.created_at DESC, ar.updated_at DESC",
-           nativeQuery = true,
-           countQuery = "SELECT COUNT(*) FROM approval_request ar WHERE DATE(ar.created_at) <= :endDate")
-    Page<ApprovalRequest> findAllByEndDate(
-            @Param("endDate") LocalDate endDate,
-            Pageable pageable);
-
-    // 요청 타입 + 상태 + 시작일만 조회
-    @Query(value = "SELECT ar.* FROM approval_request ar " +
-           "WHERE ar.request_type = :requestType AND ar.status_snapshot = :statusSnapshot " +
-           "AND DATE(ar.created_at) >= :startDate " +
-           "ORDER BY ar.created_at DESC, ar.updated_at DESC",
-           nativeQuery = true,
-           countQuery = "SELECT COUNT(*) FROM approval_request ar WHERE ar.request_type = :requestType AND ar.status_snapshot = :statusSnapshot AND DATE(ar.created_at) >= :startDate")
-    Page<ApprovalRequest> findByRequestTypeAndStatusSnapshotAndStartDate(
-            @Param("requestType") String requestType,
-            @Param("statusSnapshot") String statusSnapshot,
-            @Param("startDate") LocalDate startDate,
-            Pageable pageable);
-
-    // 요청 타입 + 상태 + 종료일만 조회
-    @Query(value = "SELECT ar.* FROM approval_request ar " +
-           "WHERE ar.request_type = :requestType AND ar.status_snapshot = :statusSnapshot " +
-           "AND DATE(ar.created_at) <= :endDate " +
-           "ORDER BY ar.created_at DESC, ar.updated_at DESC",
-           nativeQuery = true,
-           countQuery = "SELECT COUNT(*) FROM approval_request ar WHERE ar.request_type = :requestType AND ar.status_snapshot = :statusSnapshot AND DATE(ar.created_at) <= :endDate")
-    Page<ApprovalRequest> findByRequestTypeAndStatusSnapshotAndEndDate(
-            @Param("requestType") String requestType,
-            @Param("statusSnapshot") String statusSnapshot,
-            @Param("endDate") LocalDate endDate,
-            Pageable pageable);
-
-    // 요청 타입 + 시작일만 조회
-    @Query(value = "SELECT ar.* FROM approval_request ar " +
-           "WHERE ar.request_type = :requestType " +
-           "AND DATE(ar.created_at) >= :startDate " +
-           "ORDER BY ar.created_at DESC, ar.updated_at DESC",
-           nativeQuery = true,
-           countQuery = "SELECT COUNT(*) FROM approval_request ar WHERE ar.request_type = :requestType AND DATE(ar.created_at) >= :startDate")
-    Page<ApprovalRequest> findByRequestTypeAndStartDate(
-            @Param("requestType") String requestType,
-            @Param("startDate") LocalDate startDate,
-            Pageable pageable);
-
-    // 요청 타입 + 종료일만 조회
-    @Query(value = "SELECT ar.* FROM approval_request ar " +
-           "WHERE ar.request_type = :requestType " +
-           "AND DATE(ar.created_at) <= :endDate " +
-           "ORDER BY ar.created_at DESC, ar.updated_at DESC",
-           nativeQuery = true,
-           countQuery = "SELECT COUNT(*) FROM approval_request ar WHERE ar.request_type = :requestType AND DATE(ar.created_at) <= :endDate")
-    Page<ApprovalRequest> findByRequestTypeAndEndDate(
-            @Param("requestType") String requestType,
-            @Param("endDate") LocalDate endDate,
-            Pageable pageable);
-
-    // 상태 + 시작일만 조회
-    @Query(value = "SELECT ar.* FROM approval_request ar " +
-           "WHERE ar.status_snapshot = :statusSnapshot " +
-           "AND DATE(ar.created_at) >= :startDate " +
-           "ORDER BY ar.created_at DESC, ar.updated_at DESC",
-           nativeQuery = true,
-           countQuery = "SELECT COUNT(*) FROM approval_request ar WHERE ar.status_snapshot = :statusSnapshot AND DATE(ar.created_at) >= :startDate")
-    Page<ApprovalRequest> findByStatusSnapshotAndStartDate(
-            @Param("statusSnapshot") String statusSnapshot,
-            @Param("startDate") LocalDate startDate,
-            Pageable pageable);
-
-    // 상태 + 종료일만 조회
-    @Query(value = "SELECT ar.* FROM approval_request ar " +
-           "WHERE ar.status_snapshot = :statusSnapshot " +
-           "AND DATE(ar.created_at) <= :endDate " +
-           "ORDER BY ar.created_at DESC, ar.updated_at DESC",
-           nativeQuery = true,
-           countQuery = "SELECT COUNT(*) FROM approval_request ar WHERE ar.status_snapshot = :statusSnapshot AND DATE(ar.created_at) <= :endDate")
-    Page<ApprovalRequest> findByStatusSnapshotAndEndDate(
-            @Param("statusSnapshot") String statusSnapshot,
-            @Param("endDate") LocalDate endDate,
-            Pageable pageable);
+    // 목록 화면의 요청자/타입/상태/상신일 조합 조회는 ApprovalRequestRepositoryCustom.search 사용
+    // (created_at 반열린 구간 + keyset, 조합마다 메서드를 두지 않음)
 
     // 오늘의 미결재 건수 조회 (ApprovalRequest 테이블 기준)
-    // DATE() 함수와 CURDATE()를 사용하여 날짜만 비교 (시간 무시)
+    // 오늘 00:00 ~ 내일 00:00 미만 (created_at 인덱스 사용 가능하도록 컬럼에 함수 X)
     @Query(value = 
         "SELECT COUNT(*) " +
         "FROM approval_request ar " +
         "WHERE ar.status_snapshot = 'SUBMITTED' " +
-        "  AND DATE(ar.created_at) = DATE(NOW())",
+        "  AND ar.created_at >= CURDATE() " +
+        "  AND ar.created_at < CURDATE() + INTERVAL 1 DAY",
         nativeQuery = true)
     Long countTodayPending();
 
@@ -269,7 +74,8 @@ public interface ApprovalRequestRepository extends JpaRepository<ApprovalRequest
     @Query(value = 
         "SELECT COUNT(*) " +
         "FROM approval_request ar " +
-        "WHERE DATE(ar.created_at) = DATE(NOW())",
+        "WHERE ar.created_at >= CURDATE() " +
+        "  AND ar.created_at < CURDATE() + INTERVAL 1 DAY",
         nativeQuery = true)
     Long countTodaySubmitted();
 
@@ -278,7 +84,8 @@ public interface ApprovalRequestRepository extends JpaRepository<ApprovalRequest
         "SELECT COUNT(*) " +
         "FROM approval_request ar " +
         "WHERE (ar.status_snapshot = 'APPROVED' OR ar.status_snapshot = 'REJECTED') " +
-        "  AND DATE(ar.updated_at) = DATE(NOW())",
+        "  AND ar.updated_at >= CURDATE() " +
+        "  AND ar.updated_at < CURDATE() + INTERVAL 1 DAY",
         nativeQuery = true)
     Long countTodayProcessed();
 
@@ -295,7 +102,8 @@ public interface ApprovalRequestRepository extends JpaRepository<ApprovalRequest
         "SELECT COUNT(*) " +
         "FROM approval_request ar " +
         "WHERE ar.status_snapshot = 'APPROVED' " +
-        "  AND DATE(ar.updated_at) = DATE(NOW())",
+        "  AND ar.updated_at >= CURDATE() " +
+        "  AND ar.updated_at < CURDATE() + INTERVAL 1 DAY",
         nativeQuery = true)
     Long countTodayApproved();
 
@@ -304,7 +112,8 @@ public interface ApprovalRequestRepository extends JpaRepository<ApprovalRequest
         "SELECT COUNT(*) " +
         "FROM approval_request ar " +
         "WHERE ar.status_snapshot = 'REJECTED' " +
-        "  AND DATE(ar.updated_at) = DATE(NOW())",
+        "  AND ar.updated_at >= CURDATE() " +
+        "  AND ar.updated_at < CURDATE() + INTERVAL 1 DAY",
         nativeQuery = true)
     Long countTodayRejected();
 
@@ -313,7 +122,8 @@ public interface ApprovalRequestRepository extends JpaRepository<ApprovalRequest
         "SELECT COUNT(*) " +
         "FROM approval_request ar " +
         "WHERE ar.status_snapshot = 'REQUEST_MORE_INFO' " +
-        "  AND DATE(ar.updated_at) = DATE(NOW())",
+        "  AND ar.updated_at >= CURDATE() " +
+        "  AND ar.updated_at < CURDATE() + INTERVAL 1 DAY",
         nativeQuery = true)
     Long countTodayRequestMoreInfo();
 }
@@ -0,0 +1,69 @@
+package com.Team1_Back.repository;
+
+import com.Team1_Back.domain.ApprovalRequest;
+import com.Team1_Back.domain.QApprovalRequest;
+import com.Team1_Back.domain.QUser;
+import com.Team1_Back.repository.search.ApprovalRequestFilter;
+import com.Team1_Back.repository.search.CreatedAtSearch;
+import com.Team1_Back.repository.search.KeysetCursor;
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class ApprovalRequestRepositoryImpl implements ApprovalRequestRepositoryCustom {
+
+    private final JPAQueryFactory queryFactory;
+
+    @Override
+    public List<ApprovalRequest> search(ApprovalRequestFilter filter, KeysetCursor cursor, long offset, int limit) {
+        QApprovalRequest ar = QApprovalRequest.approvalRequest;
+        QUser requester = new QUser("requester");
+        QUser approver = new QUser("approver");
+
+        // requester / approver 는 목록 DTO 변환에서 바로 쓰므로 함께 로드 (N+1 방지)
+        JPAQuery<ApprovalRequest> query = queryFactory
+                .selectFrom(ar)
+                .join(ar.requester, requester).fetchJoin()
+                .leftJoin(ar.approver, approver).fetchJoin()
+                .where(where(filter));
+
+        return CreatedAtSearch.fetchPage(query, ar.createdAt, ar.id, cursor, offset, limit);
+    }
+
+    @Override
+    public long count(ApprovalRequestFilter filter) {
+        QApprovalRequest ar = QApprovalRequest.approvalRequest;
+
+        Long total = queryFactory
+                .select(ar.count())
+                .from(ar)
+                .where(where(filter))
+                .fetchOne();
+
+        return total != null ? total : 0L;
+    }
+
+    private BooleanBuilder where(ApprovalRequestFilter filter) {
+        QApprovalRequest ar = QApprovalRequest.approvalRequest;
+        BooleanBuilder builder = new BooleanBuilder();
+
+        if (filter.requesterId() != null) {
+            builder.and(ar.requester.id.eq(filter.requesterId()));
+        }
+        if (filter.requestType() != null && !filter.requestType().isEmpty()) {
+            builder.and(ar.requestType.eq(filter.requestType()));
+        }
+        if (filter.status() != null) {
+            builder.and(ar.statusSnapshot.eq(filter.status()));
+        }
+        builder.and(CreatedAtSearch.createdWithin(ar.createdAt, filter.startDate(), filter.endDate()));
+
+        return builder;
+    }
+}
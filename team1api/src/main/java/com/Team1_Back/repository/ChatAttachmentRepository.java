@@ -31,39 +31,6 @@ public interface ChatAttachmentRepository extends JpaRepository<ChatAttachment,
         String getMessageSnippet();
     }
 
-    @Query(value = """
-        SELECT
-          a.id            AS attachmentId,
-          a.room_id       AS roomId,
-          a.message_id    AS messageId,
-          a.uploader_id   AS uploaderId,
-          a.original_name AS originalName,
-          a.mime_type     AS mimeType,
-          a.file_size     AS fileSize,
-          a.file_url      AS fileUrl,
-          a.created_at    AS createdAt,
-          m.content       AS messageSnippet
-        FROM chat_attachment a
-        JOIN chat_message m ON m.id = a.message_id
-        WHERE a.deleted_at IS NULL
-          AND EXISTS (
-            SELECT 1 FROM chat_room_member rm
-            WHERE rm.room_id = a.room_id AND rm.user_id = :userId
-          )
-          AND (
-            a.original_name COLLATE utf8mb4_unicode_ci LIKE CONCAT('%', :q COLLATE utf8mb4_unicode_ci, '%')
-            OR m.content    COLLATE utf8mb4_unicode_ci LIKE CONCAT('%', :q COLLATE utf8mb4_unicode_ci, '%')
-          )
-        ORDER BY a.created_at DESC
-        LIMIT :limit OFFSET :offset
-        """, nativeQuery = true)
-    List<ChatAttachmentSearchView> searchMyChatAttachments(
-            @Param("userId") Long userId,
-            @Param("q") String q,
-            @Param("limit") int limit,
-            @Param("offset") int offset
-    );
-
     @Query("""
     select new com.Team1_Back.dto.AiChatFileItem(
         a.id,
@@ -88,7 +55,7 @@ public interface ChatAttachmentRepository extends JpaRepository<ChatAttachment,
     );
 
     /**
-     * ✅ 전역 첨부 검색 (내가 속한 방만)
+     * ✅ 전역 첨부 검색 (내가 속한 방만) - 검색 색인(ChatSearchIndexer) 준비 전에만 사용
      * - 직접 매칭: 파일명(original_name) / 첨부 메시지 content
      * - 맥락 매칭: "검색어가 들어간 텍스트 메시지" 기준 ±ctxSeconds 내 메시지에 달린 첨부
      */
@@ -19,6 +19,9 @@ public interface ChatRoomMemberRepository extends JpaRepository<ChatRoomMember,
     @Query(value = "select user_id from chat_room_member where room_id = :roomId", nativeQuery = true)
     List<Long> findUserIdsByRoomId(@Param("roomId") Long roomId);
 
+    @Query(value = "select room_id from chat_room_member where user_id = :userId", nativeQuery = true)
+    List<Long> findRoomIdsByUserId(@Param("userId") Long userId);
+
     List<ChatRoomMember> findAllByIdRoomId(Long roomId);
 
     @Query(value = """
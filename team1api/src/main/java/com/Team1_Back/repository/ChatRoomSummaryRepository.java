@@ -0,0 +1,157 @@
+package com.Team1_Back.repository;
+
+import com.Team1_Back.domain.ChatRoomMemberId;
+import com.Team1_Back.domain.ChatRoomSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * 채팅방 목록 요약 Repository
+ *
+ * <p>사용 위치:
+ * <ul>
+ *   <li>ChatRoomSummaryService - 메시지/멤버 변경 시 갱신, 전체 재구축</li>
+ *   <li>ChatRoomQueryService - 내 방 목록 조회</li>
+ * </ul>
+ *
+ * @author Team1
+ */
+public interface ChatRoomSummaryRepository extends JpaRepository<ChatRoomSummary, ChatRoomMemberId> {
+
+    // 방 이름 계산식 (s = chat_room_summary, r = chat_room) - 예전 방 목록 쿼리와 같은 규칙
+    String DISPLAY_NAME = """
+        CASE
+          WHEN r.type = 'DIRECT' THEN (
+            SELECT u2.name
+            FROM chat_room_member crm2
+            JOIN users u2 ON u2.id = crm2.user_id
+            WHERE crm2.room_id = s.room_id
+              AND crm2.user_id <> s.user_id
+            LIMIT 1
+          )
+          ELSE (
+            SELECT
+              CASE
+                WHEN COUNT(*) = 0 THEN '그룹채팅'
+                WHEN COUNT(*) <= 3 THEN GROUP_CONCAT(u3.name ORDER BY u3.name SEPARATOR ', ')
+                ELSE CONCAT(
+                  SUBSTRING_INDEX(GROUP_CONCAT(u3.name ORDER BY u3.name SEPARATOR ', '), ', ', 3),
+                  '…'
+                )
+              END
+            FROM chat_room_member crm3
+            JOIN users u3 ON u3.id = crm3.user_id
+            WHERE crm3.room_id = s.room_id
+              AND crm3.user_id <> s.user_id
+          )
+        END
+        """;
+
+    // 멤버 1명분 요약 행 (crm = chat_room_member) - 방 이름은 뒤에서 DISPLAY_NAME 으로 채움
+    String MEMBER_ROW = """
+        SELECT crm.room_id, crm.user_id, r.type, r.direct_key, NULL,
+               lm.id, lm.sender_id, LEFT(lm.content, 200), lm.created_at,
+               (
+                 SELECT COUNT(*)
+                 FROM chat_message m2
+                 WHERE m2.room_id = crm.room_id
+                   AND m2.deleted_at IS NULL
+                   AND m2.sender_id <> crm.user_id
+                   AND (crm.last_read_message_id IS NULL OR m2.id > crm.last_read_message_id)
+               ),
+               NOW()
+        FROM chat_room_member crm
+        JOIN chat_room r ON r.id = crm.room_id
+        LEFT JOIN chat_message lm
+          ON lm.id = (
+            SELECT MAX(m3.id)
+            FROM chat_message m3
+            WHERE m3.room_id = crm.room_id
+              AND m3.deleted_at IS NULL
+          )
+        """;
+
+    String COLUMNS = """
+        (room_id, user_id, room_type, direct_key, display_name,
+         last_message_id, last_sender_id, last_content, last_created_at, unread_count, updated_at)
+        """;
+
+    // 내 방 목록: 최근 메시지 순 (메시지 없는 방은 뒤로)
+    List<ChatRoomSummary> findByIdUserIdOrderByLastMessageIdDesc(Long userId);
+
+    /**
+     * 새 메시지 반영 - 방 멤버 전원 1문장
+     * 보낸 사람의 안 읽은 수는 그대로(자기 메시지는 세지 않음), 나머지는 +1.
+     * MySQL 은 SET 을 왼쪽부터 적용하므로 last_message_id 비교를 쓰는 컬럼을 먼저, last_message_id 를 마지막에 갱신
+     * (동시 전송으로 더 작은 id 가 늦게 도착해도 마지막 메시지는 뒤로 가지 않음)
+     */
+    @Modifying
+    @Query(value = """
+        UPDATE chat_room_summary
+        SET unread_count    = CASE WHEN user_id = :senderId THEN unread_count ELSE unread_count + 1 END,
+            last_sender_id  = IF(last_message_id IS NULL OR last_message_id < :messageId, :senderId, last_sender_id),
+            last_content    = IF(last_message_id IS NULL OR last_message_id < :messageId, :preview, last_content),
+            last_created_at = IF(last_message_id IS NULL OR last_message_id < :messageId, :createdAt, last_created_at),
+            last_message_id = GREATEST(COALESCE(last_message_id, 0), :messageId),
+            updated_at      = NOW()
+        WHERE room_id = :roomId
+        """, nativeQuery = true)
+    int applyMessage(@Param("roomId") Long roomId,
+                     @Param("messageId") Long messageId,
+                     @Param("senderId") Long senderId,
+                     @Param("preview") String preview,
+                     @Param("createdAt") Instant createdAt);
+
+    // 멤버 변경: 요약 행이 없는 멤버만 추가
+    @Modifying
+    @Query(value = "INSERT INTO chat_room_summary " + COLUMNS + MEMBER_ROW + """
+        LEFT JOIN chat_room_summary s
+          ON s.room_id = crm.room_id AND s.user_id = crm.user_id
+        WHERE crm.room_id = :roomId
+          AND s.room_id IS NULL
+        """, nativeQuery = true)
+    int insertMissingMembers(@Param("roomId") Long roomId);
+
+    // 멤버 변경: 나간 멤버의 요약 행 삭제
+    @Modifying
+    @Query(value = """
+        DELETE s FROM chat_room_summary s
+        LEFT JOIN chat_room_member crm
+          ON crm.room_id = s.room_id AND crm.user_id = s.user_id
+        WHERE s.room_id = :roomId
+          AND crm.user_id IS NULL
+        """, nativeQuery = true)
+    int deleteLeftMembers(@Param("roomId") Long roomId);
+
+    @Modifying
+    @Query(value = "UPDATE chat_room_summary s JOIN chat_room r ON r.id = s.room_id SET s.display_name = "
+            + DISPLAY_NAME + " WHERE s.room_id = :roomId", nativeQuery = true)
+    int refreshDisplayNames(@Param("roomId") Long roomId);
+
+    // 사용자 이름 변경: 그 사용자가 속한 방들의 이름 다시 계산
+    @Modifying
+    @Query(value = "UPDATE chat_room_summary s JOIN chat_room r ON r.id = s.room_id SET s.display_name = "
+            + DISPLAY_NAME + """
+         WHERE s.room_id IN (SELECT crm.room_id FROM chat_room_member crm WHERE crm.user_id = :userId)
+        """, nativeQuery = true)
+    int refreshDisplayNamesForUser(@Param("userId") Long userId);
+
+    @Modifying
+    @Query(value = "DELETE FROM chat_room_summary", nativeQuery = true)
+    int deleteAllRows();
+
+    // 재구축(backfill): 멤버 전체를 한 번에 채움
+    @Modifying
+    @Query(value = "INSERT INTO chat_room_summary " + COLUMNS + MEMBER_ROW, nativeQuery = true)
+    int rebuildFromMembers();
+
+    @Modifying
+    @Query(value = "UPDATE chat_room_summary s JOIN chat_room r ON r.id = s.room_id SET s.display_name = "
+            + DISPLAY_NAME, nativeQuery = true)
+    int refreshAllDisplayNames();
+}
@@ -0,0 +1,102 @@
+package com.Team1_Back.repository;
+
+import com.Team1_Back.domain.ExpenseMonthlyAgg;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+/**
+ * 월별 지출 집계 Repository
+ *
+ * <p>사용 위치:
+ * <ul>
+ *   <li>ExpenseRollupService - 상태 변경 시 증감 / 전체 재구축</li>
+ *   <li>AccountingServiceImpl - 회계 대시보드 통계 조회</li>
+ * </ul>
+ *
+ * @author Team1
+ */
+public interface ExpenseMonthlyAggRepository extends JpaRepository<ExpenseMonthlyAgg, Long> {
+
+    // 버킷 증감 (없으면 생성) - 한 문장이라 동시 결재에도 원자적
+    @Modifying
+    @Query(value = """
+        INSERT INTO expense_monthly_agg
+            (period_ym, department_name, category, approval_status, expense_count, total_amount, updated_at)
+        VALUES (:ym, :dept, :category, :status, :countDelta, :amountDelta, NOW())
+        ON DUPLICATE KEY UPDATE
+            expense_count = expense_count + :countDelta,
+            total_amount  = total_amount + :amountDelta,
+            updated_at    = NOW()
+        """, nativeQuery = true)
+    int applyDelta(@Param("ym") String periodYm,
+                   @Param("dept") String departmentName,
+                   @Param("category") String category,
+                   @Param("status") String status,
+                   @Param("countDelta") long countDelta,
+                   @Param("amountDelta") long amountDelta);
+
+    @Modifying
+    @Query(value = "DELETE FROM expense_monthly_agg", nativeQuery = true)
+    int deleteAllRows();
+
+    // 재구축(backfill): expense 전체를 한 번 GROUP BY 해서 채움
+    @Modifying
+    @Query(value = """
+        INSERT INTO expense_monthly_agg
+            (period_ym, department_name, category, approval_status, expense_count, total_amount, updated_at)
+        SELECT DATE_FORMAT(e.receipt_date, '%Y-%m'),
+               COALESCE(u.department_name, ''),
+               COALESCE(e.category, ''),
+               e.approval_status,
+               COUNT(*),
+               COALESCE(SUM(e.amount), 0),
+               NOW()
+        FROM expense e
+        JOIN users u ON e.user_id = u.id
+        WHERE e.approval_status <> 'DRAFT'
+        GROUP BY DATE_FORMAT(e.receipt_date, '%Y-%m'),
+                 COALESCE(u.department_name, ''),
+                 COALESCE(e.category, ''),
+                 e.approval_status
+        """, nativeQuery = true)
+    int rebuildFromExpense();
+
+    // 부서별 집계 (row[0]=부서, row[1]=건수, row[2]=금액)
+    @Query(value = "SELECT a.department_name, SUM(a.expense_count), SUM(a.total_amount) " +
+            "FROM expense_monthly_agg a " +
+            "WHERE a.approval_status = :status " +
+            "  AND a.department_name <> '' " +
+            "GROUP BY a.department_name " +
+            "HAVING SUM(a.expense_count) > 0", nativeQuery = true)
+    List<Object[]> findDepartmentStatistics(@Param("status") String status);
+
+    // 카테고리별 집계 (row[0]=카테고리, row[1]=건수, row[2]=금액)
+    @Query(value = "SELECT a.category, SUM(a.expense_count), SUM(a.total_amount) " +
+            "FROM expense_monthly_agg a " +
+            "WHERE a.approval_status = :status " +
+            "  AND a.category <> '' " +
+            "GROUP BY a.category " +
+            "HAVING SUM(a.expense_count) > 0", nativeQuery = true)
+    List<Object[]> findCategoryStatistics(@Param("status") String status);
+
+    // 특정 년월 총 지출액
+    @Query(value = "SELECT COALESCE(SUM(a.total_amount), 0) " +
+            "FROM expense_monthly_agg a " +
+            "WHERE a.approval_status = :status " +
+            "  AND a.period_ym = :yearMonth", nativeQuery = true)
+    Long sumTotalAmount(@Param("yearMonth") String yearMonth, @Param("status") String status);
+
+    // 월별 추이 (fromYearMonth 이후, row[0]=YYYY-MM, row[1]=금액)
+    @Query(value = "SELECT a.period_ym, SUM(a.total_amount) " +
+            "FROM expense_monthly_agg a " +
+            "WHERE a.approval_status = :status " +
+            "  AND a.period_ym >= :fromYearMonth " +
+            "GROUP BY a.period_ym " +
+            "HAVING SUM(a.expense_count) > 0 " +
+            "ORDER BY a.period_ym ASC", nativeQuery = true)
+    List<Object[]> findMonthlyTrend(@Param("status") String status, @Param("fromYearMonth") String fromYearMonth);
+}
@@ -2,18 +2,24 @@ package com.Team1_Back.repository;
 
 import com.Team1_Back.domain.ApprovalStatus;
 import com.Team1_Back.domain.Expense;
+import com.Team1_Back.repository.projection.ExpenseReportRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface ExpenseRepository extends JpaRepository<Expense, Long> {
+public interface ExpenseRepository extends JpaRepository<Expense, Long>, ExpenseRepositoryCustom {
 
     // 사용자별 지출 내역 조회 (페이징)
     @EntityGraph(attributePaths = { "writer" })
@@ -26,67 +32,23 @@ public interface ExpenseRepository extends JpaRepository<Expense, Long> {
     Page<Expense> findByWriterIdAndStatus(@Param("writerId") Long writerId, @Param("status") ApprovalStatus status,
             Pageable pageable);
 
-    // 사용자별 + 기간별 지출 내역 조회 (상신일 기준: createdAt)
+    // 사용자별 + 기간별 지출 내역 조회 (상신일 기준: createdAt, 반열린 구간 [from, to))
     @EntityGraph(attributePaths = { "writer" })
     @Query("SELECT e FROM Expense e WHERE e.writer.id = :userId " +
-            "AND DATE(e.createdAt) BETWEEN :startDate AND :endDate")
-    Page<Expense> findByUserIdAndDateRange(
+            "AND e.createdAt >= :from AND e.createdAt < :to")
+    Page<Expense> findByUserIdAndCreatedAtRange(
             @Param("userId") Long userId,
-            @Param("startDate") LocalDate startDate,
-            @Param("endDate") LocalDate endDate,
-            Pageable pageable);
-
-    // 사용자별 + 상태별 + 기간별 지출 내역 조회 (상신일 기준: createdAt)
-    @EntityGraph(attributePaths = { "writer" })
-    @Query("SELECT e FROM Expense e WHERE e.writer.id = :userId " +
-            "AND e.status = :status " +
-            "AND DATE(e.createdAt) BETWEEN :startDate AND :endDate")
-    Page<Expense> findByUserIdAndStatusAndDateRange(
-            @Param("userId") Long userId,
-            @Param("status") ApprovalStatus status,
-            @Param("startDate") LocalDate startDate,
-            @Param("endDate") LocalDate endDate,
-            Pageable pageable);
-
-    // 사용자별 + 기간별 지출 내역 조회 - 시작일만 (상신일 기준: createdAt)
-    @EntityGraph(attributePaths = { "writer" })
-    @Query("SELECT e FROM Expense e WHERE e.writer.id = :userId " +
-            "AND DATE(e.createdAt) >= :startDate")
-    Page<Expense> findByUserIdAndStartDate(
-            @Param("userId") Long userId,
-            @Param("startDate") LocalDate startDate,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
             Pageable pageable);
 
-    // 사용자별 + 기간별 지출 내역 조회 - 종료일만 (상신일 기준: createdAt)
-    @EntityGraph(attributePaths = { "writer" })
-    @Query("SELECT e FROM Expense e WHERE e.writer.id = :userId " +
-            "AND DATE(e.createdAt) <= :endDate")
-    Page<Expense> findByUserIdAndEndDate(
-            @Param("userId") Long userId,
-            @Param("endDate") LocalDate endDate,
-            Pageable pageable);
-
-    // 사용자별 + 상태별 + 시작일만 (상신일 기준: createdAt)
-    @EntityGraph(attributePaths = { "writer" })
-    @Query("SELECT e FROM Expense e WHERE e.writer.id = :userId " +
-            "AND e.status = :status " +
-            "AND DATE(e.createdAt) >= :startDate")
-    Page<Expense> findByUserIdAndStatusAndStartDate(
-            @Param("userId") Long userId,
-            @Param("status") ApprovalStatus status,
-            @Param("startDate") LocalDate startDate,
-            Pageable pageable);
-
-    // 사용자별 + 상태별 + 종료일만 (상신일 기준: createdAt)
-    @EntityGraph(attributePaths = { "writer" })
-    @Query("SELECT e FROM Expense e WHERE e.writer.id = :userId " +
-            "AND e.status = :status " +
-            "AND DATE(e.createdAt) <= :endDate")
-    Page<Expense> findByUserIdAndStatusAndEndDate(
-            @Param("userId") Long userId,
-            @Param("status") ApprovalStatus status,
-            @Param("endDate") LocalDate endDate,
-            Pageable pageable);
+    // 날짜(포함) 기준 호출 호환용 → endDate 다음날 00:00 미만으로 변환
+    // 목록 화면의 동적 조건 조회는 ExpenseRepositoryCustom.search 사용
+    default Page<Expense> findByUserIdAndDateRange(Long userId, LocalDate startDate, LocalDate endDate,
+                                                   Pageable pageable) {
+        return findByUserIdAndCreatedAtRange(userId, startDate.atStartOfDay(),
+                endDate.plusDays(1).atStartOfDay(), pageable);
+    }
 
     // 사용자 ID와 지출 ID로 조회 (권한 확인용)
     @EntityGraph(attributePaths = { "writer" })
@@ -102,10 +64,7 @@ public interface ExpenseRepository extends JpaRepository<Expense, Long> {
     @EntityGraph(attributePaths = { "writer" })
     Page<Expense> findByStatus(ApprovalStatus status, Pageable pageable);
 
-    // 전체 조회 (관리자용, DRAFT 제외용)
-    @EntityGraph(attributePaths = { "writer" })
-    @Query("SELECT e FROM Expense e WHERE e.status != com.Team1_Back.domain.ApprovalStatus.DRAFT")
-    Page<Expense> findAllSubmitted(Pageable pageable);
+    // 관리자 영수증 목록(DRAFT 제외)은 ExpenseRepositoryCustom.search(submittedOnly) 사용
 
     // 부서별 지출 집계 (mallapi 패턴: native query 사용)
     @Query(value = "SELECT u.department_name as departmentName, " +
@@ -132,22 +91,24 @@ public interface ExpenseRepository extends JpaRepository<Expense, Long> {
     @Query(value = "SELECT COUNT(*) " +
             "FROM expense e " +
             "WHERE e.approval_status = 'SUBMITTED' " +
-            "  AND DATE(e.created_at) = CURDATE()", nativeQuery = true)
+            "  AND e.created_at >= CURDATE() " +
+            "  AND e.created_at < CURDATE() + INTERVAL 1 DAY", nativeQuery = true)
     Long countTodayPending();
 
     // 이번 달 총 지출액 조회
     @Query(value = "SELECT COALESCE(SUM(e.amount), 0) " +
             "FROM expense e " +
             "WHERE e.approval_status = :status " +
-            "  AND YEAR(e.receipt_date) = YEAR(CURDATE()) " +
-            "  AND MONTH(e.receipt_date) = MONTH(CURDATE())", nativeQuery = true)
+            "  AND e.receipt_date >= DATE_FORMAT(CURDATE(), '%Y-%m-01') " +
+            "  AND e.receipt_date < DATE_FORMAT(CURDATE(), '%Y-%m-01') + INTERVAL 1 MONTH", nativeQuery = true)
     Long sumMonthlyTotalExpense(@Param("status") String status);
 
     // 특정 년월의 총 지출액 조회 (전월 대비 계산용)
     @Query(value = "SELECT COALESCE(SUM(e.amount), 0) " +
             "FROM expense e " +
             "WHERE e.approval_status = :status " +
-            "  AND DATE_FORMAT(e.receipt_date, '%Y-%m') = :yearMonth", nativeQuery = true)
+            "  AND e.receipt_date >= STR_TO_DATE(CONCAT(:yearMonth, '-01'), '%Y-%m-%d') " +
+            "  AND e.receipt_date < STR_TO_DATE(CONCAT(:yearMonth, '-01'), '%Y-%m-%d') + INTERVAL 1 MONTH", nativeQuery = true)
     Long sumMonthlyTotalExpenseByYearMonth(
             @Param("yearMonth") String yearMonth,
             @Param("status") String status);
@@ -183,6 +144,51 @@ public interface ExpenseRepository extends JpaRepository<Expense, Long> {
             @Param("startDate") LocalDate startDate,
             @Param("endDate") LocalDate endDate);
 
+    // 리포트용(상세 엑셀): 승인 지출 line-item 스트리밍
+    // - fetchSize=Integer.MIN_VALUE → MySQL 드라이버가 결과를 한 행씩 흘려보냄 (전체 적재 X)
+    // - projection 이라 영속성 컨텍스트에 엔티티가 쌓이지 않음
+    // - 호출 측에서 트랜잭션 안에서 try-with-resources 로 닫아야 함
+    String REPORT_ROW_SELECT = "SELECT e.id as id, e.receiptDate as receiptDate, " +
+            "w.employeeNo as employeeNo, w.name as writerName, w.departmentName as departmentName, " +
+            "e.category as category, e.merchant as merchant, e.amount as amount, e.description as description " +
+            "FROM Expense e JOIN e.writer w " +
+            "WHERE e.status = com.Team1_Back.domain.ApprovalStatus.APPROVED " +
+            "AND e.receiptDate BETWEEN :startDate AND :endDate ";
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query(REPORT_ROW_SELECT + "ORDER BY e.receiptDate ASC, e.id ASC")
+    Stream<ExpenseReportRow> streamApprovedForReport(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query(REPORT_ROW_SELECT + "AND w.id = :userId ORDER BY e.receiptDate ASC, e.id ASC")
+    Stream<ExpenseReportRow> streamApprovedForReportByUser(
+            @Param("userId") Long userId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    // department_name 은 저장 시 trim (AdminUserServiceImpl, 기존 데이터는 db/migration 스크립트)
+    // → 컬럼을 그대로 비교해 idx_users_department_name 사용, :dept 도 호출 측에서 trim
+    @Query(REPORT_ROW_SELECT + "AND w.departmentName = :dept ORDER BY e.receiptDate ASC, e.id ASC")
+    Stream<ExpenseReportRow> streamApprovedForReportByDept(
+            @Param("dept") String dept,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
     // 한해찬 추가
     // 월별 지출 조회
     @Query(value = "SELECT DATE_FORMAT(e.receipt_date, '%Y-%m') as yearMonth, " +
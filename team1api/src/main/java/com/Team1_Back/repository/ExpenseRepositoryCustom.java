@@ -0,0 +1,16 @@
+package com.Team1_Back.repository;
+
+import com.Team1_Back.domain.Expense;
+import com.Team1_Back.repository.search.ExpenseFilter;
+import com.Team1_Back.repository.search.KeysetCursor;
+
+import java.util.List;
+
+public interface ExpenseRepositoryCustom {
+
+    // 지출 내역 목록 (동적 조건, created_at DESC / id DESC, cursor 가 있으면 keyset)
+    List<Expense> search(ExpenseFilter filter, KeysetCursor cursor, long offset, int limit);
+
+    // 같은 조건의 전체 건수
+    long count(ExpenseFilter filter);
+}
@@ -0,0 +1,66 @@
+package com.Team1_Back.repository;
+
+import com.Team1_Back.domain.ApprovalStatus;
+import com.Team1_Back.domain.Expense;
+import com.Team1_Back.domain.QExpense;
+import com.Team1_Back.domain.QUser;
+import com.Team1_Back.repository.search.CreatedAtSearch;
+import com.Team1_Back.repository.search.ExpenseFilter;
+import com.Team1_Back.repository.search.KeysetCursor;
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class ExpenseRepositoryImpl implements ExpenseRepositoryCustom {
+
+    private final JPAQueryFactory queryFactory;
+
+    @Override
+    public List<Expense> search(ExpenseFilter filter, KeysetCursor cursor, long offset, int limit) {
+        QExpense e = QExpense.expense;
+        QUser writer = QUser.user;
+
+        JPAQuery<Expense> query = queryFactory
+                .selectFrom(e)
+                .join(e.writer, writer).fetchJoin()
+                .where(where(filter));
+
+        return CreatedAtSearch.fetchPage(query, e.createdAt, e.id, cursor, offset, limit);
+    }
+
+    @Override
+    public long count(ExpenseFilter filter) {
+        QExpense e = QExpense.expense;
+
+        Long total = queryFactory
+                .select(e.count())
+                .from(e)
+                .where(where(filter))
+                .fetchOne();
+
+        return total != null ? total : 0L;
+    }
+
+    private BooleanBuilder where(ExpenseFilter filter) {
+        QExpense e = QExpense.expense;
+        BooleanBuilder builder = new BooleanBuilder();
+
+        if (filter.writerId() != null) {
+            builder.and(e.writer.id.eq(filter.writerId()));
+        }
+        if (filter.status() != null) {
+            builder.and(e.status.eq(filter.status()));
+        } else if (filter.submittedOnly()) {
+            builder.and(e.status.ne(ApprovalStatus.DRAFT));
+        }
+        builder.and(CreatedAtSearch.createdWithin(e.createdAt, filter.startDate(), filter.endDate()));
+
+        return builder;
+    }
+}
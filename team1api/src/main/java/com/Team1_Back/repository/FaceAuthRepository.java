@@ -1,6 +1,7 @@
 package com.Team1_Back.repository;
 
 import com.Team1_Back.domain.FaceAuth;
+import com.Team1_Back.repository.projection.FaceDescriptorRow;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -18,4 +19,15 @@ public interface FaceAuthRepository extends JpaRepository<FaceAuth, String> {
     //사번으로 찾기 기능 정의
     // (User 엔티티 안에 employeeNo 필드가 있어야 작동함)
     Optional<FaceAuth> findByUser_EmployeeNo(String employeeNo);
+
+    // 매칭 색인 적재용 (User 엔티티 전체를 읽지 않음)
+    @Query("SELECT u.employeeNo AS employeeNo, f.faceDescriptor AS faceDescriptor FROM FaceAuth f JOIN f.user u")
+    List<FaceDescriptorRow> findAllDescriptors();
+
+    // 변경 감지용 (행 수 / 최대 fno / 최근 수정 시각) → 달라졌을 때만 전체 다시 읽음
+    @Query(value = """
+            SELECT CONCAT(COUNT(*), ':', COALESCE(MAX(fno), 0), ':', COALESCE(MAX(updated_at), ''))
+            FROM face_auth
+            """, nativeQuery = true)
+    String fingerprint();
 }
\ No newline at end of file
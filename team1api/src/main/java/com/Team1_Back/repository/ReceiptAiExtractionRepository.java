@@ -2,12 +2,22 @@ package com.Team1_Back.repository;
 
 import com.Team1_Back.domain.ReceiptAiExtraction;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface ReceiptAiExtractionRepository extends JpaRepository<ReceiptAiExtraction, Long> {
 
     // 영수증 ID로 AI 추출 결과 조회
     Optional<ReceiptAiExtraction> findByReceiptId(Long receiptId);
-}
 
+    // 같은 원본(해시)으로 이미 끝난 OCR 결과 (재사용 → Python 서비스 호출 생략)
+    Optional<ReceiptAiExtraction> findFirstByReceipt_FileHashAndReceipt_IdNotOrderByIdDesc(String fileHash, Long receiptId);
+
+    // 목록용: 여러 영수증의 AI 추출 결과를 한 번에 조회
+    @Query("SELECT x FROM ReceiptAiExtraction x WHERE x.receipt.id IN :receiptIds")
+    List<ReceiptAiExtraction> findByReceiptIdIn(@Param("receiptIds") Collection<Long> receiptIds);
+}
@@ -0,0 +1,63 @@
+package com.Team1_Back.repository;
+
+import com.Team1_Back.domain.ReceiptBlob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface ReceiptBlobRepository extends JpaRepository<ReceiptBlob, Long> {
+
+    Optional<ReceiptBlob> findByFileHash(String fileHash);
+
+    // 처음이면 ref_count=1 로 생성, 이미 있으면 +1 (동시에 같은 이미지를 올려도 unique 충돌 없음)
+    // 행 lock 은 업로드 트랜잭션 커밋까지 유지 → 그 사이 GC 가 지우지 못함
+    @Modifying
+    @Query(value = """
+        INSERT INTO receipt_blob (file_hash, file_url, mime_type, size_bytes, ref_count, phash, created_at, updated_at)
+        VALUES (:hash, :fileUrl, :mimeType, :sizeBytes, 1, :phash, NOW(), NOW())
+        ON DUPLICATE KEY UPDATE ref_count = ref_count + 1, updated_at = NOW()
+        """, nativeQuery = true)
+    int acquire(@Param("hash") String hash,
+                @Param("fileUrl") String fileUrl,
+                @Param("mimeType") String mimeType,
+                @Param("sizeBytes") long sizeBytes,
+                @Param("phash") Long phash);
+
+    @Modifying
+    @Query(value = """
+        UPDATE receipt_blob
+           SET ref_count = ref_count - 1,
+               updated_at = NOW()
+         WHERE file_hash = :hash
+           AND ref_count > 0
+        """, nativeQuery = true)
+    int release(@Param("hash") String hash);
+
+    // GC 대상: 참조가 없어진 지 유예 시간이 지난 원본
+    List<ReceiptBlob> findTop100ByRefCountLessThanEqualAndUpdatedAtBefore(int refCount, LocalDateTime before);
+
+    // 그 사이 다시 참조되었으면 0 (삭제 안 함)
+    @Modifying
+    @Query("delete from ReceiptBlob b where b.id = :id and b.refCount <= 0")
+    int deleteIfUnreferenced(@Param("id") Long id);
+
+    // 다시 찍은 영수증 후보: phash 해밍 거리가 maxDistance 이하인 다른 원본 (가까운 순)
+    @Query(value = """
+        SELECT b.file_hash
+          FROM receipt_blob b
+         WHERE b.phash IS NOT NULL
+           AND b.ref_count > 0
+           AND b.file_hash <> :hash
+           AND BIT_COUNT(b.phash ^ :phash) <= :maxDistance
+         ORDER BY BIT_COUNT(b.phash ^ :phash) ASC
+         LIMIT 5
+        """, nativeQuery = true)
+    List<String> findSimilarHashes(@Param("phash") long phash,
+                                   @Param("hash") String excludeHash,
+                                   @Param("maxDistance") int maxDistance);
+}
@@ -0,0 +1,75 @@
+package com.Team1_Back.repository;
+
+import com.Team1_Back.domain.ReceiptOcrJob;
+import com.Team1_Back.domain.enums.ReceiptOcrStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface ReceiptOcrJobRepository extends JpaRepository<ReceiptOcrJob, Long> {
+
+    Optional<ReceiptOcrJob> findByReceiptId(Long receiptId);
+
+    List<ReceiptOcrJob> findByReceiptIdIn(Collection<Long> receiptIds);
+
+    // 다중 노드: 재시도 시각이 된 작업 + lease 가 만료된 RUNNING 작업(노드 장애)을 한 번에 선점
+    // UPDATE 자체가 row lock 이라 노드끼리 같은 작업을 동시에 가져가지 않음
+    // 시도 횟수는 선점할 때 올림 → 처리 도중 노드가 죽는 작업도 max-attempts 에서 멈춤
+    // lease_token 은 선점마다 새로 → 같은 노드가 만료된 작업을 다시 가져가도 이전 실행 결과는 버려짐
+    @Modifying
+    @Query(value = """
+        UPDATE receipt_ocr_job
+           SET status = 'RUNNING',
+               lease_owner = :owner,
+               lease_token = :token,
+               lease_until = :leaseUntil,
+               attempts = attempts + 1
+         WHERE ((status = 'QUEUED' AND next_attempt_at <= :now)
+             OR (status = 'RUNNING' AND lease_until < :now))
+           AND attempts < :maxAttempts
+         ORDER BY next_attempt_at ASC
+         LIMIT :limit
+        """, nativeQuery = true)
+    int claimDue(@Param("owner") String owner,
+                 @Param("token") String token,
+                 @Param("now") LocalDateTime now,
+                 @Param("leaseUntil") LocalDateTime leaseUntil,
+                 @Param("maxAttempts") int maxAttempts,
+                 @Param("limit") int limit);
+
+    List<ReceiptOcrJob> findByLeaseTokenOrderByNextAttemptAtAsc(String leaseToken);
+
+    // 결과 반영 전 잠금 → 반영하는 동안 다른 노드가 다시 선점하지 못함
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select j from ReceiptOcrJob j where j.id = :id")
+    Optional<ReceiptOcrJob> findByIdForUpdate(@Param("id") Long id);
+
+    // lease 가 만료됐는데 시도 횟수를 다 쓴 작업 (처리 중 노드가 계속 죽는 poison 작업)
+    List<ReceiptOcrJob> findByStatusAndLeaseUntilBeforeAndAttemptsGreaterThanEqual(
+            ReceiptOcrStatus status, LocalDateTime now, int attempts);
+
+    // 위 작업을 FAILED 로 (그 사이 다른 노드가 먼저 처리했으면 0)
+    @Modifying
+    @Query("""
+        update ReceiptOcrJob j
+           set j.status = :failed, j.leaseOwner = null, j.leaseToken = null, j.leaseUntil = null, j.lastError = :error
+         where j.id = :id and j.status = :running and j.leaseUntil < :now
+        """)
+    int failExpired(@Param("id") Long id,
+                    @Param("now") LocalDateTime now,
+                    @Param("error") String error,
+                    @Param("running") ReceiptOcrStatus running,
+                    @Param("failed") ReceiptOcrStatus failed);
+
+    @Modifying
+    @Query("delete from ReceiptOcrJob j where j.receiptId = :receiptId")
+    int deleteByReceiptId(@Param("receiptId") Long receiptId);
+}
@@ -8,6 +8,8 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface ReceiptUploadRepository extends JpaRepository<ReceiptUpload, Long> {
@@ -20,9 +22,17 @@ public interface ReceiptUploadRepository extends JpaRepository<ReceiptUpload, Lo
     // 파일 해시로 중복 확인
     Optional<ReceiptUpload> findByFileHash(String fileHash);
 
+    // 중복 의심: 다른 지출 내역에 붙은 같은 원본(해시)의 영수증 (최근 순)
+    @Query("SELECT r FROM ReceiptUpload r WHERE r.fileHash IN :hashes AND r.expense.id <> :expenseId ORDER BY r.id DESC")
+    List<ReceiptUpload> findOtherExpensesByFileHashIn(@Param("hashes") Collection<String> hashes,
+                                                      @Param("expenseId") Long expenseId);
+
     // 모든 영수증 조회 (관리자용) - expense와 uploadedBy 함께 로드
     @EntityGraph(attributePaths = {"expense", "uploadedBy"})
     @Query("SELECT r FROM ReceiptUpload r")
     Page<ReceiptUpload> findAllWithRelations(Pageable pageable);
-}
 
+    // 목록용: 여러 지출의 영수증을 한 번에 조회
+    @Query("SELECT r FROM ReceiptUpload r WHERE r.expense.id IN :expenseIds")
+    List<ReceiptUpload> findByExpenseIdIn(@Param("expenseIds") Collection<Long> expenseIds);
+}
@@ -1,13 +1,22 @@
 package com.Team1_Back.repository;
 
 import com.Team1_Back.domain.ReceiptVerification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface ReceiptVerificationRepository extends JpaRepository<ReceiptVerification, Long> {
 
     // 지출 ID로 검증 결과 조회
     Optional<ReceiptVerification> findByExpenseId(Long expenseId);
-}
 
+    // 목록용: 여러 지출의 검증 결과를 검증자와 함께 한 번에 조회
+    @EntityGraph(attributePaths = {"verifiedBy"})
+    @Query("SELECT v FROM ReceiptVerification v WHERE v.expense.id IN :expenseIds")
+    List<ReceiptVerification> findByExpenseIdIn(@Param("expenseIds") Collection<Long> expenseIds);
+}
@@ -0,0 +1,40 @@
+package com.Team1_Back.repository;
+
+import com.Team1_Back.domain.ReportDataVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+
+public interface ReportDataVersionRepository extends JpaRepository<ReportDataVersion, String> {
+
+    // 원자적 증가 (row 없으면 1로 생성)
+    @Modifying
+    @Query(value = """
+        INSERT INTO report_data_version (period_ym, version, updated_at)
+        VALUES (:ym, 1, NOW())
+        ON DUPLICATE KEY UPDATE version = version + 1, updated_at = NOW()
+        """, nativeQuery = true)
+    int bump(@Param("ym") String periodYm);
+
+    @Query("select v.version from ReportDataVersion v where v.periodYm = :ym")
+    Long findVersion(@Param("ym") String periodYm);
+
+    /**
+     * 리포트 행에 들어가는 값(지출 내용 + 작성자 이름/부서)의 변경 지문
+     * 상태 변경 외의 수정(가맹점/설명/금액, 작성자 이름 변경, 부서 이동, 월 밖으로 이동)도 캐시 키에 반영
+     * → 건수 + 가장 최근 수정 시각 (지출 updated_at, 작성자 updated_user_at)
+     */
+    @Query(value = """
+        SELECT CONCAT(COUNT(*), ':',
+                      COALESCE(DATE_FORMAT(MAX(GREATEST(e.updated_at, u.updated_user_at)), '%Y%m%d%H%i%s%f'), '0'))
+        FROM expense e
+        JOIN users u ON u.id = e.user_id
+        WHERE e.approval_status = 'APPROVED'
+          AND e.receipt_date >= :start
+          AND e.receipt_date <= :end
+        """, nativeQuery = true)
+    String rowFingerprint(@Param("start") LocalDate start, @Param("end") LocalDate end);
+}
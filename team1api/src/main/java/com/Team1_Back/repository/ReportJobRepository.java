@@ -1,9 +1,13 @@
 package com.Team1_Back.repository;
 
+import com.Team1_Back.domain.enums.ReportStatus;
 import com.Team1_Back.report.entity.ReportJob;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,6 +15,28 @@ public interface ReportJobRepository extends JpaRepository<ReportJob, Long> {
 
     Optional<ReportJob> findById(Long id);
 
+    // 결과 캐시 hit 조회 (idx_report_job_cache_key)
+    Optional<ReportJob> findTopByCacheKeyAndStatusOrderByIdDesc(String cacheKey, ReportStatus status);
+
+    // 비동기 생성: 재기동 시 남아있는 QUEUED 작업 복구용
+    List<ReportJob> findByStatusOrderByIdAsc(ReportStatus status);
+
+    // QUEUED → GENERATING 선점 (영향 row 0 이면 이미 다른 워커가 가져감)
+    @Modifying(clearAutomatically = true)
+    @Query("update ReportJob j set j.status = com.Team1_Back.domain.enums.ReportStatus.GENERATING, " +
+            "j.updatedAt = CURRENT_TIMESTAMP, j.startedAt = CURRENT_TIMESTAMP " +
+            "where j.id = :id and j.status = com.Team1_Back.domain.enums.ReportStatus.QUEUED")
+    int claimQueued(@Param("id") Long id);
+
+    // 선점 후 cutoff 까지 끝나지 않은 GENERATING → FAILED (크래시/재배포로 워커가 사라진 작업)
+    @Modifying(clearAutomatically = true)
+    @Query("update ReportJob j set j.status = com.Team1_Back.domain.enums.ReportStatus.FAILED, " +
+            "j.errorMessage = :message, j.updatedAt = CURRENT_TIMESTAMP " +
+            "where j.status = com.Team1_Back.domain.enums.ReportStatus.GENERATING " +
+            "and ((j.startedAt is not null and j.startedAt < :cutoff) " +
+            "  or (j.startedAt is null and j.updatedAt < :cutoff))")
+    int failStaleGenerating(@Param("cutoff") LocalDateTime cutoff, @Param("message") String message);
+
     @Query(
             value = """
             SELECT DISTINCT department_name
@@ -3,7 +3,9 @@ package com.Team1_Back.repository;
 import com.Team1_Back.domain.ReportSchedule;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -17,4 +19,44 @@ public interface ReportScheduleRepository extends JpaRepository<ReportSchedule,
 
     @Query("select s from ReportSchedule s order by s.isEnabled desc, s.nextRunAt asc nulls last, s.id desc")
     List<ReportSchedule> findAllForAdmin();
+
+    // 다중 노드: 실행 시각이 된 스케줄을 lease 로 한 번에 선점 (만료된 lease 는 다른 노드가 가져갈 수 있음)
+    // UPDATE 자체가 row lock 이라 노드끼리 같은 스케줄을 동시에 가져가지 않음
+    // 선점할 때마다 fence_token +1 → DB 에 있으므로 Redis 재기동/FLUSH 와 무관하게 항상 증가
+    @Modifying
+    @Query(value = """
+        UPDATE report_schedule
+           SET lease_owner = :owner,
+               lease_until = :leaseUntil,
+               fence_token = COALESCE(fence_token, 0) + 1
+         WHERE is_enabled = 1
+           AND next_run_at <= :now
+           AND (lease_until IS NULL OR lease_until < :now)
+         ORDER BY next_run_at ASC
+         LIMIT :limit
+        """, nativeQuery = true)
+    int claimDue(@Param("owner") String owner,
+                 @Param("now") LocalDateTime now,
+                 @Param("leaseUntil") LocalDateTime leaseUntil,
+                 @Param("limit") int limit);
+
+    List<ReportSchedule> findByLeaseOwnerAndLeaseUntilOrderByNextRunAtAsc(String leaseOwner, LocalDateTime leaseUntil);
+
+    // 실행 중 lease 연장 (RedisLock watchdog 에서 호출)
+    // 내 선점(fence)이 아직 최신일 때만 (lease 가 만료돼 다시 선점됐으면 0)
+    @Modifying
+    @Query("update ReportSchedule s set s.leaseUntil = :leaseUntil " +
+            "where s.id = :id and s.leaseOwner = :owner and s.fenceToken = :fence")
+    int extendLease(@Param("id") Long id,
+                    @Param("owner") String owner,
+                    @Param("fence") Long fence,
+                    @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    // 실행하지 않고 lease 만 반납 (내 선점이 최신일 때만) → 다음 tick 에 다시 선점 가능
+    @Modifying
+    @Query("update ReportSchedule s set s.leaseOwner = null, s.leaseUntil = null " +
+            "where s.id = :id and s.leaseOwner = :owner and s.fenceToken = :fence")
+    int releaseLease(@Param("id") Long id,
+                     @Param("owner") String owner,
+                     @Param("fence") Long fence);
 }
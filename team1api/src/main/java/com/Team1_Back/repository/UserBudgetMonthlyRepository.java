@@ -67,5 +67,13 @@ public interface UserBudgetMonthlyRepository extends JpaRepository<UserBudgetMon
      */
     @Query("SELECT ubm FROM UserBudgetMonthly ubm WHERE ubm.user.id = :userId AND ubm.yearMonth = :yearMonth")
     Optional<UserBudgetMonthly> findByUserIdAndYearMonth(@Param("userId") Long userId, @Param("yearMonth") String yearMonth);
-}
 
+    /**
+     * 년월 기준 전체 예산 합계
+     *
+     * @param yearMonth 년월 (YYYY-MM 형식)
+     * @return 예산 합계 (없으면 0)
+     */
+    @Query("SELECT COALESCE(SUM(ubm.monthlyLimit), 0) FROM UserBudgetMonthly ubm WHERE ubm.yearMonth = :yearMonth")
+    Long sumMonthlyLimit(@Param("yearMonth") String yearMonth);
+}
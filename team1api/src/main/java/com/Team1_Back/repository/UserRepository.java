@@ -1,10 +1,13 @@
 package com.Team1_Back.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import com.Team1_Back.domain.User;
 
@@ -17,6 +20,31 @@ public interface UserRepository extends JpaRepository<User, Long>, UserRepositor
         // 사번 중복 체크합니다
         boolean existsByEmployeeNo(String employeeNo);
 
+        // 로그인 성공: 실패 횟수가 남아 있을 때만 초기화 (엔티티 조회 없이)
+        @Modifying
+        @Query("update User u set u.failedLoginCount = 0 " +
+                        "where u.employeeNo = :employeeNo and u.failedLoginCount <> 0")
+        int resetFailedLoginCount(@Param("employeeNo") String employeeNo);
+
+        // 실패 횟수가 기준에 도달했을 때만: 잠금 + 그때의 실패 횟수 저장 (이미 잠겨 있으면 그대로)
+        @Modifying
+        @Query("update User u set u.lockedAt = :now, u.failedLoginCount = :count " +
+                        "where u.employeeNo = :employeeNo and u.lockedAt is null")
+        int lock(@Param("employeeNo") String employeeNo, @Param("count") int count,
+                        @Param("now") LocalDateTime now);
+
+        // 실패 횟수 저장소를 쓸 수 없을 때의 예전 방식 (DB 에서 1 증가)
+        @Modifying
+        @Query("update User u set u.failedLoginCount = u.failedLoginCount + 1 where u.employeeNo = :employeeNo")
+        int increaseFailedLoginCount(@Param("employeeNo") String employeeNo);
+
+        // 실패 횟수가 기준 이상이고 아직 잠기지 않았으면 잠금
+        @Modifying
+        @Query("update User u set u.lockedAt = :now " +
+                        "where u.employeeNo = :employeeNo and u.lockedAt is null and u.failedLoginCount >= :max")
+        int lockIfExceeded(@Param("employeeNo") String employeeNo, @Param("max") int max,
+                        @Param("now") LocalDateTime now);
+
         @Query(value = "SELECT DISTINCT department_name " +
                         "FROM users " +
                         "WHERE department_name IS NOT NULL " +
@@ -0,0 +1,19 @@
+package com.Team1_Back.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * 상세(line-item) 엑셀 리포트 1행
+ * 엔티티가 아니라 projection 이라 영속성 컨텍스트에 쌓이지 않음 (스트리밍용)
+ */
+public interface ExpenseReportRow {
+    Long getId();
+    LocalDate getReceiptDate();
+    String getEmployeeNo();
+    String getWriterName();
+    String getDepartmentName();
+    String getCategory();
+    String getMerchant();
+    Integer getAmount();
+    String getDescription();
+}
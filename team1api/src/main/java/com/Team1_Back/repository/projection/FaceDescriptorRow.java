@@ -0,0 +1,6 @@
+package com.Team1_Back.repository.projection;
+
+public interface FaceDescriptorRow {
+    String getEmployeeNo();
+    String getFaceDescriptor();
+}
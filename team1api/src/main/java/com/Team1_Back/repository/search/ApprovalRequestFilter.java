@@ -0,0 +1,20 @@
+package com.Team1_Back.repository.search;
+
+import com.Team1_Back.domain.ApprovalStatus;
+import lombok.Builder;
+
+import java.time.LocalDate;
+
+/**
+ * 결재 요청 목록 조건 (null 인 항목은 조건에서 제외)
+ *
+ * @param endDate 포함(inclusive). 내부에서 다음날 00:00 미만으로 변환
+ */
+@Builder
+public record ApprovalRequestFilter(
+        Long requesterId,
+        String requestType,
+        ApprovalStatus status,
+        LocalDate startDate,
+        LocalDate endDate
+) {}
@@ -0,0 +1,73 @@
+package com.Team1_Back.repository.search;
+
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.DateTimePath;
+import com.querydsl.core.types.dsl.NumberPath;
+import com.querydsl.jpa.impl.JPAQuery;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * created_at 기준 목록 조회 공통 로직 (QueryDSL)
+ *
+ * <ul>
+ *   <li>날짜 조건은 {@code DATE(created_at)} 대신 반열린 구간
+ *       {@code created_at >= start 00:00 AND created_at < (end+1) 00:00} 으로 만들어
+ *       (…, created_at) 복합 인덱스를 range scan 으로 탈 수 있게 합니다.</li>
+ *   <li>정렬은 항상 {@code created_at DESC, id DESC}. 커서가 있으면 keyset
+ *       ({@code created_at < c OR (created_at = c AND id < i)}), 없으면 offset 으로 조회합니다.</li>
+ * </ul>
+ *
+ * @author Team1
+ */
+public final class CreatedAtSearch {
+
+    private CreatedAtSearch() {
+    }
+
+    /**
+     * 반열린 날짜 구간. 시작/종료 모두 없으면 null (조건 없음)
+     */
+    public static BooleanExpression createdWithin(DateTimePath<LocalDateTime> createdAt,
+                                                  LocalDate startDate,
+                                                  LocalDate endDate) {
+        BooleanExpression from = (startDate == null) ? null : createdAt.goe(startDate.atStartOfDay());
+        BooleanExpression to = (endDate == null) ? null : createdAt.lt(endDate.plusDays(1).atStartOfDay());
+        if (from == null) return to;
+        return (to == null) ? from : from.and(to);
+    }
+
+    /**
+     * 커서 이후(더 오래된) 행. 커서가 없으면 null
+     */
+    public static BooleanExpression after(DateTimePath<LocalDateTime> createdAt,
+                                          NumberPath<Long> id,
+                                          KeysetCursor cursor) {
+        if (cursor == null || cursor.createdAt() == null || cursor.id() == null) return null;
+        return createdAt.lt(cursor.createdAt())
+                .or(createdAt.eq(cursor.createdAt()).and(id.lt(cursor.id())));
+    }
+
+    /**
+     * 정렬 + (keyset | offset) + limit 적용 후 조회
+     */
+    public static <T> List<T> fetchPage(JPAQuery<T> query,
+                                        DateTimePath<LocalDateTime> createdAt,
+                                        NumberPath<Long> id,
+                                        KeysetCursor cursor,
+                                        long offset,
+                                        int limit) {
+        BooleanExpression keyset = after(createdAt, id, cursor);
+        if (keyset != null) {
+            query.where(keyset);
+        } else if (offset > 0) {
+            query.offset(offset);
+        }
+        return query
+                .orderBy(createdAt.desc(), id.desc())
+                .limit(limit)
+                .fetch();
+    }
+}
@@ -0,0 +1,21 @@
+package com.Team1_Back.repository.search;
+
+import com.Team1_Back.domain.ApprovalStatus;
+import lombok.Builder;
+
+import java.time.LocalDate;
+
+/**
+ * 지출 내역 목록 조건 (null 인 항목은 조건에서 제외)
+ *
+ * @param endDate 포함(inclusive). 내부에서 다음날 00:00 미만으로 변환
+ * @param submittedOnly true 면 DRAFT 제외 (status 가 있으면 status 우선)
+ */
+@Builder
+public record ExpenseFilter(
+        Long writerId,
+        ApprovalStatus status,
+        LocalDate startDate,
+        LocalDate endDate,
+        boolean submittedOnly
+) {}
@@ -0,0 +1,35 @@
+package com.Team1_Back.repository.search;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * keyset 페이지 커서 (created_at DESC, id DESC 정렬 기준 마지막 행)
+ *
+ * <p>클라이언트에는 "createdAt|id" 를 base64url 로 감싼 문자열로 내려보냅니다.
+ *
+ * @author Team1
+ */
+public record KeysetCursor(LocalDateTime createdAt, Long id) {
+
+    public String encode() {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return 형식이 잘못됐거나 비어 있으면 null (→ 첫 페이지/offset 조회)
+     */
+    public static KeysetCursor decode(String token) {
+        if (token == null || token.isBlank()) return null;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+            int bar = raw.indexOf('|');
+            if (bar < 0) return null;
+            return new KeysetCursor(LocalDateTime.parse(raw.substring(0, bar)), Long.parseLong(raw.substring(bar + 1)));
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+}
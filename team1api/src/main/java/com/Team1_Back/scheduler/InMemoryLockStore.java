@@ -0,0 +1,68 @@
+package com.Team1_Back.scheduler;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * 단일 JVM 용 LockStore (com.mallapi.lock.store=memory)
+ * Redis 없이 테스트하거나 노드 1대로 띄울 때 사용. 의미는 RedisLockStore 와 동일
+ */
+@Component
+@ConditionalOnProperty(name = "com.mallapi.lock.store", havingValue = "memory")
+public class InMemoryLockStore implements LockStore {
+
+    private record Entry(String token, long expiresAtMs) {}
+
+    private final Map<String, Entry> locks = new HashMap<>();
+    private final Map<String, Long> fences = new HashMap<>();
+    private final LongSupplier clockMs;
+
+    public InMemoryLockStore() {
+        this(System::currentTimeMillis);
+    }
+
+    // 테스트에서 시간을 직접 움직이기 위한 생성자
+    public InMemoryLockStore(LongSupplier clockMs) {
+        this.clockMs = clockMs;
+    }
+
+    @Override
+    public synchronized long acquire(String key, String token, long ttlMs) {
+        if (live(key) != null) return 0L;
+
+        long now = clockMs.getAsLong();
+        locks.put(key, new Entry(token, now + ttlMs));
+        long fence = fences.getOrDefault(key, 0L) + 1;
+        fences.put(key, fence);
+        return fence;
+    }
+
+    @Override
+    public synchronized boolean renew(String key, String token, long ttlMs) {
+        Entry e = live(key);
+        if (e == null || !e.token().equals(token)) return false;
+        locks.put(key, new Entry(token, clockMs.getAsLong() + ttlMs));
+        return true;
+    }
+
+    @Override
+    public synchronized boolean release(String key, String token) {
+        Entry e = live(key);
+        if (e == null || !e.token().equals(token)) return false;
+        locks.remove(key);
+        return true;
+    }
+
+    private Entry live(String key) {
+        Entry e = locks.get(key);
+        if (e != null && e.expiresAtMs() <= clockMs.getAsLong()) {
+            locks.remove(key);
+            return null;
+        }
+        return e;
+    }
+}
@@ -0,0 +1,27 @@
+package com.Team1_Back.scheduler;
+
+/**
+ * 분산 락 저장소 (RedisLock 이 사용하는 원자 연산 3종)
+ *
+ * - 운영: RedisLockStore (Lua 스크립트)
+ * - 테스트/단일 노드: InMemoryLockStore
+ */
+public interface LockStore {
+
+    /**
+     * key 가 비어있으면 token 으로 잠그고 fencing token(단조 증가) 반환
+     *
+     * @return 0 이면 이미 다른 소유자가 잡고 있음
+     */
+    long acquire(String key, String token, long ttlMs);
+
+    /**
+     * 내 token 일 때만 TTL 연장
+     */
+    boolean renew(String key, String token, long ttlMs);
+
+    /**
+     * 내 token 일 때만 삭제 (compare-and-delete)
+     */
+    boolean release(String key, String token);
+}
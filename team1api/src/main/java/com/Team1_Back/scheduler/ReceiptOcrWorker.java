@@ -0,0 +1,415 @@
+package com.Team1_Back.scheduler;
+
+import com.Team1_Back.ai.service.ReceiptAiService;
+import com.Team1_Back.chat.ChatRelay;
+import com.Team1_Back.domain.ReceiptAiExtraction;
+import com.Team1_Back.domain.ReceiptOcrJob;
+import com.Team1_Back.domain.ReceiptUpload;
+import com.Team1_Back.domain.enums.ReceiptOcrStatus;
+import com.Team1_Back.domain.event.ReceiptUploadedEvent;
+import com.Team1_Back.dto.ReceiptExtractionDTO;
+import com.Team1_Back.repository.ReceiptAiExtractionRepository;
+import com.Team1_Back.repository.ReceiptOcrJobRepository;
+import com.Team1_Back.repository.ReceiptUploadRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 영수증 OCR 비동기 워커
+ *
+ * - 업로드는 receipt_ocr_job 에 QUEUED 로 넣고 바로 커밋 (OCR 응답을 기다리지 않음)
+ * - 남은 워커 수만큼만 DB lease 로 선점 → 동시에 OCR 서비스로 나가는 요청 수 = workers
+ * - 저장된 파일을 디스크에서 바로 스트리밍 전송 (MultipartFile 을 메모리에 다시 올리지 않음)
+ * - 실패하면 지수 backoff(+jitter) 로 재시도, max-attempts 를 넘기면 FAILED
+ * - 끝나면(DONE/FAILED) 업로드한 사용자에게 /user/queue/receipts 로 알림
+ * - 노드가 죽어 lease 가 만료된 RUNNING 작업은 다른 노드가 다시 가져감
+ *   (시도 횟수는 선점 때 올리므로 처리 중 계속 죽는 작업도 max-attempts 에서 FAILED)
+ * - 선점마다 lease_token 을 새로 발급, 결과는 그 token 이 그대로일 때만 반영 (늦게 끝난 이전 실행은 버림)
+ */
+@Slf4j
+@Component
+public class ReceiptOcrWorker {
+
+    public static final String DESTINATION = "/queue/receipts";
+
+    private static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
+
+    private final ReceiptOcrJobRepository receiptOcrJobRepository;
+    private final ReceiptUploadRepository receiptUploadRepository;
+    private final ReceiptAiExtractionRepository receiptAiExtractionRepository;
+    private final ReceiptAiService receiptAiService;
+    private final ChatRelay chatRelay;
+    private final TransactionTemplate tx;
+
+    private final int workers;
+    private final int maxAttempts;
+    private final long backoffMs;
+    private final long backoffMaxMs;
+    private final Duration leaseTtl;
+    private final ExecutorService pool;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    // lease_owner - 같은 호스트에 여러 인스턴스가 떠도 겹치지 않게 UUID 포함
+    private final String nodeId;
+
+    public ReceiptOcrWorker(
+            ReceiptOcrJobRepository receiptOcrJobRepository,
+            ReceiptUploadRepository receiptUploadRepository,
+            ReceiptAiExtractionRepository receiptAiExtractionRepository,
+            ReceiptAiService receiptAiService,
+            ChatRelay chatRelay,
+            TransactionTemplate tx,
+            @Value("${com.mallapi.receipt.ocr.workers:2}") int workers,
+            @Value("${com.mallapi.receipt.ocr.max-attempts:5}") int maxAttempts,
+            @Value("${com.mallapi.receipt.ocr.backoff-ms:5000}") long backoffMs,
+            @Value("${com.mallapi.receipt.ocr.backoff-max-ms:600000}") long backoffMaxMs,
+            @Value("${com.mallapi.receipt.ocr.lease-seconds:180}") long leaseSeconds
+    ) {
+        this.receiptOcrJobRepository = receiptOcrJobRepository;
+        this.receiptUploadRepository = receiptUploadRepository;
+        this.receiptAiExtractionRepository = receiptAiExtractionRepository;
+        this.receiptAiService = receiptAiService;
+        this.chatRelay = chatRelay;
+        this.tx = tx;
+        this.workers = Math.max(1, workers);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.backoffMs = Math.max(100, backoffMs);
+        this.backoffMaxMs = Math.max(this.backoffMs, backoffMaxMs);
+        // OCR 호출 타임아웃(receipt.ai.timeout-ms)보다 충분히 길게 (그 안에 못 끝나면 다른 노드가 인계)
+        this.leaseTtl = Duration.ofSeconds(Math.max(30, leaseSeconds));
+        this.nodeId = hostName() + ":" + UUID.randomUUID().toString().substring(0, 8);
+
+        AtomicInteger seq = new AtomicInteger();
+        this.pool = Executors.newFixedThreadPool(this.workers, r -> {
+            Thread t = new Thread(r, "receipt-ocr-" + seq.getAndIncrement());
+            t.setDaemon(true);
+            return t;
+        });
+
+        log.info("[OCR] node={}, workers={}, maxAttempts={}, lease={}", nodeId, this.workers, this.maxAttempts, leaseTtl);
+    }
+
+    /**
+     * 업로드 커밋 직후 바로 선점 시도 (polling 주기를 기다리지 않음)
+     * AFTER_COMMIT 시점에는 원래 트랜잭션이 끝났으므로 선점은 워커 스레드에서 새 트랜잭션으로 실행
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUploaded(ReceiptUploadedEvent event) {
+        if (inFlight.get() >= workers) return; // 다 바쁘면 다음 tick 이 가져감
+        pool.execute(this::tick);
+    }
+
+    /**
+     * 재시도 시각이 된 작업 / lease 가 만료된 작업을 남은 워커 수만큼 선점
+     */
+    @Scheduled(fixedDelayString = "${com.mallapi.receipt.ocr.poll-ms:5000}")
+    public synchronized void tick() {
+        int free = workers - inFlight.get();
+        if (free <= 0) return;
+
+        failExhausted();
+
+        List<ReceiptOcrJob> claimed = claim(free);
+        if (claimed.isEmpty()) return;
+
+        log.info("[OCR] node={} claimed={}", nodeId, claimed.size());
+
+        for (ReceiptOcrJob job : claimed) {
+            Long jobId = job.getId();
+            String token = job.getLeaseToken();
+            inFlight.incrementAndGet();
+            pool.execute(() -> {
+                try {
+                    runOne(jobId, token);
+                } catch (Exception e) {
+                    log.error("[OCR] jobId={} unexpected error", jobId, e);
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+            });
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * 최대 limit 건 선점 (시도 횟수 +1, 새 lease_token)
+     */
+    List<ReceiptOcrJob> claim(int limit) {
+        LocalDateTime now = LocalDateTime.now(ZONE);
+        // DATETIME(초 단위) 컬럼과 정확히 비교할 수 있도록 초 단위로 자름
+        LocalDateTime leaseUntil = now.plus(leaseTtl).truncatedTo(ChronoUnit.SECONDS);
+        String token = UUID.randomUUID().toString();
+
+        List<ReceiptOcrJob> claimed = tx.execute(status -> {
+            int n = receiptOcrJobRepository.claimDue(nodeId, token, now, leaseUntil, maxAttempts, limit);
+            if (n == 0) return List.<ReceiptOcrJob>of();
+            return receiptOcrJobRepository.findByLeaseTokenOrderByNextAttemptAtAsc(token);
+        });
+        return claimed == null ? List.of() : claimed;
+    }
+
+    /**
+     * lease 가 만료됐는데 시도 횟수를 다 쓴 작업 → FAILED + 알림 (선점 대상에서는 이미 빠져 있음)
+     */
+    void failExhausted() {
+        LocalDateTime now = LocalDateTime.now(ZONE);
+        List<ReceiptOcrJob> exhausted = receiptOcrJobRepository
+                .findByStatusAndLeaseUntilBeforeAndAttemptsGreaterThanEqual(ReceiptOcrStatus.RUNNING, now, maxAttempts);
+
+        for (ReceiptOcrJob job : exhausted) {
+            String error = "lease expired after " + job.getAttempts() + " attempts";
+            Notice notice = tx.execute(status -> {
+                int n = receiptOcrJobRepository.failExpired(job.getId(), now, error,
+                        ReceiptOcrStatus.RUNNING, ReceiptOcrStatus.FAILED);
+                if (n == 0) return null; // 다른 노드가 먼저 처리
+
+                ReceiptUpload receipt = receiptUploadRepository.findById(job.getReceiptId()).orElse(null);
+                if (receipt == null) return null;
+
+                job.setStatus(ReceiptOcrStatus.FAILED);
+                job.setLastError(error);
+                return new Notice(receipt.getUploadedBy().getId(),
+                        payload(receipt.getId(), receipt.getExpense().getId(), job, null));
+            });
+            log.warn("[OCR] jobId={} receiptId={} {}", job.getId(), job.getReceiptId(), error);
+            if (notice != null) notify(job.getReceiptId(), notice);
+        }
+    }
+
+    void runOne(Long jobId, String token) {
+        Target target = tx.execute(status -> {
+            ReceiptOcrJob job = receiptOcrJobRepository.findById(jobId).orElse(null);
+            if (job == null || !token.equals(job.getLeaseToken())) return null;
+
+            ReceiptUpload receipt = receiptUploadRepository.findById(job.getReceiptId()).orElse(null);
+            if (receipt == null) {
+                // 영수증이 그 사이 삭제/교체됨 → 작업만 정리
+                receiptOcrJobRepository.delete(job);
+                return null;
+            }
+
+            // 대기하는 사이 같은 원본의 OCR 이 끝났으면 그 결과를 재사용 (Python 서비스 호출 생략)
+            ReceiptExtractionDTO reused = (receipt.getFileHash() == null) ? null
+                    : receiptAiExtractionRepository
+                            .findFirstByReceipt_FileHashAndReceipt_IdNotOrderByIdDesc(receipt.getFileHash(), receipt.getId())
+                            .map(ReceiptOcrWorker::toDto)
+                            .orElse(null);
+
+            return new Target(
+                    job.getReceiptId(),
+                    receipt.getExpense().getId(),
+                    receipt.getUploadedBy().getId(),
+                    receipt.getFileUrl(),
+                    receipt.getMimeType(),
+                    job.getAttempts(),
+                    reused
+            );
+        });
+        if (target == null) return;
+
+        if (target.reused() != null) {
+            log.info("[OCR] receiptId={} reuse extraction of identical image", target.receiptId());
+            finish(jobId, token, target, target.reused(), null, false);
+            return;
+        }
+
+        Path file = Paths.get(target.fileUrl());
+        if (!Files.isRegularFile(file)) {
+            // 파일이 없으면 재시도해도 소용없음
+            finish(jobId, token, target, null, "file missing: " + target.fileUrl(), true);
+            return;
+        }
+
+        long started = System.nanoTime();
+        try {
+            ReceiptExtractionDTO dto = receiptAiService.extractReceipt(file, file.getFileName().toString(), target.mimeType());
+            log.info("[OCR] receiptId={} attempt={} done in {}ms",
+                    target.receiptId(), target.attempt(), (System.nanoTime() - started) / 1_000_000);
+            finish(jobId, token, target, dto, null, false);
+        } catch (Exception e) {
+            log.warn("[OCR] receiptId={} attempt={} failed: {}", target.receiptId(), target.attempt(), e.getMessage());
+            finish(jobId, token, target, null, e.getMessage(), false);
+        }
+    }
+
+    /**
+     * 결과 반영 + lease 해제 (이번 선점의 token 이 그대로일 때만, 행 잠금 후)
+     */
+    private void finish(Long jobId, String token, Target target, ReceiptExtractionDTO dto, String error, boolean permanent) {
+        Map<String, Object> notice = tx.execute(status -> {
+            ReceiptOcrJob job = receiptOcrJobRepository.findByIdForUpdate(jobId).orElse(null);
+            if (job == null || !token.equals(job.getLeaseToken())) {
+                log.warn("[OCR] jobId={} lease lost, drop result", jobId);
+                return null;
+            }
+
+            LocalDateTime now = LocalDateTime.now(ZONE);
+            job.setLeaseOwner(null);
+            job.setLeaseToken(null);
+            job.setLeaseUntil(null);
+
+            ReceiptExtractionDTO saved = null;
+            if (dto != null) {
+                ReceiptUpload receipt = receiptUploadRepository.findById(target.receiptId()).orElse(null);
+                if (receipt == null) {
+                    receiptOcrJobRepository.delete(job);
+                    return null;
+                }
+                saved = saveExtraction(receipt, dto);
+                job.setStatus(ReceiptOcrStatus.DONE);
+                job.setLastError(null);
+            } else {
+                job.setLastError(shortMsg(error));
+                if (permanent || target.attempt() >= maxAttempts) {
+                    job.setStatus(ReceiptOcrStatus.FAILED);
+                } else {
+                    job.setStatus(ReceiptOcrStatus.QUEUED);
+                    long delay = backoffMs(target.attempt(), backoffMs, backoffMaxMs,
+                            ThreadLocalRandom.current().nextDouble());
+                    job.setNextAttemptAt(now.plus(Duration.ofMillis(delay)));
+                    log.info("[OCR] receiptId={} retry #{} in {}ms", target.receiptId(), target.attempt() + 1, delay);
+                }
+            }
+            receiptOcrJobRepository.save(job);
+
+            // 재시도 대기 중에는 알리지 않음 (DONE / FAILED 만)
+            if (job.getStatus() == ReceiptOcrStatus.QUEUED) return null;
+            return payload(target.receiptId(), target.expenseId(), job, saved);
+        });
+
+        if (notice != null) notify(target.receiptId(), new Notice(target.uploaderId(), notice));
+    }
+
+    private static Map<String, Object> payload(Long receiptId, Long expenseId, ReceiptOcrJob job, ReceiptExtractionDTO saved) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("type", "RECEIPT_OCR");
+        payload.put("receiptId", receiptId);
+        payload.put("expenseId", expenseId);
+        payload.put("status", job.getStatus().name());
+        payload.put("attempts", job.getAttempts());
+        payload.put("extraction", saved);
+        payload.put("error", job.getLastError());
+        return payload;
+    }
+
+    private void notify(Long receiptId, Notice notice) {
+        try {
+            chatRelay.sendToUsers(List.of(notice.uploaderId()), DESTINATION, notice.payload());
+        } catch (Exception e) {
+            // 알림 실패해도 결과는 저장됨 (화면에서 다시 조회 가능)
+            log.warn("[OCR] notify failed receiptId={}: {}", receiptId, e.getMessage());
+        }
+    }
+
+    private ReceiptExtractionDTO saveExtraction(ReceiptUpload receipt, ReceiptExtractionDTO dto) {
+        // 재시도/재처리로 이미 결과가 있으면 교체 (receipt_id unique → insert 전에 delete 를 먼저 flush)
+        receiptAiExtractionRepository.findByReceiptId(receipt.getId()).ifPresent(old -> {
+            receiptAiExtractionRepository.delete(old);
+            receiptAiExtractionRepository.flush();
+        });
+
+        ReceiptAiExtraction saved = receiptAiExtractionRepository.save(ReceiptAiExtraction.builder()
+                .receipt(receipt)
+                .modelName(dto.getModelName())
+                .extractedJson(dto.getExtractedJson())
+                .extractedDate(dto.getExtractedDate())
+                .extractedAmount(dto.getExtractedAmount())
+                .extractedMerchant(dto.getExtractedMerchant())
+                .extractedCategory(dto.getExtractedCategory())
+                .extractedDescription(dto.getExtractedDescription())
+                .confidence(dto.getConfidence())
+                .build());
+
+        return ReceiptExtractionDTO.builder()
+                .receiptId(receipt.getId())
+                .modelName(saved.getModelName())
+                .extractedDate(saved.getExtractedDate())
+                .extractedAmount(saved.getExtractedAmount())
+                .extractedMerchant(saved.getExtractedMerchant())
+                .extractedCategory(saved.getExtractedCategory())
+                .extractedDescription(saved.getExtractedDescription())
+                .confidence(saved.getConfidence())
+                .extractedJson(saved.getExtractedJson())
+                .build();
+    }
+
+    private static ReceiptExtractionDTO toDto(ReceiptAiExtraction x) {
+        return ReceiptExtractionDTO.builder()
+                .modelName(x.getModelName())
+                .extractedDate(x.getExtractedDate())
+                .extractedAmount(x.getExtractedAmount())
+                .extractedMerchant(x.getExtractedMerchant())
+                .extractedCategory(x.getExtractedCategory())
+                .extractedDescription(x.getExtractedDescription())
+                .confidence(x.getConfidence())
+                .extractedJson(x.getExtractedJson())
+                .build();
+    }
+
+    /**
+     * 지수 backoff + jitter: base * 2^(attempt-1) 을 max 로 자른 뒤 [절반, 전체) 구간에서 고름
+     * (여러 영수증이 같이 실패해도 재시도가 한 시점에 몰리지 않도록)
+     *
+     * @param attempt 방금 실패한 시도 번호 (1부터)
+     * @param jitter  [0, 1) 난수
+     */
+    static long backoffMs(int attempt, long baseMs, long maxMs, double jitter) {
+        int shift = Math.min(Math.max(0, attempt - 1), 30);
+        long exp = Math.min(maxMs, baseMs << shift);
+        if (exp <= 0) exp = maxMs; // overflow
+        long half = exp / 2;
+        return half + (long) ((exp - half) * jitter);
+    }
+
+    private static String shortMsg(String msg) {
+        if (msg == null) return "unknown error";
+        return msg.length() > 500 ? msg.substring(0, 500) : msg;
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "node";
+        }
+    }
+
+    private record Notice(Long uploaderId, Map<String, Object> payload) {}
+
+    private record Target(
+            Long receiptId,
+            Long expenseId,
+            Long uploaderId,
+            String fileUrl,
+            String mimeType,
+            int attempt,
+            ReceiptExtractionDTO reused
+    ) {}
+}
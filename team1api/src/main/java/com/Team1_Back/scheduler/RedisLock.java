@@ -1,26 +1,141 @@
 package com.Team1_Back.scheduler;
 
-import lombok.RequiredArgsConstructor;
-import org.springframework.data.redis.core.StringRedisTemplate;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.time.Duration;
 import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * 분산 락 (fencing token + watchdog)
+ *
+ * - tryLock: 잡으면 단조 증가하는 fencing token 을 함께 돌려줌
+ *   → DB 에 쓸 때 "내 token 이 저장된 값보다 크거나 같을 때만" 반영하면
+ *     GC pause 등으로 락을 잃은 옛 소유자의 늦은 쓰기를 막을 수 있음
+ * - watchdog: 작업 중에는 ttl/3 마다 TTL 연장 → TTL 을 짧게(수십 초) 가져가도
+ *   긴 리포트가 두 번 실행되지 않고, 노드가 죽으면 TTL 만큼만 지나면 다른 노드가 이어받음
+ * - unlock / renew 는 compare-and-* 원자 연산 (LockStore)
+ * - 락 저장소의 fencing 카운터는 Redis 재기동/FLUSH/eviction 으로 초기화될 수 있으므로
+ *   DB 에 남기는 fence 는 DB 에서 올린 값을 쓸 것 (ReportScheduler 는 report_schedule.fence_token 을 선점 UPDATE 에서 증가)
+ */
+@Slf4j
 @Component
-@RequiredArgsConstructor
 public class RedisLock {
 
-    private final StringRedisTemplate redis;
+    private final LockStore store;
+    private final ScheduledExecutorService watchdog;
 
-    public String tryLock(String key, Duration ttl) {
+    public RedisLock(LockStore store) {
+        this.store = store;
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "lock-watchdog");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * 한 번만 시도 (watchdog 없음). 못 잡으면 null
+     */
+    public Lease tryLock(String key, Duration ttl) {
         String token = UUID.randomUUID().toString();
-        Boolean ok = redis.opsForValue().setIfAbsent(key, token, ttl);
-        return Boolean.TRUE.equals(ok) ? token : null;
+        long fence = store.acquire(key, token, ttl.toMillis());
+        return fence > 0 ? new Lease(key, token, fence, null) : null;
     }
 
-    public void unlock(String key, String token) {
-        String cur = redis.opsForValue().get(key);
-        if (token != null && token.equals(cur)) redis.delete(key);
+    /**
+     * 잡으면 watchdog 이 close() 전까지 TTL 을 계속 연장. 못 잡으면 null
+     *
+     * @param onRenewed 연장 성공 시 호출 (DB lease 같이 연장할 때 사용, null 가능)
+     */
+    public Lease lockWithWatchdog(String key, Duration ttl, Runnable onRenewed) {
+        Lease lease = tryLock(key, ttl);
+        if (lease == null) return null;
+
+        long period = Math.max(1, ttl.toMillis() / 3);
+        lease.renewal = watchdog.scheduleAtFixedRate(() -> {
+            if (!lease.held) return;
+            try {
+                if (store.renew(key, lease.token, ttl.toMillis())) {
+                    if (onRenewed != null) onRenewed.run();
+                } else {
+                    // 이미 만료되어 다른 소유자가 가져감 → 이후 쓰기는 fencing token 으로 걸러짐
+                    lease.held = false;
+                    log.warn("[LOCK] lease lost key={} fence={}", key, lease.fence);
+                    lease.cancelRenewal();
+                }
+            } catch (Exception e) {
+                log.warn("[LOCK] renew failed key={}: {}", key, e.getMessage());
+            }
+        }, period, period, TimeUnit.MILLISECONDS);
+
+        return lease;
+    }
+
+    public boolean unlock(Lease lease) {
+        if (lease == null) return false;
+        lease.cancelRenewal();
+        lease.held = false;
+        try {
+            return store.release(lease.key, lease.token);
+        } catch (Exception e) {
+            // 못 지워도 TTL 이 지나면 풀림
+            log.warn("[LOCK] unlock failed key={}: {}", lease.key, e.getMessage());
+            return false;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        watchdog.shutdownNow();
+    }
+
+    /**
+     * 획득한 락. try-with-resources 로 쓰면 close() 에서 해제
+     */
+    public final class Lease implements AutoCloseable {
+
+        private final String key;
+        private final String token;
+        private final long fence;
+        private volatile boolean held = true;
+        private volatile ScheduledFuture<?> renewal;
+
+        private Lease(String key, String token, long fence, ScheduledFuture<?> renewal) {
+            this.key = key;
+            this.token = token;
+            this.fence = fence;
+            this.renewal = renewal;
+        }
+
+        public String key() {
+            return key;
+        }
+
+        public long fence() {
+            return fence;
+        }
+
+        /**
+         * watchdog 이 연장에 실패했으면 false (다른 노드가 가져갔을 수 있음)
+         */
+        public boolean isHeld() {
+            return held;
+        }
+
+        private void cancelRenewal() {
+            ScheduledFuture<?> f = renewal;
+            if (f != null) f.cancel(false);
+        }
+
+        @Override
+        public void close() {
+            unlock(this);
+        }
     }
 }
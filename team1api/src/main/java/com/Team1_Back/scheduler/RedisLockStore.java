@@ -0,0 +1,62 @@
+package com.Team1_Back.scheduler;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Redis 기반 LockStore
+ * GET → DELETE 처럼 두 번 왕복하면 그 사이 TTL 만료 + 다른 노드 획득 시 남의 락을 지울 수 있으므로
+ * 비교와 변경을 Lua 스크립트 하나로 원자 실행
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "com.mallapi.lock.store", havingValue = "redis", matchIfMissing = true)
+public class RedisLockStore implements LockStore {
+
+    // SET NX PX 성공 시 fencing 카운터(KEYS[2]) 증가
+    private static final DefaultRedisScript<Long> ACQUIRE = new DefaultRedisScript<>("""
+            if redis.call('set', KEYS[1], ARGV[1], 'NX', 'PX', ARGV[2]) then
+                return redis.call('incr', KEYS[2])
+            end
+            return 0
+            """, Long.class);
+
+    private static final DefaultRedisScript<Long> RENEW = new DefaultRedisScript<>("""
+            if redis.call('get', KEYS[1]) == ARGV[1] then
+                return redis.call('pexpire', KEYS[1], ARGV[2])
+            end
+            return 0
+            """, Long.class);
+
+    private static final DefaultRedisScript<Long> RELEASE = new DefaultRedisScript<>("""
+            if redis.call('get', KEYS[1]) == ARGV[1] then
+                return redis.call('del', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+
+    private final StringRedisTemplate redis;
+
+    @Override
+    public long acquire(String key, String token, long ttlMs) {
+        Long fence = redis.execute(ACQUIRE, List.of(key, key + ":fence"), token, String.valueOf(ttlMs));
+        return fence == null ? 0L : fence;
+    }
+
+    @Override
+    public boolean renew(String key, String token, long ttlMs) {
+        Long r = redis.execute(RENEW, List.of(key), token, String.valueOf(ttlMs));
+        return r != null && r > 0;
+    }
+
+    @Override
+    public boolean release(String key, String token) {
+        Long r = redis.execute(RELEASE, List.of(key), token);
+        return r != null && r > 0;
+    }
+}
@@ -0,0 +1,109 @@
+package com.Team1_Back.scheduler;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 리포트 비동기 생성용 bounded 워커 풀
+ *
+ * - 동시에 렌더링하는 리포트 수 = workers
+ * - 대기열 포함 최대 수용량 = workers + queueCapacity (Semaphore permit)
+ * - permit 을 못 얻으면 호출 측에서 429 로 돌려보냄 (backpressure)
+ */
+@Slf4j
+@Component
+public class ReportJobQueue {
+
+    private final Semaphore permits;
+    private final ExecutorService executor;
+    private final int capacity;
+
+    public ReportJobQueue(
+            @Value("${com.mallapi.report.async.workers:4}") int workers,
+            @Value("${com.mallapi.report.async.queue-capacity:50}") int queueCapacity,
+            @Value("${com.mallapi.report.async.virtual-threads:false}") boolean virtualThreads
+    ) {
+        int w = Math.max(1, workers);
+        this.capacity = w + Math.max(0, queueCapacity);
+        this.permits = new Semaphore(capacity);
+
+        ThreadFactory tf = virtualThreads
+                ? Thread.ofVirtual().name("report-worker-", 0).factory()
+                : namedFactory("report-worker-");
+
+        // 큐 크기는 permit 으로 제한하므로 실행기 자체 큐는 무제한이어도 넘치지 않음
+        this.executor = new ThreadPoolExecutor(
+                w, w, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                tf
+        );
+
+        log.info("[REPORT-Q] workers={}, capacity={}, virtualThreads={}", w, capacity, virtualThreads);
+    }
+
+    /**
+     * 대기열 자리 예약. false 면 큐가 가득 찬 상태
+     */
+    public boolean tryReserve() {
+        return permits.tryAcquire();
+    }
+
+    /**
+     * 예약만 하고 실행하지 않게 된 경우(트랜잭션 롤백 등) 반환
+     */
+    public void release() {
+        permits.release();
+    }
+
+    /**
+     * tryReserve() 로 확보한 자리에서 작업 실행. 끝나면 permit 자동 반환
+     */
+    public void execute(Runnable task) {
+        try {
+            executor.execute(() -> {
+                try {
+                    task.run();
+                } catch (Exception e) {
+                    log.error("[REPORT-Q] task failed", e);
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    public int available() {
+        return permits.availablePermits();
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private ThreadFactory namedFactory(String prefix) {
+        AtomicInteger seq = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, prefix + seq.getAndIncrement());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+}
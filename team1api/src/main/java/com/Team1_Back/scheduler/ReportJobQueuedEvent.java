@@ -0,0 +1,7 @@
+package com.Team1_Back.scheduler;
+
+/**
+ * QUEUED 상태로 저장된 리포트 작업 (커밋 후 워커 풀에 넘김)
+ */
+public record ReportJobQueuedEvent(Long reportId) {
+}
@@ -0,0 +1,106 @@
+package com.Team1_Back.scheduler;
+
+import com.Team1_Back.domain.enums.ReportStatus;
+import com.Team1_Back.report.entity.ReportJob;
+import com.Team1_Back.repository.ReportJobRepository;
+import com.Team1_Back.service.ReportService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * QUEUED 리포트 작업을 워커 풀에서 렌더링
+ *
+ * - 요청 트랜잭션이 커밋된 뒤에만 실행 (워커가 아직 안 보이는 job 을 읽지 않도록)
+ * - 롤백되면 예약해둔 큐 자리 반환
+ * - 선점(started_at) 후 generating-timeout 이 지나도 GENERATING 인 작업은 FAILED 로 정리
+ *   (크래시/재배포로 렌더링하던 워커가 사라진 경우 - 사용자가 끝없이 polling 하지 않도록)
+ */
+@Slf4j
+@Component
+public class ReportJobWorker {
+
+    private static final String STALE_MESSAGE = "Generation interrupted, please try again";
+
+    private final ReportJobQueue reportJobQueue;
+    private final ReportService reportService;
+    private final ReportJobRepository reportJobRepository;
+    private final TransactionTemplate tx;
+    private final long generatingTimeoutMinutes;
+
+    public ReportJobWorker(
+            ReportJobQueue reportJobQueue,
+            ReportService reportService,
+            ReportJobRepository reportJobRepository,
+            TransactionTemplate tx,
+            // 가장 오래 걸리는 렌더링보다 길게 (다른 노드가 아직 렌더링 중인 작업을 건드리지 않도록)
+            @Value("${com.mallapi.report.worker.generating-timeout-minutes:30}") long generatingTimeoutMinutes
+    ) {
+        this.reportJobQueue = reportJobQueue;
+        this.reportService = reportService;
+        this.reportJobRepository = reportJobRepository;
+        this.tx = tx;
+        this.generatingTimeoutMinutes = Math.max(1, generatingTimeoutMinutes);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onQueued(ReportJobQueuedEvent event) {
+        dispatch(event.reportId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_ROLLBACK)
+    public void onRollback(ReportJobQueuedEvent event) {
+        reportJobQueue.release();
+    }
+
+    /**
+     * 재기동 시 이전 노드가 못 끝낸 작업 정리
+     * - 오래된 GENERATING → FAILED
+     * - QUEUED → 다시 투입 (자리 있는 만큼만)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverQueued() {
+        failStaleGenerating();
+
+        List<ReportJob> pending = reportJobRepository.findByStatusOrderByIdAsc(ReportStatus.QUEUED);
+        if (pending.isEmpty()) return;
+
+        int resubmitted = 0;
+        for (ReportJob job : pending) {
+            if (!reportJobQueue.tryReserve()) break;
+            dispatch(job.getId());
+            resubmitted++;
+        }
+        log.info("[REPORT-Q] recovered queued jobs {}/{}", resubmitted, pending.size());
+    }
+
+    /**
+     * 재기동 없이 다른 노드가 죽은 경우도 정리 (주기 실행)
+     */
+    @Scheduled(fixedDelayString = "${com.mallapi.report.worker.recover-ms:300000}",
+            initialDelayString = "${com.mallapi.report.worker.recover-ms:300000}")
+    public void failStaleGenerating() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(generatingTimeoutMinutes);
+        try {
+            Integer failed = tx.execute(status -> reportJobRepository.failStaleGenerating(cutoff, STALE_MESSAGE));
+            if (failed != null && failed > 0) {
+                log.warn("[REPORT-Q] stale GENERATING jobs failed={} (started before {})", failed, cutoff);
+            }
+        } catch (Exception e) {
+            log.warn("[REPORT-Q] stale GENERATING cleanup failed: {}", e.getMessage());
+        }
+    }
+
+    private void dispatch(Long reportId) {
+        reportJobQueue.execute(() -> reportService.processQueued(reportId));
+    }
+}
@@ -5,100 +5,252 @@ import com.Team1_Back.dto.ReportGenerateRequestDTO;
 import com.Team1_Back.domain.ReportSchedule;
 import com.Team1_Back.repository.ReportScheduleRepository;
 import com.Team1_Back.service.ReportService;
-import lombok.RequiredArgsConstructor;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.scheduling.support.CronExpression;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.net.InetAddress;
 import java.time.*;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class ReportScheduler {
 
     private final ReportScheduleRepository reportScheduleRepository;
     private final ReportService reportService;
+    private final TransactionTemplate tx;
+    private final ReportSchedulerMetrics metrics;
     private final RedisLock redisLock;
 
     private static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
 
-    private static final int BATCH_SIZE = 20;
-    private static final Duration LOCK_TTL = Duration.ofMinutes(10);
+    private final int batchSize;
+    private final Duration leaseTtl;
+    private final int workers;
+    private final ExecutorService pool;
+
+    // 풀에 넘긴 뒤 아직 끝나지 않은 건수 (대기 큐 + 실행 중). inFlight 는 시작된 것만 세므로 선점량 계산에는 이 값을 씀
+    private final AtomicInteger submitted = new AtomicInteger();
+
+    // 노드 식별자 (lease_owner) - 같은 호스트에 여러 인스턴스가 떠도 겹치지 않게 UUID 포함
+    private final String nodeId;
+
+    public ReportScheduler(
+            ReportScheduleRepository reportScheduleRepository,
+            ReportService reportService,
+            TransactionTemplate tx,
+            ReportSchedulerMetrics metrics,
+            RedisLock redisLock,
+            @Value("${com.mallapi.report.scheduler.batch-size:20}") int batchSize,
+            @Value("${com.mallapi.report.scheduler.workers:4}") int workers,
+            @Value("${com.mallapi.report.scheduler.lease-seconds:30}") long leaseSeconds
+    ) {
+        this.reportScheduleRepository = reportScheduleRepository;
+        this.reportService = reportService;
+        this.tx = tx;
+        this.metrics = metrics;
+        this.redisLock = redisLock;
+        this.batchSize = Math.max(1, batchSize);
+        this.workers = Math.max(1, workers);
+        // 실행 중에는 watchdog 이 계속 연장하므로 짧게 유지 (노드 장애 시 이 시간 안에 다른 노드가 인계)
+        this.leaseTtl = Duration.ofSeconds(Math.max(10, leaseSeconds));
+        this.nodeId = hostName() + ":" + UUID.randomUUID().toString().substring(0, 8);
+
+        AtomicInteger seq = new AtomicInteger();
+        this.pool = Executors.newFixedThreadPool(this.workers, r -> {
+            Thread t = new Thread(r, "report-sched-" + seq.getAndIncrement());
+            t.setDaemon(true);
+            return t;
+        });
+
+        log.info("[SCHED] node={}, workers={}, batch={}, lease={}", nodeId, this.workers, this.batchSize, leaseTtl);
+    }
 
-    @Scheduled(fixedDelay = 60000) // 1분마다
+    /**
+     * 1) 남은 워커 수(workers - 대기/실행 중)만큼만 DB lease 로 선점 (UPDATE ... LIMIT)
+     * 2) 선점한 스케줄을 워커 풀에 분산 → 느린 리포트 하나가 다른 스케줄을 막지 않음
+     * 3) 노드를 늘리면 노드마다 자기 몫을 선점하므로 처리량이 같이 늘어남
+     *    (노드가 죽으면 lease 만료 후 다른 노드가 다시 가져감)
+     */
+    @Scheduled(fixedDelayString = "${com.mallapi.report.scheduler.tick-ms:60000}") // 기본 1분마다
     public void tick() {
         LocalDateTime now = LocalDateTime.now(ZONE);
-        log.info("[SCHED TICK] now={}", now);
 
+        int free = workers - submitted.get();
+        if (free <= 0) {
+            log.info("[SCHED TICK] now={}, all workers busy", now);
+            metrics.onTick(now, 0);
+            return;
+        }
+
+        // DATETIME(초 단위) 컬럼과 정확히 비교할 수 있도록 초 단위로 자름
+        LocalDateTime leaseUntil = now.plus(leaseTtl).truncatedTo(ChronoUnit.SECONDS);
+        int limit = Math.min(batchSize, free);
 
-        List<ReportSchedule> targets =
-                reportScheduleRepository.findByIsEnabledTrueAndNextRunAtLessThanEqualOrderByNextRunAtAsc(
-                        now,
-                        PageRequest.of(0, BATCH_SIZE)
-                );
+        List<ReportSchedule> claimed = tx.execute(status -> {
+            int n = reportScheduleRepository.claimDue(nodeId, now, leaseUntil, limit);
+            if (n == 0) return List.<ReportSchedule>of();
+            return reportScheduleRepository.findByLeaseOwnerAndLeaseUntilOrderByNextRunAtAsc(nodeId, leaseUntil);
+        });
 
-        if (targets.isEmpty()) return;
+        metrics.onTick(now, claimed == null ? 0 : claimed.size());
+        if (claimed == null || claimed.isEmpty()) return;
 
-        log.info("[SCHED] targets.size={}", targets.size());
-        for (ReportSchedule s : targets) {
-            log.info("[SCHED] pick id={}, nextRunAt={}, enabled={}", s.getId(), s.getNextRunAt(), s.getIsEnabled());
+        log.info("[SCHED] node={} claimed={}", nodeId, claimed.size());
+
+        for (ReportSchedule s : claimed) {
+            Long id = s.getId();
+            LocalDateTime dueAt = s.getNextRunAt();
+            long fence = s.getFenceToken();
+            submitted.incrementAndGet();
+            try {
+                pool.execute(() -> {
+                    try {
+                        runOne(id, dueAt, fence);
+                    } finally {
+                        submitted.decrementAndGet();
+                    }
+                });
+            } catch (RuntimeException e) {
+                // 종료 중이면 lease 가 만료된 뒤 다른 노드가 가져감
+                submitted.decrementAndGet();
+                log.warn("[SCHED] submit rejected scheduleId={}: {}", id, e.getMessage());
+            }
         }
+    }
 
+    public ReportSchedulerMetrics.Snapshot metrics() {
+        return metrics.snapshot(nodeId);
+    }
 
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
 
-        for (ReportSchedule s0 : targets) {
+    /**
+     * @param fence 선점 UPDATE 에서 올린 report_schedule.fence_token (선점마다 +1, DB 기준이라 재기동에도 줄지 않음)
+     */
+    private void runOne(Long scheduleId, LocalDateTime dueAt, long fence) {
+        LocalDateTime startedAt = LocalDateTime.now(ZONE);
+        metrics.onStart(dueAt, startedAt);
+        boolean success = false;
+
+        // 실행 락: watchdog 이 Redis TTL 과 DB lease 를 함께 연장
+        RedisLock.Lease lease = redisLock.lockWithWatchdog(
+                "report:schedule:" + scheduleId,
+                leaseTtl,
+                () -> extendLease(scheduleId, fence)
+        );
+        if (lease == null) {
+            // 이전 선점이 아직 실행 중 → 이번 선점은 반납하고 다음 tick 에 다시
+            releaseLease(scheduleId, fence);
+            metrics.onFinish(true);
+            return;
+        }
 
-            // 최신값 다시 로드
-            ReportSchedule s = reportScheduleRepository.findById(s0.getId()).orElse(null);
-            if (s == null) continue;
+        try {
+            ReportSchedule s = reportScheduleRepository.findById(scheduleId).orElse(null);
+            if (s == null) return;
 
-            // 실행 조건 재검사 (관리자가 껐거나 next_run이 바뀌었으면 스킵)
-            if (!Boolean.TRUE.equals(s.getIsEnabled())) continue;
-            if (s.getNextRunAt() != null && s.getNextRunAt().isAfter(now)) continue;
+            // 실행 조건 재검사: lease 가 만료돼 다시 선점됐으면(fence 가 바뀜) 새 선점 쪽이 실행
+            if (!nodeId.equals(s.getLeaseOwner()) || s.getFenceToken() == null || s.getFenceToken() != fence) {
+                log.warn("[SCHED] scheduleId={} fence={} superseded by {}, skip", scheduleId, fence, s.getFenceToken());
+                return;
+            }
+            if (!Boolean.TRUE.equals(s.getIsEnabled())) {
+                releaseLease(scheduleId, fence);
+                return;
+            }
 
-            String lockKey = "report:schedule:" + s.getId();
-            String token = redisLock.tryLock(lockKey, LOCK_TTL);
-            if (token == null) continue;
+            ReportGenerateRequestDTO req = reqFrom(s);
+            log.info("[SCHED] run scheduleId={}, reportTypeId='{}', fence={}, lagMs={}",
+                    s.getId(), s.getReportTypeId(), fence,
+                    dueAt == null ? 0 : Duration.between(dueAt, startedAt).toMillis());
 
             try {
-                ReportGenerateRequestDTO req = reqFrom(s);
-                String rt = String.valueOf(s.getReportTypeId());
-                log.warn("[SCHED] scheduleId={}, reportTypeId(raw)={}, reportTypeId(str)='{}'",
-                        s.getId(), s.getReportTypeId(), rt);
+                var result = reportService.generateInternal(req, fence);
+                complete(scheduleId, fence, startedAt, result.reportId(), null);
+                success = true;
+            } catch (Exception e) {
+                complete(scheduleId, fence, startedAt, null, e);
+            }
+        } catch (Exception e) {
+            log.error("[SCHED] scheduleId={} unexpected error", scheduleId, e);
+        } finally {
+            redisLock.unlock(lease);
+            metrics.onFinish(success);
+        }
+    }
 
-                var result = reportService.generateInternal(req); // 네 시그니처 그대로
+    /**
+     * 실행 결과 반영 + lease 해제 (내 fencing token 이 최신일 때만)
+     */
+    private void complete(Long scheduleId, long fence, LocalDateTime runAt, Long jobId, Exception error) {
+        tx.executeWithoutResult(status -> {
+            ReportSchedule s = reportScheduleRepository.findById(scheduleId).orElse(null);
+            if (s == null) return;
+            if (s.getFenceToken() == null || s.getFenceToken() != fence) {
+                log.warn("[SCHED] scheduleId={} fence={} superseded by {}, drop result",
+                        scheduleId, fence, s.getFenceToken());
+                return;
+            }
 
+            s.setLastRunAt(runAt);
 
-                s.setLastRunAt(now);
-                s.setLastJobId(result.reportId());
+            if (error == null) {
+                s.setLastJobId(jobId);
                 s.setFailCount(0);
                 s.setLastError(null);
 
                 // ✅ 관리자 cronExpr 수정도 반영됨
-                s.setNextRunAt(calcNextRunAt(s.getCronExpr(), now));
-
-                reportScheduleRepository.save(s);
-
-            } catch (Exception e) {
+                s.setNextRunAt(calcNextRunAt(s.getCronExpr(), runAt));
+            } else {
                 int nextFail = (s.getFailCount() == null ? 0 : s.getFailCount()) + 1;
 
                 s.setFailCount(nextFail);
-                s.setLastRunAt(now);
-                s.setLastError(shortMsg(e));
-                s.setNextRunAt(now.plusMinutes(Math.min(30, nextFail)));
+                s.setLastError(shortMsg(error));
+                s.setNextRunAt(runAt.plusMinutes(Math.min(30, nextFail)));
 
                 // (옵션) 5회 이상이면 자동 disable
                 if (nextFail >= 5) s.setIsEnabled(false);
+            }
 
-                reportScheduleRepository.save(s);
+            s.setLeaseOwner(null);
+            s.setLeaseUntil(null);
+            reportScheduleRepository.save(s);
+        });
+    }
 
-            } finally {
-                redisLock.unlock(lockKey, token);
-            }
+    private void extendLease(Long scheduleId, long fence) {
+        LocalDateTime until = LocalDateTime.now(ZONE).plus(leaseTtl).truncatedTo(ChronoUnit.SECONDS);
+        tx.executeWithoutResult(status -> reportScheduleRepository.extendLease(scheduleId, nodeId, fence, until));
+    }
+
+    private void releaseLease(Long scheduleId, long fence) {
+        try {
+            tx.executeWithoutResult(status -> reportScheduleRepository.releaseLease(scheduleId, nodeId, fence));
+        } catch (Exception e) {
+            // 실패해도 lease 만료 후 다시 선점됨
+            log.warn("[SCHED] scheduleId={} release lease failed: {}", scheduleId, e.getMessage());
+        }
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "node";
         }
     }
 
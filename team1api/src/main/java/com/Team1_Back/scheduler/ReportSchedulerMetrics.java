@@ -0,0 +1,83 @@
+package com.Team1_Back.scheduler;
+
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 리포트 스케줄러 실행 지표 (노드 단위)
+ *
+ * - lag: 실제 실행 시작 시각 - nextRunAt (얼마나 밀려서 실행됐는지)
+ * - tick 마다 선점 건수 / 최대 lag 를 갱신
+ */
+@Component
+public class ReportSchedulerMetrics {
+
+    private final AtomicReference<LocalDateTime> lastTickAt = new AtomicReference<>();
+    private final AtomicInteger lastTickClaimed = new AtomicInteger();
+    private final AtomicLong lastTickMaxLagMs = new AtomicLong();
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong totalStarts = new AtomicLong();
+    private final AtomicLong totalRuns = new AtomicLong();
+    private final AtomicLong totalFailures = new AtomicLong();
+    private final AtomicLong totalLagMs = new AtomicLong();
+    private final AtomicLong maxLagMs = new AtomicLong();
+
+    public void onTick(LocalDateTime now, int claimed) {
+        lastTickAt.set(now);
+        lastTickClaimed.set(claimed);
+        lastTickMaxLagMs.set(0);
+    }
+
+    public void onStart(LocalDateTime nextRunAt, LocalDateTime startedAt) {
+        inFlight.incrementAndGet();
+        totalStarts.incrementAndGet();
+
+        long lag = (nextRunAt == null) ? 0 : Math.max(0, Duration.between(nextRunAt, startedAt).toMillis());
+        totalLagMs.addAndGet(lag);
+        lastTickMaxLagMs.accumulateAndGet(lag, Math::max);
+        maxLagMs.accumulateAndGet(lag, Math::max);
+    }
+
+    public void onFinish(boolean success) {
+        inFlight.decrementAndGet();
+        totalRuns.incrementAndGet();
+        if (!success) totalFailures.incrementAndGet();
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    public Snapshot snapshot(String nodeId) {
+        long starts = totalStarts.get();
+        return new Snapshot(
+                nodeId,
+                lastTickAt.get(),
+                lastTickClaimed.get(),
+                lastTickMaxLagMs.get(),
+                inFlight.get(),
+                totalRuns.get(),
+                totalFailures.get(),
+                starts == 0 ? 0 : totalLagMs.get() / starts,
+                maxLagMs.get()
+        );
+    }
+
+    public record Snapshot(
+            String nodeId,
+            LocalDateTime lastTickAt,
+            int lastTickClaimed,
+            long lastTickMaxLagMs,
+            int inFlight,
+            long totalRuns,
+            long totalFailures,
+            long avgLagMs,
+            long maxLagMs
+    ) {}
+}
@@ -11,6 +11,7 @@ import com.Team1_Back.domain.User;
 import com.Team1_Back.dto.UserDTO;
 import com.Team1_Back.repository.UserProfileImageRepository;
 import com.Team1_Back.repository.UserRepository;
+import com.Team1_Back.security.lockout.LoginLockoutService;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -22,6 +23,7 @@ public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
     private final UserProfileImageRepository profileImageRepository;
+    private final LoginLockoutService lockoutService;
 
     @Override
     public UserDetails loadUserByUsername(String employeeNo) throws UsernameNotFoundException {
@@ -41,6 +43,10 @@ public class CustomUserDetailsService implements UserDetailsService {
                 .map(fileName -> "/api/view/user_image/s_" + fileName)  // 썸네일 URL
                 .orElse(null);
 
+        // 실패 횟수는 Redis 가 최신 (DB 잠금 반영은 비동기라 그 사이 요청도 잠금으로 판단)
+        int failures = Math.max(user.getFailedLoginCount(), lockoutService.failures(employeeNo));
+        boolean locked = user.isLocked() || lockoutService.isLocked(failures);
+
         UserDTO userDTO = new UserDTO(
                 user.getId(),
                 user.getEmployeeNo(),
@@ -49,8 +55,8 @@ public class CustomUserDetailsService implements UserDetailsService {
                 user.getEmail(),
                 user.getDepartmentName(),
                 user.getIsActive(),
-                user.isLocked(),
-                user.getFailedLoginCount(),
+                locked,
+                failures,
                 List.of(user.getRole().name()),
                 profileImageUrl  // 프로필 이미지 URL 전달
         );
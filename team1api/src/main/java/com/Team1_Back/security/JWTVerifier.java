@@ -0,0 +1,182 @@
+package com.Team1_Back.security;
+
+import com.Team1_Back.dto.UserDTO;
+import com.Team1_Back.util.CustomJWTException;
+import com.Team1_Back.util.JWTUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+/**
+ * Access Token 검증 + 검증 결과 캐시
+ *
+ * - 프론트는 만료 전까지 같은 토큰을 매 요청에 보내므로, 서명 검증 / claims 파싱 / UserDTO 생성을
+ *   토큰당 한 번만 하고 결과를 재사용 (요청마다 새로 만드는 건 Authentication 객체 하나)
+ * - 캐시 키 = 토큰 전체의 SHA-256 (토큰 원문은 들고 있지 않음)
+ * - 항목은 토큰 exp 까지만 유효하고 max-ttl 로 한 번 더 제한
+ * - 검증에 실패한 토큰은 캐시하지 않음
+ * - 상한을 넘으면 만료 항목부터 정리, 그래도 넘치면 일부를 비움
+ */
+@Slf4j
+@Component
+public class JWTVerifier {
+
+    /**
+     * 검증된 토큰 정보
+     *
+     * @param userId   id claim (없으면 숫자인 sub)
+     * @param familyId fid claim (로그아웃/재사용 감지로 폐기됐는지 확인용, 예전 토큰은 null)
+     * @param user     claims 로 만든 principal (요청 간 공유되므로 읽기 전용으로 사용)
+     */
+    public record Verified(Map<String, Object> claims, Long userId, String familyId, UserDTO user, long expiresAtMs) {}
+
+    private record TokenKey(long a, long b, long c, long d) {}
+
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private final int maxEntries;
+    private final long maxTtlMs;
+    private final LongSupplier clock;
+
+    private final Map<TokenKey, Verified> cache = new ConcurrentHashMap<>();
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+
+    @Autowired
+    public JWTVerifier(
+            @Value("${com.mallapi.jwt.cache.max-entries:20000}") int maxEntries,
+            @Value("${com.mallapi.jwt.cache.max-ttl-seconds:300}") long maxTtlSeconds
+    ) {
+        this(maxEntries, maxTtlSeconds, System::currentTimeMillis);
+    }
+
+    JWTVerifier(int maxEntries, long maxTtlSeconds, LongSupplier clock) {
+        this.maxEntries = Math.max(1, maxEntries);
+        this.maxTtlMs = Math.max(1, maxTtlSeconds) * 1000L;
+        this.clock = clock;
+    }
+
+    /**
+     * @throws CustomJWTException 검증 실패 (JWTUtil.validateToken 과 같은 메시지)
+     */
+    public Verified verify(String token) {
+        if (token == null || token.isBlank()) {
+            throw new CustomJWTException("MalFormed");
+        }
+
+        TokenKey key = keyOf(token);
+        long now = clock.getAsLong();
+
+        Verified cached = cache.get(key);
+        if (cached != null) {
+            if (now < cached.expiresAtMs()) return cached;
+            cache.remove(key, cached);
+        }
+
+        Map<String, Object> claims = JWTUtil.validateToken(token);
+        Verified verified = toVerified(claims, now);
+
+        if (verified.expiresAtMs() > now) {
+            if (cache.size() >= maxEntries) evict(now);
+            cache.put(key, verified);
+        }
+        return verified;
+    }
+
+    int size() {
+        return cache.size();
+    }
+
+    private Verified toVerified(Map<String, Object> claims, long now) {
+        Long userId = toLong(claims.get("id"));
+        if (userId == null) userId = toLong(claims.get("sub"));
+
+        long until = now + maxTtlMs;
+        Long exp = toLong(claims.get("exp"));
+        if (exp != null) until = Math.min(until, exp * 1000L);
+
+        Object fid = claims.get("fid");
+        String familyId = (fid instanceof String s) ? s : null;
+
+        return new Verified(Collections.unmodifiableMap(claims), userId, familyId, toUser(userId, claims), until);
+    }
+
+    private static UserDTO toUser(Long id, Map<String, Object> claims) {
+        @SuppressWarnings("unchecked")
+        List<String> roleNames = (List<String>) claims.get("roleNames");
+
+        // ✅ 여기서 ROLE_ 붙이지 말 것!
+        // UserDTO가 authorities 만들 때 ROLE_ 붙이니까 여기서는 ADMIN 형태로 통일
+        List<String> pureRoles = (roleNames == null) ? List.of()
+                : roleNames.stream()
+                .map(r -> r.startsWith("ROLE_") ? r.substring("ROLE_".length()) : r)
+                .toList();
+
+        return new UserDTO(
+                id,
+                (String) claims.get("employeeNo"),
+                "",
+                (String) claims.get("name"),
+                (String) claims.get("email"),
+                (String) claims.get("departmentName"),
+                true,
+                false,
+                0,
+                pureRoles
+        );
+    }
+
+    // 만료 항목 정리 → 그래도 가득이면 10% 비움 (동시에 한 스레드만)
+    private void evict(long now) {
+        if (!sweeping.compareAndSet(false, true)) return;
+        try {
+            cache.values().removeIf(v -> v.expiresAtMs() <= now);
+
+            int excess = cache.size() - (maxEntries - maxEntries / 10);
+            Iterator<TokenKey> it = cache.keySet().iterator();
+            while (excess-- > 0 && it.hasNext()) {
+                it.next();
+                it.remove();
+            }
+            log.debug("[JWT] cache evicted, size={}", cache.size());
+        } finally {
+            sweeping.set(false);
+        }
+    }
+
+    private static TokenKey keyOf(String token) {
+        MessageDigest md = SHA256.get();
+        ByteBuffer h = ByteBuffer.wrap(md.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        return new TokenKey(h.getLong(), h.getLong(), h.getLong(), h.getLong());
+    }
+
+    private static Long toLong(Object v) {
+        if (v instanceof Number n) return n.longValue();
+        if (v instanceof String s) {
+            try {
+                return Long.valueOf(s.trim());
+            } catch (NumberFormatException ignored) {
+                return null;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,46 @@
+package com.Team1_Back.security.filter;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 요청한 클라이언트 IP (로그인 시도 제한 키)
+ *
+ * - 기본은 getRemoteAddr(). 클라이언트가 보낸 X-Forwarded-For 는 위조할 수 있으므로 그대로 믿지 않음
+ * - 프록시 뒤라면 server.forward-headers-strategy(native / framework) 로 remoteAddr 를 바로잡거나,
+ *   com.mallapi.auth.trusted-proxies 에 프록시 IP 를 적어두면 그 프록시에서 온 요청만 XFF 를 봄
+ *   (XFF 를 오른쪽부터 읽어 신뢰하는 프록시가 아닌 첫 주소)
+ */
+@Component
+public class ClientIpResolver {
+
+    private final Set<String> trustedProxies;
+
+    public ClientIpResolver(@Value("${com.mallapi.auth.trusted-proxies:}") String trustedProxies) {
+        this.trustedProxies = Arrays.stream(trustedProxies.split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    public String resolve(HttpServletRequest request) {
+        String remote = request.getRemoteAddr();
+        if (trustedProxies.isEmpty() || !trustedProxies.contains(remote)) return remote;
+
+        String xff = request.getHeader("X-Forwarded-For");
+        if (xff == null || xff.isBlank()) return remote;
+
+        String[] hops = xff.split(",");
+        for (int i = hops.length - 1; i >= 0; i--) {
+            String hop = hops[i].trim();
+            if (hop.isEmpty()) continue;
+            if (!trustedProxies.contains(hop)) return hop;
+        }
+        return remote;
+    }
+}
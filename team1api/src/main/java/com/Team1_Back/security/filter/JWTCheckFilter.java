@@ -1,25 +1,33 @@
 package com.Team1_Back.security.filter;
 
 import com.Team1_Back.dto.UserDTO;
-import com.Team1_Back.util.JWTUtil;
+import com.Team1_Back.security.JWTVerifier;
+import com.Team1_Back.security.token.RevocationList;
+import com.Team1_Back.util.CustomJWTException;
 import com.google.gson.Gson;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @Slf4j
+@RequiredArgsConstructor
 public class JWTCheckFilter extends OncePerRequestFilter {
 
+    private static final String ERROR_BODY =
+            new Gson().toJson(Map.of("success", false, "message", "ERROR_ACCESS_TOKEN"));
+
+    private final JWTVerifier jwtVerifier;
+    private final RevocationList revocationList;
+
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) throws ServletException {
 
@@ -41,13 +49,6 @@ public class JWTCheckFilter extends OncePerRequestFilter {
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
 
-        log.info("[JWTCHK] {} {} auth={}",
-                request.getMethod(),
-                request.getRequestURI(),
-                request.getHeader("Authorization"));
-
-
-
         // ✅ 1) Preflight는 무조건 패스
         if ("OPTIONS".equalsIgnoreCase(request.getMethod())) {
             filterChain.doFilter(request, response);
@@ -63,7 +64,8 @@ public class JWTCheckFilter extends OncePerRequestFilter {
         }
         String authHeader = request.getHeader("Authorization");
 
-        log.debug("[JWT] path={}, authHeaderPresent={}", path, authHeader != null);
+        // 토큰 원문은 로그에 남기지 않음
+        log.debug("[JWT] {} {} authHeaderPresent={}", request.getMethod(), path, authHeader != null);
 
         // ✅ 토큰이 없거나 Bearer 형식이 아니면 "그냥 통과"
         // (최종 차단은 SecurityConfig의 authorizeHttpRequests가 함)
@@ -74,58 +76,30 @@ public class JWTCheckFilter extends OncePerRequestFilter {
 
         String accessToken = authHeader.substring(7);
 
+        UserDTO userDTO;
         try {
-            Map<String, Object> claims = JWTUtil.validateToken(accessToken);
-            log.debug("[JWT] claims={}", claims);
-
-            Long id = claims.get("id") != null ? ((Number) claims.get("id")).longValue() : null;
-            String employeeNo = (String) claims.get("employeeNo");
-            String name = (String) claims.get("name");
-            String email = (String) claims.get("email");
-            String departmentName = (String) claims.get("departmentName");
-
-            @SuppressWarnings("unchecked")
-            List<String> roleNames = (List<String>) claims.get("roleNames");
-
-            // ✅ 여기서 ROLE_ 붙이지 말 것!
-            // UserDTO가 authorities 만들 때 ROLE_ 붙이니까 여기서는 ADMIN 형태로 통일
-            List<String> pureRoles = (roleNames == null) ? List.of()
-                    : roleNames.stream()
-                    .map(r -> r.startsWith("ROLE_") ? r.substring("ROLE_".length()) : r) // 혹시 토큰이 ROLE_ADMIN이면 ADMIN으로
-                    .collect(Collectors.toList());
-
-            UserDTO userDTO = new UserDTO(
-                    id,
-                    employeeNo,
-                    "",
-                    name,
-                    email,
-                    departmentName,
-                    true,
-                    false,
-                    0,
-                    pureRoles
-            );
-
-            // ✅ 디버깅용: 지금 authorities가 ROLE_ADMIN인지 확인
-            log.debug("[JWT] authorities={}", userDTO.getAuthorities());
-
-            UsernamePasswordAuthenticationToken auth =
-                    new UsernamePasswordAuthenticationToken(userDTO, null, userDTO.getAuthorities());
-
-            SecurityContextHolder.getContext().setAuthentication(auth);
-
-            filterChain.doFilter(request, response);
-
+            // 같은 토큰이면 캐시된 principal 재사용
+            JWTVerifier.Verified verified = jwtVerifier.verify(accessToken);
+
+            // 로그아웃/재사용 감지로 폐기된 family (대부분 bloom filter 에서 끝남)
+            if (revocationList.isRevoked(verified.familyId())) {
+                throw new CustomJWTException("Revoked");
+            }
+            userDTO = verified.user();
         } catch (Exception e) {
             log.warn("[JWT] invalid token: {}", e.toString());
 
-            Gson gson = new Gson();
-            String msg = gson.toJson(Map.of("success", false, "message", "ERROR_ACCESS_TOKEN"));
-
             response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
             response.setContentType("application/json; charset=UTF-8");
-            response.getWriter().write(msg);
+            response.getWriter().write(ERROR_BODY);
+            return;
         }
+
+        UsernamePasswordAuthenticationToken auth =
+                new UsernamePasswordAuthenticationToken(userDTO, null, userDTO.getAuthorities());
+
+        SecurityContextHolder.getContext().setAuthentication(auth);
+
+        filterChain.doFilter(request, response);
     }
 }
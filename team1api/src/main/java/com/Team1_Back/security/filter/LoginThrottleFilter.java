@@ -0,0 +1,66 @@
+package com.Team1_Back.security.filter;
+
+import com.Team1_Back.security.lockout.LoginThrottleService;
+import com.google.gson.Gson;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * 로그인 요청 시도 제한
+ *
+ * UsernamePasswordAuthenticationFilter 앞에서 사번 / IP 별 시도 횟수를 확인하고,
+ * 초과하면 사용자 조회 / BCrypt 비교 없이 429 로 바로 응답
+ * Face ID 로그인(POST /api/face/login)은 사번이 없으므로 IP 기준으로만 (별도 한도)
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class LoginThrottleFilter extends OncePerRequestFilter {
+
+    private static final String LOGIN_PATH = "/api/auth/login";
+    private static final String FACE_LOGIN_PATH = "/api/face/login";
+
+    private final LoginThrottleService throttleService;
+    private final ClientIpResolver clientIpResolver;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) throws ServletException {
+        if (!"POST".equalsIgnoreCase(request.getMethod())) return true;
+        String uri = request.getRequestURI();
+        return !LOGIN_PATH.equals(uri) && !FACE_LOGIN_PATH.equals(uri);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        String ip = clientIpResolver.resolve(request);
+        long waitMs = FACE_LOGIN_PATH.equals(request.getRequestURI())
+                ? throttleService.acquireFace(ip)
+                : throttleService.acquire(request.getParameter("employeeNo"), ip);
+        if (waitMs <= 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long seconds = Math.max(1, (waitMs + 999) / 1000);
+        String jsonStr = new Gson().toJson(Map.of(
+                "success", false,
+                "error", "TOO_MANY_ATTEMPTS",
+                "message", "로그인 시도가 너무 많습니다. " + seconds + "초 후 다시 시도하세요.",
+                "retryAfter", seconds
+        ));
+
+        response.setStatus(429);
+        response.setHeader("Retry-After", String.valueOf(seconds));
+        response.setContentType("application/json; charset=UTF-8");
+        response.getWriter().write(jsonStr);
+    }
+}
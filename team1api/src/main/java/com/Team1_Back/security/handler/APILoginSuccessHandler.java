@@ -10,7 +10,7 @@ import org.springframework.security.web.authentication.AuthenticationSuccessHand
 
 import com.Team1_Back.dto.UserDTO;
 import com.Team1_Back.security.listener.LoginSuccessEvent;
-import com.Team1_Back.util.JWTUtil;
+import com.Team1_Back.security.token.RefreshTokenService;
 import com.google.gson.Gson;
 
 import jakarta.servlet.ServletException;
@@ -24,6 +24,7 @@ import lombok.extern.slf4j.Slf4j;
 public class APILoginSuccessHandler implements AuthenticationSuccessHandler {
 
     private final ApplicationEventPublisher eventPublisher;
+    private final RefreshTokenService refreshTokenService;
 
     @Override
     public void onAuthenticationSuccess(HttpServletRequest request, HttpServletResponse response,
@@ -36,23 +37,21 @@ public class APILoginSuccessHandler implements AuthenticationSuccessHandler {
 
         log.info("로그인 성공 - 사번: {}, IP: {}", userDTO.getEmployeeNo(), ipAddress);
 
-        // 이벤트 발행 (실패 횟수 초기화, 로그인 기록 저장)
-        eventPublisher.publishEvent(new LoginSuccessEvent(userDTO.getEmployeeNo(), ipAddress));
+        // 이벤트 발행 (실패 횟수 초기화, 출석체크, 로그인 기록 저장은 리스너에서 비동기 처리)
+        eventPublisher.publishEvent(new LoginSuccessEvent(
+                userDTO.getId(), userDTO.getEmployeeNo(), ipAddress, userDTO.getFailedLoginCount()));
 
         // ═══════════════════════════════════════════════════════════════
         // JWT 토큰 생성
         // ═══════════════════════════════════════════════════════════════
         Map<String, Object> claims = userDTO.getClaims();
 
-        // Access Token: 60분 유효
-        String accessToken = JWTUtil.generateToken(claims, 60*3);
-
-        // Refresh Token: 24시간 유효
-        String refreshToken = JWTUtil.generateToken(claims, 60 * 24);
+        // Access Token: 60분 유효 / Refresh Token: 24시간 유효 (새 family)
+        RefreshTokenService.Tokens tokens = refreshTokenService.issue(claims, 60*3);
 
         // 응답에 토큰 추가
-        claims.put("accessToken", accessToken);
-        claims.put("refreshToken", refreshToken);
+        claims.put("accessToken", tokens.accessToken());
+        claims.put("refreshToken", tokens.refreshToken());
         claims.put("success", true);
         claims.put("message", "로그인 성공");
 
@@ -1,119 +1,147 @@
 package com.Team1_Back.security.listener;
 
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import com.Team1_Back.domain.LoginAttempt;
-import com.Team1_Back.domain.User;
-import com.Team1_Back.repository.LoginAttemptRepository;
 import com.Team1_Back.repository.UserRepository;
-import com.Team1_Back.service.MypageService; // ✅ 추가
+import com.Team1_Back.security.lockout.LoginLockoutService;
+import com.Team1_Back.service.LoginAttemptWriter;
+import com.Team1_Back.service.MypageService;
+import com.Team1_Back.util.StripedExecutor;
 
-import lombok.RequiredArgsConstructor;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * 로그인 이벤트 리스너
  *
- * Handler에서 발행한 이벤트를 받아서 DB 작업을 처리합니다.
- * 
- * @Component로 등록되어 Repository 주입이 가능합니다.
+ * Handler에서 발행한 이벤트를 받아서 후속 작업을 처리합니다.
+ *
+ * - 로그인 요청 스레드에서는 실패 횟수(Redis) 증가 / 초기화만 하고 바로 반환
+ * - DB 작업(잠금 저장, 자동 출석체크)은 사번별 순서를 지키는 비동기 풀에서 처리
+ *   → 같은 사번의 성공/실패는 발생 순서대로 반영 (풀이 밀리면 잠깐 기다린 뒤 버림, 요청 스레드에서 실행하지 않음)
+ * - users 는 잠금 기준에 도달했을 때만 갱신 (실패할 때마다 row 를 쓰지 않음)
+ * - 로그인 기록은 요청 스레드에서 LoginAttemptWriter 큐에 넣기만 하고 (DB 작업 없음) 모아서 multi-row INSERT
  */
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class LoginEventListener {
 
+    private static final String DEFAULT_FAIL_MESSAGE = "사번 또는 비밀번호가 올바르지 않습니다.";
+
     private final UserRepository userRepository;
-    private final LoginAttemptRepository loginAttemptRepository;
-    private final MypageService mypageService; // ✅ 추가
+    private final MypageService mypageService;
+    private final LoginAttemptWriter loginAttemptWriter;
+    private final LoginLockoutService lockoutService;
+    private final TransactionTemplate tx;
+    private final StripedExecutor executor;
+
+    public LoginEventListener(
+            UserRepository userRepository,
+            MypageService mypageService,
+            LoginAttemptWriter loginAttemptWriter,
+            LoginLockoutService lockoutService,
+            TransactionTemplate tx,
+            @Value("${com.mallapi.auth.login-event.workers:4}") int workers,
+            @Value("${com.mallapi.auth.login-event.queue:1000}") int queue,
+            @Value("${com.mallapi.auth.login-event.offer-timeout-ms:50}") long offerTimeoutMs
+    ) {
+        this.userRepository = userRepository;
+        this.mypageService = mypageService;
+        this.loginAttemptWriter = loginAttemptWriter;
+        this.lockoutService = lockoutService;
+        this.tx = tx;
+        this.executor = new StripedExecutor("login-event", workers, queue, offerTimeoutMs);
+    }
 
-    private static final int MAX_FAILED_ATTEMPTS = 5;
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown(5_000);
+    }
 
     /**
      * 로그인 성공 이벤트 처리
      */
     @EventListener
-    // @Transactional
-    // Transaction silently rolled back because it has been marked as rollback-only
-    // 문제 발생
     public void handleLoginSuccess(LoginSuccessEvent event) {
 
         log.info("로그인 성공 이벤트 처리 - 사번: {}", event.getEmployeeNo());
 
-        User user = userRepository.findByEmployeeNo(event.getEmployeeNo())
-                .orElse(null);
-
-        if (user != null) {
-            // 실패 횟수 초기화
-            user.resetFailedLoginCount();
-            userRepository.save(user);
-
-            // ✅ 자동 출석체크 추가 (별도 트랜잭션으로 실행)
-            try {
-                // 별도 트랜잭션으로 실행하여 메인 트랜잭션에 영향 없도록
-                mypageService.checkIn(user.getId());
-                log.info("자동 출석체크 완료 - 사번: {}", event.getEmployeeNo());
-            } catch (RuntimeException e) {
-                // 이미 출석 처리된 경우나 기타 오류는 무시 (로그인은 성공)
-                log.warn("자동 출석체크 실패 (무시) - 사번: {}, 오류: {}", event.getEmployeeNo(), e.getMessage());
-            } catch (Exception e) {
-                // 예상치 못한 오류도 무시 (로그인은 성공)
-                log.error("자동 출석체크 중 예외 발생 (무시) - 사번: {}", event.getEmployeeNo(), e);
-            }
+        // 실패 기록이 있을 때만 초기화 (다음 실패가 0 부터 세어지도록 요청 스레드에서)
+        if (event.getFailedLoginCount() > 0) {
+            lockoutService.reset(event.getEmployeeNo());
         }
 
-        // 로그인 성공 기록 저장
-        saveLoginAttempt(event.getEmployeeNo(), event.getIpAddress(), true);
+        // 로그인 성공 기록 (큐에 넣기만 함, 비동기 풀이 밀려 후속 작업이 버려져도 기록은 남음)
+        loginAttemptWriter.enqueue(event.getEmployeeNo(), event.getIpAddress(), true);
+
+        executor.execute(event.getEmployeeNo(), () -> afterSuccess(event));
     }
 
     // 로그인 실패 로직
     @EventListener
-    @Transactional
     public void handleLoginFailure(LoginFailEvent event) {
 
         log.info("로그인 실패 이벤트 처리 - 사번: {}", event.getEmployeeNo());
 
-        User user = userRepository.findByEmployeeNo(event.getEmployeeNo())
-                .orElse(null);
-
-        if (user == null) {
-            // 존재하지 않는 사번
-            saveLoginAttempt(event.getEmployeeNo(), event.getIpAddress(), false);
-            event.setErrorMessage("사번 또는 비밀번호가 올바르지 않습니다.");
-            return;
+        String employeeNo = event.getEmployeeNo();
+        int failures = (employeeNo == null) ? 0 : lockoutService.recordFailure(employeeNo);
+
+        // 사번 존재 여부와 상관없이 같은 규칙으로 응답 (DB 조회 없음)
+        if (failures <= 0) {
+            event.setErrorMessage(DEFAULT_FAIL_MESSAGE);
+        } else if (lockoutService.isLocked(failures)) {
+            log.warn("계정 잠금 처리: {} ({}회 실패)", employeeNo, failures);
+            event.setErrorMessage("로그인 " + lockoutService.maxAttempts() + "회 실패로 계정이 잠겼습니다. 관리자에게 문의하세요.");
+        } else {
+            int remainingAttempts = lockoutService.maxAttempts() - failures;
+            event.setErrorMessage(DEFAULT_FAIL_MESSAGE + " (남은 시도: " + remainingAttempts + "회)");
         }
 
-        // 실패 횟수 증가
-        user.increaseFailedLoginCount();
-
-        // 5회 초과 시 계정 잠금
-        if (user.getFailedLoginCount() >= MAX_FAILED_ATTEMPTS) {
-            user.lock();
-            log.warn("계정 잠금 처리: {} ({}회 실패)", event.getEmployeeNo(), MAX_FAILED_ATTEMPTS);
-            userRepository.save(user);
-            saveLoginAttempt(event.getEmployeeNo(), event.getIpAddress(), false);
-            event.setErrorMessage("로그인 5회 실패로 계정이 잠겼습니다. 관리자에게 문의하세요.");
-            return;
-        }
+        loginAttemptWriter.enqueue(employeeNo, event.getIpAddress(), false);
+
+        executor.execute(employeeNo, () -> afterFailure(employeeNo, failures));
+    }
 
-        userRepository.save(user);
-        saveLoginAttempt(event.getEmployeeNo(), event.getIpAddress(), false);
+    private void afterSuccess(LoginSuccessEvent event) {
+        if (event.getFailedLoginCount() > 0) {
+            tx.executeWithoutResult(s -> userRepository.resetFailedLoginCount(event.getEmployeeNo()));
+        }
 
-        int remainingAttempts = MAX_FAILED_ATTEMPTS - user.getFailedLoginCount();
-        event.setErrorMessage("사번 또는 비밀번호가 올바르지 않습니다. (남은 시도: " + remainingAttempts + "회)");
+        // ✅ 자동 출석체크 (checkIn 자체 트랜잭션)
+        if (event.getUserId() != null) {
+            try {
+                mypageService.checkIn(event.getUserId());
+                log.info("자동 출석체크 완료 - 사번: {}", event.getEmployeeNo());
+            } catch (RuntimeException e) {
+                // 이미 출석 처리된 경우나 기타 오류는 무시 (로그인은 성공)
+                log.warn("자동 출석체크 실패 (무시) - 사번: {}, 오류: {}", event.getEmployeeNo(), e.getMessage());
+            }
+        }
     }
 
-    /**
-     * 로그인 시도 기록 저장
-     */
-    private void saveLoginAttempt(String employeeNo, String ipAddress, boolean success) {
-        LoginAttempt loginAttempt = LoginAttempt.builder()
-                .employeeNo(employeeNo)
-                .ipAddress(ipAddress)
-                .success(success)
-                .build();
-        loginAttemptRepository.save(loginAttempt);
+    private void afterFailure(String employeeNo, int failures) {
+        if (employeeNo != null) {
+            if (failures < 0) {
+                // 저장소 오류면 예전처럼 DB 에서 증가 / 잠금
+                tx.executeWithoutResult(s -> {
+                    if (userRepository.increaseFailedLoginCount(employeeNo) > 0
+                            && userRepository.lockIfExceeded(employeeNo, lockoutService.maxAttempts(), LocalDateTime.now()) > 0) {
+                        log.warn("계정 잠금 저장: {}", employeeNo);
+                    }
+                });
+            } else if (lockoutService.isLocked(failures)) {
+                // 기준에 도달했을 때만 DB 에 남김 (그 전 실패는 Redis 에만)
+                tx.executeWithoutResult(s -> {
+                    if (userRepository.lock(employeeNo, failures, LocalDateTime.now()) > 0) {
+                        log.warn("계정 잠금 저장: {}", employeeNo);
+                    }
+                });
+            }
+        }
     }
-}
\ No newline at end of file
+}
@@ -10,6 +10,9 @@ import lombok.Getter;
 @AllArgsConstructor
 public class LoginSuccessEvent {
 
+    private final Long userId;
     private final String employeeNo;
     private final String ipAddress;
+    // 인증 시점의 실패 횟수 (0 이면 초기화할 것이 없음)
+    private final int failedLoginCount;
 }
\ No newline at end of file
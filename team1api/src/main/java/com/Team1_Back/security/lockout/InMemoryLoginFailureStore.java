@@ -0,0 +1,62 @@
+package com.Team1_Back.security.lockout;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * 단일 JVM 용 LoginFailureStore (com.mallapi.auth.lockout-store=memory)
+ * 의미는 RedisLoginFailureStore 와 동일. 만료된 항목은 다음 접근 때 정리
+ */
+@Component
+@ConditionalOnProperty(name = "com.mallapi.auth.lockout-store", havingValue = "memory")
+public class InMemoryLoginFailureStore implements LoginFailureStore {
+
+    private static final int SWEEP_THRESHOLD = 10_000;
+
+    private record Counter(int count, long expiresAtMs) {}
+
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final LongSupplier clockMs;
+
+    public InMemoryLoginFailureStore() {
+        this(System::currentTimeMillis);
+    }
+
+    // 테스트에서 시간을 직접 움직이기 위한 생성자
+    public InMemoryLoginFailureStore(LongSupplier clockMs) {
+        this.clockMs = clockMs;
+    }
+
+    @Override
+    public int increment(String employeeNo, long windowMs) {
+        long now = clockMs.getAsLong();
+        // 없는 사번으로 계속 틀려도 무한히 쌓이지 않도록 가끔 만료 항목 정리
+        if (counters.size() > SWEEP_THRESHOLD) {
+            counters.values().removeIf(c -> c.expiresAtMs() <= now);
+        }
+        return counters.compute(employeeNo, (k, c) -> {
+            int prev = (c == null || c.expiresAtMs() <= now) ? 0 : c.count();
+            return new Counter(prev + 1, now + windowMs);
+        }).count();
+    }
+
+    @Override
+    public int get(String employeeNo) {
+        Counter c = counters.get(employeeNo);
+        if (c == null) return 0;
+        if (c.expiresAtMs() <= clockMs.getAsLong()) {
+            counters.remove(employeeNo, c);
+            return 0;
+        }
+        return c.count();
+    }
+
+    @Override
+    public void reset(String employeeNo) {
+        counters.remove(employeeNo);
+    }
+}
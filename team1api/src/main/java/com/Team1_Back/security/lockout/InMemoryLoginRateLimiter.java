@@ -0,0 +1,68 @@
+package com.Team1_Back.security.lockout;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * 단일 JVM 용 LoginRateLimiter (com.mallapi.auth.lockout-store=memory)
+ *
+ * sliding window 대신 token bucket: 용량 limit, windowMs 동안 limit 개가 다시 참
+ * → 오래 쉬었다가 몰아서 limit 번까지, 평균은 window 당 limit 번으로 같은 효과
+ */
+@Component
+@ConditionalOnProperty(name = "com.mallapi.auth.lockout-store", havingValue = "memory")
+public class InMemoryLoginRateLimiter implements LoginRateLimiter {
+
+    private static final int SWEEP_THRESHOLD = 10_000;
+
+    private static final class Bucket {
+        double tokens;
+        long updatedAtMs;
+
+        Bucket(double tokens, long updatedAtMs) {
+            this.tokens = tokens;
+            this.updatedAtMs = updatedAtMs;
+        }
+    }
+
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final LongSupplier clockMs;
+
+    public InMemoryLoginRateLimiter() {
+        this(System::currentTimeMillis);
+    }
+
+    // 테스트에서 시간을 직접 움직이기 위한 생성자
+    public InMemoryLoginRateLimiter(LongSupplier clockMs) {
+        this.clockMs = clockMs;
+    }
+
+    @Override
+    public long tryAcquire(String key, int limit, long windowMs) {
+        long now = clockMs.getAsLong();
+        double perMs = (double) limit / windowMs;
+
+        // 다 찬 bucket 은 없는 것과 같으므로 정리
+        if (buckets.size() > SWEEP_THRESHOLD) {
+            buckets.values().removeIf(b -> now - b.updatedAtMs >= windowMs);
+        }
+
+        long[] wait = new long[1];
+        buckets.compute(key, (k, b) -> {
+            if (b == null) b = new Bucket(limit, now);
+            b.tokens = Math.min(limit, b.tokens + (now - b.updatedAtMs) * perMs);
+            b.updatedAtMs = now;
+            if (b.tokens >= 1) {
+                b.tokens -= 1;
+            } else {
+                wait[0] = Math.max(1, (long) Math.ceil((1 - b.tokens) / perMs));
+            }
+            return b;
+        });
+        return wait[0];
+    }
+}
@@ -0,0 +1,26 @@
+package com.Team1_Back.security.lockout;
+
+/**
+ * 사번별 연속 로그인 실패 횟수 저장소
+ *
+ * 여러 노드가 같은 값을 보도록 기본은 Redis (com.mallapi.auth.lockout-store=redis|memory)
+ */
+public interface LoginFailureStore {
+
+    /**
+     * 실패 1회 추가 (원자적). 마지막 실패로부터 windowMs 동안 유지
+     *
+     * @return 추가 후 실패 횟수
+     */
+    int increment(String employeeNo, long windowMs);
+
+    /**
+     * @return 현재 실패 횟수 (없으면 0)
+     */
+    int get(String employeeNo);
+
+    /**
+     * 로그인 성공 / 잠금 해제 시 초기화
+     */
+    void reset(String employeeNo);
+}
@@ -0,0 +1,75 @@
+package com.Team1_Back.security.lockout;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * 로그인 실패 횟수 / 계정 잠금 판단
+ *
+ * - 실패 횟수는 LoginFailureStore(Redis) 에서 원자적으로 증가 → 로그인 요청은 DB 를 건드리지 않음
+ * - max-attempts 에 도달하면 잠금. DB(users.locked_at) 반영은 LoginEventListener 가 비동기로 처리하고,
+ *   반영 전에 들어온 요청도 여기서 잠금으로 판단
+ * - 저장소 오류 시 로그인 자체는 막지 않음 (DB 잠금 상태는 그대로 적용)
+ */
+@Slf4j
+@Service
+public class LoginLockoutService {
+
+    private final LoginFailureStore store;
+    private final int maxAttempts;
+    private final long windowMs;
+
+    public LoginLockoutService(
+            LoginFailureStore store,
+            @Value("${com.mallapi.auth.lockout.max-attempts:5}") int maxAttempts,
+            @Value("${com.mallapi.auth.lockout.window-minutes:1440}") long windowMinutes
+    ) {
+        this.store = store;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.windowMs = Math.max(1, windowMinutes) * 60_000L;
+    }
+
+    public int maxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * @return 증가 후 실패 횟수 (저장소 오류면 -1)
+     */
+    public int recordFailure(String employeeNo) {
+        try {
+            return store.increment(employeeNo, windowMs);
+        } catch (Exception e) {
+            log.warn("[LOCKOUT] increment failed employeeNo={}: {}", employeeNo, e.getMessage());
+            return -1;
+        }
+    }
+
+    /**
+     * @return 현재 실패 횟수 (저장소 오류면 0)
+     */
+    public int failures(String employeeNo) {
+        try {
+            return store.get(employeeNo);
+        } catch (Exception e) {
+            log.warn("[LOCKOUT] read failed employeeNo={}: {}", employeeNo, e.getMessage());
+            return 0;
+        }
+    }
+
+    public boolean isLocked(int failures) {
+        return failures >= maxAttempts;
+    }
+
+    /**
+     * 로그인 성공 / 관리자 잠금 해제
+     */
+    public void reset(String employeeNo) {
+        try {
+            store.reset(employeeNo);
+        } catch (Exception e) {
+            log.warn("[LOCKOUT] reset failed employeeNo={}: {}", employeeNo, e.getMessage());
+        }
+    }
+}
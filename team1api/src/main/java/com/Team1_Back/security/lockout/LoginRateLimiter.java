@@ -0,0 +1,17 @@
+package com.Team1_Back.security.lockout;
+
+/**
+ * 로그인 시도 횟수 제한 (키 = 사번 또는 IP)
+ *
+ * 허용된 시도만 횟수에 포함 → 거절이 계속돼도 저장 공간은 limit 개를 넘지 않음
+ * 기본은 Redis sliding window (com.mallapi.auth.lockout-store=redis|memory)
+ */
+public interface LoginRateLimiter {
+
+    /**
+     * 최근 windowMs 동안 limit 회 미만이면 이번 시도를 기록하고 허용
+     *
+     * @return 0 이면 허용, 아니면 다시 시도할 수 있을 때까지 남은 ms
+     */
+    long tryAcquire(String key, int limit, long windowMs);
+}
@@ -0,0 +1,98 @@
+package com.Team1_Back.security.lockout;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * 로그인 시도 제한 (사번별 / IP 별 sliding window)
+ *
+ * - 인증(BCrypt 비교, 사용자 조회) 전에 LoginThrottleFilter 에서 호출 → 거절된 시도는 CPU / DB 를 쓰지 않음
+ * - IP 기준: 여러 사번을 돌려가며 시도하는 경우, 사번 기준: 여러 IP 에서 한 계정을 노리는 경우
+ *   IP 한도는 사무실 NAT(출근 시간 한 IP 에서 수백 명 로그인)를 감안해 넉넉하게, 계정 보호는 사번 한도가 담당
+ * - Face ID 로그인은 IP 기준만 (별도 키 / 한도, 한 번 인증에 0.5초 간격으로 여러 번 요청함)
+ * - 계정 잠금(LoginLockoutService) 과 별개. 제한은 시간이 지나면 풀리고 DB 에 남지 않음
+ * - 저장소 오류 시 제한하지 않음 (잠금 / 비밀번호 검증은 그대로 적용)
+ */
+@Slf4j
+@Service
+public class LoginThrottleService {
+
+    private final LoginRateLimiter limiter;
+    private final boolean enabled;
+    private final int ipLimit;
+    private final long ipWindowMs;
+    private final int userLimit;
+    private final long userWindowMs;
+    private final int faceIpLimit;
+    private final long faceIpWindowMs;
+
+    public LoginThrottleService(
+            LoginRateLimiter limiter,
+            @Value("${com.mallapi.auth.throttle.enabled:true}") boolean enabled,
+            @Value("${com.mallapi.auth.throttle.ip-limit:300}") int ipLimit,
+            @Value("${com.mallapi.auth.throttle.ip-window-seconds:60}") long ipWindowSeconds,
+            @Value("${com.mallapi.auth.throttle.user-limit:10}") int userLimit,
+            @Value("${com.mallapi.auth.throttle.user-window-seconds:60}") long userWindowSeconds,
+            @Value("${com.mallapi.auth.throttle.face-ip-limit:600}") int faceIpLimit,
+            @Value("${com.mallapi.auth.throttle.face-ip-window-seconds:60}") long faceIpWindowSeconds
+    ) {
+        this.limiter = limiter;
+        this.enabled = enabled;
+        this.ipLimit = Math.max(1, ipLimit);
+        this.ipWindowMs = Math.max(1, ipWindowSeconds) * 1000L;
+        this.userLimit = Math.max(1, userLimit);
+        this.userWindowMs = Math.max(1, userWindowSeconds) * 1000L;
+        this.faceIpLimit = Math.max(1, faceIpLimit);
+        this.faceIpWindowMs = Math.max(1, faceIpWindowSeconds) * 1000L;
+    }
+
+    /**
+     * 이번 로그인 시도를 기록하고 허용 여부 판단
+     *
+     * @return 0 이면 허용, 아니면 다시 시도할 수 있을 때까지 남은 ms
+     */
+    public long acquire(String employeeNo, String ipAddress) {
+        if (!enabled) return 0L;
+        try {
+            // IP 에서 거절되면 사번 쪽 횟수는 쓰지 않음
+            if (ipAddress != null && !ipAddress.isBlank()) {
+                long wait = limiter.tryAcquire("ip:" + ipAddress, ipLimit, ipWindowMs);
+                if (wait > 0) {
+                    log.warn("[THROTTLE] ip={} rejected, retry in {}ms", ipAddress, wait);
+                    return wait;
+                }
+            }
+            if (employeeNo != null && !employeeNo.isBlank()) {
+                long wait = limiter.tryAcquire("user:" + employeeNo, userLimit, userWindowMs);
+                if (wait > 0) {
+                    log.warn("[THROTTLE] employeeNo={} rejected, retry in {}ms", employeeNo, wait);
+                    return wait;
+                }
+            }
+            return 0L;
+        } catch (Exception e) {
+            log.warn("[THROTTLE] limiter unavailable, allowing: {}", e.getMessage());
+            return 0L;
+        }
+    }
+
+    /**
+     * Face ID 로그인 시도 (IP 기준만)
+     *
+     * @return 0 이면 허용, 아니면 다시 시도할 수 있을 때까지 남은 ms
+     */
+    public long acquireFace(String ipAddress) {
+        if (!enabled || ipAddress == null || ipAddress.isBlank()) return 0L;
+        try {
+            long wait = limiter.tryAcquire("face-ip:" + ipAddress, faceIpLimit, faceIpWindowMs);
+            if (wait > 0) {
+                log.warn("[THROTTLE] face ip={} rejected, retry in {}ms", ipAddress, wait);
+            }
+            return Math.max(0L, wait);
+        } catch (Exception e) {
+            log.warn("[THROTTLE] limiter unavailable, allowing: {}", e.getMessage());
+            return 0L;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.Team1_Back.security.lockout;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Redis 기반 LoginFailureStore
+ *
+ * - auth:fail:{employeeNo}  STRING 실패 횟수 (TTL = window, 실패할 때마다 연장)
+ *
+ * INCR + PEXPIRE 를 Lua 로 묶어 동시에 틀려도 횟수가 빠지지 않음
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "com.mallapi.auth.lockout-store", havingValue = "redis", matchIfMissing = true)
+public class RedisLoginFailureStore implements LoginFailureStore {
+
+    static final String KEY = "auth:fail:";
+
+    // ARGV: windowMs → 증가 후 값
+    private static final DefaultRedisScript<Long> INCREMENT = new DefaultRedisScript<>("""
+            local n = redis.call('incr', KEYS[1])
+            redis.call('pexpire', KEYS[1], ARGV[1])
+            return n
+            """, Long.class);
+
+    private final StringRedisTemplate redis;
+
+    @Override
+    public int increment(String employeeNo, long windowMs) {
+        Long n = redis.execute(INCREMENT, List.of(KEY + employeeNo), String.valueOf(windowMs));
+        return n == null ? 0 : n.intValue();
+    }
+
+    @Override
+    public int get(String employeeNo) {
+        String v = redis.opsForValue().get(KEY + employeeNo);
+        if (v == null) return 0;
+        try {
+            return Integer.parseInt(v);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    @Override
+    public void reset(String employeeNo) {
+        redis.delete(KEY + employeeNo);
+    }
+}
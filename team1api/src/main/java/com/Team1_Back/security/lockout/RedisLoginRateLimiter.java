@@ -0,0 +1,49 @@
+package com.Team1_Back.security.lockout;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Redis 기반 LoginRateLimiter (sliding window log)
+ *
+ * - auth:throttle:{key}  ZSET 시도 id → 시도 시각 (TTL = window)
+ *
+ * 오래된 기록 정리 → 개수 확인 → 추가 를 Lua 로 한 번에 실행 (여러 노드가 동시에 와도 limit 초과 없음)
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "com.mallapi.auth.lockout-store", havingValue = "redis", matchIfMissing = true)
+public class RedisLoginRateLimiter implements LoginRateLimiter {
+
+    static final String KEY = "auth:throttle:";
+
+    // ARGV: nowMs, windowMs, limit, member → 0 이면 허용, 아니면 남은 ms
+    private static final DefaultRedisScript<Long> ACQUIRE = new DefaultRedisScript<>("""
+            local now = tonumber(ARGV[1])
+            local window = tonumber(ARGV[2])
+            redis.call('zremrangebyscore', KEYS[1], '-inf', now - window)
+            if redis.call('zcard', KEYS[1]) < tonumber(ARGV[3]) then
+                redis.call('zadd', KEYS[1], now, ARGV[4])
+                redis.call('pexpire', KEYS[1], window)
+                return 0
+            end
+            local oldest = redis.call('zrange', KEYS[1], 0, 0, 'WITHSCORES')
+            return math.max(1, tonumber(oldest[2]) + window - now)
+            """, Long.class);
+
+    private final StringRedisTemplate redis;
+
+    @Override
+    public long tryAcquire(String key, int limit, long windowMs) {
+        Long wait = redis.execute(ACQUIRE, List.of(KEY + key),
+                String.valueOf(System.currentTimeMillis()), String.valueOf(windowMs),
+                String.valueOf(limit), UUID.randomUUID().toString());
+        return wait == null ? 0L : wait;
+    }
+}
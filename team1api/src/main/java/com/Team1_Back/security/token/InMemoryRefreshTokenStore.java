@@ -0,0 +1,119 @@
+package com.Team1_Back.security.token;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * 단일 JVM 용 RefreshTokenStore (com.mallapi.auth.token-store=memory)
+ * Redis 없이 테스트하거나 노드 1대로 띄울 때 사용. 의미는 RedisRefreshTokenStore 와 동일
+ */
+@Component
+@ConditionalOnProperty(name = "com.mallapi.auth.token-store", havingValue = "memory")
+public class InMemoryRefreshTokenStore implements RefreshTokenStore {
+
+    private record Family(long userId, String tokenId, String prevTokenId, long prevUntilMs, long expiresAtMs) {}
+
+    private final Map<String, Family> families = new HashMap<>();
+    private final Map<Long, LinkedHashMap<String, Long>> sessions = new HashMap<>();
+    private final Map<String, Long> revoked = new HashMap<>();
+    private final Map<String, Long> consumedLegacy = new HashMap<>();
+    private final LongSupplier clockMs;
+
+    public InMemoryRefreshTokenStore() {
+        this(System::currentTimeMillis);
+    }
+
+    // 테스트에서 시간을 직접 움직이기 위한 생성자
+    public InMemoryRefreshTokenStore(LongSupplier clockMs) {
+        this.clockMs = clockMs;
+    }
+
+    @Override
+    public synchronized List<String> open(long userId, String familyId, String tokenId, long ttlMs, int maxSessions) {
+        long now = clockMs.getAsLong();
+        families.put(familyId, new Family(userId, tokenId, null, 0L, now + ttlMs));
+
+        LinkedHashMap<String, Long> mine = sessions.computeIfAbsent(userId, k -> new LinkedHashMap<>());
+        mine.put(familyId, now);
+        mine.keySet().removeIf(f -> live(f) == null);
+
+        List<String> evicted = new ArrayList<>();
+        List<String> ordered = new ArrayList<>(mine.keySet());
+        for (int i = 0; i < ordered.size() - Math.max(1, maxSessions); i++) {
+            revoke(ordered.get(i));
+            evicted.add(ordered.get(i));
+        }
+        return evicted;
+    }
+
+    @Override
+    public synchronized RotateResult rotate(String familyId, String presentedTokenId, String nextTokenId, long ttlMs, long graceMs) {
+        Family f = live(familyId);
+        if (f == null) return new RotateResult(Rotation.UNKNOWN, null);
+
+        long now = clockMs.getAsLong();
+        if (f.tokenId().equals(presentedTokenId)) {
+            families.put(familyId, new Family(f.userId(), nextTokenId, presentedTokenId, now + graceMs, now + ttlMs));
+            return new RotateResult(Rotation.ROTATED, nextTokenId);
+        }
+        if (presentedTokenId.equals(f.prevTokenId()) && f.prevUntilMs() > now) {
+            return new RotateResult(Rotation.GRACE, f.tokenId());
+        }
+
+        families.remove(familyId);
+        revoked.put(familyId, now);
+        return new RotateResult(Rotation.REUSED, null);
+    }
+
+    @Override
+    public synchronized boolean consumeLegacy(String tokenHash, long ttlMs) {
+        long now = clockMs.getAsLong();
+        consumedLegacy.values().removeIf(until -> until <= now);
+        return consumedLegacy.putIfAbsent(tokenHash, now + Math.max(1, ttlMs)) == null;
+    }
+
+    @Override
+    public synchronized void revoke(String familyId) {
+        Family f = families.remove(familyId);
+        revoked.put(familyId, clockMs.getAsLong());
+        if (f != null) {
+            Map<String, Long> mine = sessions.get(f.userId());
+            if (mine != null) mine.remove(familyId);
+        }
+    }
+
+    @Override
+    public synchronized boolean isRevoked(String familyId) {
+        return revoked.containsKey(familyId);
+    }
+
+    @Override
+    public synchronized List<Revocation> revokedSince(long afterMs) {
+        List<Revocation> out = new ArrayList<>();
+        revoked.forEach((f, at) -> {
+            if (at >= afterMs) out.add(new Revocation(f, at));
+        });
+        return out;
+    }
+
+    @Override
+    public synchronized void pruneRevocations(long beforeMs) {
+        revoked.values().removeIf(at -> at <= beforeMs);
+    }
+
+    private Family live(String familyId) {
+        Family f = families.get(familyId);
+        if (f != null && f.expiresAtMs() <= clockMs.getAsLong()) {
+            families.remove(familyId);
+            return null;
+        }
+        return f;
+    }
+}
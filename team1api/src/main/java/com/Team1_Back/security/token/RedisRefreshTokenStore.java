@@ -0,0 +1,147 @@
+package com.Team1_Back.security.token;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Redis 기반 RefreshTokenStore
+ *
+ * - auth:rt:fam:{familyId}  HASH {uid, jti, prev, prevUntil}  (TTL = refresh token 수명)
+ * - auth:rt:user:{userId}   ZSET familyId → 생성 시각 (동시 세션 수 제한)
+ * - auth:rt:revoked         ZSET familyId → 폐기 시각
+ * - auth:rt:legacy:{sha256} STRING (TTL = 예전 토큰 남은 수명, 한 번 쓴 예전 토큰 표시)
+ *
+ * 교체(비교 + 변경)와 폐기는 Lua 스크립트로 원자 실행 → 같은 토큰으로 동시에 와도 한쪽만 ROTATED
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "com.mallapi.auth.token-store", havingValue = "redis", matchIfMissing = true)
+public class RedisRefreshTokenStore implements RefreshTokenStore {
+
+    static final String FAMILY_KEY = "auth:rt:fam:";
+    static final String USER_KEY = "auth:rt:user:";
+    static final String REVOKED_KEY = "auth:rt:revoked";
+    static final String LEGACY_KEY = "auth:rt:legacy:";
+
+    // ARGV: presented, next, ttlMs, nowMs, prevUntilMs, familyId → "결과:jti"
+    private static final DefaultRedisScript<String> ROTATE = new DefaultRedisScript<>("""
+            local cur = redis.call('hget', KEYS[1], 'jti')
+            if not cur then
+                return 'UNKNOWN:'
+            end
+            if cur == ARGV[1] then
+                redis.call('hset', KEYS[1], 'jti', ARGV[2], 'prev', ARGV[1], 'prevUntil', ARGV[5])
+                redis.call('pexpire', KEYS[1], ARGV[3])
+                return 'ROTATED:' .. ARGV[2]
+            end
+            if redis.call('hget', KEYS[1], 'prev') == ARGV[1]
+                    and tonumber(redis.call('hget', KEYS[1], 'prevUntil') or '0') > tonumber(ARGV[4]) then
+                return 'GRACE:' .. cur
+            end
+            redis.call('del', KEYS[1])
+            redis.call('zadd', KEYS[2], ARGV[4], ARGV[6])
+            return 'REUSED:'
+            """, String.class);
+
+    // ARGV: nowMs, familyId → uid (없으면 빈 문자열)
+    private static final DefaultRedisScript<String> REVOKE = new DefaultRedisScript<>("""
+            local uid = redis.call('hget', KEYS[1], 'uid')
+            redis.call('del', KEYS[1])
+            redis.call('zadd', KEYS[2], ARGV[1], ARGV[2])
+            return uid or ''
+            """, String.class);
+
+    private final StringRedisTemplate redis;
+
+    @Override
+    public List<String> open(long userId, String familyId, String tokenId, long ttlMs, int maxSessions) {
+        String userKey = USER_KEY + userId;
+
+        redis.opsForHash().putAll(FAMILY_KEY + familyId, Map.of("uid", String.valueOf(userId), "jti", tokenId));
+        redis.expire(FAMILY_KEY + familyId, Duration.ofMillis(ttlMs));
+        redis.opsForZSet().add(userKey, familyId, System.currentTimeMillis());
+        redis.expire(userKey, Duration.ofMillis(ttlMs));
+
+        // 오래된 순서. 이미 만료/폐기된 family 는 목록에서만 정리
+        Set<String> members = redis.opsForZSet().range(userKey, 0, -1);
+        if (members == null) return List.of();
+
+        List<String> live = new ArrayList<>();
+        for (String f : members) {
+            if (Boolean.TRUE.equals(redis.hasKey(FAMILY_KEY + f))) {
+                live.add(f);
+            } else {
+                redis.opsForZSet().remove(userKey, f);
+            }
+        }
+
+        List<String> evicted = new ArrayList<>();
+        for (int i = 0; i < live.size() - Math.max(1, maxSessions); i++) {
+            revoke(live.get(i));
+            evicted.add(live.get(i));
+        }
+        return evicted;
+    }
+
+    @Override
+    public RotateResult rotate(String familyId, String presentedTokenId, String nextTokenId, long ttlMs, long graceMs) {
+        long now = System.currentTimeMillis();
+        String r = redis.execute(ROTATE, List.of(FAMILY_KEY + familyId, REVOKED_KEY),
+                presentedTokenId, nextTokenId, String.valueOf(ttlMs), String.valueOf(now),
+                String.valueOf(now + graceMs), familyId);
+
+        if (r == null) return new RotateResult(Rotation.UNKNOWN, null);
+        int sep = r.indexOf(':');
+        String jti = r.substring(sep + 1);
+        return new RotateResult(Rotation.valueOf(r.substring(0, sep)), jti.isEmpty() ? null : jti);
+    }
+
+    @Override
+    public boolean consumeLegacy(String tokenHash, long ttlMs) {
+        return Boolean.TRUE.equals(redis.opsForValue()
+                .setIfAbsent(LEGACY_KEY + tokenHash, "1", Duration.ofMillis(Math.max(1, ttlMs))));
+    }
+
+    @Override
+    public void revoke(String familyId) {
+        String uid = redis.execute(REVOKE, List.of(FAMILY_KEY + familyId, REVOKED_KEY),
+                String.valueOf(System.currentTimeMillis()), familyId);
+        if (uid != null && !uid.isEmpty()) {
+            redis.opsForZSet().remove(USER_KEY + uid, familyId);
+        }
+    }
+
+    @Override
+    public boolean isRevoked(String familyId) {
+        return redis.opsForZSet().score(REVOKED_KEY, familyId) != null;
+    }
+
+    @Override
+    public List<Revocation> revokedSince(long afterMs) {
+        Set<ZSetOperations.TypedTuple<String>> rows =
+                redis.opsForZSet().rangeByScoreWithScores(REVOKED_KEY, afterMs, Double.POSITIVE_INFINITY);
+        if (rows == null) return List.of();
+
+        List<Revocation> out = new ArrayList<>(rows.size());
+        for (ZSetOperations.TypedTuple<String> t : rows) {
+            if (t.getValue() == null || t.getScore() == null) continue;
+            out.add(new Revocation(t.getValue(), t.getScore().longValue()));
+        }
+        return out;
+    }
+
+    @Override
+    public void pruneRevocations(long beforeMs) {
+        redis.opsForZSet().removeRangeByScore(REVOKED_KEY, 0, beforeMs);
+    }
+}
@@ -0,0 +1,203 @@
+package com.Team1_Back.security.token;
+
+import com.Team1_Back.security.JWTVerifier;
+import com.Team1_Back.util.CustomJWTException;
+import com.Team1_Back.util.JWTUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Access / Refresh Token 발급, 교체(rotation), 폐기
+ *
+ * - 로그인 = 새 family. Access/Refresh Token 모두 fid(family id) claim 을 가짐
+ * - Refresh Token 은 jti 를 가지며 refresh 할 때마다 새 jti 로 교체 (이전 토큰은 grace 이후 사용 불가)
+ * - 교체된 토큰이 다시 오면 family 폐기 → 같은 family 의 Access Token 도 JWTCheckFilter 에서 거부
+ * - fid 가 없는 예전 Refresh Token 은 한 번만 새 family 로 전환 (토큰 hash 를 저장소에 남겨 재사용 거부)
+ * - fid 는 있는데 jti 가 없는 토큰(Access Token)은 Refresh Token 으로 받지 않음
+ */
+@Slf4j
+@Service
+public class RefreshTokenService {
+
+    public static final String FAMILY_CLAIM = "fid";
+    public static final String TOKEN_ID_CLAIM = "jti";
+
+    private final RefreshTokenStore store;
+    private final RevocationList revocationList;
+    private final JWTVerifier jwtVerifier;
+
+    private final int refreshMinutes;
+    private final int maxSessions;
+    private final long reuseGraceMs;
+
+    public RefreshTokenService(
+            RefreshTokenStore store,
+            RevocationList revocationList,
+            JWTVerifier jwtVerifier,
+            @Value("${com.mallapi.auth.refresh.minutes:1440}") int refreshMinutes,
+            @Value("${com.mallapi.auth.refresh.max-sessions:5}") int maxSessions,
+            @Value("${com.mallapi.auth.refresh.reuse-grace-ms:10000}") long reuseGraceMs
+    ) {
+        this.store = store;
+        this.revocationList = revocationList;
+        this.jwtVerifier = jwtVerifier;
+        this.refreshMinutes = Math.max(1, refreshMinutes);
+        this.maxSessions = Math.max(1, maxSessions);
+        this.reuseGraceMs = Math.max(0, reuseGraceMs);
+    }
+
+    public record Tokens(String accessToken, String refreshToken) {}
+
+    /**
+     * 로그인 성공 시 새 family 로 발급
+     */
+    public Tokens issue(Map<String, Object> claims, int accessMinutes) {
+        Object id = claims.get("id");
+        if (!(id instanceof Number userId)) {
+            throw new CustomJWTException("Invalid");
+        }
+
+        String familyId = UUID.randomUUID().toString();
+        String tokenId = UUID.randomUUID().toString();
+
+        List<String> evicted = store.open(userId.longValue(), familyId, tokenId, refreshMinutes * 60_000L, maxSessions);
+        for (String f : evicted) {
+            revocationList.add(f);
+        }
+        if (!evicted.isEmpty()) {
+            log.info("[TOKEN] userId={} session limit {} → revoked {} family", userId, maxSessions, evicted.size());
+        }
+
+        return mint(claims, familyId, tokenId, accessMinutes);
+    }
+
+    /**
+     * Refresh Token 으로 새 Access Token + 새 Refresh Token 발급
+     *
+     * @throws CustomJWTException 검증 실패 / REUSED_REFRESH (재사용 감지, family 폐기) / REVOKED_REFRESH
+     */
+    public Tokens refresh(String refreshToken, int accessMinutes) {
+        Map<String, Object> claims = JWTUtil.validateToken(refreshToken);
+
+        String familyId = asString(claims.get(FAMILY_CLAIM));
+        String tokenId = asString(claims.get(TOKEN_ID_CLAIM));
+        if (familyId == null) {
+            // 도입 전에 발급된 토큰
+            return refreshLegacy(refreshToken, claims, accessMinutes);
+        }
+        if (tokenId == null) {
+            // Access Token 으로 refresh 시도 (로그아웃/폐기 후 새 family 를 여는 우회 차단)
+            throw new CustomJWTException("Invalid");
+        }
+        if (revocationList.isRevoked(familyId)) {
+            throw new CustomJWTException("REVOKED_REFRESH");
+        }
+
+        RefreshTokenStore.RotateResult r =
+                store.rotate(familyId, tokenId, UUID.randomUUID().toString(), refreshMinutes * 60_000L, reuseGraceMs);
+
+        switch (r.outcome()) {
+            case ROTATED, GRACE -> {
+                return mint(claims, familyId, r.currentTokenId(), accessMinutes);
+            }
+            case REUSED -> {
+                revocationList.add(familyId);
+                log.warn("[TOKEN] refresh token reuse detected, family revoked userId={} fid={}", claims.get("id"), familyId);
+                throw new CustomJWTException("REUSED_REFRESH");
+            }
+            default -> throw new CustomJWTException("REVOKED_REFRESH");
+        }
+    }
+
+    /**
+     * fid 없는 예전 Refresh Token → 새 family. 토큰마다 한 번만 허용
+     * 예전 Access Token(최대 3시간)도 fid 가 없으므로 Refresh Token 수명(24시간)으로 발급된 것만 받음
+     */
+    private Tokens refreshLegacy(String refreshToken, Map<String, Object> claims, int accessMinutes) {
+        long iat = asLong(claims.get("iat"));
+        long exp = asLong(claims.get("exp"));
+        if (iat <= 0 || exp <= 0 || (exp - iat) < refreshMinutes * 60L / 2) {
+            throw new CustomJWTException("Invalid");
+        }
+
+        long ttlMs = Math.max(1, exp * 1000L - System.currentTimeMillis());
+        if (!store.consumeLegacy(sha256Hex(refreshToken), ttlMs)) {
+            log.warn("[TOKEN] legacy refresh token reused userId={}", claims.get("id"));
+            throw new CustomJWTException("REUSED_REFRESH");
+        }
+        return issue(claims, accessMinutes);
+    }
+
+    /**
+     * Access Token 이 유효하고 폐기되지 않았는지
+     */
+    public boolean isUsable(String accessToken) {
+        try {
+            return !revocationList.isRevoked(jwtVerifier.verify(accessToken).familyId());
+        } catch (CustomJWTException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 로그아웃: Authorization 헤더의 Access Token 이 속한 family 폐기
+     * (이미 만료된 토큰이면 할 일 없음 - Refresh Token 도 family 수명이 지나면 사라짐)
+     */
+    public void logout(String authHeader) {
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) return;
+        try {
+            String familyId = jwtVerifier.verify(authHeader.substring(7)).familyId();
+            if (familyId != null) revoke(familyId);
+        } catch (CustomJWTException e) {
+            log.debug("[TOKEN] logout with unusable token: {}", e.getMessage());
+        }
+    }
+
+    public void revoke(String familyId) {
+        store.revoke(familyId);
+        revocationList.add(familyId);
+    }
+
+    private Tokens mint(Map<String, Object> claims, String familyId, String tokenId, int accessMinutes) {
+        Map<String, Object> base = new HashMap<>(claims);
+        base.remove("exp");
+        base.remove("iat");
+        base.remove(TOKEN_ID_CLAIM);
+        base.put(FAMILY_CLAIM, familyId);
+
+        String accessToken = JWTUtil.generateToken(base, accessMinutes);
+
+        base.put(TOKEN_ID_CLAIM, tokenId);
+        String refreshToken = JWTUtil.generateToken(base, refreshMinutes);
+
+        return new Tokens(accessToken, refreshToken);
+    }
+
+    private static long asLong(Object v) {
+        return (v instanceof Number n) ? n.longValue() : 0L;
+    }
+
+    private static String sha256Hex(String s) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            byte[] dig = md.digest(s.getBytes(StandardCharsets.UTF_8));
+            StringBuilder sb = new StringBuilder();
+            for (byte b : dig) sb.append(String.format("%02x", b));
+            return sb.toString();
+        } catch (Exception e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static String asString(Object v) {
+        return (v instanceof String s && !s.isBlank()) ? s : null;
+    }
+}
@@ -0,0 +1,70 @@
+package com.Team1_Back.security.token;
+
+import java.util.List;
+
+/**
+ * Refresh Token family 저장소
+ *
+ * - family = 로그인 1회로 시작된 토큰 계보. Refresh 할 때마다 현재 tokenId(jti) 만 바뀜
+ * - 예전 tokenId 가 다시 오면 (grace 이후) 탈취로 보고 family 전체 폐기
+ * - 폐기된 family 는 revocation 목록에 남아 아직 살아있는 Access Token 도 거부됨
+ *
+ * - 운영: RedisRefreshTokenStore (Lua 스크립트)
+ * - 테스트/단일 노드: InMemoryRefreshTokenStore
+ */
+public interface RefreshTokenStore {
+
+    enum Rotation {
+        ROTATED,  // 현재 토큰 → 새 토큰으로 교체
+        GRACE,    // 방금 교체된 이전 토큰 (동시 refresh) → 현재 토큰 유지
+        REUSED,   // 교체된 지 오래된 토큰 재사용 → family 폐기
+        UNKNOWN   // family 없음 (만료/폐기/로그아웃)
+    }
+
+    /**
+     * @param currentTokenId ROTATED/GRACE 일 때 발급할 refresh token 의 jti
+     */
+    record RotateResult(Rotation outcome, String currentTokenId) {}
+
+    record Revocation(String familyId, long revokedAtMs) {}
+
+    /**
+     * 새 family 등록. 사용자 세션이 maxSessions 를 넘으면 오래된 family 부터 폐기
+     *
+     * @return 폐기된 family id
+     */
+    List<String> open(long userId, String familyId, String tokenId, long ttlMs, int maxSessions);
+
+    /**
+     * presentedTokenId 가 현재 토큰일 때만 nextTokenId 로 교체 (compare-and-set)
+     *
+     * @param graceMs 교체된 이전 토큰을 GRACE 로 봐줄 시간
+     */
+    RotateResult rotate(String familyId, String presentedTokenId, String nextTokenId, long ttlMs, long graceMs);
+
+    /**
+     * fid 도입 전에 발급된 Refresh Token 을 한 번만 받기 위한 표시
+     *
+     * @param tokenHash 토큰 sha256
+     * @param ttlMs     토큰 남은 수명 (그 뒤로는 토큰 자체가 만료되므로 기록도 필요 없음)
+     * @return 처음 쓰는 토큰이면 true, 이미 쓴 토큰이면 false
+     */
+    boolean consumeLegacy(String tokenHash, long ttlMs);
+
+    /**
+     * family 삭제 + revocation 목록에 추가
+     */
+    void revoke(String familyId);
+
+    boolean isRevoked(String familyId);
+
+    /**
+     * revokedAtMs >= afterMs 인 폐기 목록 (노드별 bloom filter 동기화용)
+     */
+    List<Revocation> revokedSince(long afterMs);
+
+    /**
+     * 오래된 revocation 정리 (그 family 의 Access Token 이 모두 만료된 뒤)
+     */
+    void pruneRevocations(long beforeMs);
+}
@@ -0,0 +1,110 @@
+package com.Team1_Back.security.token;
+
+import com.Team1_Back.util.BloomFilter;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 폐기된 토큰 family 확인 (요청마다 JWTCheckFilter 가 호출)
+ *
+ * - 노드마다 폐기 목록을 bloom filter 로 들고 있음 → 대부분의 요청은 메모리 비트 확인으로 끝
+ * - bloom 이 "있을 수도" 라고 할 때만 저장소에서 정확히 확인 (오탐률만큼만 Redis 조회)
+ * - 다른 노드의 폐기는 poll 주기마다 가져옴 (이 노드의 폐기는 즉시 반영)
+ * - bloom 은 삭제가 안 되므로 rebuild 주기마다 보관 기간이 지난 항목을 빼고 새로 만듦
+ */
+@Slf4j
+@Component
+public class RevocationList {
+
+    // 노드 간 시계 차이 / 커밋 지연을 감안해 조금 겹쳐서 가져옴 (bloom 추가는 멱등)
+    private static final long OVERLAP_MS = 5_000;
+
+    private final RefreshTokenStore store;
+    private final int expectedInsertions;
+    private final double fpp;
+    private final long retentionMs;
+
+    private volatile BloomFilter bloom;
+    private volatile long cursorMs;
+
+    public RevocationList(
+            RefreshTokenStore store,
+            @Value("${com.mallapi.auth.revocation.expected-insertions:100000}") int expectedInsertions,
+            @Value("${com.mallapi.auth.revocation.fpp:0.01}") double fpp,
+            @Value("${com.mallapi.auth.revocation.retention-seconds:14400}") long retentionSeconds
+    ) {
+        this.store = store;
+        this.expectedInsertions = expectedInsertions;
+        this.fpp = fpp;
+        // Access Token 최대 수명 이상이어야 함 (그 뒤로는 토큰 자체가 만료)
+        this.retentionMs = Math.max(60, retentionSeconds) * 1000L;
+        this.bloom = new BloomFilter(expectedInsertions, fpp);
+    }
+
+    @PostConstruct
+    public void init() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            // 저장소가 아직 안 떠 있으면 빈 필터로 시작, 다음 poll 에서 채움
+            log.warn("[REVOKE] initial load failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * @return family 가 폐기됐으면 true (familyId 가 없는 예전 토큰은 false)
+     */
+    public boolean isRevoked(String familyId) {
+        if (familyId == null) return false;
+        if (!bloom.mightContain(familyId)) return false;
+        try {
+            return store.isRevoked(familyId);
+        } catch (Exception e) {
+            // 확인할 수 없으면 거부 쪽으로 (bloom 에 걸린 family 만 해당)
+            log.warn("[REVOKE] store check failed for {}: {}", familyId, e.getMessage());
+            return true;
+        }
+    }
+
+    /**
+     * 이 노드에서 폐기한 family 를 즉시 반영
+     */
+    public void add(String familyId) {
+        bloom.put(familyId);
+    }
+
+    @Scheduled(fixedDelayString = "${com.mallapi.auth.revocation.poll-ms:2000}")
+    public synchronized void sync() {
+        List<RefreshTokenStore.Revocation> rows = store.revokedSince(cursorMs - OVERLAP_MS);
+        BloomFilter current = bloom;
+        long max = cursorMs;
+        for (RefreshTokenStore.Revocation r : rows) {
+            current.put(r.familyId());
+            max = Math.max(max, r.revokedAtMs());
+        }
+        cursorMs = max;
+    }
+
+    @Scheduled(fixedDelayString = "${com.mallapi.auth.revocation.rebuild-ms:3600000}")
+    public synchronized void rebuild() {
+        long now = System.currentTimeMillis();
+        store.pruneRevocations(now - retentionMs);
+
+        BloomFilter next = new BloomFilter(expectedInsertions, fpp);
+        long max = 0;
+        List<RefreshTokenStore.Revocation> rows = store.revokedSince(0);
+        for (RefreshTokenStore.Revocation r : rows) {
+            next.put(r.familyId());
+            max = Math.max(max, r.revokedAtMs());
+        }
+        bloom = next;
+        cursorMs = max;
+
+        log.info("[REVOKE] bloom rebuilt entries={} bytes={}", rows.size(), next.sizeInBytes());
+    }
+}
@@ -3,6 +3,7 @@ package com.Team1_Back.service;
 import com.Team1_Back.domain.ApprovalStatus;
 import com.Team1_Back.dto.DepartmentStatisticsDTO;
 import com.Team1_Back.repository.ApprovalRequestRepository;
+import com.Team1_Back.repository.ExpenseMonthlyAggRepository;
 import com.Team1_Back.repository.ExpenseRepository;
 import com.Team1_Back.repository.UserBudgetMonthlyRepository;
 import com.Team1_Back.repository.UserRepository;
@@ -28,6 +29,14 @@ public class AccountingServiceImpl implements AccountingService {
     private final ApprovalRequestRepository approvalRequestRepository;
     private final UserRepository userRepository;
     private final UserBudgetMonthlyRepository userBudgetMonthlyRepository;
+    private final ExpenseMonthlyAggRepository expenseMonthlyAggRepository;
+
+    private static final DateTimeFormatter YM = DateTimeFormatter.ofPattern("yyyy-MM");
+
+    // 월별 집계 테이블은 DRAFT 를 담지 않으므로 DRAFT 조회만 원본 테이블 집계
+    private boolean useRollup(String status) {
+        return !ApprovalStatus.DRAFT.name().equals(status);
+    }
 
     @Override
     public List<DepartmentStatisticsDTO> getDepartmentStatistics(String status) {
@@ -38,7 +47,9 @@ public class AccountingServiceImpl implements AccountingService {
 
         log.info("🔍 부서별 통계 조회 - status: {}", statusValue);
 
-        List<Object[]> results = expenseRepository.findDepartmentStatistics(statusValue);
+        List<Object[]> results = useRollup(statusValue)
+                ? expenseMonthlyAggRepository.findDepartmentStatistics(statusValue)
+                : expenseRepository.findDepartmentStatistics(statusValue);
 
         List<DepartmentStatisticsDTO> dtoList = results.stream()
                 .map(row -> DepartmentStatisticsDTO.builder()
@@ -72,7 +83,9 @@ public class AccountingServiceImpl implements AccountingService {
 
         log.info("🔍 카테고리별 통계 조회 - status: {}", statusValue);
 
-        List<Object[]> results = expenseRepository.findCategoryStatistics(statusValue);
+        List<Object[]> results = useRollup(statusValue)
+                ? expenseMonthlyAggRepository.findCategoryStatistics(statusValue)
+                : expenseRepository.findCategoryStatistics(statusValue);
 
         List<Map<String, Object>> dtoList = results.stream()
                 .map(row -> {
@@ -97,7 +110,11 @@ public class AccountingServiceImpl implements AccountingService {
 
         // ApprovalRequest 테이블에서 총 미결재 건수 조회 (실제 플랫폼 관례)
         Long totalPendingCount = approvalRequestRepository.countTotalPending();
-        Long monthlyTotalExpense = expenseRepository.sumMonthlyTotalExpense(ApprovalStatus.APPROVED.name());
+
+        // 현재 월의 yearMonth 형식 (YYYY-MM)
+        String currentYearMonth = LocalDate.now().format(YM);
+        Long monthlyTotalExpense = expenseMonthlyAggRepository.sumTotalAmount(
+                currentYearMonth, ApprovalStatus.APPROVED.name());
 
         // Phase 1: 오늘의 신규 결재 건수 (당일 상신된 모든 건수)
         Long todaySubmittedCount = approvalRequestRepository.countTodaySubmitted();
@@ -110,17 +127,15 @@ public class AccountingServiceImpl implements AccountingService {
         Long todayRejectedCount = approvalRequestRepository.countTodayRejected();
         Long todayRequestMoreInfoCount = approvalRequestRepository.countTodayRequestMoreInfo();
 
-        // 현재 월의 yearMonth 형식 (YYYY-MM)
-        String currentYearMonth = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyy-MM"));
         List<Object[]> overBudgetUsers = userBudgetMonthlyRepository.findOverBudgetUsers(currentYearMonth);
 
         // Phase 1: 전월 대비 증감률 계산
         LocalDate now = LocalDate.now();
         LocalDate lastMonth = now.minusMonths(1);
-        String lastMonthYearMonth = lastMonth.format(DateTimeFormatter.ofPattern("yyyy-MM"));
+        String lastMonthYearMonth = lastMonth.format(YM);
 
         // 전월 총 지출액 조회
-        Long lastMonthTotalExpense = expenseRepository.sumMonthlyTotalExpenseByYearMonth(
+        Long lastMonthTotalExpense = expenseMonthlyAggRepository.sumTotalAmount(
                 lastMonthYearMonth, ApprovalStatus.APPROVED.name());
         lastMonthTotalExpense = lastMonthTotalExpense != null ? lastMonthTotalExpense : 0L;
 
@@ -137,11 +152,9 @@ public class AccountingServiceImpl implements AccountingService {
         // 예산 집행률 계산: 전체 사용자의 월간 예산 대비 실제 지출 비율
         double totalBudgetExecutionRate = 0.0;
         try {
-            // 현재 월의 전체 예산 합계 (더 효율적인 방법)
-            Long totalBudget = userBudgetMonthlyRepository.findAll().stream()
-                    .filter(ubm -> currentYearMonth.equals(ubm.getYearMonth()))
-                    .mapToLong(ubm -> ubm.getMonthlyLimit())
-                    .sum();
+            // 현재 월의 전체 예산 합계 (DB 에서 합산)
+            Long totalBudget = userBudgetMonthlyRepository.sumMonthlyLimit(currentYearMonth);
+            totalBudget = totalBudget != null ? totalBudget : 0L;
 
             // 현재 월의 전체 지출 합계 (APPROVED 상태만)
             Long totalExpense = monthlyTotalExpense != null ? monthlyTotalExpense : 0L;
@@ -246,7 +259,9 @@ public class AccountingServiceImpl implements AccountingService {
 
         log.info("월별 지출 추이 조회 - status: {}", statusValue);
 
-        List<Object[]> results = expenseRepository.findMonthlyExpenseTrend(statusValue);
+        List<Object[]> results = useRollup(statusValue)
+                ? expenseMonthlyAggRepository.findMonthlyTrend(statusValue, LocalDate.now().minusMonths(12).format(YM))
+                : expenseRepository.findMonthlyExpenseTrend(statusValue);
 
         List<Map<String, Object>> trendList = results.stream()
                 .map(row -> {
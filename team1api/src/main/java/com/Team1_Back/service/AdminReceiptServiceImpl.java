@@ -1,24 +1,27 @@
 package com.Team1_Back.service;
 
 import com.Team1_Back.domain.*;
+import com.Team1_Back.domain.event.ExpenseStatusChangedEvent;
 import com.Team1_Back.dto.PageRequestDTO;
 import com.Team1_Back.dto.PageResponseDTO;
 import com.Team1_Back.dto.ReceiptDTO;
 import com.Team1_Back.dto.ReceiptVerificationDTO;
 import com.Team1_Back.repository.*;
+import com.Team1_Back.repository.search.ExpenseFilter;
+import com.Team1_Back.repository.search.KeysetCursor;
 import com.Team1_Back.util.CustomFileUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.core.io.Resource;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -37,6 +40,8 @@ public class AdminReceiptServiceImpl implements AdminReceiptService {
     private final UserRepository userRepository;
     private final CustomFileUtil customFileUtil;
     private final ModelMapper modelMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ListCountCache listCountCache;
 
     @Override
     @Transactional(readOnly = true)
@@ -45,40 +50,67 @@ public class AdminReceiptServiceImpl implements AdminReceiptService {
             pageRequestDTO = PageRequestDTO.builder().page(1).size(15).build();
         }
 
-        // 상신일 기준 정렬 (최근 상신일 먼저), 같은 날짜면 최근 업데이트 먼저
-        Pageable pageable = pageRequestDTO.getPageable("createdAt", "updatedAt");
-
         log.info("getList..............");
 
         // Expense 테이블에서 제출된 지출 내역 조회 (영수증 유무와 관계없이)
-        // DRAFT 상태는 제외 (아직 제출 안 된 것)
-        Page<Expense> expensePage;
+        // 상태 필터가 없거나 잘못된 값이면 DRAFT 를 제외한 전체
+        ApprovalStatus statusEnum = null;
         if (status != null && !status.isEmpty()) {
             try {
-                com.Team1_Back.domain.ApprovalStatus statusEnum = com.Team1_Back.domain.ApprovalStatus.valueOf(status);
-                expensePage = expenseRepository.findByStatus(statusEnum, pageable);
+                statusEnum = ApprovalStatus.valueOf(status);
             } catch (IllegalArgumentException e) {
                 // 잘못된 상태값이면 DRAFT 제외한 전체 조회
-                expensePage = expenseRepository.findAllSubmitted(pageable);
             }
-        } else {
-            // 상태 필터가 없으면 DRAFT를 제외한 모든 제출된 지출 내역 조회
-            expensePage = expenseRepository.findAllSubmitted(pageable);
         }
 
-        List<Expense> expenses = expensePage.getContent();
+        ExpenseFilter filter = ExpenseFilter.builder()
+                .status(statusEnum)
+                .submittedOnly(true)
+                .build();
+
+        // 상신일 기준 정렬 (최근 상신일 먼저), cursor 가 있으면 keyset
+        KeysetCursor cursor = KeysetCursor.decode(pageRequestDTO.getCursor());
+        List<Expense> expenses = expenseRepository.search(
+                filter, cursor, pageRequestDTO.getOffset(), pageRequestDTO.getSize());
+
+        // 영수증 / AI 추출 / 검증 결과를 페이지 단위로 한 번씩만 조회 (행마다 조회 X)
+        List<Long> expenseIds = expenses.stream().map(Expense::getId).toList();
+
+        Map<Long, ReceiptUpload> receiptByExpense = expenseIds.isEmpty() ? Map.of()
+                : receiptUploadRepository.findByExpenseIdIn(expenseIds).stream()
+                        .collect(Collectors.toMap(r -> r.getExpense().getId(), r -> r, (x, y) -> x));
+
+        List<Long> receiptIds = receiptByExpense.values().stream().map(ReceiptUpload::getId).toList();
+        Map<Long, ReceiptAiExtraction> extractionByReceipt = receiptIds.isEmpty() ? Map.of()
+                : receiptAiExtractionRepository.findByReceiptIdIn(receiptIds).stream()
+                        .collect(Collectors.toMap(x -> x.getReceipt().getId(), x -> x, (x, y) -> x));
+
+        Map<Long, ReceiptVerification> verificationByExpense = expenseIds.isEmpty() ? Map.of()
+                : receiptVerificationRepository.findByExpenseIdIn(expenseIds).stream()
+                        .collect(Collectors.toMap(v -> v.getExpense().getId(), v -> v, (x, y) -> x));
 
         // 각 지출 내역을 ReceiptDTO로 변환 (영수증이 있으면 영수증 정보 포함, 없으면 null)
         List<ReceiptDTO> dtoList = expenses.stream()
-                .map(this::expenseToDTO)
+                .map(expense -> {
+                    ReceiptUpload receipt = receiptByExpense.get(expense.getId());
+                    return expenseToDTO(
+                            expense,
+                            receipt,
+                            receipt == null ? null : extractionByReceipt.get(receipt.getId()),
+                            verificationByExpense.get(expense.getId()));
+                })
                 .filter(dto -> dto != null)
                 .collect(Collectors.toList());
 
-        return PageResponseDTO.of(
-                dtoList,
-                pageRequestDTO,
-                expensePage.getTotalElements()
-        );
+        // 전체 건수는 캐시 (만료 시 백그라운드 갱신)
+        long totalCount = listCountCache.get("admin-receipt:" + filter, () -> expenseRepository.count(filter));
+
+        PageResponseDTO<ReceiptDTO> response = PageResponseDTO.of(dtoList, pageRequestDTO, totalCount);
+        if (expenses.size() == pageRequestDTO.getSize()) {
+            Expense last = expenses.get(expenses.size() - 1);
+            response.setNextCursor(new KeysetCursor(last.getCreatedAt(), last.getId()).encode());
+        }
+        return response;
     }
 
     @Override
@@ -157,6 +189,10 @@ public class AdminReceiptServiceImpl implements AdminReceiptService {
 
         String action = verificationDTO.getAction();
 
+        ApprovalStatus fromStatus = expense.getStatus();
+        String fromCategory = expense.getCategory();
+        Integer fromAmount = expense.getAmount();
+
         // Expense 상태 업데이트
         if ("APPROVE".equals(action)) {
             expense.approve();
@@ -177,6 +213,12 @@ public class AdminReceiptServiceImpl implements AdminReceiptService {
 
         expenseRepository.save(expense);
 
+        ExpenseStatusChangedEvent changed =
+                ExpenseStatusChangedEvent.of(expense, fromStatus, fromCategory, fromAmount);
+        if (changed.changed()) {
+            eventPublisher.publishEvent(changed);
+        }
+
         // ApprovalRequest 상태 동기화
         ApprovalRequest approvalRequest = approvalRequestRepository
                 .findByRequestTypeAndRefId("EXPENSE", expense.getId())
@@ -288,15 +330,17 @@ public class AdminReceiptServiceImpl implements AdminReceiptService {
      * @param expense 변환할 Expense 엔티티
      * @return ReceiptDTO (필수 필드가 null이면 null 반환)
      */
-    private ReceiptDTO expenseToDTO(Expense expense) {
+    private ReceiptDTO expenseToDTO(Expense expense,
+                                    ReceiptUpload receipt,
+                                    ReceiptAiExtraction extraction,
+                                    ReceiptVerification verification) {
         User writer = expense.getWriter();
 
         if (writer == null || expense.getStatus() == null) {
             return null;
         }
 
-        // 1. ModelMapper로 기본 필드 매핑 (Expense → ReceiptDTO는 직접 매핑 불가하므로 수동 생성)
-        // Expense와 ReceiptDTO는 구조가 다르므로 기본 DTO 생성
+        // 1. Expense와 ReceiptDTO는 구조가 다르므로 기본 DTO 생성
         ReceiptDTO dto = ReceiptDTO.builder()
                 .expenseId(expense.getId())
                 .createdAt(expense.getCreatedAt())
@@ -310,25 +354,18 @@ public class AdminReceiptServiceImpl implements AdminReceiptService {
         // 3. Enum → String 변환 (수동 처리)
         dto.setStatus(expense.getStatus().name());
 
-        // 4. Repository 조회가 필요한 데이터 (수동 처리)
-        // 영수증이 있는지 확인
-        Optional<com.Team1_Back.domain.ReceiptUpload> receiptOpt = receiptUploadRepository.findByExpenseId(expense.getId());
-
-        // 영수증이 있으면 영수증 정보 포함
-        if (receiptOpt.isPresent()) {
-            com.Team1_Back.domain.ReceiptUpload receipt = receiptOpt.get();
-            // ModelMapper로 ReceiptUpload → ReceiptDTO 기본 매핑
-            ReceiptDTO receiptDto = modelMapper.map(receipt, ReceiptDTO.class);
-            // 기본 정보는 이미 설정했으므로 영수증 정보만 추가
-            dto.setId(receiptDto.getId());
-            dto.setFileUrl(receiptDto.getFileUrl());
-            dto.setFileHash(receiptDto.getFileHash());
-            dto.setMimeType(receiptDto.getMimeType());
+        // 4. 영수증이 있으면 영수증 정보 포함 (없으면 id, fileUrl 등 null)
+        //    ModelMapper 를 쓰면 LAZY 연관(expense, uploadedBy)까지 건드려 행마다 쿼리가 나가므로 직접 복사
+        if (receipt != null) {
+            dto.setId(receipt.getId());
+            dto.setFileUrl(receipt.getFileUrl());
+            dto.setFileHash(receipt.getFileHash());
+            dto.setMimeType(receipt.getMimeType());
+            dto.setDuplicateOf(receipt.getDuplicateOf());
+            dto.setDuplicateKind(receipt.getDuplicateKind());
 
             // AI 추출 결과 추가
-            Optional<ReceiptAiExtraction> extractionOpt = receiptAiExtractionRepository.findByReceiptId(receipt.getId());
-            if (extractionOpt.isPresent()) {
-                ReceiptAiExtraction extraction = extractionOpt.get();
+            if (extraction != null) {
                 dto.setExtractionId(extraction.getId());
                 dto.setModelName(extraction.getModelName());
                 dto.setExtractedJson(extraction.getExtractedJson());
@@ -339,28 +376,20 @@ public class AdminReceiptServiceImpl implements AdminReceiptService {
                 dto.setConfidence(extraction.getConfidence());
                 dto.setExtractionCreatedAt(extraction.getCreatedAt());
             }
-        } else {
-            // 영수증이 없으면 id는 null, fileUrl 등도 null
-            dto.setId(null);
-            dto.setFileUrl(null);
-            dto.setFileHash(null);
-            dto.setMimeType(null);
         }
 
         // 검증 결과 추가 (영수증 유무와 관계없이)
-        receiptVerificationRepository.findByExpenseId(expense.getId()).ifPresent(verification -> {
+        if (verification != null && verification.getVerifiedBy() != null) {
             User verifiedBy = verification.getVerifiedBy();
-            if (verifiedBy != null) {
-                dto.setVerificationId(verification.getId());
-                dto.setVerifiedBy(verifiedBy.getId());
-                dto.setVerifiedByName(verifiedBy.getName());
-                dto.setVerifiedMerchant(verification.getVerifiedMerchant());
-                dto.setVerifiedAmount(verification.getVerifiedAmount());
-                dto.setVerifiedCategory(verification.getVerifiedCategory());
-                dto.setReason(verification.getReason());
-                dto.setVerificationCreatedAt(verification.getCreatedAt());
-            }
-        });
+            dto.setVerificationId(verification.getId());
+            dto.setVerifiedBy(verifiedBy.getId());
+            dto.setVerifiedByName(verifiedBy.getName());
+            dto.setVerifiedMerchant(verification.getVerifiedMerchant());
+            dto.setVerifiedAmount(verification.getVerifiedAmount());
+            dto.setVerifiedCategory(verification.getVerifiedCategory());
+            dto.setReason(verification.getReason());
+            dto.setVerificationCreatedAt(verification.getCreatedAt());
+        }
 
         return dto;
     }
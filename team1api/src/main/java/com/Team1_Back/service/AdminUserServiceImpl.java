@@ -5,6 +5,7 @@ import com.Team1_Back.domain.User;
 import com.Team1_Back.dto.*;
 import com.Team1_Back.repository.UserProfileImageRepository;
 import com.Team1_Back.repository.UserRepository;
+import com.Team1_Back.security.lockout.LoginLockoutService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -16,6 +17,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Objects;
 
 @Service
 @RequiredArgsConstructor
@@ -26,6 +28,8 @@ public class AdminUserServiceImpl implements AdminUserService {
     private final UserRepository userRepository;
     private final UserProfileImageRepository profileImageRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ChatRoomSummaryService chatRoomSummaryService;
+    private final LoginLockoutService lockoutService;
 
     @Override
     public PageResponseDTO<UserListDTO> getUsers(PageRequestDTO request) {
@@ -135,7 +139,8 @@ public class AdminUserServiceImpl implements AdminUserService {
                 .phone(dto.getPhone())
                 .address(dto.getAddress())
                 .addressDetail(dto.getAddressDetail())
-                .departmentName(dto.getDepartmentName())
+                // 부서 리포트가 department_name 을 TRIM 없이 비교하므로 저장할 때 정리
+                .departmentName(dto.getDepartmentName() == null ? null : dto.getDepartmentName().trim())
                 .position(dto.getPositionName())
                 .role(Role.valueOf(dto.getRole()))
                 .build();
@@ -151,6 +156,8 @@ public class AdminUserServiceImpl implements AdminUserService {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("사원을 찾을 수 없습니다: " + id));
 
+        boolean renamed = !Objects.equals(user.getName(), dto.getName());
+
         user.setName(dto.getName());
         user.setEmail(dto.getEmail());
         user.setBirthDate(dto.getBirthDate());
@@ -167,6 +174,12 @@ public class AdminUserServiceImpl implements AdminUserService {
         if (dto.getNewPassword() != null && !dto.getNewPassword().isEmpty()) {
             user.setPassword(passwordEncoder.encode(dto.getNewPassword()));
         }
+
+        // 채팅방 목록에 저장된 방 이름(상대/멤버 이름) 갱신
+        if (renamed) {
+            userRepository.flush();
+            chatRoomSummaryService.onUserRenamed(id);
+        }
     }
 
     @Override
@@ -188,5 +201,6 @@ public class AdminUserServiceImpl implements AdminUserService {
                 .orElseThrow(() -> new RuntimeException("사원을 찾을 수 없습니다: " + id));
 
         user.unlock();
+        lockoutService.reset(user.getEmployeeNo());
     }
 }
@@ -1,5 +1,6 @@
 package com.Team1_Back.service;
 
+import com.Team1_Back.ai.LlmResponseCache;
 import com.Team1_Back.ai.LlmRouter;
 import com.Team1_Back.dto.*;
 import com.Team1_Back.repository.ChatMessageRepository;
@@ -172,7 +173,8 @@ public class AiChatFileService {
 
         LlmResult llmResult;
         try {
-            llmResult = llmRouter.ask(prompt);
+            llmResult = llmRouter.ask(prompt, LlmResponseCache.keyOf("file-g", userQuery,
+                    valid.stream().map(ChatAttachmentSearchRow::attachmentId).toList()));
         } catch (Exception ex) {
             log.warn("[AI-FILE-G] LLM failed -> fallback. {}", ex.toString());
             // fallback: 상위 5개 반환
@@ -251,7 +253,8 @@ public class AiChatFileService {
 
         LlmResult llmResult;
         try {
-            llmResult = llmRouter.ask(prompt);
+            llmResult = llmRouter.ask(prompt, LlmResponseCache.keyOf("file-c", userQuery,
+                    valid.stream().map(AiChatFileItem::attachmentId).toList()));
         } catch (Exception ex) {
             log.warn("[AI-FILE-C] LLM failed -> fallback. {}", ex.toString());
             List<AiChatFileItem> fallback = valid.stream().limit(5).toList();
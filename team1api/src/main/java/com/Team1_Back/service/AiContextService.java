@@ -1,6 +1,10 @@
 package com.Team1_Back.service;
 
+import com.Team1_Back.ai.LlmResponseCache;
 import com.Team1_Back.ai.LlmRouter;
+import com.Team1_Back.ai.embedding.ChatVectorIndexer;
+import com.Team1_Back.ai.stream.AiStreamService;
+import com.Team1_Back.ai.stream.LlmJsonStreamParser;
 import com.Team1_Back.domain.ChatMessage;
 import com.Team1_Back.dto.AiContextMessageDto;
 import com.Team1_Back.dto.AiContextResponse;
@@ -9,12 +13,19 @@ import com.Team1_Back.repository.ChatMessageRepository;
 import com.Team1_Back.repository.ChatRoomMemberRepository;
 import com.Team1_Back.util.SecurityUtil;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class AiContextService {
@@ -22,8 +33,37 @@ public class AiContextService {
     private final ChatMessageRepository chatMessageRepository;
     private final ChatRoomMemberRepository chatRoomMemberRepository;
     private final LlmRouter llmRouter;
+    private final ChatVectorIndexer chatVectorIndexer;
+    private final AiStreamService aiStreamService;
+
+    // 벡터 검색으로 추린 뒤 LLM 에 넘길 후보 수
+    @Value("${com.mallapi.ai.context.top-k:40}")
+    private int topK;
 
     public AiContextResponse findContext(Long roomId, String query) {
+        return answer(prepareRoom(roomId, query));
+    }
+
+    // ✅ 신규: 채팅방 안 열어도 "내 전체 채팅"에서 찾기
+    public AiContextResponse findContextGlobal(String query) {
+        return answer(prepareGlobal(query));
+    }
+
+    /**
+     * 스트리밍: summary 조각(summary) / 고른 메시지(message) 를 LLM 이 쓰는 대로 보내고 마지막에 전체 결과(done)
+     */
+    public SseEmitter findContextStream(Long roomId, String query) {
+        return stream("AI-CONTEXT", prepareRoom(roomId, query));
+    }
+
+    public SseEmitter findContextGlobalStream(String query) {
+        return stream("AI-CONTEXT-G", prepareGlobal(query));
+    }
+
+    // LLM 에 넘길 후보 / 프롬프트 / 캐시 key (권한 확인 포함, 요청 스레드에서 실행)
+    private record Prepared(List<ChatMessage> candidates, String prompt, String cacheKey, String emptySummary) {}
+
+    private Prepared prepareRoom(Long roomId, String query) {
 
         Long me = SecurityUtil.currentUserId();
         if (me == null) throw new AccessDeniedException("UNAUTHORIZED");
@@ -34,72 +74,114 @@ public class AiContextService {
         List<ChatMessage> recentMessages =
                 chatMessageRepository.findTop80ByRoomIdOrderByCreatedAtDesc(roomId);
 
-        if (recentMessages.isEmpty()) {
-            return new AiContextResponse(
-                    "이 채팅방에는 메시지가 없어 맥락을 찾을 수 없습니다.",
-                    List.of()
-            );
-        }
-
-        String prompt = buildPromptWithRoom(recentMessages, query, false);
-
-        LlmResult llmResult = llmRouter.ask(prompt);
-
-        Set<Long> pickedIds = llmResult.getMessageIds().stream().collect(Collectors.toSet());
-
-        List<AiContextMessageDto> messages =
-                recentMessages.stream()
-                        .filter(m -> pickedIds.contains(m.getId()))
-                        .map(m -> new AiContextMessageDto(
-                                m.getId(),
-                                m.getContent(),
-                                m.getCreatedAt(),
-                                m.getRoomId() // ✅ roomId 포함
-                        ))
-                        .toList();
-
-        return new AiContextResponse(llmResult.getSummary(), messages);
+        // 같은 방 + 같은 질문 + 같은 후보면 캐시 / 동시 요청은 한 번만 호출
+        return new Prepared(
+                recentMessages,
+                buildPromptWithRoom(recentMessages, query, false),
+                LlmResponseCache.keyOf("ctx:" + roomId, query, idsOf(recentMessages)),
+                "이 채팅방에는 메시지가 없어 맥락을 찾을 수 없습니다."
+        );
     }
 
-    // ✅ 신규: 채팅방 안 열어도 "내 전체 채팅"에서 찾기
-    public AiContextResponse findContextGlobal(String query) {
+    private Prepared prepareGlobal(String query) {
 
         Long me = SecurityUtil.currentUserId();
         if (me == null) throw new AccessDeniedException("UNAUTHORIZED");
 
-        // 1) 내가 속한 모든 방의 최근 메시지 후보 가져오기
-        List<ChatMessage> recentMessages = chatMessageRepository.findRecentMessagesForUser(me, 200);
-
-        if (recentMessages.isEmpty()) {
-            return new AiContextResponse(
-                    "내가 속한 채팅방에 메시지가 없어 맥락을 찾을 수 없습니다.",
-                    List.of()
-            );
-        }
+        // 1) 후보: 벡터 색인이 준비됐으면 질문과 가까운 top-k (오래된 메시지도 포함),
+        //    아니면 내가 속한 모든 방의 최근 메시지
+        List<ChatMessage> recentMessages = chatVectorIndexer.isReady()
+                ? semanticCandidates(me, query)
+                : chatMessageRepository.findRecentMessagesForUser(me, 200);
 
         // 2) 프롬프트: roomId까지 같이 넣어서 LLM이 '어느 방인지'도 참고 가능하게
-        String prompt = buildPromptWithRoom(recentMessages, query, true);
+        return new Prepared(
+                recentMessages,
+                buildPromptWithRoom(recentMessages, query, true),
+                LlmResponseCache.keyOf("ctx-g:" + me, query, idsOf(recentMessages)),
+                "내가 속한 채팅방에 메시지가 없어 맥락을 찾을 수 없습니다."
+        );
+    }
+
+    private AiContextResponse answer(Prepared p) {
+        if (p.candidates().isEmpty()) {
+            return new AiContextResponse(p.emptySummary(), List.of());
+        }
 
         // 3) LLM 호출
-        LlmResult llmResult = llmRouter.ask(prompt);
+        LlmResult llmResult = llmRouter.ask(p.prompt(), p.cacheKey());
 
         // 4) 선택된 메시지 매핑
+        return toResponse(p.candidates(), llmResult);
+    }
+
+    private SseEmitter stream(String tag, Prepared p) {
+        return aiStreamService.start(tag, stream -> {
+            if (p.candidates().isEmpty()) {
+                stream.send("done", new AiContextResponse(p.emptySummary(), List.of()));
+                return;
+            }
+
+            Map<Long, ChatMessage> byId = p.candidates().stream()
+                    .collect(Collectors.toMap(ChatMessage::getId, m -> m, (x, y) -> x));
+
+            LlmResult llmResult = llmRouter.askStreaming(p.prompt(), p.cacheKey(), new LlmJsonStreamParser.Listener() {
+                @Override
+                public void onSummary(String delta) {
+                    stream.send("summary", Map.of("delta", delta));
+                }
+
+                @Override
+                public void onMessageId(long id) {
+                    ChatMessage m = byId.get(id);
+                    if (m != null) stream.send("message", toDto(m));
+                }
+            });
+
+            stream.send("done", toResponse(p.candidates(), llmResult));
+        });
+    }
+
+    private AiContextResponse toResponse(List<ChatMessage> candidates, LlmResult llmResult) {
         Set<Long> pickedIds = llmResult.getMessageIds().stream().collect(Collectors.toSet());
 
         List<AiContextMessageDto> messages =
-                recentMessages.stream()
+                candidates.stream()
                         .filter(m -> pickedIds.contains(m.getId()))
-                        .map(m -> new AiContextMessageDto(
-                                m.getId(),
-                                m.getContent(),
-                                m.getCreatedAt(),
-                                m.getRoomId()
-                        ))
+                        .map(this::toDto)
                         .toList();
 
         return new AiContextResponse(llmResult.getSummary(), messages);
     }
 
+    private AiContextMessageDto toDto(ChatMessage m) {
+        return new AiContextMessageDto(
+                m.getId(),
+                m.getContent(),
+                m.getCreatedAt(),
+                m.getRoomId() // ✅ roomId 포함
+        );
+    }
+
+    private List<Long> idsOf(List<ChatMessage> messages) {
+        return messages.stream().map(ChatMessage::getId).toList();
+    }
+
+    private List<ChatMessage> semanticCandidates(Long me, String query) {
+        Set<Long> roomIds = new HashSet<>(chatRoomMemberRepository.findRoomIdsByUserId(me));
+        if (roomIds.isEmpty()) return List.of();
+
+        List<Long> ids = chatVectorIndexer.search(roomIds, query, topK);
+        log.info("[AI-CTX-G] me={} rooms={} vectorHits={}", me, roomIds.size(), ids.size());
+        if (ids.isEmpty()) return chatMessageRepository.findRecentMessagesForUser(me, 200);
+
+        // 프롬프트에는 기존처럼 최신순으로
+        return chatMessageRepository.findAllById(ids).stream()
+                .filter(m -> m.getDeletedAt() == null)
+                .sorted(Comparator.comparing(ChatMessage::getCreatedAt).reversed())
+                .toList();
+    }
+
     private String buildPromptWithRoom(List<ChatMessage> messages, String query, boolean global) {
         StringBuilder sb = new StringBuilder();
 
@@ -1,17 +1,18 @@
 package com.Team1_Back.service;
 
 import com.Team1_Back.domain.*;
+import com.Team1_Back.domain.event.ExpenseStatusChangedEvent;
 import com.Team1_Back.dto.*;
 import com.Team1_Back.repository.ApprovalActionLogRepository;
 import com.Team1_Back.repository.ApprovalRequestRepository;
 import com.Team1_Back.repository.ExpenseRepository;
 import com.Team1_Back.repository.UserRepository;
+import com.Team1_Back.repository.search.ApprovalRequestFilter;
+import com.Team1_Back.repository.search.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -31,85 +32,45 @@ public class ApprovalServiceImpl implements ApprovalService {
     private final UserRepository userRepository;
     private final ExpenseService expenseService;
     private final ModelMapper modelMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ListCountCache listCountCache;
 
     @Override
     public PageResponseDTO<ApprovalRequestDTO> getList(Long userId, boolean isAdmin, PageRequestDTO pageRequestDTO, String requestType, String status, LocalDate startDate, LocalDate endDate) {
-        Pageable pageable = PageRequest.of(pageRequestDTO.getPage() - 1, pageRequestDTO.getSize());
-
-        String statusString = null;
+        ApprovalStatus statusEnum = null;
         if (status != null && !status.isEmpty()) {
             try {
-                ApprovalStatus.valueOf(status);
-                statusString = status;
+                statusEnum = ApprovalStatus.valueOf(status);
             } catch (IllegalArgumentException e) {
                 // Invalid status value ignored
             }
         }
 
-        Page<ApprovalRequest> result;
-        if (isAdmin) {
-            boolean hasStartDate = startDate != null;
-            boolean hasEndDate = endDate != null;
-            boolean hasDateFilter = hasStartDate || hasEndDate;
-
-            if (hasDateFilter) {
-                if (requestType != null && !requestType.isEmpty() && statusString != null) {
-                    if (hasStartDate && hasEndDate) {
-                        result = approvalRequestRepository.findByRequestTypeAndStatusSnapshotAndDateRange(requestType, statusString, startDate, endDate, pageable);
-                    } else if (hasStartDate) {
-                        result = approvalRequestRepository.findByRequestTypeAndStatusSnapshotAndStartDate(requestType, statusString, startDate, pageable);
-                    } else {
-                        result = approvalRequestRepository.findByRequestTypeAndStatusSnapshotAndEndDate(requestType, statusString, endDate, pageable);
-                    }
-                } else if (requestType != null && !requestType.isEmpty()) {
-                    if (hasStartDate && hasEndDate) {
-                        result = approvalRequestRepository.findByRequestTypeAndDateRange(requestType, startDate, endDate, pageable);
-                    } else if (hasStartDate) {
-                        result = approvalRequestRepository.findByRequestTypeAndStartDate(requestType, startDate, pageable);
-                    } else {
-                        result = approvalRequestRepository.findByRequestTypeAndEndDate(requestType, endDate, pageable);
-                    }
-                } else if (statusString != null) {
-                    if (hasStartDate && hasEndDate) {
-                        result = approvalRequestRepository.findByStatusSnapshotAndDateRange(statusString, startDate, endDate, pageable);
-                    } else if (hasStartDate) {
-                        result = approvalRequestRepository.findByStatusSnapshotAndStartDate(statusString, startDate, pageable);
-                    } else {
-                        result = approvalRequestRepository.findByStatusSnapshotAndEndDate(statusString, endDate, pageable);
-                    }
-                } else {
-                    if (hasStartDate && hasEndDate) {
-                        result = approvalRequestRepository.findAllByDateRange(startDate, endDate, pageable);
-                    } else if (hasStartDate) {
-                        result = approvalRequestRepository.findAllByStartDate(startDate, pageable);
-                    } else {
-                        result = approvalRequestRepository.findAllByEndDate(endDate, pageable);
-                    }
-                }
-            } else {
-                if (requestType != null && !requestType.isEmpty() && statusString != null) {
-                    result = approvalRequestRepository.findByRequestTypeAndStatusSnapshotOrderByReceiptDate(requestType, statusString, pageable);
-                } else if (requestType != null && !requestType.isEmpty()) {
-                    result = approvalRequestRepository.findByRequestTypeOrderByReceiptDate(requestType, pageable);
-                } else if (statusString != null) {
-                    result = approvalRequestRepository.findByStatusSnapshotOrderByReceiptDate(statusString, pageable);
-                } else {
-                    result = approvalRequestRepository.findAllOrderByReceiptDate(pageable);
-                }
-            }
-        } else {
-            if (statusString != null) {
-                result = approvalRequestRepository.findByRequesterIdAndStatusSnapshotOrderByReceiptDate(userId, statusString, pageable);
-            } else {
-                result = approvalRequestRepository.findByRequesterIdOrderByReceiptDate(userId, pageable);
-            }
-        }
+        // 관리자: 타입/상태/상신일 조건, 일반 사용자: 본인 요청 + 상태만
+        ApprovalRequestFilter filter = isAdmin
+                ? ApprovalRequestFilter.builder()
+                        .requestType(requestType)
+                        .status(statusEnum)
+                        .startDate(startDate)
+                        .endDate(endDate)
+                        .build()
+                : ApprovalRequestFilter.builder()
+                        .requesterId(userId)
+                        .status(statusEnum)
+                        .build();
 
-        List<ApprovalRequestDTO> dtoList = result.getContent().stream()
+        KeysetCursor cursor = KeysetCursor.decode(pageRequestDTO.getCursor());
+        List<ApprovalRequest> rows = approvalRequestRepository.search(
+                filter, cursor, pageRequestDTO.getOffset(), pageRequestDTO.getSize());
+
+        List<ApprovalRequestDTO> dtoList = rows.stream()
                 .map(this::entityToDTO)
                 .collect(Collectors.toList());
 
-        long totalCount = result.getTotalElements();
+        // 관리자 목록 건수는 캐시 (만료 시 백그라운드 갱신), 본인 목록은 건수가 적어 바로 셈
+        long totalCount = isAdmin
+                ? listCountCache.get("admin-approval:" + filter, () -> approvalRequestRepository.count(filter))
+                : approvalRequestRepository.count(filter);
 
         if ("EXPENSE".equals(requestType) || requestType == null) {
             List<Long> refIds = dtoList.stream()
@@ -128,11 +89,16 @@ public class ApprovalServiceImpl implements ApprovalService {
                 });
             }
         }
-        return PageResponseDTO.of(
+        PageResponseDTO<ApprovalRequestDTO> response = PageResponseDTO.of(
                 dtoList,
                 pageRequestDTO,
                 totalCount
         );
+        if (rows.size() == pageRequestDTO.getSize()) {
+            ApprovalRequest last = rows.get(rows.size() - 1);
+            response.setNextCursor(new KeysetCursor(last.getCreatedAt(), last.getId()).encode());
+        }
+        return response;
     }
 
     @Override
@@ -222,6 +188,10 @@ public class ApprovalServiceImpl implements ApprovalService {
                 Expense expense = expenseRepository.findByIdWithWriter(approvalRequest.getRefId())
                         .orElseThrow();
 
+                ApprovalStatus fromStatus = expense.getStatus();
+                String fromCategory = expense.getCategory();
+                Integer fromAmount = expense.getAmount();
+
                 if ("APPROVE".equals(action)) {
                     expense.approve();
                 } else if ("REJECT".equals(action)) {
@@ -235,6 +205,12 @@ public class ApprovalServiceImpl implements ApprovalService {
 
                 expenseRepository.save(expense);
 
+                ExpenseStatusChangedEvent changed =
+                        ExpenseStatusChangedEvent.of(expense, fromStatus, fromCategory, fromAmount);
+                if (changed.changed()) {
+                    eventPublisher.publishEvent(changed);
+                }
+
                 approvalRequest.syncStatusSnapshot(expense.getStatus());
                 approvalRequestRepository.save(approvalRequest);
 
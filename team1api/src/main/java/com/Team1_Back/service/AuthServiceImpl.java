@@ -3,6 +3,7 @@ package com.Team1_Back.service;
 import com.Team1_Back.domain.User;
 import com.Team1_Back.dto.LoginResponseDTO;
 import com.Team1_Back.repository.UserRepository;
+import com.Team1_Back.security.lockout.LoginLockoutService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -16,6 +17,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class AuthServiceImpl implements AuthService {
 
     private final UserRepository userRepository;
+    private final LoginLockoutService lockoutService;
 
     // 계정 잠금 해제
     @Override
@@ -25,6 +27,7 @@ public class AuthServiceImpl implements AuthService {
 
         user.unlock();
         userRepository.save(user);
+        lockoutService.reset(employeeNo);
 
         log.info("계정 잠금 해제: {}", employeeNo);
     }
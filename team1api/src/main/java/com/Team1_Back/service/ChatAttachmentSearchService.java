@@ -1,19 +1,26 @@
 package com.Team1_Back.service;
 
+import com.Team1_Back.chat.ChatSearchIndex;
+import com.Team1_Back.chat.ChatSearchIndexer;
 import com.Team1_Back.dto.ChatAttachmentSearchRow;
 import com.Team1_Back.repository.ChatAttachmentRepository;
+import com.Team1_Back.repository.ChatRoomMemberRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class ChatAttachmentSearchService {
 
         private final ChatAttachmentRepository chatAttachmentRepository;
+        private final ChatRoomMemberRepository chatRoomMemberRepository;
+        private final ChatSearchIndexer chatSearchIndexer;
 
     public List<ChatAttachmentSearchRow> searchGlobal(Long userId, String q, Integer limit, Integer offset) {
         if (q == null || q.trim().isEmpty()) {
@@ -26,6 +33,12 @@ public class ChatAttachmentSearchService {
         // ✅ 맥락 윈도우 (기본 120초 추천: 텍스트 → 파일 올리기 흐름 커버됨)
         int ctxSeconds = 120;
 
+        // ✅ 색인이 준비됐으면 in-process 역색인, 기동 직후 색인 중이거나 색인 범위 밖 페이지면 DB 검색
+        if (chatSearchIndexer.isReady()) {
+            List<ChatAttachmentSearchRow> indexed = searchIndex(userId, q.trim(), ctxSeconds, safeLimit, safeOffset);
+            if (indexed != null) return indexed;
+        }
+
         List<ChatAttachmentRepository.ChatAttachmentSearchView> rows =
                 chatAttachmentRepository.searchMyChatAttachmentsWithContext(
                         userId,
@@ -51,5 +64,28 @@ public class ChatAttachmentSearchService {
                 .toList();
     }
 
-}
+    private List<ChatAttachmentSearchRow> searchIndex(Long userId, String q, int ctxSeconds, int limit, int offset) {
+        Set<Long> roomIds = new HashSet<>(chatRoomMemberRepository.findRoomIdsByUserId(userId));
 
+        // 삭제된 첨부는 색인 쪽에서 DB 확인 후 페이지를 자름 (null 이면 색인 범위 밖)
+        List<ChatSearchIndex.Hit> hits = chatSearchIndexer.search(roomIds, q, ctxSeconds, limit, offset);
+        if (hits == null) return null;
+
+        return hits.stream()
+                .map(ChatSearchIndex.Hit::attachment)
+                .map(a -> new ChatAttachmentSearchRow(
+                        a.attachmentId(),
+                        a.roomId(),
+                        a.messageId(),
+                        a.uploaderId(),
+                        a.originalName(),
+                        a.mimeType(),
+                        a.fileSize(),
+                        "/api/files/chat/" + a.attachmentId() + "/download",
+                        a.createdAt(),
+                        a.messageContent() == null ? "" : a.messageContent()
+                ))
+                .toList();
+    }
+
+}
@@ -1,7 +1,9 @@
 package com.Team1_Back.service;
 
+import com.Team1_Back.chat.ChatBroadcaster;
 import com.Team1_Back.domain.ChatAttachment;
 import com.Team1_Back.domain.ChatMessage;
+import com.Team1_Back.domain.event.ChatMessageSavedEvent;
 import com.Team1_Back.dto.ChatAttachmentDto;
 import com.Team1_Back.dto.ChatMessageBroadcastDto;
 import com.Team1_Back.dto.UploadMessageWithAttachmentsResponse;
@@ -10,8 +12,8 @@ import com.Team1_Back.repository.ChatMessageRepository;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.MediaType;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
@@ -33,7 +35,9 @@ public class ChatAttachmentService {
     private final ChatAttachmentRepository attachmentRepo;
     private final ChatMessageRepository messageRepo;
     private final ChatRoomSecurityService chatRoomSecurityService;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final ChatBroadcaster chatBroadcaster;
+    private final ChatRoomSummaryService chatRoomSummaryService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Value("${app.upload.chat-base-dir}")
     private String baseDir;
@@ -57,8 +61,10 @@ public class ChatAttachmentService {
                 .build();
 
         msg = messageRepo.save(msg);
+        chatRoomSummaryService.onMessage(msg);
 
         List<ChatAttachmentDto> attachments = new ArrayList<>();
+        List<ChatAttachment> saved = new ArrayList<>();
 
         if (files != null) {
             for (MultipartFile file : files) {
@@ -121,6 +127,7 @@ public class ChatAttachmentService {
                 // ✅ 저장 후 id 기반 다운로드 URL 확정
                 att.setFileUrl("/api/files/chat/" + att.getId() + "/download");
                 attachmentRepo.save(att);
+                saved.add(att);
 
                 // ---------------------------
                 // 5) 응답 DTO
@@ -135,6 +142,9 @@ public class ChatAttachmentService {
             }
         }
 
+        // ✅ 검색/벡터 색인 (커밋 후 반영)
+        eventPublisher.publishEvent(new ChatMessageSavedEvent(msg, saved));
+
         ChatMessageBroadcastDto payload = ChatMessageBroadcastDto.builder()
                 .type("MESSAGE")
                 .roomId(roomId)
@@ -146,7 +156,7 @@ public class ChatAttachmentService {
                 .build();
 
         // ✅ 프론트 subscribeRoom(): /topic/room/${roomId}
-        messagingTemplate.convertAndSend("/topic/room/" + roomId, payload);
+        chatBroadcaster.toRoom(roomId, payload);
 
         return UploadMessageWithAttachmentsResponse.builder()
                 .messageId(msg.getId())
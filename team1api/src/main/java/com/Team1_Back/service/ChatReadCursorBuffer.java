@@ -0,0 +1,150 @@
+package com.Team1_Back.service;
+
+import com.Team1_Back.domain.ChatRoomMemberId;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 채팅 읽음 커서 write-behind
+ *
+ * - 읽음/전송 시에는 (room, user) 별 최대값만 메모리에 합쳐 두고
+ *   주기적으로 chat_room_member 에 batch UPDATE (스크롤할 때마다 나가던 단건 UPDATE 제거)
+ * - DB 반영은 GREATEST 로 → 늦게 도착한 작은 값이 커서를 뒤로 돌리지 못함
+ * - 같은 트랜잭션에서 chat_room_summary 안 읽은 수도 다시 셈
+ * - 아직 반영 안 된 값은 peek() 로 getRoomMeta 에서 합쳐 보여줌
+ * - WebSocket 연결이 끊기면 그 사용자 것은 바로 반영
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatReadCursorBuffer {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String UPDATE_MEMBER_SQL = """
+            UPDATE chat_room_member
+            SET last_read_message_id = GREATEST(COALESCE(last_read_message_id, 0), ?),
+                last_read_at = ?
+            WHERE room_id = ? AND user_id = ?
+            """;
+
+    // 반영된 커서 이후 남의 메시지만 다시 셈 (idx_cm_room_id_id 범위 스캔)
+    private static final String RECOUNT_UNREAD_SQL = """
+            UPDATE chat_room_summary s
+            JOIN chat_room_member crm
+              ON crm.room_id = s.room_id AND crm.user_id = s.user_id
+            SET s.unread_count = (
+                  SELECT COUNT(*)
+                  FROM chat_message m
+                  WHERE m.room_id = s.room_id
+                    AND m.id > COALESCE(crm.last_read_message_id, 0)
+                    AND m.deleted_at IS NULL
+                    AND m.sender_id <> s.user_id
+                ),
+                s.updated_at = NOW()
+            WHERE s.room_id = ? AND s.user_id = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<ChatRoomMemberId, Cursor> pending = new ConcurrentHashMap<>();
+
+    private record Cursor(long messageId, LocalDateTime readAt) {}
+
+    /**
+     * 읽음 커서 전진 (작은 값은 무시, 읽은 시각만 갱신)
+     */
+    public void advance(Long roomId, Long userId, Long messageId) {
+        if (roomId == null || userId == null || messageId == null) return;
+
+        Cursor next = new Cursor(messageId, LocalDateTime.now());
+        pending.merge(new ChatRoomMemberId(roomId, userId), next,
+                (old, cur) -> new Cursor(Math.max(old.messageId(), cur.messageId()), cur.readAt()));
+    }
+
+    /**
+     * 아직 DB 에 반영되지 않은 커서 (없으면 null)
+     */
+    public Long peek(Long roomId, Long userId) {
+        Cursor c = pending.get(new ChatRoomMemberId(roomId, userId));
+        return c == null ? null : c.messageId();
+    }
+
+    @Scheduled(fixedDelayString = "${com.mallapi.chat.read-cursor.flush-ms:1000}")
+    public void flush() {
+        flushMatching(null);
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        if (event.getUser() == null) return;
+        try {
+            flushMatching(Long.valueOf(event.getUser().getName()));
+        } catch (NumberFormatException ignored) {
+            // userId 가 아닌 principal 은 주기 flush 에 맡김
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private void flushMatching(Long userId) {
+        if (pending.isEmpty()) return;
+
+        // pending 에서는 DB 반영(커밋)이 끝난 뒤에 지움 → 그 사이 peek() 가 커서를 잃지 않음
+        List<Map.Entry<ChatRoomMemberId, Cursor>> batch = new ArrayList<>(BATCH_SIZE);
+        for (Map.Entry<ChatRoomMemberId, Cursor> e : pending.entrySet()) {
+            if (userId != null && !userId.equals(e.getKey().getUserId())) continue;
+
+            batch.add(Map.entry(e.getKey(), e.getValue()));
+            if (batch.size() >= BATCH_SIZE) {
+                write(batch);
+                batch = new ArrayList<>(BATCH_SIZE);
+            }
+        }
+        if (!batch.isEmpty()) write(batch);
+    }
+
+    private void write(List<Map.Entry<ChatRoomMemberId, Cursor>> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(UPDATE_MEMBER_SQL, batch, batch.size(), (ps, e) -> {
+                    ps.setLong(1, e.getValue().messageId());
+                    ps.setTimestamp(2, Timestamp.valueOf(e.getValue().readAt()));
+                    ps.setLong(3, e.getKey().getRoomId());
+                    ps.setLong(4, e.getKey().getUserId());
+                });
+                jdbcTemplate.batchUpdate(RECOUNT_UNREAD_SQL, batch, batch.size(), (ps, e) -> {
+                    ps.setLong(1, e.getKey().getRoomId());
+                    ps.setLong(2, e.getKey().getUserId());
+                });
+            });
+        } catch (Exception ex) {
+            // pending 에 그대로 남아 있으므로 다음 flush 때 재시도
+            log.error("[READ-CURSOR] batch update failed, size={}", batch.size(), ex);
+            return;
+        }
+
+        // 커밋 후 제거. 그 사이 더 큰 값(또는 새 읽은 시각)이 들어왔으면 값이 달라 남겨두고 다음 flush 때 반영
+        for (Map.Entry<ChatRoomMemberId, Cursor> e : batch) {
+            pending.remove(e.getKey(), e.getValue());
+        }
+    }
+}
@@ -18,6 +18,7 @@ public class ChatRoomCommandService {
 
     private final ChatRoomRepository chatRoomRepository;
     private final ChatRoomMemberRepository chatRoomMemberRepository;
+    private final ChatRoomSummaryService chatRoomSummaryService;
 
     @Transactional
     public Long createDm(Long meId, Long targetId) {
@@ -38,6 +39,7 @@ public class ChatRoomCommandService {
 
                     insertMember(room.getId(), meId);
                     insertMember(room.getId(), targetId);
+                    chatRoomSummaryService.onMembersChanged(room.getId());
 
                     return room.getId();
                 });
@@ -59,6 +61,7 @@ public class ChatRoomCommandService {
                 insertMember(room.getId(), uid);
             }
         }
+        chatRoomSummaryService.onMembersChanged(room.getId());
 
         return room.getId();
     }
@@ -74,6 +77,7 @@ public class ChatRoomCommandService {
             if (uid == null) continue;
             insertMember(roomId, uid);
         }
+        chatRoomSummaryService.onMembersChanged(roomId);
     }
 
     private void insertMember(Long roomId, Long userId) {
@@ -102,6 +106,7 @@ public class ChatRoomCommandService {
 
         // 2) 방에서 나가기(멤버 row 삭제)
         chatRoomMemberRepository.delete(member);
+        chatRoomSummaryService.onMembersChanged(roomId);
 
         // 3) (선택) 방에 남은 멤버가 0명이면 방/메시지 정리
         long remain = chatRoomMemberRepository.countByIdRoomId(roomId);
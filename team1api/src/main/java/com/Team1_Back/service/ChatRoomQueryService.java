@@ -1,42 +1,42 @@
 package com.Team1_Back.service;
 
 import com.Team1_Back.dto.ChatRoomListItemResponse;
-import com.Team1_Back.repository.ChatRoomRepository;
-import com.Team1_Back.repository.projection.ChatRoomListRow;
+import com.Team1_Back.repository.ChatRoomSummaryRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.time.ZoneId;
 import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 public class ChatRoomQueryService {
 
-    private final ChatRoomRepository chatRoomRepository;
+    private final ChatRoomSummaryRepository chatRoomSummaryRepository;
+    private final ChatReadCursorBuffer readCursorBuffer;
 
+    // ✅ 미리 계산된 chat_room_summary 에서 바로 읽음 (메시지 수와 무관)
+    // ✅ unread_count 는 읽음 커서 flush 때 다시 세므로, 아직 반영 안 된 커서(peek)가 마지막 메시지까지 왔으면 0
+    @Transactional(readOnly = true)
     public List<ChatRoomListItemResponse> myRooms(Long meId) {
-        List<ChatRoomListRow> rows = chatRoomRepository.findMyRoomList(meId);
-
-        return rows.stream().map(r -> new ChatRoomListItemResponse(
-                r.getRoomId(),
-                r.getType(),
-                r.getDirectKey(),
-
-                // ✅ 추가
-                r.getPartnerName(),
-
-                r.getLastMessageId(),
-                r.getLastSenderId(),
-                r.getLastContent(),
-                r.getLastCreatedAt() != null
-                        ? r.getLastCreatedAt()
-                        .atZone(ZoneId.of("Asia/Seoul"))
-                        .toInstant()
-                        : null,
-
-                r.getUnreadCount() != null ? r.getUnreadCount() : 0L
-        )).toList();
+        return chatRoomSummaryRepository.findByIdUserIdOrderByLastMessageIdDesc(meId).stream()
+                .map(s -> new ChatRoomListItemResponse(
+                        s.getId().getRoomId(),
+                        s.getRoomType(),
+                        s.getDirectKey(),
+                        s.getDisplayName(),
+                        s.getLastMessageId(),
+                        s.getLastSenderId(),
+                        s.getLastContent(),
+                        s.getLastCreatedAt(),
+                        unreadCount(meId, s.getId().getRoomId(), s.getLastMessageId(), s.getUnreadCount())
+                ))
+                .toList();
+    }
 
+    private long unreadCount(Long meId, Long roomId, Long lastMessageId, long stored) {
+        Long pendingCursor = readCursorBuffer.peek(roomId, meId);
+        if (pendingCursor != null && lastMessageId != null && pendingCursor >= lastMessageId) return 0L;
+        return stored;
     }
 }
@@ -0,0 +1,93 @@
+package com.Team1_Back.service;
+
+import com.Team1_Back.domain.ChatMessage;
+import com.Team1_Back.repository.ChatRoomMemberRepository;
+import com.Team1_Back.repository.ChatRoomSummaryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 채팅방 목록 요약(chat_room_summary) 유지
+ *
+ * - 메시지 전송: 방 멤버 행 전체의 마지막 메시지 / 안 읽은 수를 UPDATE 한 번으로 갱신
+ * - 읽음: ChatReadCursorBuffer 가 커서를 batch 반영하면서 안 읽은 수도 다시 셈
+ * - 멤버 추가/나가기: 행 추가·삭제 후 방 이름 다시 계산
+ * - 사용자 이름 변경: 그 사용자가 속한 방들의 이름 다시 계산
+ *
+ * 모두 호출한 쪽 트랜잭션 안에서 실행 → 메시지/멤버 변경이 롤백되면 요약도 같이 롤백
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChatRoomSummaryService {
+
+    private static final int PREVIEW_LENGTH = 200;
+
+    private final ChatRoomSummaryRepository summaryRepository;
+    private final ChatRoomMemberRepository memberRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${com.mallapi.chat.room-summary.rebuild-on-empty:true}")
+    private boolean rebuildOnEmpty;
+
+    public void onMessage(ChatMessage message) {
+        summaryRepository.applyMessage(
+                message.getRoomId(),
+                message.getId(),
+                message.getSenderId(),
+                preview(message.getContent()),
+                message.getCreatedAt()
+        );
+    }
+
+    public void onMembersChanged(Long roomId) {
+        // 아직 flush 안 된 chat_room_member insert/delete 를 native 쿼리가 보도록
+        memberRepository.flush();
+
+        summaryRepository.deleteLeftMembers(roomId);
+        summaryRepository.insertMissingMembers(roomId);
+        summaryRepository.refreshDisplayNames(roomId);
+    }
+
+    public void onUserRenamed(Long userId) {
+        summaryRepository.refreshDisplayNamesForUser(userId);
+    }
+
+    /**
+     * 전체 재구축
+     *
+     * @return 생성된 요약 행 수
+     */
+    public int rebuild() {
+        long started = System.currentTimeMillis();
+        Integer rows = transactionTemplate.execute(status -> {
+            summaryRepository.deleteAllRows();
+            int n = summaryRepository.rebuildFromMembers();
+            summaryRepository.refreshAllDisplayNames();
+            return n;
+        });
+        log.info("[CHAT-SUMMARY] rebuilt chat_room_summary rows={} took={}ms",
+                rows, System.currentTimeMillis() - started);
+        return rows == null ? 0 : rows;
+    }
+
+    /**
+     * 요약 테이블이 비어 있는데 채팅방 멤버가 있으면 기동 시 한 번 채움
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        if (!rebuildOnEmpty) return;
+        if (summaryRepository.count() > 0 || memberRepository.count() == 0) return;
+        rebuild();
+    }
+
+    private String preview(String content) {
+        if (content == null) return null;
+        return content.length() <= PREVIEW_LENGTH ? content : content.substring(0, PREVIEW_LENGTH);
+    }
+}
@@ -1,9 +1,11 @@
 package com.Team1_Back.service;
 
+import com.Team1_Back.chat.ChatBroadcaster;
 import com.Team1_Back.domain.ChatMessage;
 import com.Team1_Back.domain.ChatRoom;
 import com.Team1_Back.domain.ChatRoomMember;
 import com.Team1_Back.domain.ChatRoomMemberId;
+import com.Team1_Back.domain.event.ChatMessageSavedEvent;
 import com.Team1_Back.dto.ChatAttachmentDto;
 import com.Team1_Back.dto.ChatMessageResponse;
 import com.Team1_Back.dto.ChatRoomMetaResponse;
@@ -11,7 +13,7 @@ import com.Team1_Back.repository.ChatMessageRepository;
 import com.Team1_Back.repository.ChatRoomMemberRepository;
 import com.Team1_Back.repository.ChatRoomRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,7 +25,10 @@ import java.util.Map;
 @Service
 @RequiredArgsConstructor
 public class ChatService {
-    private final SimpMessagingTemplate messagingTemplate;
+    private final ChatBroadcaster chatBroadcaster;
+    private final ChatRoomSummaryService chatRoomSummaryService;
+    private final ChatReadCursorBuffer chatReadCursorBuffer;
+    private final ApplicationEventPublisher eventPublisher;
 
     private final ChatRoomRepository roomRepo;
     private final ChatRoomMemberRepository memberRepo;
@@ -57,21 +62,23 @@ public class ChatService {
         });
 
         // ✅ EmbeddedId 방식으로 멤버 insert
-        insertMemberIfAbsent(room.getId(), meId);
-        insertMemberIfAbsent(room.getId(), targetId);
+        boolean added = insertMemberIfAbsent(room.getId(), meId);
+        added |= insertMemberIfAbsent(room.getId(), targetId);
+        if (added) chatRoomSummaryService.onMembersChanged(room.getId());
 
         return room.getId();
     }
 
-    private void insertMemberIfAbsent(Long roomId, Long userId) {
+    private boolean insertMemberIfAbsent(Long roomId, Long userId) {
         ChatRoomMemberId pk = new ChatRoomMemberId(roomId, userId);
 
-        if (memberRepo.existsById(pk)) return;
+        if (memberRepo.existsById(pk)) return false;
 
         ChatRoomMember m = new ChatRoomMember();
         m.setId(pk);
         m.setJoinedAt(LocalDateTime.now()); // ✅ 엔티티가 LocalDateTime
         memberRepo.save(m);
+        return true;
     }
 
     // =========================
@@ -103,25 +110,19 @@ public class ChatService {
 
         final Long savedId = saved.getId();
 
-        memberRepo.findByIdRoomIdAndIdUserId(roomId, senderId).ifPresent(m -> {
-            m.setLastReadMessageId(savedId);
-            m.setLastReadAt(LocalDateTime.now()); // ✅ 엔티티가 LocalDateTime
-            memberRepo.save(m);
-        });
+        // 방 목록 요약: 마지막 메시지 + 멤버별 안 읽은 수
+        chatRoomSummaryService.onMessage(saved);
+        eventPublisher.publishEvent(ChatMessageSavedEvent.of(saved)); // 검색/벡터 색인 (커밋 후)
+
+        // 보낸 사람은 자기 메시지까지 읽음 (chat_room_member 반영은 ChatReadCursorBuffer 가 모아서)
+        chatReadCursorBuffer.advance(roomId, senderId, savedId);
 
         return new ChatMessageResponse(savedId, roomId, senderId, saved.getContent(), saved.getCreatedAt(),List.of() );
     }
 
     public void broadcastRoomsChanged(Long roomId) {
-        List<Long> userIds = chatRoomMemberRepository.findUserIdsByRoomId(roomId);
-
-        for (Long uid : userIds) {
-            messagingTemplate.convertAndSendToUser(
-                    String.valueOf(uid),
-                    "/queue/rooms",
-                    Map.of("type", "ROOMS_CHANGED")
-            );
-        }
+        // 멤버별 ROOMS_CHANGED 는 ChatBroadcaster 가 모아서 한 번에 전송
+        chatBroadcaster.roomsChanged(chatRoomMemberRepository.findUserIdsByRoomId(roomId));
     }
 
     // =========================
@@ -140,7 +141,7 @@ public class ChatService {
 
         for (ChatRoomMember m : members) {
             Long uid = m.getId().getUserId();
-            Long last = m.getLastReadMessageId(); // null 가능
+            Long last = max(m.getLastReadMessageId(), chatReadCursorBuffer.peek(roomId, uid)); // null 가능
 
             map.put(uid, last);
 
@@ -181,28 +182,23 @@ public class ChatService {
     // =========================
     // READ UPDATE
     // =========================
-    @Transactional
+    @Transactional(readOnly = true)
     public void updateRead(Long roomId, Long meId, Long lastReadMessageId) {
-        ChatRoomMember m = memberRepo.findByIdRoomIdAndIdUserId(roomId, meId)
-                .orElseThrow(() -> new IllegalStateException("Not a room member"));
+        assertMember(roomId, meId);
 
         // lastReadMessageId가 null이면: 메시지 없는 방이거나, 프론트가 안 보냈거나
-        if (lastReadMessageId == null) {
-            m.setLastReadAt(LocalDateTime.now());
-            return;
-        }
-
-        Long current = m.getLastReadMessageId();
+        if (lastReadMessageId == null) return;
 
-        // 읽음은 뒤로 가면 안 됨: max(current, incoming)
-        if (current == null || lastReadMessageId > current) {
-            m.setLastReadMessageId(lastReadMessageId);
-        }
-        m.setLastReadAt(LocalDateTime.now());
+        // 읽음은 뒤로 가면 안 됨: 버퍼/DB 모두 max 로 반영
+        chatReadCursorBuffer.advance(roomId, meId, lastReadMessageId);
+    }
 
-        // ✅ JPA면 save() 없어도 됨 (m이 영속 상태)
-        // memberRepo.save(m);
+    private Long max(Long a, Long b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        return Math.max(a, b);
     }
+
     private ChatMessageResponse toResponse(ChatMessage m) {
         return ChatMessageResponse.builder()
                 .messageId(m.getId())
@@ -242,6 +238,7 @@ public class ChatService {
         for (Long uid : all.stream().distinct().toList()) {
             insertMemberIfAbsent(room.getId(), uid);
         }
+        chatRoomSummaryService.onMembersChanged(room.getId());
 
         return room.getId();
     }
@@ -256,6 +253,7 @@ public class ChatService {
         for (Long uid : userIds.stream().distinct().toList()) {
             insertMemberIfAbsent(roomId, uid);
         }
+        chatRoomSummaryService.onMembersChanged(roomId);
     }
 
     @Transactional
@@ -0,0 +1,93 @@
+package com.Team1_Back.service;
+
+import com.Team1_Back.domain.ApprovalStatus;
+import com.Team1_Back.domain.event.ExpenseStatusChangedEvent;
+import com.Team1_Back.repository.ExpenseMonthlyAggRepository;
+import com.Team1_Back.repository.ExpenseRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+
+/**
+ * 월별 지출 집계(expense_monthly_agg) 유지
+ *
+ * - 증분: 지출 상태 변경 이벤트를 결재 트랜잭션 안에서 받아
+ *   이전 버킷 -1 / 새 버킷 +1 (금액도 같이). 결재가 롤백되면 집계도 같이 롤백
+ * - 재구축: 테이블을 비우고 expense 에서 한 번에 다시 채움 (최초 배포 / 보정용)
+ *   INSERT ... SELECT 가 expense 행에 공유 락을 잡으므로 진행 중 결재는 재구축 커밋 뒤에 반영됨
+ *
+ * 부서는 이벤트 시점의 작성자 부서 기준. 사용자 부서 이동을 과거 건에 반영하려면 재구축
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ExpenseRollupService {
+
+    private final ExpenseMonthlyAggRepository aggRepository;
+    private final ExpenseRepository expenseRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${com.mallapi.accounting.rollup.rebuild-on-empty:true}")
+    private boolean rebuildOnEmpty;
+
+    @EventListener
+    public void onExpenseStatusChanged(ExpenseStatusChangedEvent event) {
+        if (!event.changed() || event.receiptDate() == null) return;
+
+        String ym = yearMonth(event.receiptDate());
+        String dept = nz(event.departmentName());
+
+        if (counted(event.fromStatus())) {
+            aggRepository.applyDelta(ym, dept, nz(event.fromCategory()), event.fromStatus().name(),
+                    -1, -event.fromAmount());
+        }
+        if (counted(event.toStatus())) {
+            aggRepository.applyDelta(ym, dept, nz(event.toCategory()), event.toStatus().name(),
+                    1, event.toAmount());
+        }
+    }
+
+    /**
+     * 전체 재구축
+     *
+     * @return 생성된 집계 행 수
+     */
+    public int rebuild() {
+        long started = System.currentTimeMillis();
+        Integer rows = transactionTemplate.execute(status -> {
+            aggRepository.deleteAllRows();
+            return aggRepository.rebuildFromExpense();
+        });
+        log.info("[ROLLUP] rebuilt expense_monthly_agg rows={} took={}ms",
+                rows, System.currentTimeMillis() - started);
+        return rows == null ? 0 : rows;
+    }
+
+    /**
+     * 집계 테이블이 비어 있는데 지출 데이터가 있으면 기동 시 한 번 채움
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        if (!rebuildOnEmpty) return;
+        if (aggRepository.count() > 0 || expenseRepository.count() == 0) return;
+        rebuild();
+    }
+
+    private boolean counted(ApprovalStatus status) {
+        return status != null && status != ApprovalStatus.DRAFT;
+    }
+
+    private String yearMonth(LocalDate d) {
+        return String.format("%04d-%02d", d.getYear(), d.getMonthValue());
+    }
+
+    private String nz(String s) {
+        return s == null ? "" : s;
+    }
+}
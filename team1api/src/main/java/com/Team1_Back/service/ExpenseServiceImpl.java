@@ -1,16 +1,18 @@
 package com.Team1_Back.service;
 
 import com.Team1_Back.domain.*;
+import com.Team1_Back.domain.event.ExpenseStatusChangedEvent;
 import com.Team1_Back.dto.ExpenseDTO;
 import com.Team1_Back.dto.ExpenseSubmitDTO;
 import com.Team1_Back.dto.PageRequestDTO;
 import com.Team1_Back.dto.PageResponseDTO;
 import com.Team1_Back.repository.*;
+import com.Team1_Back.repository.search.ExpenseFilter;
+import com.Team1_Back.repository.search.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.modelmapper.ModelMapper;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -30,9 +32,13 @@ public class ExpenseServiceImpl implements ExpenseService {
     private final ReceiptUploadRepository receiptUploadRepository;
     private final ReceiptAiExtractionRepository receiptAiExtractionRepository;
     private final ReceiptVerificationRepository receiptVerificationRepository;
+    private final ReceiptOcrJobRepository receiptOcrJobRepository;
+    private final ReceiptBlobStore receiptBlobStore;
     private final ApprovalRequestRepository approvalRequestRepository;
     private final ApprovalActionLogRepository approvalActionLogRepository;
     private final ModelMapper modelMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ListCountCache listCountCache;
 
     @Override
     @Transactional(readOnly = true)
@@ -41,8 +47,6 @@ public class ExpenseServiceImpl implements ExpenseService {
             pageRequestDTO = PageRequestDTO.builder().page(1).size(15).build();
         }
 
-        Pageable pageable = pageRequestDTO.getPageable("createdAt", "updatedAt");
-
         ApprovalStatus statusEnum = null;
         if (status != null && !status.isEmpty()) {
             try {
@@ -52,38 +56,34 @@ public class ExpenseServiceImpl implements ExpenseService {
             }
         }
 
-        Page<Expense> result;
-        boolean hasStartDate = startDate != null;
-        boolean hasEndDate = endDate != null;
-
-        if (statusEnum != null && hasStartDate && hasEndDate) {
-            result = expenseRepository.findByUserIdAndStatusAndDateRange(userId, statusEnum, startDate, endDate, pageable);
-        } else if (statusEnum != null && hasStartDate) {
-            result = expenseRepository.findByUserIdAndStatusAndStartDate(userId, statusEnum, startDate, pageable);
-        } else if (statusEnum != null && hasEndDate) {
-            result = expenseRepository.findByUserIdAndStatusAndEndDate(userId, statusEnum, endDate, pageable);
-        } else if (statusEnum != null) {
-            result = expenseRepository.findByWriterIdAndStatus(userId, statusEnum, pageable);
-        } else if (hasStartDate && hasEndDate) {
-            result = expenseRepository.findByUserIdAndDateRange(userId, startDate, endDate, pageable);
-        } else if (hasStartDate) {
-            result = expenseRepository.findByUserIdAndStartDate(userId, startDate, pageable);
-        } else if (hasEndDate) {
-            result = expenseRepository.findByUserIdAndEndDate(userId, endDate, pageable);
-        } else {
-            result = expenseRepository.findByWriterId(userId, pageable);
-        }
+        // 조건 조합은 QueryDSL 한 곳에서 처리 (created_at 반열린 구간 + keyset)
+        ExpenseFilter filter = ExpenseFilter.builder()
+                .writerId(userId)
+                .status(statusEnum)
+                .startDate(startDate)
+                .endDate(endDate)
+                .build();
 
-        List<ExpenseDTO> dtoList = result.getContent().stream()
+        KeysetCursor cursor = KeysetCursor.decode(pageRequestDTO.getCursor());
+        List<Expense> rows = expenseRepository.search(
+                filter, cursor, pageRequestDTO.getOffset(), pageRequestDTO.getSize());
+        // 건수는 첫 페이지에서만 셈. 커서로 넘기는 페이지는 클라이언트가 받은 total 을 그대로 씀
+        // 페이지 번호 이동은 캐시 (본인 지출 등록/삭제/상태 변경 시 해당 사용자 키를 지움)
+        long totalCount = (cursor != null && pageRequestDTO.getTotal() != null)
+                ? pageRequestDTO.getTotal()
+                : listCountCache.get(ListCountCache.userKeyPrefix(userId) + filter, () -> expenseRepository.count(filter));
+
+        List<ExpenseDTO> dtoList = rows.stream()
                 .map(this::entityToDTO)
                 .filter(dto -> dto != null)
                 .collect(Collectors.toList());
 
-        return PageResponseDTO.of(
-                dtoList,
-                pageRequestDTO,
-                result.getTotalElements()
-        );
+        PageResponseDTO<ExpenseDTO> response = PageResponseDTO.of(dtoList, pageRequestDTO, totalCount);
+        if (rows.size() == pageRequestDTO.getSize()) {
+            Expense last = rows.get(rows.size() - 1);
+            response.setNextCursor(new KeysetCursor(last.getCreatedAt(), last.getId()).encode());
+        }
+        return response;
     }
 
     @Override
@@ -111,6 +111,7 @@ public class ExpenseServiceImpl implements ExpenseService {
         expense.setStatus(ApprovalStatus.DRAFT);
 
         Expense saved = expenseRepository.save(expense);
+        listCountCache.evictAfterCommit(ListCountCache.userKeyPrefix(userId));
         return saved.getId();
     }
 
@@ -153,7 +154,11 @@ public class ExpenseServiceImpl implements ExpenseService {
                 receiptAiExtractionRepository.delete(extractionOpt.get());
             }
 
-            // 1-2. ReceiptUpload 삭제
+            // 1-2. OCR 작업 정리 + 이미지 원본 참조 -1 (참조가 없어지면 ReceiptBlobStore GC 가 파일 삭제)
+            receiptOcrJobRepository.deleteByReceiptId(receipt.getId());
+            receiptBlobStore.release(receipt.getFileHash(), receipt.getFileUrl());
+
+            // 1-3. ReceiptUpload 삭제
             receiptUploadRepository.delete(receipt);
         }
 
@@ -180,6 +185,7 @@ public class ExpenseServiceImpl implements ExpenseService {
 
         // 4. Expense 삭제
         expenseRepository.delete(expense);
+        listCountCache.evictAfterCommit(ListCountCache.userKeyPrefix(userId));
     }
 
     @Override
@@ -194,6 +200,10 @@ public class ExpenseServiceImpl implements ExpenseService {
 
         expenseRepository.save(expense);
 
+        // 월별 집계에 SUBMITTED 반영
+        eventPublisher.publishEvent(ExpenseStatusChangedEvent.of(
+                expense, ApprovalStatus.DRAFT, expense.getCategory(), expense.getAmount()));
+
         // ApprovalRequest 생성
         ApprovalRequest approvalRequest = ApprovalRequest.builder()
                 .requestType("EXPENSE")
@@ -0,0 +1,140 @@
+package com.Team1_Back.service;
+
+import com.Team1_Back.domain.event.ExpenseStatusChangedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+/**
+ * 목록 totalCount 캐시 (stale-while-revalidate)
+ *
+ * - 처음 보는 조건만 동기로 COUNT(*), 이후에는 캐시 값을 바로 반환
+ * - TTL 이 지났거나 지출 상태가 바뀌었으면 캐시 값을 돌려주면서 백그라운드에서 다시 셈
+ *   → 페이지 이동마다 COUNT(*) 를 기다리지 않음 (건수는 잠시 어긋날 수 있음)
+ * - 조건 조합 수가 한도를 넘으면 가장 오래 안 쓴 키부터 밀어냄 (LRU, 메모리 상한)
+ * - 사용자 본인 목록은 등록/삭제/상태 변경 커밋 후 해당 사용자 키를 지워 다음 조회에서 바로 다시 셈
+ */
+@Slf4j
+@Component
+public class ListCountCache {
+
+    private static final int MAX_KEYS = 1_000;
+
+    private final long ttlMs;
+    // access-order LinkedHashMap: 꺼낼 때마다 뒤로 가고, 한도를 넘으면 맨 앞(가장 오래 안 쓴 것)을 버림
+    private final Map<String, Entry> entries = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > MAX_KEYS;
+        }
+    };
+    private final ExecutorService refresher = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "list-count-refresh");
+        t.setDaemon(true);
+        return t;
+    });
+
+    // 이 시각 이전에 계산된 값은 stale 취급
+    private volatile long invalidatedAt = 0L;
+
+    public ListCountCache(@Value("${com.mallapi.admin.list-count.ttl-ms:30000}") long ttlMs) {
+        this.ttlMs = ttlMs;
+    }
+
+    private static final class Entry {
+        volatile long value;
+        volatile long computedAt;
+        final AtomicBoolean refreshing = new AtomicBoolean(false);
+    }
+
+    public long get(String key, LongSupplier loader) {
+        Entry e;
+        synchronized (entries) {
+            e = entries.get(key);
+        }
+        if (e == null) {
+            // COUNT(*) 는 잠금 밖에서 (같은 키 첫 조회가 겹치면 둘 다 세고 나중 값이 남음)
+            e = new Entry();
+            long started = System.currentTimeMillis();
+            e.value = loader.getAsLong();
+            e.computedAt = started;
+            synchronized (entries) {
+                entries.put(key, e);
+            }
+            return e.value;
+        }
+
+        long now = System.currentTimeMillis();
+        boolean stale = now - e.computedAt > ttlMs || e.computedAt < invalidatedAt;
+        if (stale && e.refreshing.compareAndSet(false, true)) {
+            Entry target = e;
+            refresher.execute(() -> {
+                try {
+                    long started = System.currentTimeMillis();
+                    target.value = loader.getAsLong();
+                    target.computedAt = started;
+                } catch (Exception ex) {
+                    log.warn("[COUNT-CACHE] refresh failed key={}: {}", key, ex.getMessage());
+                } finally {
+                    target.refreshing.set(false);
+                }
+            });
+        }
+        return e.value;
+    }
+
+    /**
+     * 제출/결재로 목록 구성이 바뀌면 다음 조회 때 백그라운드 재계산
+     */
+    @EventListener
+    public void onExpenseStatusChanged(ExpenseStatusChangedEvent event) {
+        invalidatedAt = System.currentTimeMillis();
+        if (event.userId() != null) evictAfterCommit(userKeyPrefix(event.userId()));
+    }
+
+    /**
+     * 사용자 본인 지출 목록 키 접두어 (뒤에 조건을 붙여 씀)
+     */
+    public static String userKeyPrefix(Long userId) {
+        return "expense:" + userId + ":";
+    }
+
+    /**
+     * prefix 로 시작하는 키를 지움. 트랜잭션 안이면 커밋 후에 지움
+     * (커밋 전에 지우면 다른 요청이 커밋 전 건수로 다시 채울 수 있음)
+     */
+    public void evictAfterCommit(String prefix) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(prefix);
+                }
+            });
+        } else {
+            evict(prefix);
+        }
+    }
+
+    private void evict(String prefix) {
+        synchronized (entries) {
+            entries.keySet().removeIf(k -> k.startsWith(prefix));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+}
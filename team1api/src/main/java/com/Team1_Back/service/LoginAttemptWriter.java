@@ -0,0 +1,114 @@
+package com.Team1_Back.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 로그인 시도 기록(login_attempt) write-behind
+ *
+ * 로그인 이벤트 처리 스레드에서는 큐에 넣기만 하고,
+ * 주기적으로 모아서 INSERT ... VALUES (...), (...) 한 문장으로 저장 (시도마다 save 하던 DB 왕복 제거)
+ * 큐가 가득 차면 버리고 dropped 로 셈 (호출 스레드에서 flush 하지 않음)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LoginAttemptWriter {
+
+    private static final int QUEUE_CAPACITY = 20_000;
+    private static final int BATCH_SIZE = 200;
+
+    private static final String INSERT_PREFIX =
+            "INSERT INTO login_attempt (employee_no, ip_address, success, created_at) VALUES ";
+    private static final String ROW = "(?, ?, ?, ?)";
+
+    // 가득 찬 배치는 매번 같은 문장 (statement 캐시 재사용)
+    private static final String FULL_BATCH_SQL = insertSql(BATCH_SIZE);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BlockingQueue<Entry> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final AtomicLong dropped = new AtomicLong();
+
+    private record Entry(String employeeNo, String ipAddress, boolean success, LocalDateTime createdAt) {}
+
+    public void enqueue(String employeeNo, String ipAddress, boolean success) {
+        Entry e = new Entry(employeeNo == null ? "" : employeeNo, ipAddress, success, LocalDateTime.now());
+        if (!queue.offer(e)) {
+            drop(e);
+        }
+    }
+
+    /**
+     * 큐가 가득 차 버린 기록 수 (기동 후 누적)
+     */
+    public long droppedCount() {
+        return dropped.get();
+    }
+
+    @Scheduled(fixedDelayString = "${com.mallapi.auth.login-attempt.flush-ms:1000}")
+    public void flush() {
+        List<Entry> batch = new ArrayList<>(BATCH_SIZE);
+        while (queue.drainTo(batch, BATCH_SIZE) > 0) {
+            try {
+                String sql = batch.size() == BATCH_SIZE ? FULL_BATCH_SQL : insertSql(batch.size());
+                Object[] args = new Object[batch.size() * 4];
+                int i = 0;
+                for (Entry e : batch) {
+                    args[i++] = truncate(e.employeeNo(), 50);
+                    args[i++] = truncate(e.ipAddress(), 45);
+                    args[i++] = e.success();
+                    args[i++] = Timestamp.valueOf(e.createdAt());
+                }
+                jdbcTemplate.update(sql, args);
+            } catch (Exception ex) {
+                log.error("[LOGIN-LOG] batch insert failed, size={}", batch.size(), ex);
+            }
+            batch.clear();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private void drop(Entry e) {
+        long n = dropped.incrementAndGet();
+        // 폭주 시 로그도 폭주하지 않도록 처음과 1000 건마다만
+        if (n == 1 || n % 1000 == 0) {
+            log.warn("[LOGIN-LOG] queue full, dropped total={} (last employeeNo={} success={})", n, e.employeeNo(), e.success());
+        }
+    }
+
+    static String insertSql(int rows) {
+        return insertSql(INSERT_PREFIX, ROW, rows);
+    }
+
+    // INSERT ... VALUES (..), (..) 를 rows 개로 (ReportDownloadLogWriter 도 같이 씀)
+    static String insertSql(String prefix, String row, int rows) {
+        StringBuilder sb = new StringBuilder(prefix.length() + rows * (row.length() + 2));
+        sb.append(prefix);
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) sb.append(", ");
+            sb.append(row);
+        }
+        return sb.toString();
+    }
+
+    // 컬럼 길이를 넘는 값 하나 때문에 배치 전체가 실패하지 않도록
+    private static String truncate(String v, int max) {
+        return (v == null || v.length() <= max) ? v : v.substring(0, max);
+    }
+}
@@ -5,6 +5,7 @@ import org.springframework.core.io.Resource;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 // 회의록 비즈니스 로직을 처리하는 서비스 인터페이스
 public interface MeetingNoteService {
@@ -29,4 +30,7 @@ public interface MeetingNoteService {
 
     // 회의록을 분석하여 Todo를 자동 생성
     int analyzeAndCreateTodos(Long id, Long userId);
+
+    // 분석 중 AI 가 생성하는 토큰을 onToken 으로 전달 (스트리밍 응답용)
+    int analyzeAndCreateTodos(Long id, Long userId, Consumer<String> onToken);
 }
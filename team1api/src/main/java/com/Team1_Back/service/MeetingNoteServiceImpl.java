@@ -26,6 +26,7 @@ import java.nio.file.Paths;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -158,6 +159,11 @@ public class MeetingNoteServiceImpl implements MeetingNoteService {
 
     @Override
     public int analyzeAndCreateTodos(Long id, Long userId) {
+        return analyzeAndCreateTodos(id, userId, null);
+    }
+
+    @Override
+    public int analyzeAndCreateTodos(Long id, Long userId, Consumer<String> onToken) {
         MeetingNote meetingNote = meetingNoteRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("회의록을 찾을 수 없습니다."));
 
@@ -188,7 +194,7 @@ public class MeetingNoteServiceImpl implements MeetingNoteService {
             log.info("[회의록 분석] 기본 마감일: {}", defaultDueDate);
 
             // AI 분석
-            List<TodoDTO> todos = aiService.analyzeMeetingNote(fileContent);
+            List<TodoDTO> todos = aiService.analyzeMeetingNote(fileContent, onToken);
 
             // Todo 생성
             User user = meetingNote.getUser();
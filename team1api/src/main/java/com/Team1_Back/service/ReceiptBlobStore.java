@@ -0,0 +1,185 @@
+package com.Team1_Back.service;
+
+import com.Team1_Back.domain.ReceiptBlob;
+import com.Team1_Back.repository.ReceiptBlobRepository;
+import com.Team1_Back.util.CustomFileUtil;
+import com.Team1_Back.util.PerceptualHash;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 영수증 이미지 content-addressed 저장소
+ *
+ * - 경로 = receipts/blobs/{hash 앞 2자리}/{sha256}.ext → 같은 이미지는 디스크에 한 번만
+ * - receipt_blob.ref_count 로 참조 수 관리 (업로드 +1, 삭제/교체 -1)
+ * - ref_count 가 0 이 되고 grace 가 지나면 GC 가 파일과 행을 함께 삭제
+ * - 새 원본은 phash(dHash) 를 같이 저장 → 다시 찍은 영수증 탐지
+ *
+ * 도입 전 업로드(UUID 경로)는 blob 행이 없으므로 삭제 시 예전처럼 파일을 바로 지움
+ */
+@Slf4j
+@Service
+public class ReceiptBlobStore {
+
+    private static final String SUB_PATH = "receipts/blobs";
+
+    private final ReceiptBlobRepository receiptBlobRepository;
+    private final CustomFileUtil customFileUtil;
+    private final TransactionTemplate tx;
+
+    private final boolean phashEnabled;
+    private final int phashMaxDistance;
+    private final long gcGraceSeconds;
+
+    // GC 는 파일 삭제가 섞여 오래 걸릴 수 있으므로 스케줄러 스레드가 아닌 전용 스레드에서 (이미 돌고 있으면 건너뜀)
+    private final ThreadPoolExecutor gcWorker = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(1),
+            r -> {
+                Thread t = new Thread(r, "receipt-blob-gc");
+                t.setDaemon(true);
+                return t;
+            },
+            new ThreadPoolExecutor.DiscardPolicy());
+
+    public ReceiptBlobStore(
+            ReceiptBlobRepository receiptBlobRepository,
+            CustomFileUtil customFileUtil,
+            TransactionTemplate tx,
+            @Value("${com.mallapi.receipt.dedup.phash.enabled:true}") boolean phashEnabled,
+            @Value("${com.mallapi.receipt.dedup.phash.max-distance:6}") int phashMaxDistance,
+            @Value("${com.mallapi.receipt.blob.gc-grace-seconds:600}") long gcGraceSeconds
+    ) {
+        this.receiptBlobRepository = receiptBlobRepository;
+        this.customFileUtil = customFileUtil;
+        this.tx = tx;
+        this.phashEnabled = phashEnabled;
+        this.phashMaxDistance = Math.max(0, phashMaxDistance);
+        this.gcGraceSeconds = Math.max(0, gcGraceSeconds);
+    }
+
+    /**
+     * 저장 결과
+     *
+     * @param existing 이미 같은 원본이 있어 디스크에 새로 쓰지 않았으면 true
+     */
+    public record Stored(String fileHash, String fileUrl, Long phash, boolean existing) {}
+
+    /**
+     * 참조 +1 하고 원본 경로 반환. 호출 측 트랜잭션 안에서 불러야 함 (롤백되면 참조도 취소)
+     */
+    public Stored store(MultipartFile file, String fileHash) {
+        if (fileHash == null) {
+            // 해시를 못 구하면 dedup 없이 예전 방식으로 저장
+            return new Stored(null, customFileUtil.saveFile(file, "receipts"), null, false);
+        }
+
+        ReceiptBlob blob = receiptBlobRepository.findByFileHash(fileHash).orElse(null);
+        String fileUrl = (blob != null) ? blob.getFileUrl() : null;
+        Long phash = (blob != null) ? blob.getPhash() : computePhash(file);
+
+        String dir = SUB_PATH + "/" + fileHash.substring(0, 2);
+        if (fileUrl == null) {
+            fileUrl = customFileUtil.resolve(dir, fileHash + extensionOf(file));
+        }
+
+        // 행 lock 을 먼저 잡고 나서 파일 확인 → GC 가 같은 원본을 지우는 중이면 끝날 때까지 기다렸다가 다시 씀
+        receiptBlobRepository.acquire(fileHash, fileUrl, file.getContentType(), file.getSize(), phash);
+        if (blob == null) {
+            // 동시에 같은 원본을 먼저 만든 업로드가 있으면 그쪽 경로를 따름 (확장자가 다를 수 있음)
+            fileUrl = receiptBlobRepository.findByFileHash(fileHash).map(ReceiptBlob::getFileUrl).orElse(fileUrl);
+        }
+
+        boolean existing = Files.isRegularFile(Paths.get(fileUrl));
+        if (!existing) {
+            customFileUtil.saveFileAs(file, dir, Paths.get(fileUrl).getFileName().toString());
+        }
+
+        log.info("[BLOB] store hash={} existing={}", fileHash.substring(0, 12), existing);
+        return new Stored(fileHash, fileUrl, phash, existing);
+    }
+
+    /**
+     * 참조 -1. 실제 파일 삭제는 GC 가 grace 이후에 처리
+     */
+    public void release(String fileHash, String fileUrl) {
+        ReceiptBlob blob = (fileHash == null) ? null : receiptBlobRepository.findByFileHash(fileHash).orElse(null);
+
+        if (blob == null || !blob.getFileUrl().equals(fileUrl)) {
+            // 도입 전 업로드 (자기 파일을 혼자 씀)
+            if (fileUrl != null) customFileUtil.deleteFile(Paths.get(fileUrl));
+            return;
+        }
+        receiptBlobRepository.release(fileHash);
+    }
+
+    /**
+     * phash 가 가까운 다른 원본의 해시 (다시 찍은 같은 영수증 후보)
+     */
+    public List<String> findSimilar(String fileHash, Long phash) {
+        if (!phashEnabled || phash == null) return List.of();
+        return receiptBlobRepository.findSimilarHashes(phash, fileHash == null ? "" : fileHash, phashMaxDistance);
+    }
+
+    /**
+     * 참조가 없어진 원본 정리
+     * 행 삭제(lock) → 파일 삭제 → 커밋 순서라, 같은 원본을 다시 올리는 업로드는 커밋을 기다렸다가 파일을 새로 씀
+     */
+    @Scheduled(fixedDelayString = "${com.mallapi.receipt.blob.gc-ms:600000}")
+    public void scheduleGc() {
+        if (gcWorker.getActiveCount() == 0) gcWorker.execute(this::gc);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        gcWorker.shutdownNow();
+    }
+
+    public void gc() {
+        LocalDateTime before = LocalDateTime.now().minusSeconds(gcGraceSeconds);
+        List<ReceiptBlob> candidates = receiptBlobRepository.findTop100ByRefCountLessThanEqualAndUpdatedAtBefore(0, before);
+        if (candidates.isEmpty()) return;
+
+        int removed = 0;
+        for (ReceiptBlob b : candidates) {
+            Boolean deleted = tx.execute(status -> {
+                if (receiptBlobRepository.deleteIfUnreferenced(b.getId()) == 0) return false;
+                customFileUtil.deleteFile(Paths.get(b.getFileUrl()));
+                return true;
+            });
+            if (Boolean.TRUE.equals(deleted)) removed++;
+        }
+        log.info("[BLOB] gc candidates={} removed={}", candidates.size(), removed);
+    }
+
+    private Long computePhash(MultipartFile file) {
+        if (!phashEnabled) return null;
+        try (InputStream in = file.getInputStream()) {
+            return PerceptualHash.dHash(in);
+        } catch (Exception e) {
+            log.warn("[BLOB] phash failed: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static String extensionOf(MultipartFile file) {
+        String name = file.getOriginalFilename();
+        if (name == null || !name.contains(".")) return "";
+        String ext = name.substring(name.lastIndexOf('.')).toLowerCase();
+        // 경로에 쓰이므로 영숫자 확장자만
+        return ext.matches("\\.[a-z0-9]{1,8}") ? ext : "";
+    }
+}
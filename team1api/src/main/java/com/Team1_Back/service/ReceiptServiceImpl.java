@@ -1,8 +1,8 @@
 package com.Team1_Back.service;
 
-// ✅ 추가: 영수증 OCR 통합 - ReceiptAiService import
-import com.Team1_Back.ai.service.ReceiptAiService;
 import com.Team1_Back.domain.*;
+import com.Team1_Back.domain.enums.ReceiptOcrStatus;
+import com.Team1_Back.domain.event.ReceiptUploadedEvent;
 import com.Team1_Back.dto.ReceiptDTO;
 import com.Team1_Back.dto.ReceiptExtractionDTO;
 import com.Team1_Back.repository.*;
@@ -11,6 +11,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 // ✅ 제거: ModelMapper import (수동 매핑으로 변경)
 // import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -18,6 +19,10 @@ import org.springframework.web.multipart.MultipartFile;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 @Service
@@ -34,8 +39,12 @@ public class ReceiptServiceImpl implements ReceiptService {
     private final CustomFileUtil customFileUtil;
     // ✅ 제거: ModelMapper 필드 (수동 매핑으로 변경)
     // private final ModelMapper modelMapper;
-    // ✅ 추가: 영수증 OCR 통합 - ReceiptAiService 필드 주입
-    private final ReceiptAiService receiptAiService;
+    // 영수증 OCR 통합 - AI 추출은 ReceiptOcrWorker 가 비동기로 처리
+    private final ReceiptOcrJobRepository receiptOcrJobRepository;
+    private final ReceiptBlobStore receiptBlobStore;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
 
     @Override
     public ReceiptDTO upload(Long expenseId, Long userId, MultipartFile file) {
@@ -60,68 +69,76 @@ public class ReceiptServiceImpl implements ReceiptService {
             throw new RuntimeException("파일 크기가 너무 큽니다. 10MB 이하만 업로드 가능합니다.");
         }
 
-        // 파일 저장
-        String fileUrl = customFileUtil.saveFile(file, "receipts");
-
-        // 파일 해시 생성 (중복 확인용)
+        // 파일 해시 생성 (content-addressed 저장 / 중복 확인용)
         String fileHash = customFileUtil.generateFileHash(file);
 
-        // ✅ 테스트 중: 중복 업로드 방지 로직 임시 비활성화
-        // 중복 업로드 방지: 동일 해시가 이미 존재하면 예외
-        // if (fileHash != null && receiptUploadRepository.findByFileHash(fileHash).isPresent()) {
-        //     throw new RuntimeException("이미 업로드된 영수증입니다. 같은 영수증을 중복 업로드할 수 없습니다.");
-        // }
+        // 같은 원본으로 이미 끝난 OCR 결과가 있으면 재사용 (아래에서 기존 영수증을 지우기 전에 값만 복사해 둠)
+        ReceiptAiExtraction.ReceiptAiExtractionBuilder reuse = (fileHash == null) ? null
+                : receiptAiExtractionRepository.findFirstByReceipt_FileHashAndReceipt_IdNotOrderByIdDesc(fileHash, 0L)
+                        .map(this::copyOf)
+                        .orElse(null);
 
         // 기존 영수증이 있으면 삭제
-        receiptUploadRepository.findByExpenseId(expenseId).ifPresent(receiptUploadRepository::delete);
+        receiptUploadRepository.findByExpenseId(expenseId).ifPresent(old -> {
+            deleteReceipt(old);
+            // expense_id unique → 새 행 insert(IDENTITY 라 save 즉시 실행) 전에 delete 를 먼저 반영
+            receiptUploadRepository.flush();
+        });
+
+        // 파일 저장 (같은 이미지는 디스크에 한 번만, 참조 수 +1)
+        ReceiptBlobStore.Stored stored = receiptBlobStore.store(file, fileHash);
+
+        // 중복 청구 의심: 다른 지출 내역에 같은 파일(EXACT) 또는 다시 찍은 사진(SIMILAR)이 있으면 표시만 함
+        // (업로드 자체는 막지 않고 결재자가 판단)
+        ReceiptUpload duplicate = null;
+        if (fileHash != null) {
+            List<String> hashes = new ArrayList<>();
+            hashes.add(fileHash);
+            hashes.addAll(receiptBlobStore.findSimilar(fileHash, stored.phash()));
+
+            List<ReceiptUpload> others = receiptUploadRepository.findOtherExpensesByFileHashIn(hashes, expenseId);
+            duplicate = others.stream()
+                    .filter(r -> fileHash.equals(r.getFileHash()))
+                    .findFirst()
+                    .orElse(others.isEmpty() ? null : others.get(0));
+        }
 
         // ReceiptUpload 저장
         ReceiptUpload receiptUpload = ReceiptUpload.builder()
                 .expense(expense)
                 .uploadedBy(user)
-                .fileUrl(fileUrl)
+                .fileUrl(stored.fileUrl())
                 .fileHash(fileHash)
                 .mimeType(file.getContentType())
+                .duplicateOf(duplicate == null ? null : duplicate.getId())
+                .duplicateKind(duplicate == null ? null
+                        : fileHash.equals(duplicate.getFileHash()) ? "EXACT" : "SIMILAR")
                 .build();
 
         ReceiptUpload saved = receiptUploadRepository.save(receiptUpload);
+        if (duplicate != null) {
+            log.warn("[ReceiptService] 중복 의심 영수증: receiptId={}, duplicateOf={}, kind={}",
+                    saved.getId(), saved.getDuplicateOf(), saved.getDuplicateKind());
+        }
 
-        // ✅ 수정: 영수증 OCR 통합 - TODO 주석을 OCR 호출 로직으로 교체
-        // AI 추출 작업 실행 (Python AI 서비스 호출)
-        try {
-            log.info("[ReceiptService] 영수증 AI 추출 시작: receiptId={}, filename={}",
-                    saved.getId(), file.getOriginalFilename());
-            ReceiptExtractionDTO extractionDTO = receiptAiService.extractReceipt(file);
-
-            log.info("[ReceiptService] AI 추출 결과 받음: merchant={}, amount={}, date={}, category={}",
-                    extractionDTO.getExtractedMerchant(),
-                    extractionDTO.getExtractedAmount(),
-                    extractionDTO.getExtractedDate(),
-                    extractionDTO.getExtractedCategory());
-
-            // ReceiptAiExtraction 엔티티 생성 및 저장
-            ReceiptAiExtraction aiExtraction = ReceiptAiExtraction.builder()
-                    .receipt(saved)
-                    .modelName(extractionDTO.getModelName())
-                    .extractedJson(extractionDTO.getExtractedJson())
-                    .extractedDate(extractionDTO.getExtractedDate())
-                    .extractedAmount(extractionDTO.getExtractedAmount())
-                    .extractedMerchant(extractionDTO.getExtractedMerchant())
-                    .extractedCategory(extractionDTO.getExtractedCategory())
-                    .extractedDescription(extractionDTO.getExtractedDescription())
-                    .confidence(extractionDTO.getConfidence())
-                    .build();
-
-            receiptAiExtractionRepository.save(aiExtraction);
-            log.info("[ReceiptService] 영수증 AI 추출 완료 및 DB 저장: receiptId={}, extractionId={}",
-                    saved.getId(), aiExtraction.getId());
-
-        } catch (Exception e) {
-            log.error("[ReceiptService] 영수증 AI 추출 실패: receiptId={}, error={}, stackTrace={}",
-                    saved.getId(), e.getMessage(), e);
-            // AI 추출 실패해도 영수증 업로드는 성공으로 처리 (사용자가 나중에 수동으로 재시도 가능)
+        if (reuse != null) {
+            // 같은 이미지 → Python AI 서비스 호출 없이 기존 결과 복사
+            receiptAiExtractionRepository.save(reuse.receipt(saved).build());
+            log.info("[ReceiptService] 영수증 OCR 결과 재사용: receiptId={}, hash={}", saved.getId(), fileHash);
+            return entityToDTO(saved);
         }
 
+        // AI 추출은 OCR 작업 큐에 넣고 바로 커밋 (ReceiptOcrWorker 가 커밋 후 처리 → /user/queue/receipts 로 알림)
+        receiptOcrJobRepository.save(ReceiptOcrJob.builder()
+                .receiptId(saved.getId())
+                .status(ReceiptOcrStatus.QUEUED)
+                .attempts(0)
+                .nextAttemptAt(LocalDateTime.now(ZONE))
+                .build());
+        eventPublisher.publishEvent(new ReceiptUploadedEvent(saved.getId(), expenseId, userId));
+        log.info("[ReceiptService] 영수증 OCR 작업 등록: receiptId={}, filename={}",
+                saved.getId(), file.getOriginalFilename());
+
         return entityToDTO(saved);
     }
 
@@ -197,14 +214,33 @@ public class ReceiptServiceImpl implements ReceiptService {
             throw new IllegalStateException("DRAFT 상태의 지출 내역에만 영수증을 삭제할 수 있습니다.");
         }
 
-        // 파일 삭제
-        Path filePath = Paths.get(receiptUpload.getFileUrl());
-        customFileUtil.deleteFile(filePath);
+        deleteReceipt(receiptUpload);
+    }
+
+    /**
+     * 영수증 삭제 (OCR 작업 정리 + 원본 참조 -1, 파일은 참조가 없어지면 ReceiptBlobStore GC 가 삭제)
+     */
+    private void deleteReceipt(ReceiptUpload receiptUpload) {
+        receiptOcrJobRepository.deleteByReceiptId(receiptUpload.getId());
+        receiptBlobStore.release(receiptUpload.getFileHash(), receiptUpload.getFileUrl());
 
         // ReceiptUpload 삭제 (CASCADE로 ReceiptAiExtraction도 함께 삭제됨)
         receiptUploadRepository.delete(receiptUpload);
     }
 
+    // OCR 결과 재사용용 복사 (receipt 만 새로 지정)
+    private ReceiptAiExtraction.ReceiptAiExtractionBuilder copyOf(ReceiptAiExtraction x) {
+        return ReceiptAiExtraction.builder()
+                .modelName(x.getModelName())
+                .extractedJson(x.getExtractedJson())
+                .extractedDate(x.getExtractedDate())
+                .extractedAmount(x.getExtractedAmount())
+                .extractedMerchant(x.getExtractedMerchant())
+                .extractedCategory(x.getExtractedCategory())
+                .extractedDescription(x.getExtractedDescription())
+                .confidence(x.getConfidence());
+    }
+
     /**
      * ReceiptUpload 엔티티를 ReceiptDTO로 변환합니다 (수동 매핑 방식).
      *
@@ -220,6 +256,8 @@ public class ReceiptServiceImpl implements ReceiptService {
                 .fileUrl(entity.getFileUrl())
                 .fileHash(entity.getFileHash())
                 .mimeType(entity.getMimeType())
+                .duplicateOf(entity.getDuplicateOf())
+                .duplicateKind(entity.getDuplicateKind())
                 .createdAt(entity.getCreatedAt())
                 .updatedAt(entity.getUpdatedAt())
                 .build();
@@ -255,6 +293,10 @@ public class ReceiptServiceImpl implements ReceiptService {
             dto.setExtractionCreatedAt(extraction.getCreatedAt());
         }
 
+        // OCR 작업 상태 (QUEUED/RUNNING 이면 결과 대기 중)
+        receiptOcrJobRepository.findByReceiptId(entity.getId())
+                .ifPresent(job -> dto.setOcrStatus(job.getStatus().name()));
+
         // 검증 결과 추가
         if (entity.getExpense() != null) {
             Optional<ReceiptVerification> verificationOpt = receiptVerificationRepository.findByExpenseId(entity.getExpense().getId());
@@ -0,0 +1,141 @@
+package com.Team1_Back.service;
+
+import com.Team1_Back.constants.ReportTypes;
+import com.Team1_Back.domain.ApprovalStatus;
+import com.Team1_Back.domain.ReportFile;
+import com.Team1_Back.domain.enums.DataScope;
+import com.Team1_Back.domain.enums.ReportStatus;
+import com.Team1_Back.domain.event.ExpenseStatusChangedEvent;
+import com.Team1_Back.report.entity.ReportJob;
+import com.Team1_Back.repository.ReportDataVersionRepository;
+import com.Team1_Back.repository.ReportFileRepository;
+import com.Team1_Back.repository.ReportJobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * 리포트 결과 캐시 (content-addressed)
+ *
+ * key = sha256(type | scope | owner | dept | period | categories | format | dataVersion | rowFingerprint)
+ * - dataVersion: 해당 월 지출이 승인/반려될 때마다 증가하는 watermark (report_data_version)
+ * - rowFingerprint: 그 달 승인 지출 건수 + 지출/작성자 최종 수정 시각
+ *   (상태 변경 없이 가맹점/설명을 고치거나 작성자 이름/부서가 바뀌어도 무효화)
+ * - 둘 중 하나라도 바뀌면 key 자체가 달라지므로 별도 삭제 없이 자연스럽게 miss
+ * - hit 이면 report_job(cache_key 인덱스) 한 번 조회로 기존 READY 결과를 돌려줌
+ * - watermark 는 지출 승인 상태만 반영하므로 승인 지출로만 만들어지는 타입만 캐시
+ *   (개인/부서 요약, AI 전략 등은 다른 입력을 쓰므로 항상 새로 생성)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReportCacheService {
+
+    private static final String KEY_VERSION = "v2";
+
+    private final ReportJobRepository reportJobRepository;
+    private final ReportFileRepository reportFileRepository;
+    private final ReportDataVersionRepository reportDataVersionRepository;
+
+    /**
+     * 캐시 키 계산. 승인 지출 기반 타입이 아니거나 월 단위 기간(YYYY-MM)이 아니면 캐시하지 않음(null)
+     */
+    @Transactional(readOnly = true)
+    public String keyOf(ReportJob job) {
+        if (!ReportTypes.isExpenseDerived(job.getReportTypeId())) return null;
+        if (job.getPeriodStart() == null || job.getPeriodEnd() == null) return null;
+
+        String ym = job.getPeriod().trim();
+        Long version = reportDataVersionRepository.findVersion(ym);
+        String fingerprint = reportDataVersionRepository.rowFingerprint(job.getPeriodStart(), job.getPeriodEnd());
+
+        // MY 는 사람마다 데이터가 다르므로 요청자까지 키에 포함
+        String owner = (job.getDataScope() == DataScope.MY) ? String.valueOf(job.getRequestedBy()) : "*";
+        String dept = (job.getDepartmentSnapshot() == null) ? "" : job.getDepartmentSnapshot().trim();
+
+        String raw = String.join("|",
+                KEY_VERSION,
+                job.getReportTypeId(),
+                job.getDataScope().name(),
+                owner,
+                dept,
+                ym,
+                normalizeCategories(job.getCategoryJson()),
+                job.getOutputFormat().name(),
+                String.valueOf(version == null ? 0L : version),
+                String.valueOf(fingerprint)
+        );
+        return sha256Hex(raw);
+    }
+
+    /**
+     * 같은 키로 이미 READY 된 job 이 있고 파일도 남아있으면 반환
+     */
+    @Transactional(readOnly = true)
+    public Optional<ReportJob> findHit(String cacheKey) {
+        if (cacheKey == null) return Optional.empty();
+
+        return reportJobRepository.findTopByCacheKeyAndStatusOrderByIdDesc(cacheKey, ReportStatus.READY)
+                .filter(job -> {
+                    Optional<ReportFile> rf = reportFileRepository.findTopByReportJob_IdOrderByIdDesc(job.getId());
+                    return rf.isPresent() && Files.exists(Paths.get(rf.get().getFileUrl()));
+                });
+    }
+
+    /**
+     * 지출 승인 상태가 바뀌면 해당 월 watermark 증가 → 그 달 리포트 캐시 무효화
+     * (APPROVED 로 들어가거나 APPROVED 에서 빠지는 경우만 리포트 수치에 영향)
+     */
+    @EventListener
+    public void onExpenseStatusChanged(ExpenseStatusChangedEvent event) {
+        boolean affectsApproved = event.fromStatus() == ApprovalStatus.APPROVED
+                || event.toStatus() == ApprovalStatus.APPROVED;
+        if (!affectsApproved || !event.changed()) return;
+
+        LocalDate d = event.receiptDate();
+        if (d == null) return;
+
+        String ym = String.format("%04d-%02d", d.getYear(), d.getMonthValue());
+        reportDataVersionRepository.bump(ym);
+        log.info("[REPORT-CACHE] data version bumped period={} expenseId={}", ym, event.expenseId());
+    }
+
+    private String normalizeCategories(String categoryJson) {
+        if (categoryJson == null) return "*";
+        String body = categoryJson.trim();
+        if (body.startsWith("[")) body = body.substring(1);
+        if (body.endsWith("]")) body = body.substring(0, body.length() - 1);
+
+        String normalized = Arrays.stream(body.split(","))
+                .map(s -> s.trim().replace("\"", "").toUpperCase())
+                .filter(s -> !s.isEmpty())
+                .distinct()
+                .sorted()
+                .collect(Collectors.joining(","));
+
+        return (normalized.isEmpty() || normalized.equals("ALL")) ? "*" : normalized;
+    }
+
+    private String sha256Hex(String s) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            byte[] dig = md.digest(s.getBytes(StandardCharsets.UTF_8));
+            StringBuilder sb = new StringBuilder();
+            for (byte b : dig) sb.append(String.format("%02x", b));
+            return sb.toString();
+        } catch (Exception e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.Team1_Back.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 리포트 다운로드 로그 write-behind
+ *
+ * 다운로드 요청 스레드에서는 큐에 넣기만 하고 (DB 작업 없음),
+ * 주기적으로 모아서 INSERT ... VALUES (...), (...) 한 문장으로 저장 (다운로드마다 saveAndFlush 하던 DB 왕복 제거)
+ *
+ * - 큐가 가득 차면 버리고 dropped 로 셈 (요청 스레드에서 flush 하지 않음)
+ * - 한 문장이라 실패하면 전부 롤백 → 한 건씩 다시 넣어 문제 있는 행만 버림
+ * - 한 건씩도 DB 오류(연결 등)로 실패하면 남은 건을 큐에 되돌리고 다음 주기에 재시도
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReportDownloadLogWriter {
+
+    private static final int QUEUE_CAPACITY = 10_000;
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_PREFIX =
+            "INSERT INTO report_download_log (report_job_id, report_file_id, downloaded_by, downloaded_at) VALUES ";
+    private static final String ROW = "(?, ?, ?, ?)";
+    private static final String INSERT_SQL = INSERT_PREFIX + ROW;
+
+    // 가득 찬 배치는 매번 같은 문장 (statement 캐시 재사용)
+    private static final String FULL_BATCH_SQL = LoginAttemptWriter.insertSql(INSERT_PREFIX, ROW, BATCH_SIZE);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BlockingQueue<Entry> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final AtomicLong dropped = new AtomicLong();
+
+    private record Entry(Long reportJobId, Long reportFileId, Long downloadedBy, LocalDateTime downloadedAt) {}
+
+    public void enqueue(Long reportJobId, Long reportFileId, Long downloadedBy) {
+        Entry e = new Entry(reportJobId, reportFileId, downloadedBy, LocalDateTime.now());
+        if (!queue.offer(e)) {
+            drop(e);
+        }
+    }
+
+    /**
+     * 큐가 가득 차 버린 로그 수 (기동 후 누적)
+     */
+    public long droppedCount() {
+        return dropped.get();
+    }
+
+    @Scheduled(fixedDelayString = "${com.mallapi.report.download-log.flush-ms:1000}")
+    public synchronized void flush() {
+        List<Entry> batch = new ArrayList<>(BATCH_SIZE);
+        while (queue.drainTo(batch, BATCH_SIZE) > 0) {
+            try {
+                String sql = batch.size() == BATCH_SIZE
+                        ? FULL_BATCH_SQL
+                        : LoginAttemptWriter.insertSql(INSERT_PREFIX, ROW, batch.size());
+                jdbcTemplate.update(sql, ps -> {
+                    int i = 0;
+                    for (Entry e : batch) {
+                        bind(ps, i, e);
+                        i += 4;
+                    }
+                });
+            } catch (Exception ex) {
+                log.warn("[DL-LOG] batch insert failed, retrying row by row, size={}: {}", batch.size(), ex.getMessage());
+                if (!insertEach(batch)) {
+                    // DB 자체가 안 되는 상황 → 이번 주기는 중단
+                    return;
+                }
+            }
+            batch.clear();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    /**
+     * 한 건씩 INSERT. 데이터 문제인 행은 버리고, 그 외 오류면 남은 건을 큐에 되돌리고 false
+     */
+    private boolean insertEach(List<Entry> batch) {
+        for (int i = 0; i < batch.size(); i++) {
+            Entry e = batch.get(i);
+            try {
+                jdbcTemplate.update(INSERT_SQL, ps -> bind(ps, 0, e));
+            } catch (DataIntegrityViolationException ex) {
+                log.error("[DL-LOG] dropped invalid row fileId={} by={}: {}", e.reportFileId(), e.downloadedBy(), ex.getMessage());
+            } catch (Exception ex) {
+                requeue(batch.subList(i, batch.size()));
+                log.error("[DL-LOG] insert failed, re-queued {} rows", batch.size() - i, ex);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void requeue(List<Entry> rest) {
+        for (Entry e : rest) {
+            if (!queue.offer(e)) drop(e);
+        }
+    }
+
+    private void drop(Entry e) {
+        long n = dropped.incrementAndGet();
+        // 폭주 시 로그도 폭주하지 않도록 처음과 1000 건마다만
+        if (n == 1 || n % 1000 == 0) {
+            log.warn("[DL-LOG] queue full, dropped total={} (last fileId={} by={})", n, e.reportFileId(), e.downloadedBy());
+        }
+    }
+
+    // 값이 비어 있어도 NPE 없이 NULL 로 바인딩 (컬럼 제약 위반이면 해당 행만 버려짐)
+    private static void bind(PreparedStatement ps, int offset, Entry e) throws SQLException {
+        ps.setObject(offset + 1, e.reportJobId(), Types.BIGINT);
+        ps.setObject(offset + 2, e.reportFileId(), Types.BIGINT);
+        ps.setObject(offset + 3, e.downloadedBy(), Types.BIGINT);
+        ps.setTimestamp(offset + 4, Timestamp.valueOf(e.downloadedAt()));
+    }
+}
@@ -2,6 +2,7 @@ package com.Team1_Back.service;
 
 import com.Team1_Back.domain.Expense;
 import com.Team1_Back.dto.*;
+import com.Team1_Back.chat.ChatRelay;
 import com.Team1_Back.constants.ReportTypes;
 import com.Team1_Back.domain.ReportDownloadLog;
 import com.Team1_Back.domain.ReportFile;
@@ -12,17 +13,23 @@ import com.Team1_Back.domain.enums.ReportStatus;
 import com.Team1_Back.generator.ExcelReportGenerator;
 import com.Team1_Back.generator.PdfReportGenerator;
 import com.Team1_Back.repository.*;
+import com.Team1_Back.repository.projection.ExpenseReportRow;
 import com.Team1_Back.repository.projection.ReportQueryRepository;
+import com.Team1_Back.scheduler.ReportJobQueue;
+import com.Team1_Back.scheduler.ReportJobQueuedEvent;
 import com.Team1_Back.security.ReportPrincipal;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.io.InputStream;
@@ -33,7 +40,10 @@ import java.security.MessageDigest;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.YearMonth;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
@@ -49,15 +59,25 @@ public class ReportService {
     private final ExcelReportGenerator excelGen;
     private final ReportFileRepository reportFileRepository;
     private final ReportDownloadLogRepository reportDownloadLogRepository;
+    private final ReportDownloadLogWriter downloadLogWriter;
     private final ReportScheduleRepository reportScheduleRepository;
 
-    private void insertDownloadLog(ReportFile rf, Long userId) {
-        ReportDownloadLog log = new ReportDownloadLog();
-        log.setReportFile(rf);
-        log.setReportJob(rf.getReportJob());
-        log.setDownloadedBy(userId);
-        log.setDownloadedAt(LocalDateTime.now());
-        reportDownloadLogRepository.saveAndFlush(log);
+    private final ReportJobQueue reportJobQueue;
+    private final ReportCacheService reportCacheService;
+    private final ApplicationEventPublisher eventPublisher;
+    // 완료 알림은 다중 노드에서도 사용자가 붙은 노드로 가도록 채팅 relay 로 보냄
+    private final ChatRelay chatRelay;
+    private final TransactionTemplate tx;
+
+    // 비동기 리포트 상태 알림 (STOMP /user/queue/reports)
+    private static final String REPORT_QUEUE_DEST = "/queue/reports";
+
+    /**
+     * 다운로드 로그 기록 (write-behind, 요청 스레드에서 DB 왕복 없음)
+     * 304 / 이어받기(Range 중간부터)는 컨트롤러에서 호출하지 않음
+     */
+    public void recordDownload(DownloadResult d, Long userId) {
+        downloadLogWriter.enqueue(d.reportJobId(), d.reportFileId(), userId);
     }
 
 
@@ -81,24 +101,144 @@ public class ReportService {
                 principal.userId(),
                 principal.role(),
                 principal.departmentName(), // 요청자(로그인한 사람) 부서명
-                req
+                req,
+                null
         );
     }
 
     public ReportGenerateResult generateInternal(ReportGenerateRequestDTO req) {
+        return generateInternal(req, null);
+    }
+
+    /**
+     * 스케줄러 실행: 선점 fencing token (report_schedule.fence_token) 을 job 에 남김
+     */
+    public ReportGenerateResult generateInternal(ReportGenerateRequestDTO req, Long fenceToken) {
         // SYSTEM 실행 가정
         Long systemUserId = 0L;
         String role = "ADMIN";
         String requesterDeptName = null;
 
-        return generateCore(systemUserId, role, requesterDeptName, req);
+        return generateCore(systemUserId, role, requesterDeptName, req, fenceToken);
+    }
+
+    /**
+     * 비동기 생성: job 을 QUEUED 로 저장만 하고 바로 반환
+     * 실제 렌더링은 커밋 후 ReportJobWorker 가 워커 풀에서 수행
+     */
+    public ReportGenerateResult enqueue(ReportPrincipal principal, ReportGenerateRequestDTO req) {
+
+        if (principal == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Unauthorized");
+        }
+
+        // ✅ backpressure: 큐 자리 먼저 확보 (없으면 429)
+        if (!reportJobQueue.tryReserve()) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Report queue is full");
+        }
+
+        ReportJob queued;
+        try {
+            queued = createJob(
+                    principal.userId(),
+                    principal.role(),
+                    principal.departmentName(),
+                    req,
+                    ReportStatus.QUEUED,
+                    null
+            );
+        } catch (RuntimeException e) {
+            reportJobQueue.release();
+            throw e;
+        }
+
+        if (queued.getStatus() == ReportStatus.READY) {
+            // 캐시 hit: 큐에 넣을 필요 없음
+            reportJobQueue.release();
+            return new ReportGenerateResult(queued.getId(), queued.getStatus().name(), queued.getFileName());
+        }
+
+        // 커밋되면 워커 투입, 롤백되면 자리 반환 (ReportJobWorker)
+        eventPublisher.publishEvent(new ReportJobQueuedEvent(queued.getId()));
+        notifyStatusAfterCommit(queued);
+
+        return new ReportGenerateResult(queued.getId(), queued.getStatus().name(), null);
+    }
+
+    /**
+     * 워커 스레드에서 호출: QUEUED → GENERATING → READY/FAILED
+     *
+     * 트랜잭션 없이 실행 → 선점 / 상태 저장은 각각 짧은 트랜잭션으로 바로 커밋,
+     * 렌더링하는 동안 커넥션을 잡고 있지 않음 (상세 엑셀은 DB 커서를 읽는 동안만 트랜잭션 유지)
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void processQueued(Long reportId) {
+        // 조건부 UPDATE 로 선점 (재기동 복구 시 다른 노드와 중복 렌더링 방지)
+        Integer claimed = tx.execute(status -> reportJobRepository.claimQueued(reportId));
+        if (claimed == null || claimed == 0) return;
+
+        ReportJob job = reportJobRepository.findById(reportId).orElse(null);
+        if (job == null) return;
+        notifyStatus(job);
+
+        try {
+            renderJob(job);
+        } catch (ResponseStatusException e) {
+            // renderJob 이 FAILED 저장까지 해둠 → 예외는 삼키고 상태만 알림
+            log.warn("[REPORT-Q] reportId={} failed: {}", reportId, e.getReason());
+        } catch (RuntimeException e) {
+            log.error("[REPORT-Q] reportId={} failed", reportId, e);
+        }
+
+        // 상태를 남기기 전에 실패했으면 GENERATING 으로 남지 않도록 FAILED 처리
+        ReportJob done = tx.execute(status -> reportJobRepository.findById(reportId).map(j -> {
+            if (j.getStatus() == ReportStatus.GENERATING) {
+                j.setStatus(ReportStatus.FAILED);
+                j.setErrorMessage("Generate failed");
+            }
+            return j;
+        }).orElse(null));
+        if (done != null) notifyStatus(done);
+    }
+
+    @Transactional(readOnly = true)
+    public ReportGenerateResult getStatus(ReportPrincipal principal, Long reportId) {
+        if (principal == null) throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Unauthorized");
+
+        ReportJob job = reportJobRepository.findById(reportId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Report not found"));
+
+        assertCanAccess(principal, job);
+
+        return new ReportGenerateResult(job.getId(), job.getStatus().name(), job.getFileName());
     }
 
     private ReportGenerateResult generateCore(
             Long requestedBy,
             String role,
             String requesterDepartmentName,
-            ReportGenerateRequestDTO req
+            ReportGenerateRequestDTO req,
+            Long fenceToken
+    ) {
+        ReportJob saved = createJob(requestedBy, role, requesterDepartmentName, req, ReportStatus.GENERATING, fenceToken);
+        if (saved.getStatus() == ReportStatus.READY) {
+            // 캐시 hit: 생성기 호출 없이 기존 결과 반환
+            return new ReportGenerateResult(saved.getId(), saved.getStatus().name(), saved.getFileName());
+        }
+        return renderJob(saved);
+    }
+
+    /**
+     * 1~6) 검증 + job 생성/저장 (동기/비동기 공통)
+     * 같은 파라미터 + 같은 데이터 버전으로 이미 READY 된 job 이 있으면 저장하지 않고 그 job 을 반환
+     */
+    private ReportJob createJob(
+            Long requestedBy,
+            String role,
+            String requesterDepartmentName,
+            ReportGenerateRequestDTO req,
+            ReportStatus initialStatus,
+            Long fenceToken
     ) {
 
         if (req == null || req.getFilters() == null) {
@@ -173,7 +313,7 @@ public class ReportService {
         job.setDataScope(scope);
         job.setCategoryJson(categoryJson);
         job.setOutputFormat(expectedFormat);
-        job.setStatus(ReportStatus.GENERATING);
+        job.setStatus(initialStatus);
 
         // ✅ snapshot 정책 (여기서만 결정!)
         // - DEPT: targetDept(=filters.department) "개발2팀"
@@ -199,9 +339,26 @@ public class ReportService {
             job.setPeriodEnd(range[1]);
         }
 
+        // ✅ 결과 캐시 조회 (인덱스 1회)
+        String cacheKey = reportCacheService.keyOf(job);
+        var hit = reportCacheService.findHit(cacheKey);
+        if (hit.isPresent()) {
+            log.info("[REPORT-CACHE] hit reportId={} key={}", hit.get().getId(), cacheKey);
+            return hit.get();
+        }
+        job.setCacheKey(cacheKey);
+        job.setFenceToken(fenceToken);
+
         // ✅ 저장 + flush (id 확보 & snapshot DB 반영)
-        ReportJob saved = reportJobRepository.saveAndFlush(job);
+        return reportJobRepository.saveAndFlush(job);
+    }
+
+    /**
+     * 7~9) 집계 + 파일 렌더링 + ReportFile 저장
+     */
+    private ReportGenerateResult renderJob(ReportJob saved) {
         Long reportId = saved.getId();
+        OutputFormat expectedFormat = saved.getOutputFormat();
 
         // -------------------------
         // 7) 파일 경로
@@ -223,7 +380,7 @@ public class ReportService {
         }
 
         String ext = (expectedFormat == OutputFormat.PDF) ? "pdf" : "xlsx";
-        String fileName = buildFileName(saved.getPeriod(), type.id(), ext);
+        String fileName = buildFileName(saved.getPeriod(), saved.getReportTypeId(), ext);
         Path outputFile = dir.resolve(fileName);
 
         // -------------------------
@@ -280,6 +437,20 @@ public class ReportService {
         try {
             if (expectedFormat == OutputFormat.PDF) {
                 pdfGen.generate(outputFile, freshJob);
+            } else if (ReportTypes.isExpenseDetail(freshJob.getReportTypeId())) {
+                // 상세 엑셀: DB 커서 → SXSSF 로 스트리밍 (건수와 무관하게 메모리 일정)
+                // 커서는 트랜잭션 안에서만 열림 → 비동기 경로에서도 스트리밍하는 동안만 트랜잭션
+                ExcelReportGenerator.DetailTotals totals = tx.execute(status -> {
+                    try (Stream<ExpenseReportRow> rows = openDetailRows(freshJob)) {
+                        return excelGen.generateDetail(outputFile, freshJob, rows);
+                    } catch (RuntimeException e) {
+                        throw e;
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e.getMessage(), e);
+                    }
+                });
+                freshJob.setApprovedCount((int) totals.count());
+                freshJob.setApprovedTotal(totals.total());
             } else {
                 excelGen.generate(outputFile, freshJob);
             }
@@ -311,7 +482,7 @@ public class ReportService {
 
 
 
-    @Transactional
+    @Transactional(readOnly = true)
     public DownloadResult download(ReportPrincipal principal, Long reportId) {
         if (principal == null) {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Unauthorized");
@@ -329,27 +500,12 @@ public class ReportService {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "Report not ready");
         }
 
-        try {
-            ReportFile rf = reportFileRepository.findTopByReportJob_IdOrderByIdDesc(reportId)
-                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Report file not found"));
-
-            Path file = Paths.get(rf.getFileUrl());
-            Resource resource = new UrlResource(file.toUri());
-            if (!resource.exists()) throw new ResponseStatusException(HttpStatus.NOT_FOUND, "File missing");
-
-
-            insertDownloadLog(rf, principal.userId());
-            reportDownloadLogRepository.flush();
-            return new DownloadResult(resource, rf.getFileName(), job.getOutputFormat());
+        ReportFile rf = reportFileRepository.findTopByReportJob_IdOrderByIdDesc(reportId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Report file not found"));
 
-        } catch (ResponseStatusException e) {
-            throw e;
-        } catch (Exception e) {
-            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Download error");
-        }
+        return toDownloadResult(job, rf);
     }
 
-
     @Transactional(readOnly = true)
     public ReportFilesResponseDTO getFiles(ReportPrincipal principal, Long reportId) {
         if (principal == null) throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Unauthorized");
@@ -380,6 +536,57 @@ public class ReportService {
     // Private helpers
     // =========================
 
+    private Stream<ExpenseReportRow> openDetailRows(ReportJob job) {
+        LocalDate start = job.getPeriodStart();
+        LocalDate end = job.getPeriodEnd();
+        if (start == null || end == null) {
+            throw new IllegalArgumentException("Detail report requires period (YYYY-MM)");
+        }
+
+        return switch (job.getDataScope()) {
+            case ALL -> expenseRepository.streamApprovedForReport(start, end);
+            case MY -> expenseRepository.streamApprovedForReportByUser(job.getRequestedBy(), start, end);
+            case DEPT -> {
+                String dept = job.getDepartmentSnapshot();
+                if (dept == null || dept.isBlank()) {
+                    throw new IllegalArgumentException("Department is required for DEPT scope");
+                }
+                yield expenseRepository.streamApprovedForReportByDept(dept.trim(), start, end);
+            }
+        };
+    }
+
+    private void notifyStatusAfterCommit(ReportJob job) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            notifyStatus(job);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                notifyStatus(job);
+            }
+        });
+    }
+
+    private void notifyStatus(ReportJob job) {
+        Long userId = job.getRequestedBy();
+        if (userId == null || userId == 0L) return; // SYSTEM(스케줄러) 실행은 알림 대상 없음
+
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("type", "REPORT_STATUS");
+        payload.put("reportId", job.getId());
+        payload.put("status", job.getStatus().name());
+        payload.put("fileName", job.getFileName());
+        payload.put("errorMessage", job.getErrorMessage());
+
+        try {
+            chatRelay.sendToUsers(List.of(userId), REPORT_QUEUE_DEST, payload);
+        } catch (Exception e) {
+            log.warn("[REPORT-Q] notify failed reportId={}: {}", job.getId(), e.getMessage());
+        }
+    }
+
     private void assertCanAccess(ReportPrincipal principal, ReportJob job) {
         boolean isAdmin = "ADMIN".equalsIgnoreCase(principal.role());
         if (!isAdmin && !principal.userId().equals(job.getRequestedBy())) {
@@ -483,7 +690,7 @@ public class ReportService {
         return null;
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
     public DownloadResult downloadFileById(ReportPrincipal principal, Long fileId) {
         if (principal == null) throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Unauthorized");
 
@@ -500,20 +707,22 @@ public class ReportService {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "Report not ready");
         }
 
-        try {
-            Path file = Paths.get(rf.getFileUrl()); // 지금은 로컬 경로
-            Resource resource = new UrlResource(file.toUri());
-            if (!resource.exists()) throw new ResponseStatusException(HttpStatus.NOT_FOUND, "File missing");
-
-
-            insertDownloadLog(rf, principal.userId()); // saveAndFlush로 되어 있어야 함
+        return toDownloadResult(job, rf);
+    }
 
-            return new DownloadResult(resource, rf.getFileName(), job.getOutputFormat());
-        } catch (ResponseStatusException e) {
-            throw e;
-        } catch (Exception e) {
-            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Download error");
+    private DownloadResult toDownloadResult(ReportJob job, ReportFile rf) {
+        Path file = Paths.get(rf.getFileUrl()); // 지금은 로컬 경로
+        if (!Files.isRegularFile(file)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "File missing");
         }
+        return new DownloadResult(
+                file,
+                rf.getFileName(),
+                job.getOutputFormat(),
+                rf.getChecksum(),
+                job.getId(),
+                rf.getId()
+        );
     }
 
     @Transactional(readOnly = true)
@@ -599,5 +808,9 @@ public class ReportService {
     // =========================
 
     public record ReportGenerateResult(Long reportId, String status, String fileName) {}
-    public record DownloadResult(Resource resource, String fileName, OutputFormat format) {}
+    /**
+     * @param checksum 파일 sha256 (ETag 로 사용)
+     */
+    public record DownloadResult(Path file, String fileName, OutputFormat format,
+                                 String checksum, Long reportJobId, Long reportFileId) {}
 }
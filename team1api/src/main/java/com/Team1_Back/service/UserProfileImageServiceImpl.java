@@ -3,17 +3,16 @@ package com.Team1_Back.service;
 import com.Team1_Back.domain.User;
 import com.Team1_Back.domain.UserProfileImage;
 import com.Team1_Back.dto.UserProfileImageDTO;
+import com.Team1_Back.image.ImageVariantService;
 import com.Team1_Back.repository.UserProfileImageRepository;
 import com.Team1_Back.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import net.coobird.thumbnailator.Thumbnails;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -30,6 +29,7 @@ public class UserProfileImageServiceImpl implements UserProfileImageService {
 
     private final UserProfileImageRepository profileImageRepository;
     private final UserRepository userRepository;
+    private final ImageVariantService imageVariantService;
 
     @Value("${com.team1.upload.path}")
     private String uploadPath;
@@ -39,10 +39,6 @@ public class UserProfileImageServiceImpl implements UserProfileImageService {
     
     // 최대 파일 크기 (5MB)
     private static final long MAX_FILE_SIZE = 5 * 1024 * 1024;
-    
-    // 썸네일 크기
-    private static final int THUMBNAIL_WIDTH = 310;
-    private static final int THUMBNAIL_HEIGHT = 280;
 
     @Override
     public UserProfileImageDTO uploadProfileImage(Long userId, MultipartFile file) {
@@ -153,7 +149,7 @@ public class UserProfileImageServiceImpl implements UserProfileImageService {
     }
 
     /**
-     * 파일 저장 (원본 + 썸네일)
+     * 파일 저장 (원본만 저장, 썸네일 등 변형은 백그라운드에서 생성)
      */
     private String saveFile(MultipartFile file) {
         try {
@@ -170,13 +166,10 @@ public class UserProfileImageServiceImpl implements UserProfileImageService {
             Path filePath = profilePath.resolve(savedFileName);
             Files.copy(file.getInputStream(), filePath);
 
-            // 썸네일 생성 (310x280)
-            Path thumbnailPath = profilePath.resolve("s_" + savedFileName);
-            Thumbnails.of(filePath.toFile())
-                    .size(THUMBNAIL_WIDTH, THUMBNAIL_HEIGHT)
-                    .toFile(thumbnailPath.toFile());
+            // 썸네일(310x280) 등 변형은 bounded 풀에서 비동기 생성 (아직 없을 때 조회되면 그 자리에서 생성)
+            imageVariantService.generateAsync(ImageVariantService.Bucket.USER_IMAGE, savedFileName);
 
-            log.info("파일 저장 완료 - 원본: {}, 썸네일: s_{}", savedFileName, savedFileName);
+            log.info("파일 저장 완료 - 원본: {}", savedFileName);
             return savedFileName;
 
         } catch (IOException e) {
@@ -186,24 +179,11 @@ public class UserProfileImageServiceImpl implements UserProfileImageService {
     }
 
     /**
-     * 파일 삭제 (원본 + 썸네일)
+     * 파일 삭제 (원본 + 썸네일 등 변형)
      */
     private void deleteFile(String fileName) {
-        try {
-            Path profilePath = Paths.get(uploadPath, "user_image");
-            
-            // 원본 삭제
-            Path filePath = profilePath.resolve(fileName);
-            Files.deleteIfExists(filePath);
-
-            // 썸네일 삭제
-            Path thumbnailPath = profilePath.resolve("s_" + fileName);
-            Files.deleteIfExists(thumbnailPath);
-
-            log.info("파일 삭제 완료 - {}", fileName);
-        } catch (IOException e) {
-            log.error("파일 삭제 실패: {}", e.getMessage());
-        }
+        imageVariantService.delete(ImageVariantService.Bucket.USER_IMAGE, fileName);
+        log.info("파일 삭제 완료 - {}", fileName);
     }
 
     /**
@@ -0,0 +1,81 @@
+package com.Team1_Back.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 문자열용 Bloom filter (thread-safe, 추가만 가능)
+ *
+ * - mightContain == false 이면 확실히 없음, true 면 "있을 수도" (오탐률 ≈ fpp)
+ * - 비트 수 m = -n·ln(p) / (ln 2)², 해시 수 k = m/n·ln 2 (n=예상 원소 수, p=fpp)
+ * - 64bit 해시 하나를 둘로 나눠 k 개 위치를 만듦 (Kirsch–Mitzenmacher)
+ */
+public class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long numBits;
+    private final int numHashes;
+
+    public BloomFilter(int expectedInsertions, double fpp) {
+        int n = Math.max(1, expectedInsertions);
+        double p = Math.min(0.5, Math.max(1e-9, fpp));
+
+        long m = (long) Math.ceil(-n * Math.log(p) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (m + 63) / 64));
+        this.words = new AtomicLongArray(words);
+        this.numBits = (long) words * 64;
+        this.numHashes = Math.max(1, (int) Math.round((double) numBits / n * Math.log(2)));
+    }
+
+    public void put(String value) {
+        long h = hash64(value);
+        int h1 = (int) h;
+        int h2 = (int) (h >>> 32);
+        for (int i = 1; i <= numHashes; i++) {
+            long bit = index(h1 + i * h2);
+            int w = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long cur;
+            while (((cur = words.get(w)) & mask) == 0) {
+                if (words.compareAndSet(w, cur, cur | mask)) break;
+            }
+        }
+    }
+
+    public boolean mightContain(String value) {
+        long h = hash64(value);
+        int h1 = (int) h;
+        int h2 = (int) (h >>> 32);
+        for (int i = 1; i <= numHashes; i++) {
+            long bit = index(h1 + i * h2);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) return false;
+        }
+        return true;
+    }
+
+    /**
+     * 메모리 사용량 (byte)
+     */
+    public long sizeInBytes() {
+        return numBits / 8;
+    }
+
+    private long index(int combined) {
+        return (combined < 0 ? ~combined : combined) % numBits;
+    }
+
+    // FNV-1a 64 + murmur3 finalizer (상위/하위 32bit 를 고르게 섞음)
+    private static long hash64(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h ^= (b & 0xff);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -1,8 +1,9 @@
 package com.Team1_Back.util;
 
+import com.Team1_Back.image.ImageVariantService;
 import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import net.coobird.thumbnailator.Thumbnails;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
@@ -17,6 +18,7 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
@@ -25,8 +27,11 @@ import java.util.UUID;
 
 @Component
 @Slf4j
+@RequiredArgsConstructor
 public class CustomFileUtil {
 
+    private final ImageVariantService imageVariantService;
+
     //    @Value("${file.upload.dir:./uploads}")
     @Value("${com.team1.upload.path}") // application.properties 확인 필요
     private String uploadDir;
@@ -82,6 +87,47 @@ public class CustomFileUtil {
         }
     }
 
+    /**
+     * 업로드 폴더 기준 절대 경로 (파일을 만들지는 않음)
+     */
+    public String resolve(String subPath, String fileName) {
+        return Paths.get(uploadDir, subPath).resolve(fileName).toAbsolutePath().toString();
+    }
+
+    /**
+     * 정해진 파일명으로 저장합니다. (content-addressed 저장용)
+     *
+     * <p>이미 있으면 다시 쓰지 않고, 임시 파일에 쓴 뒤 원자적으로 옮기므로
+     * 같은 파일을 동시에 저장해도 반쯤 쓰인 파일이 보이지 않습니다.
+     *
+     * @return 저장된 파일의 절대 경로
+     */
+    public String saveFileAs(MultipartFile file, String subPath, String fileName) {
+        try {
+            Path dir = Paths.get(uploadDir, subPath);
+            Files.createDirectories(dir);
+            Path target = dir.resolve(fileName);
+            if (Files.exists(target)) {
+                return target.toAbsolutePath().toString();
+            }
+
+            Path tmp = Files.createTempFile(dir, ".upload-", ".tmp");
+            try {
+                try (var in = file.getInputStream()) {
+                    Files.copy(in, tmp, StandardCopyOption.REPLACE_EXISTING);
+                }
+                Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+            return target.toAbsolutePath().toString();
+
+        } catch (IOException e) {
+            log.error("파일 저장 실패: {}", e.getMessage());
+            throw new RuntimeException("파일 저장에 실패했습니다.", e);
+        }
+    }
+
     // 다중 파일 업로드 및 이미지 썸네일 생성
     public List<String> saveFiles(List<MultipartFile> files) throws RuntimeException {
         if (files == null || files.size() == 0) {
@@ -98,11 +144,9 @@ public class CustomFileUtil {
                 Files.copy(multipartFile.getInputStream(), savePath);
                 String contentType = multipartFile.getContentType();
 
+                // 썸네일(s_) 등 변형은 백그라운드에서 생성 (요청 스레드에서 디코딩하지 않음)
                 if (contentType != null && contentType.startsWith("image")) {
-                    Path thumbnailPath = Paths.get(uploadDir, "s_" + savedName);
-                    Thumbnails.of(savePath.toFile())
-                            .size(200, 200)
-                            .toFile(thumbnailPath.toFile());
+                    imageVariantService.generateAsync(ImageVariantService.Bucket.PRODUCT, savedName);
                 }
                 uploadNames.add(savedName);
             } catch (IOException e) {
@@ -169,21 +213,11 @@ public class CustomFileUtil {
         }
     }
 
-    // 다중 파일 삭제(썸네일 포함)
+    // 다중 파일 삭제(썸네일 등 변형 포함)
     public void deleteFiles(List<String> fileNames) {
         if (fileNames == null || fileNames.size() == 0) return;
 
-        fileNames.forEach(fileName -> {
-            String thumbnailFileName = "s_" + fileName;
-            Path thumbnailPath = Paths.get(uploadDir, thumbnailFileName);
-            Path filePath = Paths.get(uploadDir, fileName);
-            try {
-                Files.deleteIfExists(filePath);
-                Files.deleteIfExists(thumbnailPath);
-            } catch (IOException e) {
-                throw new RuntimeException(e.getMessage());
-            }
-        });
+        fileNames.forEach(fileName -> imageVariantService.delete(ImageVariantService.Bucket.PRODUCT, fileName));
     }
 
     /**
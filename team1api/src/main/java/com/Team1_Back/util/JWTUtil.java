@@ -5,6 +5,7 @@ import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
 import java.time.ZonedDateTime;
 import java.util.Date;
 import java.util.Map;
@@ -12,17 +13,13 @@ import java.util.Map;
 @Slf4j
 public class JWTUtil {
 
-    private static String key = "1234567890123456789012345678901234567890";
+    private static final String key = "1234567890123456789012345678901234567890";
 
-    public static String generateToken(Map<String, Object> valueMap, int min) {
-
-        SecretKey secretKey = null;
+    // 키와 파서는 불변 + thread-safe → 요청마다 다시 만들지 않음
+    private static final SecretKey secretKey = Keys.hmacShaKeyFor(key.getBytes(StandardCharsets.UTF_8));
+    private static final JwtParser parser = Jwts.parserBuilder().setSigningKey(secretKey).build();
 
-        try {
-            secretKey = Keys.hmacShaKeyFor(JWTUtil.key.getBytes("UTF-8"));
-        } catch (Exception e) {
-            throw new RuntimeException(e.getMessage());
-        }
+    public static String generateToken(Map<String, Object> valueMap, int min) {
 
         String jwtStr = Jwts.builder()
                 .setHeader(Map.of("typ", "JWT"))
@@ -40,11 +37,7 @@ public class JWTUtil {
         Map<String, Object> claim = null;
 
         try {
-            SecretKey secretKey = Keys.hmacShaKeyFor(JWTUtil.key.getBytes("UTF-8"));
-
-            claim = Jwts.parserBuilder()
-                    .setSigningKey(secretKey)
-                    .build()
+            claim = parser
                     .parseClaimsJws(token)
                     .getBody();
 
@@ -0,0 +1,83 @@
+package com.Team1_Back.util;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 이미지 perceptual hash (dHash, 64bit)
+ *
+ * - 이미지를 9x8 격자로 나눠 칸마다 평균 밝기를 구하고, 행마다 왼쪽 칸이 오른쪽 칸보다 밝으면 1
+ * - 해상도/압축률/약간의 밝기 변화에는 거의 그대로 → 같은 영수증을 다시 찍은 사진은 해밍 거리가 작음
+ * - 칸 평균은 픽셀을 일정 간격으로 건너뛰며 구함 (큰 사진도 수 ms)
+ */
+public final class PerceptualHash {
+
+    private static final int W = 9;
+    private static final int H = 8;
+    // 칸 하나당 최대 샘플 수 (가로/세로 각각)
+    private static final int SAMPLES = 16;
+
+    private PerceptualHash() {}
+
+    /**
+     * @return dHash / 이미지로 읽을 수 없으면 null
+     */
+    public static Long dHash(InputStream in) throws IOException {
+        BufferedImage img = ImageIO.read(in);
+        return img == null ? null : dHash(img);
+    }
+
+    public static long dHash(BufferedImage img) {
+        double[][] cells = cellLuma(img);
+        long hash = 0;
+        for (int y = 0; y < H; y++) {
+            for (int x = 0; x < W - 1; x++) {
+                hash <<= 1;
+                if (cells[y][x] > cells[y][x + 1]) hash |= 1;
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * 해밍 거리 (0 = 같은 이미지, 64 = 정반대)
+     */
+    public static int distance(long a, long b) {
+        return Long.bitCount(a ^ b);
+    }
+
+    private static double[][] cellLuma(BufferedImage img) {
+        int iw = img.getWidth();
+        int ih = img.getHeight();
+        double[][] cells = new double[H][W];
+
+        for (int cy = 0; cy < H; cy++) {
+            int y0 = cy * ih / H;
+            int y1 = Math.max(y0 + 1, (cy + 1) * ih / H);
+            int sy = Math.max(1, (y1 - y0) / SAMPLES);
+
+            for (int cx = 0; cx < W; cx++) {
+                int x0 = cx * iw / W;
+                int x1 = Math.max(x0 + 1, (cx + 1) * iw / W);
+                int sx = Math.max(1, (x1 - x0) / SAMPLES);
+
+                double sum = 0;
+                int n = 0;
+                for (int y = y0; y < y1 && y < ih; y += sy) {
+                    for (int x = x0; x < x1 && x < iw; x += sx) {
+                        int rgb = img.getRGB(x, y);
+                        int r = (rgb >> 16) & 0xff;
+                        int g = (rgb >> 8) & 0xff;
+                        int b = rgb & 0xff;
+                        sum += 0.299 * r + 0.587 * g + 0.114 * b;
+                        n++;
+                    }
+                }
+                cells[cy][cx] = n == 0 ? 0 : sum / n;
+            }
+        }
+        return cells;
+    }
+}
@@ -0,0 +1,199 @@
+package com.Team1_Back.util;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 로컬 파일 다운로드 응답 (Range + ETag + zero-copy)
+ *
+ * - ETag / If-None-Match → 304 (본문 전송 없음)
+ * - Range: bytes=a-b | a- | -n (단일 구간) → 206, If-Range 가 ETag 와 다르면 전체 전송
+ * - 본문: Tomcat sendfile 지원 시 커널이 직접 전송, 아니면 FileChannel.transferTo
+ */
+@Slf4j
+@Component
+public class RangeFileResponder {
+
+    // Tomcat NIO/NIO2 커넥터 sendfile 속성
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    public enum Outcome {
+        NOT_MODIFIED,   // 304
+        FULL,           // 200 전체
+        PARTIAL_HEAD,   // 206, 0번 바이트부터 (새 다운로드)
+        PARTIAL_RESUME, // 206, 이어받기
+        UNSATISFIABLE   // 416
+    }
+
+    /**
+     * @param etagValue  따옴표 없는 ETag 값 (예: 파일 checksum)
+     * @param cacheControl Cache-Control 헤더 값
+     */
+    public Outcome write(HttpServletRequest request,
+                         HttpServletResponse response,
+                         Path file,
+                         String contentType,
+                         ContentDisposition disposition,
+                         String etagValue,
+                         String cacheControl) throws IOException {
+
+        if (!Files.isRegularFile(file) || !Files.isReadable(file)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "File missing");
+        }
+
+        long length = Files.size(file);
+        String etag = (etagValue == null) ? null : "\"" + etagValue + "\"";
+
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (etag != null) response.setHeader(HttpHeaders.ETAG, etag);
+        if (cacheControl != null) response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+
+        // 1) 조건부 GET
+        if (etag != null && matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return Outcome.NOT_MODIFIED;
+        }
+
+        response.setContentType(contentType);
+        if (disposition != null) {
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, disposition.toString());
+        }
+
+        // 2) Range 해석 (If-Range 가 현재 ETag 와 다르면 전체 전송)
+        String range = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (range != null && ifRange != null && (etag == null || !etag.equals(ifRange.trim()))) {
+            range = null;
+        }
+
+        long start = 0;
+        long end = length - 1;
+        boolean partial = false;
+
+        if (range != null && range.startsWith("bytes=") && !range.contains(",")) {
+            long[] r = parseRange(range.substring("bytes=".length()).trim(), length);
+            if (r == null) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return Outcome.UNSATISFIABLE;
+            }
+            start = r[0];
+            end = r[1];
+            partial = true;
+        }
+        // 다중 구간(multipart/byteranges)은 지원하지 않고 전체 전송
+
+        long count = (length == 0) ? 0 : end - start + 1;
+
+        if (partial) {
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        } else {
+            response.setStatus(HttpServletResponse.SC_OK);
+        }
+        response.setContentLengthLong(count);
+
+        if ("HEAD".equalsIgnoreCase(request.getMethod()) || count == 0) {
+            return outcome(partial, start);
+        }
+
+        // 3) 본문 전송
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+        } else {
+            transfer(file, start, count, response.getOutputStream());
+        }
+
+        return outcome(partial, start);
+    }
+
+    /**
+     * Content-Disposition (UTF-8 파일명)
+     */
+    public ContentDisposition disposition(String fileName, boolean inline) {
+        return (inline ? ContentDisposition.inline() : ContentDisposition.attachment())
+                .filename(fileName, StandardCharsets.UTF_8)
+                .build();
+    }
+
+    private Outcome outcome(boolean partial, long start) {
+        if (!partial) return Outcome.FULL;
+        return start == 0 ? Outcome.PARTIAL_HEAD : Outcome.PARTIAL_RESUME;
+    }
+
+    private void transfer(Path file, long start, long count, OutputStream out) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(out);
+            long pos = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long n = ch.transferTo(pos, remaining, target);
+                if (n <= 0) break;
+                pos += n;
+                remaining -= n;
+            }
+        }
+        out.flush();
+    }
+
+    /**
+     * @return {start, end} (end 포함) / 만족 불가면 null
+     */
+    private long[] parseRange(String spec, long length) {
+        try {
+            int dash = spec.indexOf('-');
+            if (dash < 0 || length == 0) return null;
+
+            String a = spec.substring(0, dash).trim();
+            String b = spec.substring(dash + 1).trim();
+
+            long start;
+            long end;
+            if (a.isEmpty()) {
+                // 마지막 n 바이트
+                long suffix = Long.parseLong(b);
+                if (suffix <= 0) return null;
+                start = Math.max(0, length - suffix);
+                end = length - 1;
+            } else {
+                start = Long.parseLong(a);
+                end = b.isEmpty() ? length - 1 : Math.min(Long.parseLong(b), length - 1);
+            }
+
+            if (start < 0 || start >= length || end < start) return null;
+            return new long[]{start, end};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) return false;
+        for (String tag : ifNoneMatch.split(",")) {
+            String t = tag.trim();
+            if (t.equals("*") || t.equals(etag) || t.equals("W/" + etag)) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,101 @@
+package com.Team1_Back.util;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 키별 순서 보장 비동기 실행기
+ *
+ * - 단일 스레드 풀 stripes 개, 키 hash 로 하나를 골라 실행 → 같은 키의 작업은 제출 순서대로 하나씩
+ * - 다른 키는 서로 다른 stripe 에서 병렬 처리
+ * - 큐(stripe 당 queue 개)가 가득 차면 offerTimeoutMs 까지만 기다렸다가 그래도 자리가 없으면 버리고 dropped 로 셈
+ *   (호출 스레드에서 실행하지 않음 → 요청 스레드가 DB 작업을 떠안거나 같은 키의 순서가 뒤집히지 않음)
+ */
+@Slf4j
+public class StripedExecutor {
+
+    private final String name;
+    private final ThreadPoolExecutor[] stripes;
+    private final long offerTimeoutMs;
+    private final AtomicLong dropped = new AtomicLong();
+
+    public StripedExecutor(String name, int stripes, int queue, long offerTimeoutMs) {
+        this.name = name;
+        this.offerTimeoutMs = Math.max(0, offerTimeoutMs);
+        this.stripes = new ThreadPoolExecutor[Math.max(1, stripes)];
+        for (int i = 0; i < this.stripes.length; i++) {
+            String threadName = name + "-" + i;
+            this.stripes[i] = new ThreadPoolExecutor(
+                    1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(Math.max(1, queue)),
+                    r -> {
+                        Thread t = new Thread(r, threadName);
+                        t.setDaemon(true);
+                        return t;
+                    },
+                    this::onFull
+            );
+        }
+    }
+
+    public void execute(Object key, Runnable task) {
+        stripes[stripeOf(key)].execute(() -> {
+            try {
+                task.run();
+            } catch (Exception e) {
+                log.error("[{}] task failed key={}", name, key, e);
+            }
+        });
+    }
+
+    /**
+     * 큐가 가득 차 버린 작업 수 (기동 후 누적)
+     */
+    public long droppedCount() {
+        return dropped.get();
+    }
+
+    // 잠깐 자리가 나길 기다렸다가 (stripe 스레드는 이미 떠 있으므로 큐에 직접 넣음) 안 되면 버림
+    private void onFull(Runnable r, ThreadPoolExecutor ex) {
+        if (!ex.isShutdown()) {
+            try {
+                if (ex.getQueue().offer(r, offerTimeoutMs, TimeUnit.MILLISECONDS)) return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        long n = dropped.incrementAndGet();
+        // 폭주 시 로그도 폭주하지 않도록 처음과 1000 건마다만
+        if (n == 1 || n % 1000 == 0) {
+            log.warn("[{}] queue full, dropped total={}", name, n);
+        }
+    }
+
+    int stripeOf(Object key) {
+        int h = (key == null) ? 0 : key.hashCode();
+        h ^= (h >>> 16);
+        return Math.floorMod(h, stripes.length);
+    }
+
+    /**
+     * 남은 작업을 timeout 까지 처리하고 종료
+     */
+    public void shutdown(long timeoutMs) {
+        for (ThreadPoolExecutor s : stripes) s.shutdown();
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        try {
+            for (ThreadPoolExecutor s : stripes) {
+                long left = Math.max(0, deadline - System.currentTimeMillis());
+                if (!s.awaitTermination(left, TimeUnit.MILLISECONDS)) {
+                    log.warn("[{}] shutdown timed out, pending={}", name, s.getQueue().size());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
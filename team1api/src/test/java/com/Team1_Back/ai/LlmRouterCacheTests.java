@@ -0,0 +1,193 @@
+package com.Team1_Back.ai;
+
+import com.Team1_Back.ai.stream.LlmJsonStreamParser;
+import com.Team1_Back.client.OpenAiLlmClient;
+import com.Team1_Back.dto.LlmResult;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * LlmRouter 캐시 / 요청 합치기 검증 (로컬 mock OpenAI 서버 사용)
+ */
+public class LlmRouterCacheTests {
+
+    private HttpServer server;
+    private final AtomicInteger calls = new AtomicInteger();
+    private final AtomicInteger status = new AtomicInteger(200);
+
+    private final AtomicLong now = new AtomicLong(System.currentTimeMillis());
+    private LlmRouter router;
+    private LlmResponseCache cache;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newFixedThreadPool(4));
+        server.createContext("/v1/chat/completions", ex -> {
+            calls.incrementAndGet();
+            String req = new String(ex.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            try {
+                Thread.sleep(200); // 느린 LLM 흉내
+            } catch (InterruptedException ignore) {
+            }
+            String body = req.contains("\"stream\": true") ? STREAM_BODY : """
+                    {"choices":[{"message":{"content":"{\\"summary\\":\\"ok\\",\\"attachmentIds\\":[1,2]}"}}]}
+                    """;
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            ex.sendResponseHeaders(status.get(), bytes.length);
+            try (OutputStream out = ex.getResponseBody()) {
+                out.write(bytes);
+            }
+        });
+        server.start();
+
+        OpenAiLlmClient client = new OpenAiLlmClient();
+        ReflectionTestUtils.setField(client, "apiKey", "test");
+        ReflectionTestUtils.setField(client, "model", "test-model");
+        ReflectionTestUtils.setField(client, "apiUrl",
+                "http://127.0.0.1:" + server.getAddress().getPort() + "/v1/chat/completions");
+
+        cache = new LlmResponseCache(true, 60_000, 100, now::get);
+        router = new LlmRouter(List.of(client), cache,
+                new LlmRouter.Settings(2500, 300, 15000, 1000, 5, 0.5, 30000, 32), System::currentTimeMillis);
+    }
+
+    // stream=true 응답: JSON 을 조각내서 SSE 로 전송
+    private static final String STREAM_BODY = """
+            data: {"choices":[{"delta":{"content":"{\\"summary\\": \\"첫"}}]}
+
+            data: {"choices":[{"delta":{"content":" 문장\\", \\"messageIds\\": [5,"}}]}
+
+            data: {"choices":[{"delta":{"content":" 6]}"}}]}
+
+            data: [DONE]
+
+            """;
+
+    @AfterEach
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    // 동시에 들어온 같은 요청은 LLM 호출 한 번
+    @Test
+    public void testConcurrentIdenticalRequestsCoalesce() throws Exception {
+        int threads = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<LlmResult>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                return router.ask("prompt", LlmResponseCache.keyOf("t", "회의 자료", List.of(1L, 2L)));
+            }));
+        }
+        start.countDown();
+        for (Future<LlmResult> f : futures) {
+            assertEquals("ok", f.get().getSummary());
+        }
+        pool.shutdown();
+
+        assertEquals(1, calls.get());
+        LlmResponseCache.Snapshot s = cache.snapshot();
+        assertEquals(1, s.misses());
+        assertEquals(threads - 1, s.hits() + s.coalesced());
+    }
+
+    // 표현만 다른 질문 + 순서만 다른 후보 → hit, 후보가 바뀌면 miss
+    @Test
+    public void testNormalizedKeyHitsAndCandidateChangeMisses() {
+        router.ask("p", LlmResponseCache.keyOf("t", "회의 자료 찾아줘", List.of(1L, 2L)));
+        router.ask("p", LlmResponseCache.keyOf("t", "  회의   자료 찾아줘? ", List.of(2L, 1L)));
+        assertEquals(1, calls.get());
+
+        router.ask("p", LlmResponseCache.keyOf("t", "회의 자료 찾아줘", List.of(1L, 2L, 3L)));
+        assertEquals(2, calls.get());
+    }
+
+    // TTL 이 지나면 다시 호출
+    @Test
+    public void testTtlExpiry() {
+        router.ask("same prompt");
+        router.ask("same prompt");
+        assertEquals(1, calls.get());
+
+        now.addAndGet(61_000);
+        router.ask("same prompt");
+        assertEquals(2, calls.get());
+    }
+
+    // 실패는 캐시하지 않음
+    @Test
+    public void testFailureNotCached() {
+        status.set(500);
+        assertThrows(RuntimeException.class, () -> router.ask("x"));
+
+        status.set(200);
+        assertEquals("ok", router.ask("x").getSummary());
+        assertEquals(2, calls.get());
+        assertEquals(1, cache.snapshot().failures());
+    }
+
+    // 스트리밍: summary 조각과 id 를 도착 순서대로 전달, 최종 결과는 캐시에 저장
+    @Test
+    public void testStreamingEmitsPartialResultsAndCaches() {
+        List<String> events = new ArrayList<>();
+        LlmJsonStreamParser.Listener listener = new LlmJsonStreamParser.Listener() {
+            @Override
+            public void onSummary(String delta) {
+                events.add("s:" + delta);
+            }
+
+            @Override
+            public void onMessageId(long id) {
+                events.add("m:" + id);
+            }
+        };
+
+        LlmResult r = router.askStreaming("p", "stream-key", listener);
+        assertEquals("첫 문장", r.getSummary());
+        assertEquals(List.of(5L, 6L), r.getMessageIds());
+        assertEquals(List.of("s:첫", "s: 문장", "m:5", "m:6"), events);
+
+        // 두 번째는 캐시에서 한 번에
+        events.clear();
+        router.askStreaming("p", "stream-key", listener);
+        assertEquals(1, calls.get());
+        assertEquals(List.of("s:첫 문장", "m:5", "m:6"), events);
+    }
+
+    // 최대 개수를 넘으면 오래 안 쓴 것부터 제거
+    @Test
+    public void testLruEviction() {
+        LlmResponseCache small = new LlmResponseCache(true, 60_000, 2, now::get);
+        AtomicInteger loads = new AtomicInteger();
+
+        small.get("a", () -> new LlmResult("a", List.of(), List.of()));
+        small.get("b", () -> new LlmResult("b", List.of(), List.of()));
+        small.get("a", () -> { loads.incrementAndGet(); return null; }); // a 를 최근 사용으로
+        small.get("c", () -> new LlmResult("c", List.of(), List.of()));  // b 제거
+
+        assertEquals(0, loads.get());
+        small.get("b", () -> { loads.incrementAndGet(); return new LlmResult("b", List.of(), List.of()); });
+        assertEquals(1, loads.get());
+        assertEquals(2, small.snapshot().evictions());
+    }
+}
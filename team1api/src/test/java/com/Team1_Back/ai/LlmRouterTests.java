@@ -0,0 +1,184 @@
+package com.Team1_Back.ai;
+
+import com.Team1_Back.client.LlmClient;
+import com.Team1_Back.dto.LlmResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * LlmRouter hedge / failover / circuit / 지연 기반 순서 검증 (가짜 provider 사용)
+ */
+public class LlmRouterTests {
+
+    private static final LlmRouter.Settings SETTINGS =
+            new LlmRouter.Settings(200, 50, 2000, 0, 3, 0.5, 60_000, 8);
+
+    // 지정한 시간 뒤 응답하거나 실패하는 provider
+    private static class FakeClient implements LlmClient {
+        private final String name;
+        volatile long delayMs;
+        volatile boolean fail;
+        final AtomicInteger calls = new AtomicInteger();
+
+        FakeClient(String name, long delayMs) {
+            this.name = name;
+            this.delayMs = delayMs;
+        }
+
+        @Override
+        public LlmResult ask(String prompt) {
+            calls.incrementAndGet();
+            try {
+                Thread.sleep(delayMs);
+            } catch (InterruptedException e) {
+                throw new RuntimeException("interrupted", e);
+            }
+            if (fail) throw new RuntimeException(name + " down");
+            return new LlmResult(name, List.of(), List.of());
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+    }
+
+    private LlmRouter router(LlmClient... clients) {
+        return router(SETTINGS, clients);
+    }
+
+    private LlmRouter router(LlmRouter.Settings settings, LlmClient... clients) {
+        return new LlmRouter(List.of(clients), new LlmResponseCache(false, 0, 0, System::currentTimeMillis),
+                settings, System::currentTimeMillis);
+    }
+
+    // 1순위가 느리면 hedge 로 2순위 응답 사용 → 느린 provider 시간에 묶이지 않음
+    @Test
+    public void testHedgeBoundsTailLatency() {
+        FakeClient slow = new FakeClient("slow", 1500);
+        FakeClient fast = new FakeClient("fast", 50);
+        LlmRouter router = router(slow, fast);
+
+        long started = System.currentTimeMillis();
+        LlmResult r = router.ask("q", null);
+        long took = System.currentTimeMillis() - started;
+
+        assertEquals("fast", r.getSummary());
+        assertTrue(took < 1000, "took=" + took);
+        assertEquals(1, slow.calls.get());
+        router.shutdown();
+    }
+
+    // 실패하면 hedge 시간을 기다리지 않고 바로 다음 provider
+    @Test
+    public void testFailoverWithoutWaiting() {
+        FakeClient broken = new FakeClient("broken", 0);
+        broken.fail = true;
+        FakeClient ok = new FakeClient("ok", 0);
+        LlmRouter router = router(broken, ok);
+
+        long started = System.currentTimeMillis();
+        assertEquals("ok", router.ask("q", null).getSummary());
+        assertTrue(System.currentTimeMillis() - started < SETTINGS.hedgeAfterMs());
+        router.shutdown();
+    }
+
+    // 연속 실패하면 circuit OPEN → 이후 호출하지 않고 바로 실패
+    @Test
+    public void testCircuitOpensAfterFailures() {
+        FakeClient broken = new FakeClient("broken", 0);
+        broken.fail = true;
+        LlmRouter router = router(broken);
+
+        for (int i = 0; i < 10; i++) {
+            assertThrows(RuntimeException.class, () -> router.ask("q", null));
+        }
+
+        assertEquals(SETTINGS.failureThreshold(), broken.calls.get());
+        assertEquals(LlmProviderStats.CircuitState.OPEN, router.metrics().providers().get(0).circuit());
+        router.shutdown();
+    }
+
+    // 표본이 쌓이면 빠른 provider 가 1순위
+    @Test
+    public void testRoutesByLatency() {
+        FakeClient a = new FakeClient("a", 120);
+        FakeClient b = new FakeClient("b", 10);
+        LlmRouter router = router(a, b);
+
+        // a 가 1순위(등록 순)로 시작 → 표본이 쌓이면 b 로 이동
+        for (int i = 0; i < 60; i++) router.ask("q" + i, null);
+
+        int aBefore = a.calls.get();
+        for (int i = 0; i < 10; i++) assertEquals("b", router.ask("x" + i, null).getSummary());
+        assertEquals(aBefore, a.calls.get());
+        router.shutdown();
+    }
+
+    // 모든 provider 가 느리면 전체 제한 시간에 실패
+    @Test
+    public void testOverallTimeout() {
+        FakeClient s1 = new FakeClient("s1", 10_000);
+        FakeClient s2 = new FakeClient("s2", 10_000);
+        LlmRouter router = router(s1, s2);
+
+        long started = System.currentTimeMillis();
+        assertThrows(RuntimeException.class, () -> router.ask("q", null));
+        long took = System.currentTimeMillis() - started;
+        assertTrue(took < SETTINGS.timeoutMs() + 500, "took=" + took);
+        router.shutdown();
+    }
+
+    // hedge 에 진 provider 도 버린 시점까지의 시간이 표본으로 남아 다음부터 뒤로 밀림
+    @Test
+    public void testHedgeLoserRanksDown() {
+        FakeClient slow = new FakeClient("slow", 1500);
+        FakeClient fast = new FakeClient("fast", 50);
+        LlmRouter router = router(slow, fast);
+
+        assertEquals("fast", router.ask("q1", null).getSummary());
+        assertEquals("fast", router.ask("q2", null).getSummary());
+        assertEquals(1, slow.calls.get());
+        router.shutdown();
+    }
+
+    // 제한 시간 안에 답이 없는 provider 는 실패로 셈 → 멈춘 provider 도 circuit OPEN
+    @Test
+    public void testDeadlineMissOpensCircuit() {
+        LlmRouter.Settings settings = new LlmRouter.Settings(50, 10, 100, 0, 3, 0.5, 60_000, 8);
+        FakeClient hung = new FakeClient("hung", 10_000);
+        LlmRouter router = router(settings, hung);
+
+        for (int i = 0; i < 5; i++) {
+            assertThrows(RuntimeException.class, () -> router.ask("q", null));
+        }
+
+        assertEquals(settings.failureThreshold(), hung.calls.get());
+        assertEquals(LlmProviderStats.CircuitState.OPEN, router.metrics().providers().get(0).circuit());
+        router.shutdown();
+    }
+
+    // 호출 스레드가 다 차면 대기하지 않고 바로 거절
+    @Test
+    public void testRejectsWhenSaturated() throws Exception {
+        LlmRouter.Settings settings = new LlmRouter.Settings(5_000, 50, 2000, 0, 3, 0.5, 60_000, 1);
+        FakeClient busy = new FakeClient("busy", 500);
+        LlmRouter router = router(settings, busy);
+
+        Thread first = new Thread(() -> router.ask("q1", null));
+        first.start();
+        Thread.sleep(100);
+
+        long started = System.currentTimeMillis();
+        assertThrows(IllegalStateException.class, () -> router.ask("q2", null));
+        assertTrue(System.currentTimeMillis() - started < 300);
+        assertEquals(1, busy.calls.get());
+
+        first.join();
+        router.shutdown();
+    }
+}
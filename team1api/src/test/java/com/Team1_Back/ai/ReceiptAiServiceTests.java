@@ -0,0 +1,96 @@
+package com.Team1_Back.ai;
+
+import com.Team1_Back.ai.service.ReceiptAiServiceImpl;
+import com.Team1_Back.dto.ReceiptExtractionDTO;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 저장된 영수증 파일 → OCR 서비스 스트리밍 전송 검증 (로컬 stub /api/ai/receipt/extract 사용)
+ */
+public class ReceiptAiServiceTests {
+
+    private HttpServer server;
+    private final AtomicInteger status = new AtomicInteger(200);
+    private final AtomicReference<String> received = new AtomicReference<>();
+    private ReceiptAiServiceImpl service;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/api/ai/receipt/extract", ex -> {
+            received.set(new String(ex.getRequestBody().readAllBytes(), StandardCharsets.ISO_8859_1));
+            byte[] bytes = """
+                    {"extractedMerchant":"스타벅스","extractedAmount":5600,"extractedDate":"2026-03-02",
+                     "extractedCategory":"식비","confidence":0.93,"extractedJson":"{}","modelName":"stub-ocr"}
+                    """.getBytes(StandardCharsets.UTF_8);
+            ex.getResponseHeaders().add("Content-Type", "application/json");
+            ex.sendResponseHeaders(status.get(), bytes.length);
+            try (OutputStream out = ex.getResponseBody()) {
+                out.write(bytes);
+            }
+        });
+        server.start();
+
+        ReceiptAiProperties props = new ReceiptAiProperties();
+        props.setBaseUrl("http://127.0.0.1:" + server.getAddress().getPort());
+        props.setTimeoutMs(5000);
+        service = new ReceiptAiServiceImpl(new ReceiptAiConfig().receiptAiRestClient(props), props);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    // 디스크 파일이 multipart "file" 파트로 그대로 전달되고 응답이 DTO 로 변환됨
+    @Test
+    public void testExtractFromStoredFile() throws Exception {
+        Path file = Files.createTempFile("receipt", ".jpg");
+        try {
+            Files.write(file, "FAKE-JPEG-BYTES".getBytes(StandardCharsets.ISO_8859_1));
+
+            ReceiptExtractionDTO dto = service.extractReceipt(file, "r.jpg", "image/jpeg");
+
+            String body = received.get();
+            assertNotNull(body);
+            assertTrue(body.contains("name=\"file\""));
+            assertTrue(body.contains("filename=\"r.jpg\""));
+            assertTrue(body.contains("image/jpeg"));
+            assertTrue(body.contains("FAKE-JPEG-BYTES"));
+
+            assertEquals("스타벅스", dto.getExtractedMerchant());
+            assertEquals(5600, dto.getExtractedAmount());
+            assertEquals(LocalDate.of(2026, 3, 2), dto.getExtractedDate());
+            assertEquals("stub-ocr", dto.getModelName());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    // OCR 서비스 오류는 예외로 올라가야 워커가 재시도를 예약함
+    @Test
+    public void testServerErrorThrows() throws Exception {
+        status.set(503);
+        Path file = Files.createTempFile("receipt", ".jpg");
+        try {
+            Files.write(file, new byte[]{1, 2, 3});
+            assertThrows(RuntimeException.class, () -> service.extractReceipt(file, null, "image/jpeg"));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.Team1_Back.ai.embedding;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * VectorIndex 검색 검증 (결정적인 HashingEmbeddingClient 사용)
+ */
+public class VectorIndexTests {
+
+    private final HashingEmbeddingClient embedding = new HashingEmbeddingClient(256);
+
+    private VectorIndex indexOf(String... contents) {
+        VectorIndex index = new VectorIndex(embedding.dimension());
+        for (int i = 0; i < contents.length; i++) {
+            // 짝수 id → 1번 방, 홀수 id → 2번 방
+            index.add(i, i % 2 == 0 ? 1L : 2L, embedding.embed(contents[i]));
+        }
+        return index;
+    }
+
+    // 비슷한 문장이 가장 위에
+    @Test
+    public void testSimilarTextRanksFirst() {
+        VectorIndex index = indexOf(
+                "다음 주 회의 일정 잡아주세요",
+                "점심 메뉴 뭐 먹을까요",
+                "출장 영수증 올렸습니다",
+                "프로젝트 마감일이 금요일로 변경됐어요"
+        );
+
+        List<VectorIndex.Match> hits = index.search(embedding.embed("영수증 올렸어요"), Set.of(1L, 2L), 1);
+        assertEquals(1, hits.size());
+        assertEquals(2L, hits.get(0).id());
+    }
+
+    // 대상 방 밖의 메시지는 나오지 않음
+    @Test
+    public void testRoomFilter() {
+        VectorIndex index = indexOf(
+                "출장 영수증 올렸습니다",
+                "출장 영수증 올렸습니다"
+        );
+
+        List<VectorIndex.Match> hits = index.search(embedding.embed("출장 영수증"), Set.of(2L), 10);
+        assertEquals(List.of(1L), hits.stream().map(VectorIndex.Match::id).toList());
+    }
+
+    // 후보가 k 보다 적으면 대상 방 전체를 직접 비교 → 관련 없는 질문에도 k 개 채움
+    @Test
+    public void testBruteForceFillsK() {
+        VectorIndex index = indexOf("가", "나", "다", "라", "마");
+
+        List<VectorIndex.Match> hits = index.search(embedding.embed("완전히 다른 질문"), Set.of(1L), 3);
+        assertEquals(3, hits.size());
+        assertTrue(hits.stream().allMatch(m -> m.roomId() == 1L));
+    }
+
+    // 같은 id 는 한 번만
+    @Test
+    public void testDuplicateAddIgnored() {
+        VectorIndex index = new VectorIndex(embedding.dimension());
+        assertTrue(index.add(7L, 1L, embedding.embed("hello")));
+        assertFalse(index.add(7L, 1L, embedding.embed("hello")));
+        assertEquals(1, index.size());
+        assertTrue(index.contains(7L));
+    }
+}
@@ -0,0 +1,93 @@
+package com.Team1_Back.ai.stream;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * LlmJsonStreamParser 부분 해석 검증
+ */
+public class LlmJsonStreamParserTests {
+
+    private static class Collector implements LlmJsonStreamParser.Listener {
+        final StringBuilder summary = new StringBuilder();
+        final List<String> summaryDeltas = new ArrayList<>();
+        final List<Long> messageIds = new ArrayList<>();
+        final List<Long> attachmentIds = new ArrayList<>();
+
+        @Override
+        public void onSummary(String delta) {
+            summary.append(delta);
+            summaryDeltas.add(delta);
+        }
+
+        @Override
+        public void onMessageId(long id) {
+            messageIds.add(id);
+        }
+
+        @Override
+        public void onAttachmentId(long id) {
+            attachmentIds.add(id);
+        }
+    }
+
+    // 한 글자씩 들어와도 전체를 한 번에 넣은 것과 같은 결과
+    @Test
+    public void testCharByCharMatchesWhole() {
+        String json = """
+                ```json
+                {"other": {"x": [1, "}"]}, "summary": "회의 \\"일정\\"\\n확정 \\uD55C", "count": 3,
+                 "messageIds": [10, "20", null, 30], "attachmentIds": [7]}
+                ```""";
+
+        Collector whole = new Collector();
+        new LlmJsonStreamParser(whole).feed(json);
+
+        Collector chars = new Collector();
+        LlmJsonStreamParser p = new LlmJsonStreamParser(chars);
+        for (char c : json.toCharArray()) p.feed(String.valueOf(c));
+
+        for (Collector c : List.of(whole, chars)) {
+            assertEquals("회의 \"일정\"\n확정 한", c.summary.toString());
+            assertEquals(List.of(10L, 20L, 30L), c.messageIds);
+            assertEquals(List.of(7L), c.attachmentIds);
+        }
+        assertTrue(p.isDone());
+    }
+
+    // summary 는 문자열이 끝나기 전에 조각별로 전달, id 는 다음 구분자가 오면 바로 전달
+    @Test
+    public void testEmitsBeforeCompletion() {
+        Collector c = new Collector();
+        LlmJsonStreamParser p = new LlmJsonStreamParser(c);
+
+        p.feed("{\"summary\": \"첫");
+        assertEquals(List.of("첫"), c.summaryDeltas);
+        p.feed(" 문장");
+        assertEquals(List.of("첫", " 문장"), c.summaryDeltas);
+
+        p.feed("\", \"attachmentIds\": [101,");
+        assertEquals(List.of(101L), c.attachmentIds);
+        p.feed(" 10");
+        assertEquals(List.of(101L), c.attachmentIds);
+        p.feed("2]");
+        assertEquals(List.of(101L, 102L), c.attachmentIds);
+        assertFalse(p.isDone());
+        p.feed("}");
+        assertTrue(p.isDone());
+    }
+
+    // 숫자가 아닌 id / 다른 타입의 summary 는 무시
+    @Test
+    public void testIgnoresInvalidValues() {
+        Collector c = new Collector();
+        new LlmJsonStreamParser(c).feed("{\"summary\": null, \"messageIds\": [1.5, \"abc\", -3, 4]}");
+
+        assertEquals("", c.summary.toString());
+        assertEquals(List.of(-3L, 4L), c.messageIds);
+    }
+}
@@ -0,0 +1,154 @@
+package com.Team1_Back.chat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ChatSearchIndex 검색 결과가 예전 LIKE 쿼리와 같은지 확인 (DB 없음)
+ *
+ * <p>색인은 후보만 내고 확인은 DB 행으로 하므로, 여기서는 DB 대신 map 에 넣어 둔 행으로 resolve
+ */
+public class ChatSearchIndexTests {
+
+    private static final long T0 = 1_700_000_000_000L;
+
+    private ChatSearchIndex index;
+
+    // DB 대신: 살아 있는 첨부 / 메시지 본문
+    private Map<Long, ChatSearchIndex.AttachmentDoc> liveAttachments;
+    private Map<Long, String> messageContent;
+
+    @BeforeEach
+    public void setUp() {
+        index = new ChatSearchIndex(1_000);
+        liveAttachments = new HashMap<>();
+        messageContent = new HashMap<>();
+
+        // 방 1: "회의록 올릴게요" 30초 뒤 파일 업로드
+        message(1, 1, T0, "내일 회의록 올릴게요");
+        message(2, 1, T0 + 30_000, "");
+        attachment(att(10, 1, 2, "minutes_0105.pdf", T0 + 30_000, "", 1));
+
+        // 방 1: 파일명에 검색어
+        message(3, 1, T0 + 600_000, "첨부");
+        attachment(att(11, 1, 3, "2024_회의록_최종.docx", T0 + 600_000, "첨부", 2));
+
+        // 방 2: 다른 방 (멤버 아님)
+        message(4, 2, T0, "회의록");
+        attachment(att(12, 2, 4, "회의록.pdf", T0, "회의록", 3));
+    }
+
+    @Test
+    public void testFilenameAndContextMatch() {
+        List<ChatSearchIndex.Hit> hits = search(Set.of(1L), "회의록", 120, 20, 0);
+
+        assertEquals(List.of(11L, 10L), ids(hits));
+        assertEquals(ChatSearchIndex.MatchReason.FILENAME, hits.get(0).reason());
+        assertEquals(ChatSearchIndex.MatchReason.CONTEXT, hits.get(1).reason());
+    }
+
+    @Test
+    public void testContextWindow() {
+        // 30초 차이 → 10초 윈도우에서는 맥락 매칭 안 됨
+        assertEquals(List.of(11L), ids(search(Set.of(1L), "회의록", 10, 20, 0)));
+    }
+
+    @Test
+    public void testMembershipFilter() {
+        assertEquals(List.of(12L), ids(search(Set.of(2L), "회의록", 120, 20, 0)));
+        assertTrue(search(Set.of(3L), "회의록", 120, 20, 0).isEmpty());
+    }
+
+    @Test
+    public void testLikePattern() {
+        // AiChatFileService 가 만드는 '%' 패턴, '_' 한 글자, 대소문자 무시
+        assertEquals(List.of(10L), ids(search(Set.of(1L), "회의%올릴", 120, 20, 0)));
+        assertEquals(List.of(10L), ids(search(Set.of(1L), "MINUTES_01", 0, 20, 0)));
+        assertEquals(List.of(10L), ids(search(Set.of(1L), "min_tes", 0, 20, 0)));
+        assertEquals(List.of(11L), ids(search(Set.of(1L), "록", 0, 20, 0)));
+        assertTrue(search(Set.of(1L), "의회", 120, 20, 0).isEmpty());
+    }
+
+    @Test
+    public void testPagingAndDelete() {
+        assertEquals(List.of(10L), ids(search(Set.of(1L), "회의록", 120, 1, 1)));
+
+        index.markAttachmentDeleted(11);
+        assertEquals(List.of(10L), ids(search(Set.of(1L), "회의록", 120, 20, 0)));
+    }
+
+    @Test
+    public void testDeletedInDbFilteredBeforePaging() {
+        // 색인은 모르는 삭제 (다른 노드) → 확인 단계에서 빠지고, 그 뒤에 페이지를 자르므로 첫 페이지가 비지 않음
+        liveAttachments.remove(11L);
+        assertEquals(List.of(10L), ids(search(Set.of(1L), "회의록", 120, 1, 0)));
+    }
+
+    @Test
+    public void testGramFalsePositiveRejected() {
+        // "회의" 와 "의록" gram 은 다 있지만 "회의록" 은 없음 → 후보에는 오르고 확인에서 빠짐
+        message(5, 3, T0, "회의 의록");
+        attachment(att(13, 3, 5, "a.pdf", T0, "회의 의록", 4));
+
+        ChatSearchIndex.Pattern p = ChatSearchIndex.compile("회의록");
+        assertEquals(1, index.candidates(Set.of(3L), p, 0).size());
+        assertTrue(search(Set.of(3L), "회의록", 0, 20, 0).isEmpty());
+    }
+
+    @Test
+    public void testDuplicateAddIgnored() {
+        assertFalse(index.addMessage(new ChatSearchIndex.MessageDoc(1, 1, T0, "중복")));
+        assertFalse(index.addAttachment(att(10, 1, 2, "dup.pdf", T0, "", 1)));
+        assertEquals(4, index.messageCount());
+        assertEquals(3, index.attachmentCount());
+    }
+
+    @Test
+    public void testMaxDocs() {
+        ChatSearchIndex small = new ChatSearchIndex(2);
+        assertTrue(small.addMessage(new ChatSearchIndex.MessageDoc(1, 1, T0, "a")));
+        assertTrue(small.addAttachment(att(10, 1, 1, "a.pdf", T0, "a", 1)));
+        assertFalse(small.isFull());
+
+        assertFalse(small.addMessage(new ChatSearchIndex.MessageDoc(2, 1, T0, "b")));
+        assertTrue(small.isFull());
+        assertEquals(1, small.messageCount());
+    }
+
+    private List<ChatSearchIndex.Hit> search(Set<Long> roomIds, String q, int ctxSeconds, int limit, int offset) {
+        ChatSearchIndex.Pattern p = ChatSearchIndex.compile(q);
+        return ChatSearchIndex.resolve(index.candidates(roomIds, p, ctxSeconds), p, liveAttachments, messageContent)
+                .stream()
+                .skip(offset)
+                .limit(limit)
+                .toList();
+    }
+
+    private void message(long id, long roomId, long at, String content) {
+        index.addMessage(new ChatSearchIndex.MessageDoc(id, roomId, at, content));
+        messageContent.put(id, content);
+    }
+
+    private void attachment(ChatSearchIndex.AttachmentDoc doc) {
+        index.addAttachment(doc);
+        liveAttachments.put(doc.attachmentId(), doc);
+    }
+
+    private ChatSearchIndex.AttachmentDoc att(long id, long roomId, long messageId, String name,
+                                              long messageAt, String messageContent, int minute) {
+        return new ChatSearchIndex.AttachmentDoc(id, roomId, messageId, 1L, name, "application/octet-stream", 100L,
+                LocalDateTime.of(2024, 1, 5, 10, minute), messageAt, messageContent);
+    }
+
+    private List<Long> ids(List<ChatSearchIndex.Hit> hits) {
+        return hits.stream().map(h -> h.attachment().attachmentId()).toList();
+    }
+}
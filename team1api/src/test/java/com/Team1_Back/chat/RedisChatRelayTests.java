@@ -0,0 +1,166 @@
+package com.Team1_Back.chat;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+
+import java.security.Principal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * RedisChatRelay 노드 간 전달 검증 (같은 JVM 안에 앱 컨텍스트 2개 = 노드 2대)
+ *
+ * <p>Redis 가 필요해서 기본 빌드에서는 돌지 않음. 실행: {@code ./gradlew test --tests '*RedisChatRelayTests' -Dredis=true}
+ *
+ * <p>각 노드의 SimpMessagingTemplate 은 브로커 대신 보낸 메시지를 목록에 모으는 채널로 바꿔 끼움
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "redis", matches = "true")
+public class RedisChatRelayTests {
+
+    private ConfigurableApplicationContext nodeA;
+    private ConfigurableApplicationContext nodeB;
+
+    @BeforeEach
+    public void startNodes() {
+        nodeA = startNode();
+        nodeB = startNode();
+    }
+
+    @AfterEach
+    public void stopNodes() {
+        if (nodeA != null) nodeA.close();
+        if (nodeB != null) nodeB.close();
+    }
+
+    // A 에서 보낸 방 메시지가 B 에 접속한 구독자에게 한 번만 전달됨
+    @Test
+    public void testRoomMessageCrossesNodes() throws Exception {
+        subscribe(nodeB, "s1", "sub-0", "/topic/room/7", "2");
+        Thread.sleep(500); // Redis SUBSCRIBE 반영 대기
+
+        nodeA.getBean(ChatBroadcaster.class).toRoom(7L, Map.of("type", "MESSAGE", "content", "hi"));
+
+        await(() -> sent(nodeB, "/topic/room/7") == 1);
+        assertEquals(1, sent(nodeA, "/topic/room/7"));
+
+        // 자기 노드가 보낸 건 Redis 로 되돌아와도 다시 전달하지 않음
+        nodeB.getBean(ChatBroadcaster.class).toRoom(7L, Map.of("type", "MESSAGE", "content", "re"));
+        Thread.sleep(500);
+        assertEquals(2, sent(nodeB, "/topic/room/7"));
+        assertEquals(1, sent(nodeA, "/topic/room/7"));
+    }
+
+    // ROOMS_CHANGED 는 모아서 사용자당 한 번, 구독이 없는 shard 는 받지 않음
+    @Test
+    public void testRoomsChangedBatchedAcrossNodes() throws Exception {
+        subscribe(nodeB, "s1", "sub-0", "/user/queue/rooms", "2");
+        Thread.sleep(500);
+
+        ChatBroadcaster a = nodeA.getBean(ChatBroadcaster.class);
+        a.roomsChanged(List.of(2L, 3L));
+        a.roomsChanged(List.of(2L));
+        a.flushRoomsChanged();
+
+        await(() -> sent(nodeB, "/user/2/queue/rooms") == 1);
+        Thread.sleep(300);
+        assertEquals(1, sent(nodeB, "/user/2/queue/rooms"));
+        assertEquals(0, sent(nodeB, "/user/3/queue/rooms"));
+    }
+
+    // 세션이 끊기면 shard 채널 구독도 해제
+    @Test
+    public void testDisconnectReleasesShard() throws Exception {
+        subscribe(nodeB, "s1", "sub-0", "/topic/room/9", "2");
+        Thread.sleep(500);
+
+        Message<byte[]> close = MessageBuilder.createMessage(new byte[0],
+                StompHeaderAccessor.create(StompCommand.DISCONNECT).getMessageHeaders());
+        nodeB.publishEvent(new SessionDisconnectEvent(this, close, "s1", CloseStatus.NORMAL));
+        Thread.sleep(500);
+
+        nodeA.getBean(ChatBroadcaster.class).toRoom(9L, Map.of("type", "MESSAGE"));
+        Thread.sleep(500);
+        assertEquals(0, sent(nodeB, "/topic/room/9"));
+    }
+
+    // ------------------------------------------------------------
+
+    private ConfigurableApplicationContext startNode() {
+        return new SpringApplicationBuilder(RelayNodeConfig.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "com.mallapi.chat.broker=redis",
+                        "spring.data.redis.host=" + System.getProperty("redis.host", "localhost"))
+                .run();
+    }
+
+    private void subscribe(ConfigurableApplicationContext node, String sessionId, String subId, String dest, String userId) {
+        Principal user = () -> userId;
+        StompHeaderAccessor acc = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+        acc.setSessionId(sessionId);
+        acc.setSubscriptionId(subId);
+        acc.setDestination(dest);
+        acc.setUser(user);
+        Message<byte[]> msg = MessageBuilder.createMessage(new byte[0], acc.getMessageHeaders());
+        node.publishEvent(new SessionSubscribeEvent(this, msg, user));
+    }
+
+    private long sent(ConfigurableApplicationContext node, String destination) {
+        return node.getBean(SentMessages.class).list.stream()
+                .filter(m -> destination.equals(SimpMessageHeaderAccessor.getDestination(m.getHeaders())))
+                .count();
+    }
+
+    private void await(Supplier<Boolean> cond) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 3000;
+        while (!cond.get()) {
+            if (System.currentTimeMillis() > deadline) fail("timeout");
+            Thread.sleep(20);
+        }
+    }
+
+    @Configuration
+    @ImportAutoConfiguration(RedisAutoConfiguration.class)
+    @Import({RedisChatRelay.class, ChatBroadcaster.class})
+    static class RelayNodeConfig {
+
+        @Bean
+        public SentMessages sentMessages() {
+            return new SentMessages();
+        }
+
+        @Bean
+        public SimpMessagingTemplate simpMessagingTemplate(SentMessages sentMessages) {
+            return new SimpMessagingTemplate((message, timeout) -> sentMessages.list.add(message));
+        }
+    }
+
+    static class SentMessages {
+        final List<Message<?>> list = new CopyOnWriteArrayList<>();
+    }
+}
@@ -0,0 +1,87 @@
+package com.Team1_Back.face;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.Random;
+
+/**
+ * 얼굴 매칭 1회 비용 벤치마크 (등록자 1만 / 10만 명)
+ *
+ * <p>기본 빌드에서는 돌지 않음. 실행: {@code ./gradlew test --tests '*FaceDescriptorIndexBenchmarkTests' -Dbench=true}
+ *
+ * <p>비교 항목
+ * <ul>
+ *   <li>기존 방식 흉내: 행마다 float[] 객체, 128 차원 전부 계산</li>
+ *   <li>FaceDescriptorIndex: 한 배열에 이어 붙인 행 + early abandon (기준 거리 0.3, FaceMatchService 와 동일)</li>
+ * </ul>
+ * 질의는 등록자 중 한 명에 약간의 노이즈를 더한 값 (실제 로그인과 비슷하게)
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "bench", matches = "true")
+public class FaceDescriptorIndexBenchmarkTests {
+
+    private static final int DIM = 128;
+    private static final int QUERIES = 200;
+    private static final float MAX_DISTANCE = 0.3f;
+
+    @Test
+    public void benchmark() {
+        for (int users : new int[]{10_000, 100_000}) {
+            run(users);
+        }
+    }
+
+    private void run(int users) {
+        Random rnd = new Random(42);
+        float[][] rows = new float[users][DIM];
+        FaceDescriptorIndex index = new FaceDescriptorIndex(DIM);
+        for (int u = 0; u < users; u++) {
+            for (int i = 0; i < DIM; i++) rows[u][i] = (float) (rnd.nextGaussian() * 0.1);
+            index.put("E" + u, rows[u]);
+        }
+
+        float[][] queries = new float[QUERIES][DIM];
+        for (int q = 0; q < QUERIES; q++) {
+            float[] base = rows[rnd.nextInt(users)];
+            for (int i = 0; i < DIM; i++) queries[q][i] = base[i] + (float) (rnd.nextGaussian() * 0.01);
+        }
+
+        // 워밍업
+        for (int r = 0; r < 3; r++) {
+            for (float[] q : queries) {
+                naive(rows, q);
+                index.nearest(q, MAX_DISTANCE);
+            }
+        }
+
+        long t0 = System.nanoTime();
+        int sink = 0;
+        for (float[] q : queries) sink += naive(rows, q);
+        long naiveUs = (System.nanoTime() - t0) / 1_000 / QUERIES;
+
+        t0 = System.nanoTime();
+        for (float[] q : queries) sink += index.nearest(q, MAX_DISTANCE).key().length();
+        long indexUs = (System.nanoTime() - t0) / 1_000 / QUERIES;
+
+        log.info("[BENCH] users={} naive={}us/query index={}us/query (sink={})", users, naiveUs, indexUs, sink);
+    }
+
+    private static int naive(float[][] rows, float[] q) {
+        int best = -1;
+        float bestD = Float.MAX_VALUE;
+        for (int u = 0; u < rows.length; u++) {
+            float s = 0;
+            for (int i = 0; i < DIM; i++) {
+                float d = q[i] - rows[u][i];
+                s += d * d;
+            }
+            if (s < bestD) {
+                bestD = s;
+                best = u;
+            }
+        }
+        return best;
+    }
+}
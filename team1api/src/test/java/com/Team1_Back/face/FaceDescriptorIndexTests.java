@@ -0,0 +1,110 @@
+package com.Team1_Back.face;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * FaceDescriptorIndex 검색 검증 (early abandon 이 있어도 정확한 최근접을 찾는지)
+ */
+public class FaceDescriptorIndexTests {
+
+    private static final int DIM = 128;
+
+    private static float[] random(Random rnd) {
+        float[] v = new float[DIM];
+        for (int i = 0; i < DIM; i++) v[i] = (float) (rnd.nextGaussian() * 0.1);
+        return v;
+    }
+
+    private static float distance(float[] a, float[] b) {
+        double s = 0;
+        for (int i = 0; i < a.length; i++) s += (a[i] - b[i]) * (a[i] - b[i]);
+        return (float) Math.sqrt(s);
+    }
+
+    // 단순 전수 비교와 같은 결과
+    @Test
+    public void testMatchesBruteForce() {
+        Random rnd = new Random(7);
+        FaceDescriptorIndex index = new FaceDescriptorIndex(DIM);
+        Map<String, float[]> all = new HashMap<>();
+        for (int i = 0; i < 2_000; i++) {
+            float[] v = random(rnd);
+            all.put("E" + i, v);
+            index.put("E" + i, v);
+        }
+
+        for (int q = 0; q < 50; q++) {
+            float[] query = random(rnd);
+
+            String expected = null;
+            float best = Float.MAX_VALUE;
+            for (Map.Entry<String, float[]> e : all.entrySet()) {
+                float d = distance(query, e.getValue());
+                if (d < best) {
+                    best = d;
+                    expected = e.getKey();
+                }
+            }
+
+            FaceDescriptorIndex.Match m = index.nearest(query);
+            assertEquals(expected, m.key());
+            assertEquals(best, m.distance(), 1e-4);
+        }
+    }
+
+    // 교체 / 삭제 (마지막 행 이동) 후에도 올바른 키
+    @Test
+    public void testPutReplaceRemove() {
+        Random rnd = new Random(1);
+        FaceDescriptorIndex index = new FaceDescriptorIndex(DIM);
+        float[] a = random(rnd);
+        float[] b = random(rnd);
+        float[] c = random(rnd);
+        index.put("A", a);
+        index.put("B", b);
+        index.put("C", c);
+
+        assertEquals("B", index.nearest(b).key());
+        assertEquals(0f, index.nearest(b).distance(), 1e-6);
+
+        assertTrue(index.remove("A"));
+        assertFalse(index.remove("A"));
+        assertEquals(2, index.size());
+        assertEquals("C", index.nearest(c).key());
+
+        index.put("B", a);
+        assertEquals(2, index.size());
+        assertEquals("B", index.nearest(a).key());
+
+        index.replaceAll(Map.of("Z", b));
+        assertEquals(1, index.size());
+        assertEquals("Z", index.nearest(c).key());
+    }
+
+    // 기준 거리 밖이면 null
+    @Test
+    public void testMaxDistance() {
+        FaceDescriptorIndex index = new FaceDescriptorIndex(DIM);
+        float[] a = new float[DIM];
+        float[] b = new float[DIM];
+        b[0] = 0.5f;
+        index.put("A", a);
+
+        assertNull(index.nearest(b, 0.3f));
+        assertEquals("A", index.nearest(b, 0.6f).key());
+        assertEquals(0.5f, index.nearest(b, 0.6f).distance(), 1e-6);
+    }
+
+    @Test
+    public void testEmptyAndDimension() {
+        FaceDescriptorIndex index = new FaceDescriptorIndex(DIM);
+        assertNull(index.nearest(new float[DIM]));
+        assertThrows(IllegalArgumentException.class, () -> index.put("X", new float[3]));
+    }
+}
@@ -0,0 +1,133 @@
+package com.Team1_Back.generator;
+
+import com.Team1_Back.constants.ReportTypes;
+import com.Team1_Back.domain.enums.DataScope;
+import com.Team1_Back.report.entity.ReportJob;
+import com.Team1_Back.repository.projection.ExpenseReportRow;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 상세 엑셀 스트리밍 생성 검증 (DB 커서 대신 지연 Stream 사용)
+ */
+public class ExcelReportGeneratorTests {
+
+    // SXSSF 메모리 윈도우(200행)보다 많이 → 임시파일로 flush 되는 경로까지 확인
+    private static final int ROWS = 1000;
+    private static final String LONG_DESCRIPTION = "x".repeat(100);
+
+    @TempDir
+    Path dir;
+
+    private static final class TestRow implements ExpenseReportRow {
+        private final int i;
+
+        TestRow(int i) {
+            this.i = i;
+        }
+
+        public Long getId() { return (long) i; }
+        public LocalDate getReceiptDate() { return LocalDate.of(2025, 12, 1).plusDays(i % 28); }
+        public String getEmployeeNo() { return "E" + i; }
+        public String getWriterName() { return "홍길동"; }
+        public String getDepartmentName() { return "개발2팀"; }
+        public String getCategory() { return "식대"; }
+        public String getMerchant() { return "Cafe"; }
+        public Integer getAmount() { return 1000 + i; }
+        public String getDescription() { return i == 500 ? LONG_DESCRIPTION : "desc"; }
+    }
+
+    private static ReportJob job() {
+        ReportJob job = new ReportJob();
+        job.setId(7L);
+        job.setReportTypeId(ReportTypes.DEPT_DETAIL_EXCEL);
+        job.setPeriod("2025-12");
+        job.setDataScope(DataScope.DEPT);
+        job.setDepartmentSnapshot("개발2팀");
+        return job;
+    }
+
+    @Test
+    public void testDetailFromStream() throws Exception {
+        AtomicInteger pulled = new AtomicInteger();
+        Stream<ExpenseReportRow> cursor = Stream.iterate(1, i -> i + 1)
+                .limit(ROWS)
+                .map(i -> {
+                    pulled.incrementAndGet();
+                    return new TestRow(i);
+                });
+
+        Path out = dir.resolve("detail.xlsx");
+        ExcelReportGenerator.DetailTotals totals = new ExcelReportGenerator().generateDetail(out, job(), cursor);
+
+        long expectedTotal = 1000L * ROWS + (long) ROWS * (ROWS + 1) / 2;
+        assertEquals(ROWS, pulled.get());
+        assertEquals(ROWS, totals.count());
+        assertEquals(expectedTotal, totals.total());
+
+        try (XSSFWorkbook wb = new XSSFWorkbook(Files.newInputStream(out))) {
+            Sheet sheet = wb.getSheet("Expenses");
+            assertNotNull(sheet);
+
+            // 요약 4행 + 빈 행 → 5번째 행이 헤더, 그 다음부터 데이터
+            assertEquals("Department - 개발2팀", sheet.getRow(3).getCell(1).getStringCellValue());
+            Row header = sheet.getRow(5);
+            assertEquals("No", header.getCell(0).getStringCellValue());
+            assertEquals("Description", header.getCell(9).getStringCellValue());
+
+            Row first = sheet.getRow(6);
+            assertEquals(1, (int) first.getCell(0).getNumericCellValue());
+            assertEquals(1, (long) first.getCell(1).getNumericCellValue());
+            assertEquals("2025-12-02", first.getCell(2).getStringCellValue());
+            assertEquals("E1", first.getCell(3).getStringCellValue());
+            assertEquals(1001, (int) first.getCell(8).getNumericCellValue());
+
+            Row last = sheet.getRow(6 + ROWS - 1);
+            assertEquals(ROWS, (int) last.getCell(0).getNumericCellValue());
+            assertEquals("E" + ROWS, last.getCell(3).getStringCellValue());
+
+            assertEquals(LONG_DESCRIPTION, sheet.getRow(6 + 500 - 1).getCell(9).getStringCellValue());
+
+            // 마지막 데이터 다음 빈 행, 그 다음 합계 행
+            assertNull(sheet.getRow(6 + ROWS));
+            Row footer = sheet.getRow(6 + ROWS + 1);
+            assertEquals(sheet.getLastRowNum(), footer.getRowNum());
+            assertEquals(expectedTotal, (long) footer.getCell(8).getNumericCellValue());
+
+            // 너비 = (가장 긴 값 문자 수 + 2) * 256, 한글 2칸, 최대 60자
+            assertEquals((4 + 2) * 256, sheet.getColumnWidth(0));    // "1000"
+            assertEquals((10 + 2) * 256, sheet.getColumnWidth(1));   // "Expense ID"
+            assertEquals((6 + 2) * 256, sheet.getColumnWidth(4));    // "홍길동"
+            assertEquals((10 + 2) * 256, sheet.getColumnWidth(5));   // "Department" > "개발2팀"(7)
+            assertEquals((12 + 2) * 256, sheet.getColumnWidth(8));   // "Amount (KRW)"
+            assertEquals(60 * 256, sheet.getColumnWidth(9));         // 100자 → 상한
+        }
+    }
+
+    // 빈 커서: 헤더와 0건 합계만
+    @Test
+    public void testDetailEmpty() throws Exception {
+        Path out = dir.resolve("empty.xlsx");
+        ExcelReportGenerator.DetailTotals totals = new ExcelReportGenerator().generateDetail(out, job(), Stream.empty());
+
+        assertEquals(0, totals.count());
+        assertEquals(0, totals.total());
+
+        try (XSSFWorkbook wb = new XSSFWorkbook(Files.newInputStream(out))) {
+            Sheet sheet = wb.getSheet("Expenses");
+            assertEquals(7, sheet.getLastRowNum());
+            assertEquals(0, (long) sheet.getRow(7).getCell(8).getNumericCellValue());
+        }
+    }
+}
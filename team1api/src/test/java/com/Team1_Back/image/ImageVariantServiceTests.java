@@ -0,0 +1,128 @@
+package com.Team1_Back.image;
+
+import com.Team1_Back.image.ImageVariantService.Bucket;
+import com.Team1_Back.image.ImageVariantService.ImageMeta;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 이미지 변형 생성 / 조회 검증 (임시 업로드 폴더 사용)
+ */
+public class ImageVariantServiceTests {
+
+    private Path root;
+    private ImageVariantService service;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        root = Files.createTempDirectory("upload");
+        Files.createDirectories(root.resolve("user_image"));
+
+        service = new ImageVariantService(1, 10, 800, 100, 10_000);
+        ReflectionTestUtils.setField(service, "uploadPath", root.toString());
+        service.init();
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        service.shutdown();
+        try (Stream<Path> s = Files.walk(root)) {
+            s.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    // 변형이 없으면 첫 조회 때 생성, 썸네일 규격(310x280) 안으로 축소
+    @Test
+    public void testLazyThumbnail() throws Exception {
+        writePng(root.resolve("user_image/a.png"), 1200, 900);
+
+        ImageMeta meta = service.lookup(Bucket.USER_IMAGE, "s_a.png");
+        assertNotNull(meta);
+        assertEquals("image/png", meta.contentType());
+        assertTrue(Files.exists(root.resolve("user_image/s_a.png")));
+
+        BufferedImage thumb = ImageIO.read(meta.path().toFile());
+        assertTrue(thumb.getWidth() <= 310 && thumb.getHeight() <= 280);
+        assertEquals(ImageVariantService.IMMUTABLE, meta.cacheControl());
+
+        // 두 번째 조회는 캐시된 메타데이터 (같은 ETag)
+        assertEquals(meta.etag(), service.lookup(Bucket.USER_IMAGE, "s_a.png").etag());
+    }
+
+    // 변형이 대기 시간 안에 안 만들어지면 이번 응답은 원본 (재검증), 변형은 풀에서 계속 생성
+    @Test
+    public void testServesOriginalWhileVariantQueued() throws Exception {
+        service.shutdown();
+        service = new ImageVariantService(1, 10, 800, 100, 0);
+        ReflectionTestUtils.setField(service, "uploadPath", root.toString());
+        service.init();
+        writePng(root.resolve("user_image/d.png"), 2000, 1500);
+
+        ImageMeta first = service.lookup(Bucket.USER_IMAGE, "m_d.png");
+        assertNotNull(first);
+        assertEquals(root.resolve("user_image/d.png").toAbsolutePath(), first.path().toAbsolutePath());
+        assertEquals(ImageVariantService.REVALIDATE, first.cacheControl());
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!Files.exists(root.resolve("user_image/m_d.png")) && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        ImageMeta next = service.lookup(Bucket.USER_IMAGE, "m_d.png");
+        assertEquals(root.resolve("user_image/m_d.png").toAbsolutePath(), next.path().toAbsolutePath());
+        assertEquals(ImageVariantService.IMMUTABLE, next.cacheControl());
+        assertNotEquals(first.etag(), next.etag());
+    }
+
+    // 업로드 직후 비동기 생성
+    @Test
+    public void testGenerateAsync() throws Exception {
+        writePng(root.resolve("user_image/b.png"), 1600, 1600);
+
+        service.generateAsync(Bucket.USER_IMAGE, "b.png");
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!(Files.exists(root.resolve("user_image/s_b.png")) && Files.exists(root.resolve("user_image/m_b.png")))
+                && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertTrue(Files.exists(root.resolve("user_image/s_b.png")));
+        BufferedImage medium = ImageIO.read(root.resolve("user_image/m_b.png").toFile());
+        assertEquals(800, Math.max(medium.getWidth(), medium.getHeight()));
+    }
+
+    // 원본이 없거나 경로 조작이면 null, 삭제 시 변형까지 정리
+    @Test
+    public void testMissingTraversalAndDelete() throws Exception {
+        assertNull(service.lookup(Bucket.USER_IMAGE, "s_none.png"));
+        assertNull(service.lookup(Bucket.USER_IMAGE, "..%2F..%2Fetc"));
+        assertNull(service.lookup(Bucket.USER_IMAGE, ".."));
+
+        writePng(root.resolve("user_image/c.png"), 400, 400);
+        assertNotNull(service.lookup(Bucket.USER_IMAGE, "s_c.png"));
+
+        service.delete(Bucket.USER_IMAGE, "c.png");
+        assertFalse(Files.exists(root.resolve("user_image/c.png")));
+        assertFalse(Files.exists(root.resolve("user_image/s_c.png")));
+        assertNull(service.lookup(Bucket.USER_IMAGE, "s_c.png"));
+    }
+
+    private void writePng(Path p, int w, int h) throws Exception {
+        BufferedImage img = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < h; y += 10) {
+            for (int x = 0; x < w; x++) img.setRGB(x, y, 0x336699);
+        }
+        ImageIO.write(img, "png", p.toFile());
+    }
+}
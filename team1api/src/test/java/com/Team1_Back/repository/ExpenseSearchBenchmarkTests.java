@@ -0,0 +1,221 @@
+package com.Team1_Back.repository;
+
+import com.Team1_Back.domain.ApprovalStatus;
+import com.Team1_Back.domain.Expense;
+import com.Team1_Back.domain.User;
+import com.Team1_Back.repository.search.ExpenseFilter;
+import com.Team1_Back.repository.search.KeysetCursor;
+import com.Team1_Back.domain.Role;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 지출 목록 조회 벤치마크 (expense 100만 건)
+ *
+ * <p>기본 빌드에서는 돌지 않음. 운영/개발 DB 를 건드리지 않도록 벤치 전용 스키마를 따로 지정해야 실행됨.
+ * <pre>
+ * CREATE DATABASE team1_bench;
+ * ./gradlew test --tests '*ExpenseSearchBenchmarkTests' -Dbench=true \
+ *     -Dbench.datasource.url=jdbc:mysql://localhost:3306/team1_bench
+ * </pre>
+ * 테이블은 ddl-auto=update 로 만들고, 넣은 벤치 사용자와 지출 행은 테스트가 끝나면 지움.
+ *
+ * <p>비교 항목
+ * <ul>
+ *   <li>DATE(created_at) BETWEEN (기존) vs created_at 반열린 구간 (QueryDSL search)</li>
+ *   <li>깊은 페이지: OFFSET vs keyset 커서</li>
+ * </ul>
+ * 각 쿼리의 EXPLAIN 도 같이 출력합니다.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=${bench.datasource.url}",
+        "spring.jpa.hibernate.ddl-auto=update"
+})
+@Slf4j
+@EnabledIfSystemProperty(named = "bench", matches = "true")
+@EnabledIfSystemProperty(named = "bench.datasource.url", matches = "jdbc:.+")
+public class ExpenseSearchBenchmarkTests {
+
+    private static final int TARGET_ROWS = 1_000_000;
+    private static final int BATCH = 5_000;
+    private static final int RUNS = 20;
+    private static final String BENCH_EMPLOYEE_NO = "BENCH00001";
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long benchUserId;
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void benchmarkDateRangeAndKeyset() {
+        User user = userRepository.findByEmployeeNo(BENCH_EMPLOYEE_NO)
+                .orElseGet(() -> userRepository.save(User.builder()
+                        .employeeNo(BENCH_EMPLOYEE_NO)
+                        .password("bench")
+                        .name("벤치")
+                        .role(Role.USER)
+                        .build()));
+        benchUserId = user.getId();
+
+        seed(user.getId());
+
+        LocalDate start = LocalDate.now().minusDays(90);
+        LocalDate end = LocalDate.now().minusDays(60);
+
+        // 1) 날짜 조건: 기존 DATE() vs 반열린 구간
+        String legacySql = "SELECT e.id FROM expense e WHERE e.user_id = ? " +
+                "AND DATE(e.created_at) BETWEEN ? AND ? ORDER BY e.created_at DESC, e.id DESC LIMIT 20";
+        String sargableSql = "SELECT e.id FROM expense e WHERE e.user_id = ? " +
+                "AND e.created_at >= ? AND e.created_at < ? ORDER BY e.created_at DESC, e.id DESC LIMIT 20";
+
+        explain(legacySql, user.getId(), Date.valueOf(start), Date.valueOf(end));
+        explain(sargableSql, user.getId(), Timestamp.valueOf(start.atStartOfDay()),
+                Timestamp.valueOf(end.plusDays(1).atStartOfDay()));
+
+        double legacyMs = time(() -> jdbcTemplate.queryForList(legacySql, Long.class,
+                user.getId(), Date.valueOf(start), Date.valueOf(end)));
+
+        ExpenseFilter filter = ExpenseFilter.builder()
+                .writerId(user.getId())
+                .startDate(start)
+                .endDate(end)
+                .build();
+        double searchMs = time(() -> expenseRepository.search(filter, null, 0, 20));
+
+        log.info("[BENCH] date range  DATE()={}ms  half-open(search)={}ms", fmt(legacyMs), fmt(searchMs));
+
+        // 두 방식 결과는 같아야 함
+        List<Long> legacyIds = jdbcTemplate.queryForList(legacySql, Long.class,
+                user.getId(), Date.valueOf(start), Date.valueOf(end));
+        List<Long> searchIds = expenseRepository.search(filter, null, 0, 20).stream().map(Expense::getId).toList();
+        assertEquals(legacyIds, searchIds);
+
+        // 2) 깊은 페이지: OFFSET 50,000 vs keyset
+        ExpenseFilter all = ExpenseFilter.builder().writerId(user.getId()).build();
+        int deepOffset = 50_000;
+
+        double offsetMs = time(() -> expenseRepository.search(all, null, deepOffset, 20));
+
+        List<Expense> before = expenseRepository.search(all, null, deepOffset - 1, 1);
+        assertFalse(before.isEmpty());
+        KeysetCursor cursor = new KeysetCursor(before.get(0).getCreatedAt(), before.get(0).getId());
+        double keysetMs = time(() -> expenseRepository.search(all, cursor, 0, 20));
+
+        assertEquals(
+                expenseRepository.search(all, null, deepOffset, 20).stream().map(Expense::getId).toList(),
+                expenseRepository.search(all, cursor, 0, 20).stream().map(Expense::getId).toList());
+
+        log.info("[BENCH] page @{}  OFFSET={}ms  keyset={}ms", deepOffset, fmt(offsetMs), fmt(keysetMs));
+
+        // 3) 건수 (목록 첫 페이지에서만 셈, 커서 페이지는 첫 페이지 값을 그대로 씀)
+        double countMs = time(() -> expenseRepository.count(filter));
+        log.info("[BENCH] count(filter)={}ms rows={}", fmt(countMs), expenseRepository.count(filter));
+    }
+
+    /**
+     * 벤치 사용자 지출 행과 사용자를 지움 (한 번에 지우면 undo 로그가 커서 나눠서)
+     */
+    @AfterEach
+    public void cleanup() {
+        if (benchUserId == null) return;
+        int deleted;
+        long total = 0;
+        do {
+            deleted = jdbcTemplate.update("DELETE FROM expense WHERE user_id = ? LIMIT ?", benchUserId, BATCH * 10);
+            total += deleted;
+        } while (deleted > 0);
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", benchUserId);
+        log.info("[BENCH] cleaned up {} rows", total);
+        benchUserId = null;
+    }
+
+    /**
+     * 벤치 사용자 expense 가 TARGET_ROWS 미만이면 채움 (최근 2년 created_at 분산, SUBMITTED/APPROVED/REJECTED 혼합)
+     */
+    private void seed(Long userId) {
+        Long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM expense WHERE user_id = ?", Long.class, userId);
+        long toInsert = TARGET_ROWS - (existing == null ? 0 : existing);
+        if (toInsert <= 0) return;
+
+        String sql = "INSERT INTO expense (user_id, approval_status, merchant, amount, category, receipt_date, " +
+                "description, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+        Random random = new Random(42);
+        ApprovalStatus[] statuses = {ApprovalStatus.SUBMITTED, ApprovalStatus.APPROVED, ApprovalStatus.REJECTED};
+        String[] categories = {"식비", "교통비", "비품", "접대비", "기타"};
+        LocalDateTime now = LocalDateTime.now();
+
+        long started = System.currentTimeMillis();
+        List<Object[]> batch = new ArrayList<>(BATCH);
+        for (long i = 0; i < toInsert; i++) {
+            LocalDateTime createdAt = now.minusMinutes(random.nextInt(60 * 24 * 730));
+            batch.add(new Object[]{
+                    userId,
+                    statuses[random.nextInt(statuses.length)].name(),
+                    "BENCH",
+                    1_000 + random.nextInt(200_000),
+                    categories[random.nextInt(categories.length)],
+                    Date.valueOf(createdAt.toLocalDate()),
+                    "benchmark",
+                    Timestamp.valueOf(createdAt),
+                    Timestamp.valueOf(createdAt)
+            });
+            if (batch.size() == BATCH) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) jdbcTemplate.batchUpdate(sql, batch);
+
+        log.info("[BENCH] seeded {} rows in {}ms", toInsert, System.currentTimeMillis() - started);
+    }
+
+    private void explain(String sql, Object... args) {
+        for (Map<String, Object> row : jdbcTemplate.queryForList("EXPLAIN " + sql, args)) {
+            log.info("[BENCH] EXPLAIN key={} type={} rows={} extra={}",
+                    row.get("key"), row.get("type"), row.get("rows"), row.get("Extra"));
+        }
+    }
+
+    // warm-up 3회 후 RUNS 회 평균 (ms)
+    private double time(Supplier<?> query) {
+        for (int i = 0; i < 3; i++) query.get();
+        long total = 0;
+        for (int i = 0; i < RUNS; i++) {
+            long t = System.nanoTime();
+            query.get();
+            total += System.nanoTime() - t;
+        }
+        return total / (double) RUNS / 1_000_000.0;
+    }
+
+    private String fmt(double ms) {
+        return String.format("%.2f", ms);
+    }
+}
@@ -0,0 +1,232 @@
+package com.Team1_Back.scheduler;
+
+import com.Team1_Back.ai.service.ReceiptAiService;
+import com.Team1_Back.chat.ChatRelay;
+import com.Team1_Back.domain.Expense;
+import com.Team1_Back.domain.ReceiptAiExtraction;
+import com.Team1_Back.domain.ReceiptOcrJob;
+import com.Team1_Back.domain.ReceiptUpload;
+import com.Team1_Back.domain.User;
+import com.Team1_Back.domain.enums.ReceiptOcrStatus;
+import com.Team1_Back.dto.ReceiptExtractionDTO;
+import com.Team1_Back.repository.ReceiptAiExtractionRepository;
+import com.Team1_Back.repository.ReceiptOcrJobRepository;
+import com.Team1_Back.repository.ReceiptUploadRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * OCR 작업 선점 / 재시도 / lease 만료 처리 검증
+ *
+ * <p>DB 대신 receipt_ocr_job 행을 map 에 두고 claimDue / failExpired 를 같은 조건으로 흉내냄
+ */
+public class ReceiptOcrWorkerLeaseTests {
+
+    private static final long JOB_ID = 1L;
+    private static final long RECEIPT_ID = 10L;
+    private static final int MAX_ATTEMPTS = 2;
+
+    @TempDir
+    Path dir;
+
+    private final Map<Long, ReceiptOcrJob> jobs = new LinkedHashMap<>();
+
+    private ReceiptOcrJobRepository jobRepository;
+    private ReceiptAiExtractionRepository extractionRepository;
+    private ReceiptAiService aiService;
+    private ChatRelay chatRelay;
+    private ReceiptOcrWorker worker;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        Path file = Files.write(dir.resolve("r.jpg"), new byte[]{1, 2, 3});
+
+        jobRepository = mock(ReceiptOcrJobRepository.class);
+        ReceiptUploadRepository uploadRepository = mock(ReceiptUploadRepository.class);
+        extractionRepository = mock(ReceiptAiExtractionRepository.class);
+        aiService = mock(ReceiptAiService.class);
+        chatRelay = mock(ChatRelay.class);
+
+        ReceiptUpload receipt = ReceiptUpload.builder()
+                .id(RECEIPT_ID)
+                .expense(Expense.builder().id(20L).build())
+                .uploadedBy(User.builder().id(30L).build())
+                .fileUrl(file.toString())
+                .mimeType("image/jpeg")
+                .build();
+        when(uploadRepository.findById(RECEIPT_ID)).thenReturn(Optional.of(receipt));
+
+        when(jobRepository.claimDue(anyString(), anyString(), any(), any(), anyInt(), anyInt()))
+                .thenAnswer(inv -> claimDue(inv.getArgument(0), inv.getArgument(1), inv.getArgument(2),
+                        inv.getArgument(3), inv.getArgument(4), inv.getArgument(5)));
+        when(jobRepository.findByLeaseTokenOrderByNextAttemptAtAsc(anyString()))
+                .thenAnswer(inv -> jobs.values().stream()
+                        .filter(j -> inv.getArgument(0).equals(j.getLeaseToken())).toList());
+        when(jobRepository.findById(anyLong())).thenAnswer(inv -> Optional.ofNullable(jobs.get((Long) inv.getArgument(0))));
+        when(jobRepository.findByIdForUpdate(anyLong())).thenAnswer(inv -> Optional.ofNullable(jobs.get((Long) inv.getArgument(0))));
+        when(jobRepository.save(any(ReceiptOcrJob.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(jobRepository.findByStatusAndLeaseUntilBeforeAndAttemptsGreaterThanEqual(any(), any(), anyInt()))
+                .thenAnswer(inv -> jobs.values().stream()
+                        .filter(j -> j.getStatus() == inv.getArgument(0)
+                                && j.getLeaseUntil().isBefore(inv.getArgument(1))
+                                && j.getAttempts() >= (int) inv.getArgument(2))
+                        .map(this::copy)
+                        .toList());
+        when(jobRepository.failExpired(anyLong(), any(), anyString(), any(), any()))
+                .thenAnswer(inv -> failExpired(inv.getArgument(0), inv.getArgument(1), inv.getArgument(2)));
+        when(extractionRepository.save(any(ReceiptAiExtraction.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        TransactionTemplate tx = new TransactionTemplate(mock(PlatformTransactionManager.class));
+        worker = new ReceiptOcrWorker(jobRepository, uploadRepository, extractionRepository, aiService, chatRelay, tx,
+                1, MAX_ATTEMPTS, 100, 1000, 180);
+
+        jobs.put(JOB_ID, ReceiptOcrJob.builder()
+                .id(JOB_ID)
+                .receiptId(RECEIPT_ID)
+                .status(ReceiptOcrStatus.QUEUED)
+                .attempts(0)
+                .nextAttemptAt(LocalDateTime.now().minusMinutes(1))
+                .build());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        worker.shutdown();
+    }
+
+    // 실패할 때마다 선점에서 시도 횟수가 오르고, max-attempts 에서 FAILED + 알림 한 번
+    @Test
+    public void testRetryThenFailed() {
+        when(aiService.extractReceipt(any(), any(), any())).thenThrow(new RuntimeException("ocr down"));
+
+        String first = claimOne();
+        worker.runOne(JOB_ID, first);
+        assertEquals(ReceiptOcrStatus.QUEUED, job().getStatus());
+        assertEquals(1, job().getAttempts());
+        assertNull(job().getLeaseToken());
+
+        job().setNextAttemptAt(LocalDateTime.now().minusSeconds(1)); // backoff 경과
+        String second = claimOne();
+        worker.runOne(JOB_ID, second);
+
+        assertEquals(ReceiptOcrStatus.FAILED, job().getStatus());
+        assertEquals(2, job().getAttempts());
+        assertTrue(worker.claim(1).isEmpty());
+        verify(chatRelay, times(1)).sendToUsers(eq(List.of(30L)), eq(ReceiptOcrWorker.DESTINATION), any());
+    }
+
+    // OCR 도중 lease 가 만료돼 (같은 노드라도) 다시 선점되면 이전 실행 결과는 버림
+    @Test
+    public void testLeaseLostDropsResult() {
+        List<String> reclaimed = new ArrayList<>();
+        when(aiService.extractReceipt(any(), any(), any())).thenAnswer(inv -> {
+            job().setLeaseUntil(LocalDateTime.now().minusSeconds(1));
+            reclaimed.add(claimOne());
+            return ReceiptExtractionDTO.builder().modelName("stub").build();
+        });
+
+        String first = claimOne();
+        worker.runOne(JOB_ID, first);
+
+        assertEquals(1, reclaimed.size());
+        assertNotEquals(first, reclaimed.get(0));
+        assertEquals(ReceiptOcrStatus.RUNNING, job().getStatus());
+        assertEquals(reclaimed.get(0), job().getLeaseToken());
+        verify(extractionRepository, never()).save(any(ReceiptAiExtraction.class));
+        verify(chatRelay, never()).sendToUsers(any(), any(), any());
+    }
+
+    // 노드가 죽어 lease 가 만료되면 다시 선점 (시도 횟수 증가), 횟수를 다 쓰면 FAILED
+    @Test
+    public void testExpiredLeaseIsPickedUpThenFailed() {
+        String first = claimOne();
+        assertEquals(1, job().getAttempts());
+
+        // 처리 중 노드 장애 → lease 만료
+        job().setLeaseUntil(LocalDateTime.now().minusSeconds(1));
+        String second = claimOne();
+        assertNotEquals(first, second);
+        assertEquals(2, job().getAttempts());
+
+        // 또 만료 → 더 선점하지 않고 FAILED
+        job().setLeaseUntil(LocalDateTime.now().minusSeconds(1));
+        assertTrue(worker.claim(1).isEmpty());
+        worker.failExhausted();
+
+        assertEquals(ReceiptOcrStatus.FAILED, job().getStatus());
+        assertNull(job().getLeaseToken());
+        verify(chatRelay, times(1)).sendToUsers(eq(List.of(30L)), eq(ReceiptOcrWorker.DESTINATION), any());
+    }
+
+    private String claimOne() {
+        List<ReceiptOcrJob> claimed = worker.claim(1);
+        assertEquals(1, claimed.size());
+        return claimed.get(0).getLeaseToken();
+    }
+
+    private ReceiptOcrJob job() {
+        return jobs.get(JOB_ID);
+    }
+
+    // ReceiptOcrJobRepository.claimDue 와 같은 조건
+    private int claimDue(String owner, String token, LocalDateTime now, LocalDateTime leaseUntil, int maxAttempts, int limit) {
+        int n = 0;
+        for (ReceiptOcrJob j : jobs.values()) {
+            if (n >= limit) break;
+            boolean due = (j.getStatus() == ReceiptOcrStatus.QUEUED && !j.getNextAttemptAt().isAfter(now))
+                    || (j.getStatus() == ReceiptOcrStatus.RUNNING && j.getLeaseUntil().isBefore(now));
+            if (!due || j.getAttempts() >= maxAttempts) continue;
+
+            j.setStatus(ReceiptOcrStatus.RUNNING);
+            j.setLeaseOwner(owner);
+            j.setLeaseToken(token);
+            j.setLeaseUntil(leaseUntil);
+            j.setAttempts(j.getAttempts() + 1);
+            n++;
+        }
+        return n;
+    }
+
+    // ReceiptOcrJobRepository.failExpired 와 같은 조건
+    private int failExpired(Long id, LocalDateTime now, String error) {
+        ReceiptOcrJob j = jobs.get(id);
+        if (j == null || j.getStatus() != ReceiptOcrStatus.RUNNING || !j.getLeaseUntil().isBefore(now)) return 0;
+        j.setStatus(ReceiptOcrStatus.FAILED);
+        j.setLeaseOwner(null);
+        j.setLeaseToken(null);
+        j.setLeaseUntil(null);
+        j.setLastError(error);
+        return 1;
+    }
+
+    // 조회 결과는 DB 행의 복사본 (엔티티를 바꿔도 행은 안 바뀜)
+    private ReceiptOcrJob copy(ReceiptOcrJob j) {
+        return ReceiptOcrJob.builder()
+                .id(j.getId())
+                .receiptId(j.getReceiptId())
+                .status(j.getStatus())
+                .attempts(j.getAttempts())
+                .nextAttemptAt(j.getNextAttemptAt())
+                .leaseOwner(j.getLeaseOwner())
+                .leaseToken(j.getLeaseToken())
+                .leaseUntil(j.getLeaseUntil())
+                .lastError(j.getLastError())
+                .build();
+    }
+}
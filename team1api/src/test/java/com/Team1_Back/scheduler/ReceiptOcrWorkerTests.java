@@ -0,0 +1,30 @@
+package com.Team1_Back.scheduler;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * OCR 재시도 backoff 계산 검증
+ */
+public class ReceiptOcrWorkerTests {
+
+    // 시도마다 두 배씩 늘고, [절반, 전체) 구간 안에서 jitter
+    @Test
+    public void testBackoffDoublesWithJitter() {
+        assertEquals(2500, ReceiptOcrWorker.backoffMs(1, 5000, 600_000, 0.0));
+        assertEquals(4999, ReceiptOcrWorker.backoffMs(1, 5000, 600_000, 0.9999));
+        assertEquals(5000, ReceiptOcrWorker.backoffMs(2, 5000, 600_000, 0.0));
+        assertEquals(30000, ReceiptOcrWorker.backoffMs(4, 5000, 600_000, 0.5));
+    }
+
+    // 상한을 넘지 않고, 시도 횟수가 커져도 overflow 없음
+    @Test
+    public void testBackoffCapped() {
+        for (int attempt = 1; attempt < 100; attempt++) {
+            long d = ReceiptOcrWorker.backoffMs(attempt, 5000, 600_000, 0.9999);
+            assertTrue(d > 0 && d < 600_000, "attempt=" + attempt + " delay=" + d);
+        }
+        assertEquals(300_000, ReceiptOcrWorker.backoffMs(30, 5000, 600_000, 0.0));
+    }
+}
@@ -0,0 +1,73 @@
+package com.Team1_Back.scheduler;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * RedisLock 동작 검증 (Redis 대신 InMemoryLockStore 사용)
+ */
+@Slf4j
+public class RedisLockTests {
+
+    // fencing token 은 획득할 때마다 증가
+    @Test
+    public void testFenceIncreases() {
+        RedisLock lock = new RedisLock(new InMemoryLockStore());
+
+        RedisLock.Lease a = lock.tryLock("k", Duration.ofSeconds(10));
+        assertNotNull(a);
+        assertNull(lock.tryLock("k", Duration.ofSeconds(10)));
+
+        assertTrue(lock.unlock(a));
+
+        RedisLock.Lease b = lock.tryLock("k", Duration.ofSeconds(10));
+        assertNotNull(b);
+        assertTrue(b.fence() > a.fence());
+    }
+
+    // TTL 만료 후 다른 소유자가 잡은 락은 옛 소유자의 unlock 으로 지워지지 않음
+    @Test
+    public void testExpiredOwnerCannotUnlockNewOwner() {
+        AtomicLong now = new AtomicLong(0);
+        InMemoryLockStore store = new InMemoryLockStore(now::get);
+        RedisLock lock = new RedisLock(store);
+
+        RedisLock.Lease old = lock.tryLock("k", Duration.ofMillis(100));
+        assertNotNull(old);
+
+        now.set(200); // 만료
+        RedisLock.Lease next = lock.tryLock("k", Duration.ofMillis(100));
+        assertNotNull(next);
+
+        assertFalse(lock.unlock(old));
+        assertNull(lock.tryLock("k", Duration.ofMillis(100)));
+        assertTrue(lock.unlock(next));
+    }
+
+    // watchdog 이 TTL 보다 오래 걸리는 작업 동안 락을 유지
+    @Test
+    public void testWatchdogRenews() throws Exception {
+        RedisLock lock = new RedisLock(new InMemoryLockStore());
+        AtomicInteger renewed = new AtomicInteger();
+
+        try (RedisLock.Lease lease = lock.lockWithWatchdog("k", Duration.ofMillis(300), renewed::incrementAndGet)) {
+            assertNotNull(lease);
+
+            Thread.sleep(1000);
+
+            assertTrue(lease.isHeld());
+            assertTrue(renewed.get() >= 2);
+            assertNull(lock.tryLock("k", Duration.ofMillis(300)));
+        }
+
+        // close() 후에는 바로 다시 잡을 수 있음
+        assertNotNull(lock.tryLock("k", Duration.ofMillis(300)));
+        lock.shutdown();
+    }
+}
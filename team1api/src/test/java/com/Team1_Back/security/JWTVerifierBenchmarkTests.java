@@ -0,0 +1,100 @@
+package com.Team1_Back.security;
+
+import com.Team1_Back.dto.UserDTO;
+import com.Team1_Back.util.JWTUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * 요청당 JWT 인증 비용 벤치마크 (필터가 하는 일: 토큰 검증 + principal 생성)
+ *
+ * <p>기본 빌드에서는 돌지 않음. 실행: {@code ./gradlew test --tests '*JWTVerifierBenchmarkTests' -Dbench=true}
+ *
+ * <p>비교 항목
+ * <ul>
+ *   <li>기존: 요청마다 키/파서 생성 + 파싱 + UserDTO 생성</li>
+ *   <li>파서 재사용: JWTUtil.validateToken + UserDTO 생성</li>
+ *   <li>JWTVerifier: 검증 결과 캐시</li>
+ * </ul>
+ * 활성 사용자 수만큼의 토큰을 여러 스레드가 돌아가며 검증 (운영 요청 패턴과 비슷하게)
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "bench", matches = "true")
+public class JWTVerifierBenchmarkTests {
+
+    private static final int USERS = 500;
+    private static final int THREADS = 8;
+    private static final int OPS_PER_THREAD = 200_000;
+    private static final int RUNS = 3;
+
+    @Test
+    public void benchmark() throws Exception {
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            tokens.add(JWTUtil.generateToken(Map.of(
+                    "id", (long) i,
+                    "employeeNo", "E" + i,
+                    "name", "user" + i,
+                    "email", "user" + i + "@example.com",
+                    "departmentName", "dev",
+                    "roleNames", List.of("USER")), 60));
+        }
+
+        JWTVerifier verifier = new JWTVerifier(20_000, 300);
+
+        for (int r = 0; r < RUNS; r++) {
+            log.info("[BENCH] run {} legacy     {} ns/op", r, run(tokens, JWTVerifierBenchmarkTests::legacy));
+            log.info("[BENCH] run {} parser     {} ns/op", r, run(tokens, t -> toUser(JWTUtil.validateToken(t))));
+            log.info("[BENCH] run {} cached     {} ns/op", r, run(tokens, t -> verifier.verify(t).user()));
+        }
+    }
+
+    private long run(List<String> tokens, Consumer<String> op) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            long started = System.nanoTime();
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int offset = t;
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < OPS_PER_THREAD; i++) {
+                        op.accept(tokens.get((i + offset) % tokens.size()));
+                    }
+                }));
+            }
+            for (Future<?> f : futures) f.get();
+            // 스레드 하나가 본 요청당 평균 시간
+            return (System.nanoTime() - started) / OPS_PER_THREAD;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // 변경 전 JWTUtil.validateToken 과 같은 방식
+    private static void legacy(String token) {
+        SecretKey key = Keys.hmacShaKeyFor("1234567890123456789012345678901234567890".getBytes(StandardCharsets.UTF_8));
+        Claims claims = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+        toUser(claims);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static UserDTO toUser(Map<String, Object> claims) {
+        return new UserDTO(((Number) claims.get("id")).longValue(), (String) claims.get("employeeNo"), "",
+                (String) claims.get("name"), (String) claims.get("email"), (String) claims.get("departmentName"),
+                true, false, 0, (List<String>) claims.get("roleNames"));
+    }
+}
@@ -0,0 +1,80 @@
+package com.Team1_Back.security;
+
+import com.Team1_Back.util.CustomJWTException;
+import com.Team1_Back.util.JWTUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JWTVerifier 캐시 동작 검증
+ */
+public class JWTVerifierTests {
+
+    private static String token(long id) {
+        return JWTUtil.generateToken(Map.of(
+                "id", id,
+                "employeeNo", "E" + id,
+                "name", "user" + id,
+                "roleNames", List.of("ROLE_ADMIN", "USER")), 10);
+    }
+
+    // 같은 토큰은 검증 결과(principal 포함)를 재사용
+    @Test
+    public void testCacheHitReusesPrincipal() {
+        JWTVerifier verifier = new JWTVerifier(100, 300);
+        String t = token(7);
+
+        JWTVerifier.Verified a = verifier.verify(t);
+        JWTVerifier.Verified b = verifier.verify(t);
+
+        assertSame(a, b);
+        assertEquals(7L, a.userId());
+        assertEquals(List.of("ADMIN", "USER"), a.user().getRoleNames());
+        assertTrue(a.user().getAuthorities().stream().anyMatch(g -> g.getAuthority().equals("ROLE_ADMIN")));
+    }
+
+    // max-ttl 이 지나면 다시 검증
+    @Test
+    public void testEntryExpires() {
+        AtomicLong now = new AtomicLong(System.currentTimeMillis());
+        JWTVerifier verifier = new JWTVerifier(100, 60, now::get);
+        String t = token(1);
+
+        JWTVerifier.Verified a = verifier.verify(t);
+        now.addAndGet(61_000);
+        JWTVerifier.Verified b = verifier.verify(t);
+
+        assertNotSame(a, b);
+        assertEquals(1, verifier.size());
+    }
+
+    // 변조/잘못된 토큰은 예외, 캐시에 남지 않음
+    @Test
+    public void testInvalidTokenNotCached() {
+        JWTVerifier verifier = new JWTVerifier(100, 300);
+        String t = token(3);
+        String tampered = t.substring(0, t.length() - 2) + (t.endsWith("AA") ? "BB" : "AA");
+
+        assertThrows(CustomJWTException.class, () -> verifier.verify(tampered));
+        assertThrows(CustomJWTException.class, () -> verifier.verify("not-a-token"));
+        assertEquals(0, verifier.size());
+
+        verifier.verify(t);
+        assertThrows(CustomJWTException.class, () -> verifier.verify(tampered));
+    }
+
+    // 상한을 넘기지 않음
+    @Test
+    public void testBounded() {
+        JWTVerifier verifier = new JWTVerifier(50, 300);
+        for (int i = 0; i < 200; i++) {
+            verifier.verify(token(i));
+        }
+        assertTrue(verifier.size() <= 50);
+    }
+}
@@ -0,0 +1,42 @@
+package com.Team1_Back.security.filter;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 로그인 시도 제한 키로 쓰는 클라이언트 IP 결정 검증
+ */
+public class ClientIpResolverTests {
+
+    private static MockHttpServletRequest request(String remoteAddr, String xff) {
+        MockHttpServletRequest r = new MockHttpServletRequest("POST", "/api/auth/login");
+        r.setRemoteAddr(remoteAddr);
+        if (xff != null) r.addHeader("X-Forwarded-For", xff);
+        return r;
+    }
+
+    // 신뢰하는 프록시가 없으면 클라이언트가 보낸 XFF 는 무시
+    @Test
+    public void testIgnoresXffWithoutTrustedProxy() {
+        ClientIpResolver resolver = new ClientIpResolver("");
+        assertEquals("203.0.113.7", resolver.resolve(request("203.0.113.7", "1.2.3.4")));
+    }
+
+    // 신뢰하지 않는 주소에서 온 XFF 도 무시
+    @Test
+    public void testIgnoresXffFromUntrustedPeer() {
+        ClientIpResolver resolver = new ClientIpResolver("10.0.0.1");
+        assertEquals("203.0.113.7", resolver.resolve(request("203.0.113.7", "1.2.3.4")));
+    }
+
+    // 프록시를 거친 요청은 오른쪽부터 신뢰하지 않는 첫 주소 (앞쪽에 끼워 넣은 값은 무시)
+    @Test
+    public void testRightmostUntrustedHop() {
+        ClientIpResolver resolver = new ClientIpResolver("10.0.0.1, 10.0.0.2");
+        assertEquals("198.51.100.9",
+                resolver.resolve(request("10.0.0.1", "1.2.3.4, 198.51.100.9, 10.0.0.2")));
+        assertEquals("10.0.0.1", resolver.resolve(request("10.0.0.1", null)));
+    }
+}
@@ -0,0 +1,100 @@
+package com.Team1_Back.security.lockout;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 로그인 실패 횟수 / 잠금 판단 검증 (Redis 대신 InMemoryLoginFailureStore 사용)
+ */
+public class LoginLockoutServiceTests {
+
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+    private final InMemoryLoginFailureStore store = new InMemoryLoginFailureStore(now::get);
+    private final LoginLockoutService service = new LoginLockoutService(store, 5, 60);
+
+    // 5회째 실패에서 잠금, 성공(reset) 하면 다시 0 부터
+    @Test
+    public void testLockAtMaxAttempts() {
+        for (int i = 1; i <= 4; i++) {
+            int failures = service.recordFailure("E1");
+            assertEquals(i, failures);
+            assertFalse(service.isLocked(failures));
+        }
+        assertTrue(service.isLocked(service.recordFailure("E1")));
+        assertEquals(5, service.failures("E1"));
+        assertEquals(0, service.failures("E2"));
+
+        service.reset("E1");
+        assertEquals(0, service.failures("E1"));
+        assertEquals(1, service.recordFailure("E1"));
+    }
+
+    // 마지막 실패로부터 window 가 지나면 초기화
+    @Test
+    public void testWindowExpiry() {
+        service.recordFailure("E1");
+        now.addAndGet(59 * 60_000L);
+        assertEquals(2, service.recordFailure("E1"));
+
+        now.addAndGet(60 * 60_000L);
+        assertEquals(0, service.failures("E1"));
+        assertEquals(1, service.recordFailure("E1"));
+    }
+
+    // 동시에 틀려도 횟수가 빠지지 않음
+    @Test
+    public void testConcurrentIncrement() throws Exception {
+        int threads = 8, perThread = 500;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> list = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread th = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perThread; i++) service.recordFailure("E1");
+            });
+            th.start();
+            list.add(th);
+        }
+        start.countDown();
+        for (Thread th : list) th.join();
+
+        assertEquals(threads * perThread, service.failures("E1"));
+    }
+
+    // 저장소 오류 시 로그인을 막지 않음
+    @Test
+    public void testStoreFailure() {
+        LoginFailureStore broken = new LoginFailureStore() {
+            @Override
+            public int increment(String employeeNo, long windowMs) {
+                throw new IllegalStateException("down");
+            }
+
+            @Override
+            public int get(String employeeNo) {
+                throw new IllegalStateException("down");
+            }
+
+            @Override
+            public void reset(String employeeNo) {
+                throw new IllegalStateException("down");
+            }
+        };
+        LoginLockoutService s = new LoginLockoutService(broken, 5, 60);
+
+        assertEquals(-1, s.recordFailure("E1"));
+        assertEquals(0, s.failures("E1"));
+        assertFalse(s.isLocked(s.failures("E1")));
+        s.reset("E1");
+    }
+}
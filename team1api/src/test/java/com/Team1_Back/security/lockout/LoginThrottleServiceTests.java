@@ -0,0 +1,88 @@
+package com.Team1_Back.security.lockout;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 사번 / IP 별 로그인 시도 제한 검증 (Redis 대신 InMemoryLoginRateLimiter 사용)
+ */
+public class LoginThrottleServiceTests {
+
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+    private final InMemoryLoginRateLimiter limiter = new InMemoryLoginRateLimiter(now::get);
+
+    // IP 30회 / 60초, 사번 10회 / 60초, Face ID IP 20회 / 60초
+    private LoginThrottleService service(boolean enabled) {
+        return new LoginThrottleService(limiter, enabled, 30, 60, 10, 60, 20, 60);
+    }
+
+    // 한 계정에 여러 IP 로 시도해도 사번 기준으로 제한
+    @Test
+    public void testPerUserLimit() {
+        LoginThrottleService service = service(true);
+        for (int i = 0; i < 10; i++) {
+            assertEquals(0, service.acquire("E1", "10.0.0." + i));
+        }
+        long wait = service.acquire("E1", "10.0.0.99");
+        assertTrue(wait > 0 && wait <= 6_000, "wait=" + wait);
+
+        // 다른 사번은 영향 없음
+        assertEquals(0, service.acquire("E2", "10.0.0.99"));
+
+        // 기다리면 다시 허용
+        now.addAndGet(wait);
+        assertEquals(0, service.acquire("E1", "10.0.0.99"));
+    }
+
+    // 한 IP 에서 사번을 돌려가며 시도해도 IP 기준으로 제한
+    @Test
+    public void testPerIpLimit() {
+        LoginThrottleService service = service(true);
+        for (int i = 0; i < 30; i++) {
+            assertEquals(0, service.acquire("E" + i, "10.0.0.1"));
+        }
+        assertTrue(service.acquire("E100", "10.0.0.1") > 0);
+        assertEquals(0, service.acquire("E100", "10.0.0.2"));
+    }
+
+    // IP 에서 거절된 시도는 사번 쪽 횟수를 쓰지 않음
+    @Test
+    public void testIpRejectionDoesNotConsumeUser() {
+        LoginThrottleService service = service(true);
+        for (int i = 0; i < 30; i++) service.acquire("X" + i, "10.0.0.1");
+        for (int i = 0; i < 20; i++) assertTrue(service.acquire("E1", "10.0.0.1") > 0);
+
+        for (int i = 0; i < 10; i++) assertEquals(0, service.acquire("E1", "10.0.0.2"));
+    }
+
+    // Face ID 로그인은 IP 기준, 비밀번호 로그인과 한도를 나눠 씀
+    @Test
+    public void testFaceIpLimit() {
+        LoginThrottleService service = service(true);
+        for (int i = 0; i < 20; i++) {
+            assertEquals(0, service.acquireFace("10.0.0.1"));
+        }
+        assertTrue(service.acquireFace("10.0.0.1") > 0);
+        assertEquals(0, service.acquireFace("10.0.0.2"));
+        assertEquals(0, service.acquire("E1", "10.0.0.1"));
+    }
+
+    @Test
+    public void testDisabled() {
+        LoginThrottleService service = service(false);
+        for (int i = 0; i < 100; i++) assertEquals(0, service.acquire("E1", "10.0.0.1"));
+    }
+
+    // 저장소 오류 시 제한하지 않음
+    @Test
+    public void testLimiterFailureAllows() {
+        LoginThrottleService service = new LoginThrottleService((key, limit, windowMs) -> {
+            throw new IllegalStateException("down");
+        }, true, 30, 60, 10, 60, 20, 60);
+        assertEquals(0, service.acquire("E1", "10.0.0.1"));
+        assertEquals(0, service.acquireFace("10.0.0.1"));
+    }
+}
@@ -0,0 +1,154 @@
+package com.Team1_Back.security.token;
+
+import com.Team1_Back.security.JWTVerifier;
+import com.Team1_Back.util.CustomJWTException;
+import com.Team1_Back.util.JWTUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Refresh Token 교체 / 재사용 감지 / 폐기 검증 (Redis 대신 InMemoryRefreshTokenStore 사용)
+ */
+public class RefreshTokenServiceTests {
+
+    private final AtomicLong now = new AtomicLong(System.currentTimeMillis());
+    private final InMemoryRefreshTokenStore store = new InMemoryRefreshTokenStore(now::get);
+    private final RevocationList revocationList = new RevocationList(store, 1000, 0.01, 3600);
+
+    private RefreshTokenService service(int maxSessions, long graceMs) {
+        return new RefreshTokenService(store, revocationList, new JWTVerifier(100, 300), 60 * 24, maxSessions, graceMs);
+    }
+
+    private static Map<String, Object> claims(long id) {
+        Map<String, Object> m = new HashMap<>();
+        m.put("id", id);
+        m.put("employeeNo", "E" + id);
+        m.put("roleNames", List.of("USER"));
+        return m;
+    }
+
+    // refresh 할 때마다 새 Refresh Token, 같은 family 유지
+    @Test
+    public void testRotation() {
+        RefreshTokenService service = service(5, 0);
+        RefreshTokenService.Tokens first = service.issue(claims(1), 10);
+
+        RefreshTokenService.Tokens second = service.refresh(first.refreshToken(), 10);
+        assertNotEquals(first.refreshToken(), second.refreshToken());
+
+        Map<String, Object> a = JWTUtil.validateToken(first.refreshToken());
+        Map<String, Object> b = JWTUtil.validateToken(second.refreshToken());
+        assertEquals(a.get("fid"), b.get("fid"));
+        assertNotEquals(a.get("jti"), b.get("jti"));
+        assertEquals(a.get("fid"), JWTUtil.validateToken(second.accessToken()).get("fid"));
+
+        assertNotNull(service.refresh(second.refreshToken(), 10));
+    }
+
+    // 교체된 토큰 재사용 → family 폐기, 최신 토큰과 Access Token 도 사용 불가
+    @Test
+    public void testReuseRevokesFamily() {
+        RefreshTokenService service = service(5, 0);
+        RefreshTokenService.Tokens first = service.issue(claims(1), 10);
+        RefreshTokenService.Tokens second = service.refresh(first.refreshToken(), 10);
+
+        CustomJWTException e = assertThrows(CustomJWTException.class, () -> service.refresh(first.refreshToken(), 10));
+        assertEquals("REUSED_REFRESH", e.getMessage());
+
+        assertThrows(CustomJWTException.class, () -> service.refresh(second.refreshToken(), 10));
+        assertFalse(service.isUsable(second.accessToken()));
+        assertTrue(revocationList.isRevoked((String) JWTUtil.validateToken(second.accessToken()).get("fid")));
+    }
+
+    // 동시에 온 refresh (grace 안) 는 재사용으로 보지 않고 현재 토큰으로 응답
+    @Test
+    public void testConcurrentRefreshWithinGrace() {
+        RefreshTokenService service = service(5, 10_000);
+        RefreshTokenService.Tokens first = service.issue(claims(1), 10);
+
+        RefreshTokenService.Tokens a = service.refresh(first.refreshToken(), 10);
+        RefreshTokenService.Tokens b = service.refresh(first.refreshToken(), 10);
+        assertEquals(JWTUtil.validateToken(a.refreshToken()).get("jti"), JWTUtil.validateToken(b.refreshToken()).get("jti"));
+
+        now.addAndGet(11_000);
+        assertThrows(CustomJWTException.class, () -> service.refresh(first.refreshToken(), 10));
+    }
+
+    // 세션 수 제한: 가장 오래된 family 부터 폐기
+    @Test
+    public void testSessionLimit() {
+        RefreshTokenService service = service(2, 0);
+        RefreshTokenService.Tokens s1 = service.issue(claims(1), 10);
+        now.addAndGet(1);
+        RefreshTokenService.Tokens s2 = service.issue(claims(1), 10);
+        now.addAndGet(1);
+        RefreshTokenService.Tokens s3 = service.issue(claims(1), 10);
+
+        assertFalse(service.isUsable(s1.accessToken()));
+        assertTrue(service.isUsable(s2.accessToken()));
+        assertTrue(service.isUsable(s3.accessToken()));
+        assertThrows(CustomJWTException.class, () -> service.refresh(s1.refreshToken(), 10));
+    }
+
+    // 로그아웃 → 같은 family 의 Access/Refresh Token 모두 무효
+    @Test
+    public void testLogout() {
+        RefreshTokenService service = service(5, 0);
+        RefreshTokenService.Tokens t = service.issue(claims(1), 10);
+
+        service.logout("Bearer " + t.accessToken());
+
+        assertFalse(service.isUsable(t.accessToken()));
+        CustomJWTException e = assertThrows(CustomJWTException.class, () -> service.refresh(t.refreshToken(), 10));
+        assertEquals("REVOKED_REFRESH", e.getMessage());
+    }
+
+    // 다른 노드에서 폐기한 family 는 sync 로 반영
+    @Test
+    public void testSyncFromStore() {
+        RefreshTokenService service = service(5, 0);
+        RefreshTokenService.Tokens t = service.issue(claims(1), 10);
+        String fid = (String) JWTUtil.validateToken(t.accessToken()).get("fid");
+
+        RevocationList otherNode = new RevocationList(store, 1000, 0.01, 3600);
+        otherNode.init();
+        assertFalse(otherNode.isRevoked(fid));
+
+        store.revoke(fid);
+        otherNode.sync();
+        assertTrue(otherNode.isRevoked(fid));
+    }
+
+    // Access Token(fid 있음, jti 없음)으로는 refresh 불가 → 로그아웃 후 새 family 를 열 수 없음
+    @Test
+    public void testAccessTokenCannotRefresh() {
+        RefreshTokenService service = service(5, 0);
+        RefreshTokenService.Tokens t = service.issue(claims(1), 10);
+
+        assertThrows(CustomJWTException.class, () -> service.refresh(t.accessToken(), 10));
+
+        service.logout("Bearer " + t.accessToken());
+        assertThrows(CustomJWTException.class, () -> service.refresh(t.accessToken(), 10));
+    }
+
+    // fid 없는 예전 Refresh Token 은 한 번만 새 family 로 전환, 예전 Access Token 은 거부
+    @Test
+    public void testLegacyTokenAcceptedOnce() {
+        RefreshTokenService service = service(5, 0);
+        String legacyRefresh = JWTUtil.generateToken(claims(1), 60 * 24);
+        String legacyAccess = JWTUtil.generateToken(claims(1), 60 * 3);
+
+        RefreshTokenService.Tokens t = service.refresh(legacyRefresh, 10);
+        assertNotNull(JWTUtil.validateToken(t.refreshToken()).get("fid"));
+
+        CustomJWTException e = assertThrows(CustomJWTException.class, () -> service.refresh(legacyRefresh, 10));
+        assertEquals("REUSED_REFRESH", e.getMessage());
+        assertThrows(CustomJWTException.class, () -> service.refresh(legacyAccess, 10));
+    }
+}
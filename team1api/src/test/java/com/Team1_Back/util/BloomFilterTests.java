@@ -0,0 +1,40 @@
+package com.Team1_Back.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * BloomFilter 검증
+ */
+@Slf4j
+public class BloomFilterTests {
+
+    // 넣은 값은 항상 true, 안 넣은 값의 오탐률은 fpp 근처
+    @Test
+    public void testNoFalseNegativeAndFpp() {
+        int n = 10_000;
+        BloomFilter bloom = new BloomFilter(n, 0.01);
+
+        String[] added = new String[n];
+        for (int i = 0; i < n; i++) {
+            added[i] = UUID.randomUUID().toString();
+            bloom.put(added[i]);
+        }
+        for (String s : added) {
+            assertTrue(bloom.mightContain(s));
+        }
+
+        int fp = 0;
+        int trials = 100_000;
+        for (int i = 0; i < trials; i++) {
+            if (bloom.mightContain(UUID.randomUUID().toString())) fp++;
+        }
+        double rate = (double) fp / trials;
+        log.info("fpp={} bytes={}", rate, bloom.sizeInBytes());
+        assertTrue(rate < 0.02, "false positive rate " + rate);
+    }
+}
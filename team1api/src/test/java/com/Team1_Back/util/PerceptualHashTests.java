@@ -0,0 +1,77 @@
+package com.Team1_Back.util;
+
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 영수증 중복 탐지용 dHash 검증
+ */
+public class PerceptualHashTests {
+
+    // 크기 변경 + JPEG 재압축 + 밝기 변화 → 거리 작음 (다시 찍은 같은 영수증)
+    @Test
+    public void testRephotographedIsClose() throws Exception {
+        BufferedImage original = receipt(42, 600, 900, 0);
+        BufferedImage retaken = jpeg(scale(receipt(42, 600, 900, 12), 420, 630));
+
+        long a = PerceptualHash.dHash(original);
+        long b = PerceptualHash.dHash(retaken);
+
+        assertTrue(PerceptualHash.distance(a, b) <= 6, "distance=" + PerceptualHash.distance(a, b));
+    }
+
+    // 다른 영수증 → 기본 임계값(com.mallapi.receipt.dedup.phash.max-distance=6)보다 멂
+    @Test
+    public void testDifferentReceiptIsFar() {
+        long a = PerceptualHash.dHash(receipt(1, 600, 900, 0));
+        long b = PerceptualHash.dHash(receipt(2, 600, 900, 0));
+
+        assertTrue(PerceptualHash.distance(a, b) > 6, "distance=" + PerceptualHash.distance(a, b));
+    }
+
+    // 이미지가 아니면 null
+    @Test
+    public void testNotAnImage() throws Exception {
+        assertNull(PerceptualHash.dHash(new ByteArrayInputStream("not an image".getBytes())));
+    }
+
+    // 흰 바탕에 seed 별로 다른 위치/굵기의 검은 띠(글자 줄 흉내)
+    private BufferedImage receipt(long seed, int w, int h, int brighten) {
+        BufferedImage img = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = img.createGraphics();
+        g.setColor(Color.WHITE);
+        g.fillRect(0, 0, w, h);
+
+        Random r = new Random(seed);
+        for (int i = 0; i < 40; i++) {
+            int gray = Math.min(255, r.nextInt(120) + brighten);
+            g.setColor(new Color(gray, gray, gray));
+            g.fillRect(r.nextInt(w / 2), r.nextInt(h), r.nextInt(w / 2) + 20, r.nextInt(30) + 8);
+        }
+        g.dispose();
+        return img;
+    }
+
+    private BufferedImage scale(BufferedImage src, int w, int h) {
+        BufferedImage out = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = out.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.drawImage(src, 0, 0, w, h, null);
+        g.dispose();
+        return out;
+    }
+
+    private BufferedImage jpeg(BufferedImage src) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(src, "jpg", out);
+        return ImageIO.read(new ByteArrayInputStream(out.toByteArray()));
+    }
+}
@@ -0,0 +1,90 @@
+package com.Team1_Back.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 키별 순서 보장 / 종료 시 남은 작업 처리 검증
+ */
+public class StripedExecutorTests {
+
+    // 같은 키의 작업은 제출 순서대로 실행
+    @Test
+    public void testOrderPerKey() {
+        StripedExecutor executor = new StripedExecutor("test", 4, 10_000, 1_000);
+        Map<String, List<Integer>> seen = new HashMap<>();
+        for (int k = 0; k < 16; k++) seen.put("E" + k, Collections.synchronizedList(new ArrayList<>()));
+
+        for (int i = 0; i < 1000; i++) {
+            for (int k = 0; k < 16; k++) {
+                int seq = i;
+                String key = "E" + k;
+                executor.execute(key, () -> seen.get(key).add(seq));
+            }
+        }
+        executor.shutdown(10_000);
+
+        for (List<Integer> list : seen.values()) {
+            assertEquals(1000, list.size());
+            for (int i = 0; i < list.size(); i++) assertEquals(i, list.get(i).intValue());
+        }
+    }
+
+    // 큐가 가득 차면 잠깐 기다렸다가 넣음, 실패한 작업이 stripe 를 멈추지 않음
+    @Test
+    public void testOverflowAndFailure() {
+        StripedExecutor executor = new StripedExecutor("test", 1, 1, 1_000);
+        AtomicInteger done = new AtomicInteger();
+
+        executor.execute("E1", () -> {
+            throw new IllegalStateException("boom");
+        });
+        for (int i = 0; i < 100; i++) {
+            executor.execute("E1", () -> {
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException ignored) {
+                }
+                done.incrementAndGet();
+            });
+        }
+        executor.shutdown(10_000);
+
+        assertEquals(100, done.get());
+        assertEquals(0, executor.droppedCount());
+    }
+
+    // 기다려도 자리가 없으면 버림 (호출 스레드에서 실행하지 않음)
+    @Test
+    public void testDropsWhenStillFull() throws Exception {
+        StripedExecutor executor = new StripedExecutor("test", 1, 1, 10);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> threads = Collections.synchronizedList(new ArrayList<>());
+
+        executor.execute("E1", () -> {
+            try {
+                release.await();
+            } catch (InterruptedException ignored) {
+            }
+        });
+        Thread.sleep(50); // 첫 작업이 stripe 스레드에서 시작될 때까지
+        for (int i = 0; i < 3; i++) {
+            executor.execute("E1", () -> threads.add(Thread.currentThread().getName()));
+        }
+        assertEquals(2, executor.droppedCount());
+
+        release.countDown();
+        executor.shutdown(10_000);
+
+        assertEquals(List.of("test-0"), threads);
+    }
+}